@@ -83,6 +83,7 @@ import org.eclipse.hono.config.quarkus.ClientOptions;
 import org.eclipse.hono.config.quarkus.RequestResponseClientOptions;
 import org.eclipse.hono.notification.NoOpNotificationReceiver;
 import org.eclipse.hono.notification.NotificationReceiver;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.cache.Caches;
 import org.eclipse.hono.service.quarkus.AbstractServiceApplication;
 import org.eclipse.hono.util.CredentialsObject;
@@ -148,6 +149,7 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
     private Cache<Object, TenantResult<TenantObject>> tenantResponseCache;
     private Cache<Object, RegistrationResult> registrationResponseCache;
     private Cache<Object, CredentialsResult<CredentialsObject>> credentialsResponseCache;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Creates an instance of the protocol adapter.
@@ -267,6 +269,13 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
 
     }
 
+    @Override
+    protected synchronized void doStop() {
+        if (passwordHashingExecutor != null) {
+            passwordHashingExecutor.shutdown();
+        }
+    }
+
     /**
      * Sets collaborators required by all protocol adapters.
      *
@@ -357,6 +366,7 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         adapter.setResourceLimitChecks(prometheusResourceLimitChecks(resourceLimitChecksConfig, tenantClient));
         adapter.setTenantClient(tenantClient);
         adapter.setTracer(tracer);
+        adapter.setPasswordHashingExecutor(passwordHashingExecutor());
     }
 
     /**
@@ -376,6 +386,16 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         }
     }
 
+    private synchronized PasswordHashingExecutor passwordHashingExecutor() {
+        if (passwordHashingExecutor == null && protocolAdapterProperties.getPasswordHashingThreads() > 0) {
+            passwordHashingExecutor = new PasswordHashingExecutor(
+                    protocolAdapterProperties.getPasswordHashingThreads(),
+                    protocolAdapterProperties.getPasswordHashingQueueSize(),
+                    meterRegistry);
+        }
+        return passwordHashingExecutor;
+    }
+
     private Cache<Object, TenantResult<TenantObject>> tenantResponseCache() {
         if (tenantResponseCache == null) {
             tenantResponseCache = Caches.newCaffeineCache(tenantClientConfig);
@@ -18,6 +18,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 
+import javax.annotation.PreDestroy;
+
 import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
 import org.eclipse.hono.adapter.MessagingClientProviders;
 import org.eclipse.hono.adapter.monitoring.ConnectionEventProducer;
@@ -66,6 +68,7 @@ import org.eclipse.hono.notification.NoOpNotificationReceiver;
 import org.eclipse.hono.notification.NotificationReceiver;
 import org.eclipse.hono.service.HealthCheckServer;
 import org.eclipse.hono.service.VertxBasedHealthCheckServer;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.cache.Caches;
 import org.eclipse.hono.service.metric.spring.PrometheusSupport;
 import org.eclipse.hono.util.CommandRouterConstants;
@@ -116,6 +119,8 @@ public abstract class AbstractAdapterConfig extends AbstractMessagingClientConfi
     @Autowired
     private MeterRegistry meterRegistry;
 
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     /**
      * Sets collaborators required by all protocol adapters.
      *
@@ -194,6 +199,7 @@ public abstract class AbstractAdapterConfig extends AbstractMessagingClientConfi
         adapter.setRegistrationClient(registrationClient);
         adapter.setTenantClient(tenantClient);
         adapter.setTracer(getTracer());
+        adapter.setPasswordHashingExecutor(passwordHashingExecutor(adapterProperties));
 
         try {
             // look up client via bean factory in order to take advantage of conditional
@@ -206,6 +212,34 @@ public abstract class AbstractAdapterConfig extends AbstractMessagingClientConfi
         } 
     }
 
+    /**
+     * Gets the executor to use for computing password hashes.
+     * <p>
+     * The executor is shared by all adapter instances.
+     *
+     * @param adapterProperties The adapter's configuration properties.
+     * @return The executor or {@code null} if the vert.x worker pool should be used for computing hashes.
+     */
+    private synchronized PasswordHashingExecutor passwordHashingExecutor(final ProtocolAdapterProperties adapterProperties) {
+        if (passwordHashingExecutor == null && adapterProperties.getPasswordHashingThreads() > 0) {
+            passwordHashingExecutor = new PasswordHashingExecutor(
+                    adapterProperties.getPasswordHashingThreads(),
+                    adapterProperties.getPasswordHashingQueueSize(),
+                    meterRegistry);
+        }
+        return passwordHashingExecutor;
+    }
+
+    /**
+     * Shuts down the executor used for computing password hashes (if any).
+     */
+    @PreDestroy
+    public synchronized void shutdownPasswordHashingExecutor() {
+        if (passwordHashingExecutor != null) {
+            passwordHashingExecutor.shutdown();
+        }
+    }
+
     /**
      * Exposes an OpenTracing {@code Tracer} as a Spring Bean.
      * <p>
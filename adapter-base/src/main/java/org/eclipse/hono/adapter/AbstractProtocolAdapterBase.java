@@ -43,6 +43,7 @@ import org.eclipse.hono.client.telemetry.TelemetrySender;
 import org.eclipse.hono.client.util.ServiceClient;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.AbstractServiceBase;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.auth.ValidityBasedTrustOptions;
 import org.eclipse.hono.service.metric.MetricsTags.ConnectionAttemptOutcome;
 import org.eclipse.hono.service.util.ServiceBaseUtils;
@@ -100,6 +101,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
     private ResourceLimitChecks resourceLimitChecks = new NoopResourceLimitChecks();
     private TenantClient tenantClient;
     private MessagingClientProviders messagingClientProviders;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Adds a Micrometer sample to a command context.
@@ -302,6 +304,25 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return connectionLimitManager;
     }
 
+    /**
+     * Sets the executor to use for verifying passwords presented by devices.
+     *
+     * @param passwordHashingExecutor The executor or {@code null} if passwords should be verified
+     *                                using vert.x's worker thread pool.
+     */
+    public final void setPasswordHashingExecutor(final PasswordHashingExecutor passwordHashingExecutor) {
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    /**
+     * Gets the executor to use for verifying passwords presented by devices.
+     *
+     * @return The executor. May be {@code null}.
+     */
+    protected final PasswordHashingExecutor getPasswordHashingExecutor() {
+        return passwordHashingExecutor;
+    }
+
     /**
      * Establishes the connections to the services this adapter depends on.
      * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,33 +14,137 @@
 package org.eclipse.hono.adapter.auth.device;
 
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.PKIXParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.X509CertificateChainValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 
 
 /**
  * Validates a device's certificate chain using a {@link CertPathValidator}.
- *
+ * <p>
+ * The validator keeps the {@link PKIXParameters} created for a set of trust anchors for as long as the set
+ * itself is in use. Because {@link org.eclipse.hono.util.TenantObject#getTrustAnchors()} always returns
+ * the same set for a (cached) tenant, this effectively means that the parameters are created only once
+ * per tenant.
+ * <p>
+ * The validator can also be configured to cache successful validation results. A cached result is
+ * keyed by the fingerprints of the certificates in the chain and of the trust anchors. It expires after
+ * the configured timeout or at the end of the validity period of any of the certificates in the chain,
+ * whichever comes first.
  */
 public class DeviceCertificateValidator implements X509CertificateChainValidator {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeviceCertificateValidator.class);
 
+    private static final ThreadLocal<CertificateFactory> CERTIFICATE_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return CertificateFactory.getInstance("X.509");
+        } catch (final CertificateException e) {
+            throw new IllegalStateException("X.509 certificate factory not supported", e);
+        }
+    });
+    private static final ThreadLocal<CertPathValidator> CERT_PATH_VALIDATOR = ThreadLocal.withInitial(() -> {
+        try {
+            return CertPathValidator.getInstance("PKIX");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("PKIX certificate path validator not supported", e);
+        }
+    });
+    private static final ThreadLocal<MessageDigest> FINGERPRINT_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 message digest not supported", e);
+        }
+    });
+
+    private final Cache<Set<TrustAnchor>, TrustAnchorParameters> trustAnchorParameters = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+    private final Cache<ValidationResultKey, Instant> validationResults;
+    private final Duration cacheTimeout;
+
+    /**
+     * Creates a new validator that does not cache validation results.
+     */
+    public DeviceCertificateValidator() {
+        this(Duration.ZERO, 1);
+    }
+
+    /**
+     * Creates a new validator for a given configuration.
+     *
+     * @param config The configuration properties that determine if and how long successful
+     *               validation results are cached.
+     * @throws NullPointerException if config is {@code null}.
+     */
+    public DeviceCertificateValidator(final ProtocolAdapterProperties config) {
+        this(Objects.requireNonNull(config).getCertificateValidationCacheTimeout(),
+                config.getCertificateValidationCacheMaxSize());
+    }
+
+    /**
+     * Creates a new validator.
+     *
+     * @param cacheTimeout The maximum duration for which a successful validation result is cached.
+     *                     The value {@link Duration#ZERO} disables caching of validation results.
+     * @param cacheMaxSize The maximum number of validation results to cache.
+     * @throws NullPointerException if cache timeout is {@code null}.
+     * @throws IllegalArgumentException if cache timeout is negative or cache max size is &lt; 1.
+     */
+    public DeviceCertificateValidator(final Duration cacheTimeout, final int cacheMaxSize) {
+
+        Objects.requireNonNull(cacheTimeout);
+        if (cacheTimeout.isNegative()) {
+            throw new IllegalArgumentException("cache timeout must not be negative");
+        }
+        if (cacheMaxSize < 1) {
+            throw new IllegalArgumentException("cache max size must be > 0");
+        }
+
+        if (cacheTimeout.isZero()) {
+            this.validationResults = null;
+        } else {
+            this.validationResults = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new ValidationResultExpiry())
+                    .build();
+            LOG.info("caching device certificate validation results [timeout: {}, max size: {}]",
+                    cacheTimeout, cacheMaxSize);
+        }
+        this.cacheTimeout = cacheTimeout;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -71,15 +175,20 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
         final Promise<Void> result = Promise.promise();
 
         try {
-            final PKIXParameters params = new PKIXParameters(trustAnchors);
-            // TODO do we need to check for revocation?
-            params.setRevocationEnabled(false);
-            final CertificateFactory factory = CertificateFactory.getInstance("X.509");
-            final CertPath path = factory.generateCertPath(chain);
-            final CertPathValidator validator = CertPathValidator.getInstance("PKIX");
-            validator.validate(path, params);
-            LOG.debug("validation of device certificate [subject DN: {}] succeeded",
-                    chain.get(0).getSubjectX500Principal().getName());
+            final TrustAnchorParameters params = trustAnchorParameters.get(trustAnchors, TrustAnchorParameters::new);
+            final ValidationResultKey key = validationResults == null ? null : new ValidationResultKey(chain, params);
+            if (key != null && validationResults.getIfPresent(key) != null) {
+                LOG.debug("using cached validation result for device certificate [subject DN: {}]",
+                        chain.get(0).getSubjectX500Principal().getName());
+            } else {
+                final CertPath path = CERTIFICATE_FACTORY.get().generateCertPath(chain);
+                CERT_PATH_VALIDATOR.get().validate(path, params.pkixParameters);
+                LOG.debug("validation of device certificate [subject DN: {}] succeeded",
+                        chain.get(0).getSubjectX500Principal().getName());
+                if (key != null) {
+                    validationResults.put(key, getExpirationTime(chain));
+                }
+            }
             result.complete();
         } catch (GeneralSecurityException e) {
             LOG.debug("validation of device certificate [subject DN: {}] failed",
@@ -92,4 +201,143 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
         }
         return result.future();
     }
+
+    private Instant getExpirationTime(final List<X509Certificate> chain) {
+        Instant expirationTime = Instant.now().plus(cacheTimeout);
+        for (final X509Certificate cert : chain) {
+            final Instant notAfter = cert.getNotAfter().toInstant();
+            if (notAfter.isBefore(expirationTime)) {
+                expirationTime = notAfter;
+            }
+        }
+        return expirationTime;
+    }
+
+    private static byte[] fingerprint(final byte[]... data) {
+        final MessageDigest digest = FINGERPRINT_DIGEST.get();
+        for (final byte[] bytes : data) {
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * The parameters for validating certificate chains against a set of trust anchors.
+     */
+    private static final class TrustAnchorParameters {
+
+        private final PKIXParameters pkixParameters;
+        private final byte[] fingerprint;
+
+        TrustAnchorParameters(final Set<TrustAnchor> trustAnchors) {
+            try {
+                this.pkixParameters = new PKIXParameters(trustAnchors);
+            } catch (final GeneralSecurityException e) {
+                // the trust anchors have already been checked to not be empty
+                throw new IllegalArgumentException(e);
+            }
+            // TODO do we need to check for revocation?
+            this.pkixParameters.setRevocationEnabled(false);
+            this.fingerprint = getFingerprint(trustAnchors);
+        }
+
+        private static byte[] getFingerprint(final Set<TrustAnchor> trustAnchors) {
+            // the iteration order of the set is undefined, so the anchors' fingerprints are sorted
+            final List<byte[]> anchorFingerprints = new ArrayList<>(trustAnchors.size());
+            for (final TrustAnchor anchor : trustAnchors) {
+                anchorFingerprints.add(getFingerprint(anchor));
+            }
+            anchorFingerprints.sort(Arrays::compare);
+            return fingerprint(anchorFingerprints.toArray(byte[][]::new));
+        }
+
+        private static byte[] getFingerprint(final TrustAnchor anchor) {
+            final X509Certificate caCert = anchor.getTrustedCert();
+            if (caCert == null) {
+                return getFingerprint(anchor.getCA(), anchor.getCAPublicKey(), anchor.getNameConstraints());
+            }
+            try {
+                return fingerprint(caCert.getEncoded());
+            } catch (final CertificateEncodingException e) {
+                return getFingerprint(caCert.getSubjectX500Principal(), caCert.getPublicKey(), anchor.getNameConstraints());
+            }
+        }
+
+        private static byte[] getFingerprint(
+                final X500Principal caName,
+                final PublicKey caPublicKey,
+                final byte[] nameConstraints) {
+            return fingerprint(
+                    caName.getEncoded(),
+                    caPublicKey.getEncoded(),
+                    Optional.ofNullable(nameConstraints).orElse(new byte[0]));
+        }
+    }
+
+    /**
+     * The key of a cached validation result.
+     */
+    private static final class ValidationResultKey {
+
+        private final byte[] fingerprint;
+        private final int hashCode;
+
+        ValidationResultKey(
+                final List<X509Certificate> chain,
+                final TrustAnchorParameters trustAnchorParameters) throws CertificateException {
+
+            final byte[][] data = new byte[chain.size() + 1][];
+            data[0] = trustAnchorParameters.fingerprint;
+            for (int i = 0; i < chain.size(); i++) {
+                data[i + 1] = chain.get(i).getEncoded();
+            }
+            this.fingerprint = fingerprint(data);
+            this.hashCode = Arrays.hashCode(fingerprint);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ValidationResultKey)) {
+                return false;
+            }
+            return Arrays.equals(fingerprint, ((ValidationResultKey) obj).fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Expires cached validation results at their expiration time.
+     */
+    private static final class ValidationResultExpiry implements Expiry<ValidationResultKey, Instant> {
+
+        @Override
+        public long expireAfterCreate(final ValidationResultKey key, final Instant expirationTime, final long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expirationTime).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                final ValidationResultKey key,
+                final Instant expirationTime,
+                final long currentTime,
+                final long currentDuration) {
+            return expireAfterCreate(key, expirationTime, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                final ValidationResultKey key,
+                final Instant expirationTime,
+                final long currentTime,
+                final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,19 +14,33 @@
 package org.eclipse.hono.adapter.auth.device;
 
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.registry.CredentialsClient;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsObject;
 import org.eclipse.hono.util.JsonHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.opentracing.Tracer;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -37,10 +51,25 @@ import io.vertx.core.json.JsonObject;
 /**
  * An authentication provider that verifies username/password credentials using
  * Hono's <em>Credentials</em> API.
+ * <p>
+ * The provider can be configured to cache successful verifications of passwords for a limited
+ * amount of time so that a device that presents the same password again, e.g. when re-connecting
+ * after a network outage, is authenticated without verifying the password against the hash on record.
+ * The cache does not contain the presented passwords but only a keyed hash of the password and the
+ * secret that it has been verified against. Consequently, a cached verification is no longer used
+ * once the secret has been changed or removed.
+ * <p>
+ * Passwords are verified on vert.x's worker thread pool unless a dedicated
+ * {@link PasswordHashingExecutor} is configured.
  */
 public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvider<UsernamePasswordCredentials> {
 
+    private static final String VERIFICATION_KEY_ALGORITHM = "HmacSHA256";
+
     private final HonoPasswordEncoder pwdEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final Cache<VerifiedCredentialsKey, Boolean> verifiedCredentials;
+    private final ThreadLocal<Mac> verificationKeyHash;
 
     /**
      * Creates a new provider for a given configuration.
@@ -68,8 +97,81 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
             final HonoPasswordEncoder pwdEncoder,
             final Tracer tracer) {
 
+        this(credentialsClient, pwdEncoder, new ProtocolAdapterProperties(), null, tracer);
+    }
+
+    /**
+     * Creates a new provider for a given configuration.
+     *
+     * @param credentialsClient The client to use for accessing the Credentials service.
+     * @param config The configuration properties that determine if and how long successful
+     *               password verifications are cached.
+     * @param passwordHashingExecutor The executor to use for verifying passwords or {@code null}
+     *                                if vert.x's worker thread pool should be used.
+     * @param tracer The tracer instance.
+     * @throws NullPointerException if any of the parameters other than the executor are {@code null}.
+     */
+    public UsernamePasswordAuthProvider(
+            final CredentialsClient credentialsClient,
+            final ProtocolAdapterProperties config,
+            final PasswordHashingExecutor passwordHashingExecutor,
+            final Tracer tracer) {
+
+        this(credentialsClient, new SpringBasedHonoPasswordEncoder(), config, passwordHashingExecutor, tracer);
+    }
+
+    /**
+     * Creates a new provider for a given configuration.
+     *
+     * @param credentialsClient The client to use for accessing the Credentials service.
+     * @param pwdEncoder The object to use for validating hashed passwords.
+     * @param config The configuration properties that determine if and how long successful
+     *               password verifications are cached.
+     * @param passwordHashingExecutor The executor to use for verifying passwords or {@code null}
+     *                                if vert.x's worker thread pool should be used.
+     * @param tracer The tracer instance.
+     * @throws NullPointerException if any of the parameters other than the executor are {@code null}.
+     */
+    public UsernamePasswordAuthProvider(
+            final CredentialsClient credentialsClient,
+            final HonoPasswordEncoder pwdEncoder,
+            final ProtocolAdapterProperties config,
+            final PasswordHashingExecutor passwordHashingExecutor,
+            final Tracer tracer) {
+
         super(credentialsClient, tracer);
         this.pwdEncoder = Objects.requireNonNull(pwdEncoder);
+        Objects.requireNonNull(config);
+        this.passwordHashingExecutor = passwordHashingExecutor;
+
+        if (config.isVerifiedCredentialsCacheEnabled()) {
+            this.verifiedCredentials = Caffeine.newBuilder()
+                    .expireAfterWrite(config.getVerifiedCredentialsCacheTimeout())
+                    .maximumSize(config.getVerifiedCredentialsCacheMaxSize())
+                    .build();
+            this.verificationKeyHash = newVerificationKeyHash();
+        } else {
+            this.verifiedCredentials = null;
+            this.verificationKeyHash = null;
+        }
+    }
+
+    private static ThreadLocal<Mac> newVerificationKeyHash() {
+
+        // the key is not persisted so that the cache keys cannot be computed outside of this provider instance
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        final SecretKeySpec keySpec = new SecretKeySpec(key, VERIFICATION_KEY_ALGORITHM);
+        return ThreadLocal.withInitial(() -> {
+            try {
+                final Mac mac = Mac.getInstance(VERIFICATION_KEY_ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+            } catch (final GeneralSecurityException e) {
+                // HmacSHA256 is required to be supported by every Java platform
+                throw new IllegalStateException("failed to create verification key hash", e);
+            }
+        });
     }
 
     /**
@@ -132,19 +234,112 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
         final Context currentContext = Vertx.currentContext();
         if (currentContext == null) {
             return Future.failedFuture(new IllegalStateException("not running on vert.x Context"));
-        } else {
+        }
+
+        final List<JsonObject> candidateSecrets = credentialsOnRecord.getCandidateSecrets();
+        if (isVerifiedBefore(deviceCredentials, candidateSecrets)) {
+            log.debug("password has been verified before [tenant-id: {}, auth-id: {}]",
+                    deviceCredentials.getTenantId(), deviceCredentials.getAuthId());
+            return Future.succeededFuture(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
+        }
+
+        if (passwordHashingExecutor == null) {
             final Promise<Device> result = Promise.promise();
             currentContext.executeBlocking(blockingCodeHandler -> {
                 log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
-                final boolean isValid = credentialsOnRecord.getCandidateSecrets().stream()
-                        .anyMatch(candidateSecret -> pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecret));
-                if (isValid) {
-                    blockingCodeHandler.complete(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
-                } else {
-                    blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
+                try {
+                    blockingCodeHandler.complete(verifyPassword(deviceCredentials, credentialsOnRecord, candidateSecrets));
+                } catch (final ClientErrorException e) {
+                    blockingCodeHandler.fail(e);
                 }
             }, false, result);
             return result.future();
+        } else {
+            return passwordHashingExecutor.execute(() -> {
+                log.debug("validating password hash on password hashing thread [{}]", Thread.currentThread().getName());
+                return verifyPassword(deviceCredentials, credentialsOnRecord, candidateSecrets);
+            });
+        }
+    }
+
+    private Device verifyPassword(
+            final UsernamePasswordCredentials deviceCredentials,
+            final CredentialsObject credentialsOnRecord,
+            final List<JsonObject> candidateSecrets) throws ClientErrorException {
+
+        final Optional<JsonObject> matchingSecret = candidateSecrets.stream()
+                .filter(candidateSecret -> pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecret))
+                .findFirst();
+        if (matchingSecret.isPresent()) {
+            putVerifiedCredentials(deviceCredentials, matchingSecret.get());
+            return new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId());
+        } else {
+            throw new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials");
+        }
+    }
+
+    private boolean isVerifiedBefore(
+            final UsernamePasswordCredentials deviceCredentials,
+            final List<JsonObject> candidateSecrets) {
+
+        if (verifiedCredentials == null) {
+            return false;
+        }
+        return candidateSecrets.stream()
+                .anyMatch(secret -> verifiedCredentials.getIfPresent(getVerifiedCredentialsKey(deviceCredentials, secret)) != null);
+    }
+
+    private void putVerifiedCredentials(final UsernamePasswordCredentials deviceCredentials, final JsonObject secret) {
+        if (verifiedCredentials != null) {
+            verifiedCredentials.put(getVerifiedCredentialsKey(deviceCredentials, secret), Boolean.TRUE);
+        }
+    }
+
+    private VerifiedCredentialsKey getVerifiedCredentialsKey(
+            final UsernamePasswordCredentials deviceCredentials,
+            final JsonObject secret) {
+
+        final Mac mac = verificationKeyHash.get();
+        mac.update(deviceCredentials.getPassword().getBytes(StandardCharsets.UTF_8));
+        // separate the password from the secret so that the boundary between them is unambiguous
+        mac.update((byte) 0);
+        // the secret contains the hash (and salt) that the password has been verified against
+        mac.update(secret.encode().getBytes(StandardCharsets.UTF_8));
+        return new VerifiedCredentialsKey(deviceCredentials.getTenantId(), deviceCredentials.getAuthId(), mac.doFinal());
+    }
+
+    /**
+     * The key of a successful password verification.
+     */
+    private static final class VerifiedCredentialsKey {
+
+        private final String tenantId;
+        private final String authId;
+        private final byte[] passwordAndSecretHash;
+
+        VerifiedCredentialsKey(final String tenantId, final String authId, final byte[] passwordAndSecretHash) {
+            this.tenantId = tenantId;
+            this.authId = authId;
+            this.passwordAndSecretHash = passwordAndSecretHash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final VerifiedCredentialsKey other = (VerifiedCredentialsKey) o;
+            return tenantId.equals(other.tenantId)
+                    && authId.equals(other.authId)
+                    && Arrays.equals(passwordAndSecretHash, other.passwordAndSecretHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, authId, Arrays.hashCode(passwordAndSecretHash));
         }
     }
 }
@@ -14,8 +14,13 @@
 
 package org.eclipse.hono.adapter.auth.device;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import java.security.cert.CertificateException;
 import java.security.cert.TrustAnchor;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.hono.test.VertxTools;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,4 +68,39 @@ class DeviceCertificateValidatorTest {
             })
             .onComplete(ctx.succeedingThenComplete());
     }
+
+    /**
+     * Verifies that a successful validation result that has been cached for a certificate chain
+     * is not used for validating the same chain against a different set of trust anchors.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    void testValidateDoesNotUseCachedResultForDifferentTrustAnchors(final Vertx vertx, final VertxTestContext ctx) {
+
+        validator = new DeviceCertificateValidator(Duration.ofMinutes(1), 100);
+        final SelfSignedCertificate deviceCert = SelfSignedCertificate.create("iot.eclipse.org");
+        final SelfSignedCertificate otherCert = SelfSignedCertificate.create("iot.eclipse.org");
+
+        VertxTools.getCertificate(vertx, deviceCert.certificatePath())
+            .compose(cert -> VertxTools.getCertificate(vertx, otherCert.certificatePath())
+                .compose(other -> {
+                    final TrustAnchor ca = new TrustAnchor(cert.getSubjectX500Principal(), cert.getPublicKey(), null);
+                    final TrustAnchor otherCa = new TrustAnchor(other.getSubjectX500Principal(), other.getPublicKey(), null);
+                    // GIVEN a successful validation of the certificate that has been cached
+                    return validator.validate(List.of(cert), Set.of(ca))
+                            // which is also used for an equivalent set of trust anchors
+                            .compose(ok -> validator.validate(
+                                    List.of(cert),
+                                    Set.of(new TrustAnchor(cert.getSubjectX500Principal(), cert.getPublicKey(), null))))
+                            // WHEN validating the certificate against a trust anchor with a different key
+                            .compose(ok -> validator.validate(List.of(cert), Set.of(otherCa)));
+                }))
+            .onComplete(ctx.failing(t -> {
+                // THEN the validation fails
+                ctx.verify(() -> assertThat(t).isInstanceOf(CertificateException.class));
+                ctx.completeNow();
+            }));
+    }
 }
@@ -18,12 +18,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Map;
@@ -32,6 +35,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.registry.CredentialsClient;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -190,6 +194,58 @@ public class UsernamePasswordAuthProviderTest {
         }));
     }
 
+    /**
+     * Verifies that the provider does not verify a password again that has been successfully
+     * verified before if caching of verified credentials is enabled, unless the secret on record
+     * has been changed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAuthenticateUsesCachedVerification(final VertxTestContext ctx) {
+
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        config.setVerifiedCredentialsCacheTimeout(Duration.ofMinutes(1));
+        provider = new UsernamePasswordAuthProvider(credentialsClient, pwdEncoder, config, null, NoopTracerFactory.create());
+
+        // GIVEN a device whose password has been verified successfully
+        authenticate(deviceCredentials)
+            // WHEN the device authenticates again using the same password
+            .compose(ok -> authenticate(deviceCredentials))
+            .compose(device -> {
+                ctx.verify(() -> {
+                    // THEN the device is authenticated without verifying the password again
+                    assertThat(device.getDeviceId()).isEqualTo("4711");
+                    verify(pwdEncoder, times(1)).matches(eq(PWD), any(JsonObject.class));
+                });
+                // and WHEN the device authenticates using a wrong password
+                when(pwdEncoder.matches(eq("wrong_pwd"), any(JsonObject.class))).thenReturn(false);
+                return authenticate(UsernamePasswordCredentials.create("device@DEFAULT_TENANT", "wrong_pwd"))
+                        .recover(t -> {
+                            // THEN authentication fails
+                            ctx.verify(() -> assertThat(((ClientErrorException) t).getErrorCode())
+                                    .isEqualTo(HttpURLConnection.HTTP_UNAUTHORIZED));
+                            // and WHEN the secret on record has been changed
+                            givenCredentialsOnRecord(CredentialsObject.fromClearTextPassword(
+                                    "4711", "device", PWD, Instant.now().minusSeconds(10), null));
+                            return authenticate(deviceCredentials);
+                        });
+            })
+            .onComplete(ctx.succeeding(device -> {
+                ctx.verify(() -> {
+                    // THEN the password is verified against the changed secret
+                    verify(pwdEncoder, times(2)).matches(eq(PWD), any(JsonObject.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private Future<DeviceUser> authenticate(final UsernamePasswordCredentials credentials) {
+        final Promise<DeviceUser> result = Promise.promise();
+        vertx.runOnContext(go -> provider.authenticate(credentials, null, result));
+        return result.future();
+    }
+
     private void givenCredentialsOnRecord(final CredentialsObject credentials) {
         when(credentialsClient.get(
                 anyString(),
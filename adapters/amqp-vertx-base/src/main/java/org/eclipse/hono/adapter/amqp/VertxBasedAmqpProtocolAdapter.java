@@ -43,6 +43,7 @@ import org.eclipse.hono.adapter.AdapterConnectionsExceededException;
 import org.eclipse.hono.adapter.AdapterDisabledException;
 import org.eclipse.hono.adapter.AuthorizationException;
 import org.eclipse.hono.adapter.auth.device.CredentialsApiAuthProvider;
+import org.eclipse.hono.adapter.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentials;
 import org.eclipse.hono.adapter.auth.device.TenantServiceBasedX509Authentication;
 import org.eclipse.hono.adapter.auth.device.UsernamePasswordAuthProvider;
@@ -188,10 +189,17 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                                 .withTag(Tags.COMPONENT.getKey(), getTypeName())
                                 .start(),
                         new SaslPlainAuthHandler(
-                                new UsernamePasswordAuthProvider(getCredentialsClient(), tracer),
+                                new UsernamePasswordAuthProvider(
+                                        getCredentialsClient(),
+                                        getConfig(),
+                                        getPasswordHashingExecutor(),
+                                        tracer),
                                 this::handleBeforeCredentialsValidation),
                         new SaslExternalAuthHandler(
-                                new TenantServiceBasedX509Authentication(getTenantClient(), tracer),
+                                new TenantServiceBasedX509Authentication(
+                                        getTenantClient(),
+                                        tracer,
+                                        new DeviceCertificateValidator(getConfig())),
                                 new X509AuthProvider(getCredentialsClient(), tracer),
                                 this::handleBeforeCredentialsValidation));
             }
@@ -36,6 +36,7 @@ import org.eclipse.californium.scandium.dtls.HandshakeException;
 import org.eclipse.californium.scandium.dtls.HandshakeResultHandler;
 import org.eclipse.californium.scandium.dtls.x509.NewAdvancedCertificateVerifier;
 import org.eclipse.californium.scandium.util.ServerNames;
+import org.eclipse.hono.adapter.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentials;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentialsAuthProvider;
 import org.eclipse.hono.adapter.auth.device.SubjectDnCredentials;
@@ -93,7 +94,10 @@ public class DeviceRegistryBasedCertificateVerifier implements NewAdvancedCertif
 
         this.adapter = Objects.requireNonNull(adapter);
         this.tracer = Objects.requireNonNull(tracer);
-        this.auth = new TenantServiceBasedX509Authentication(adapter.getTenantClient(), tracer);
+        this.auth = new TenantServiceBasedX509Authentication(
+                adapter.getTenantClient(),
+                tracer,
+                new DeviceCertificateValidator(adapter.getConfig()));
         this.authProvider = new X509AuthProvider(adapter.getCredentialsClient(), tracer);
     }
 
@@ -17,6 +17,7 @@ import java.net.HttpURLConnection;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.eclipse.hono.adapter.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentialsAuthProvider;
 import org.eclipse.hono.adapter.auth.device.SubjectDnCredentials;
 import org.eclipse.hono.adapter.auth.device.TenantServiceBasedX509Authentication;
@@ -103,13 +104,20 @@ public final class VertxBasedHttpProtocolAdapter extends AbstractVertxBasedHttpP
 
             final ChainAuthHandler authHandler = ChainAuthHandler.any();
             authHandler.add(new X509AuthHandler(
-                    new TenantServiceBasedX509Authentication(getTenantClient(), tracer),
+                    new TenantServiceBasedX509Authentication(
+                            getTenantClient(),
+                            tracer,
+                            new DeviceCertificateValidator(getConfig())),
                     Optional.ofNullable(clientCertAuthProvider)
                         .orElseGet(() -> new X509AuthProvider(getCredentialsClient(), tracer)),
                     this::handleBeforeCredentialsValidation));
             authHandler.add(new HonoBasicAuthHandler(
                     Optional.ofNullable(usernamePasswordAuthProvider)
-                        .orElseGet(() -> new UsernamePasswordAuthProvider(getCredentialsClient(), tracer)),
+                        .orElseGet(() -> new UsernamePasswordAuthProvider(
+                                getCredentialsClient(),
+                                getConfig(),
+                                getPasswordHashingExecutor(),
+                                tracer)),
                     getConfig().getRealm(),
                     this::handleBeforeCredentialsValidation));
 
@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.hono.adapter.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentialsAuthProvider;
 import org.eclipse.hono.adapter.auth.device.SubjectDnCredentials;
 import org.eclipse.hono.adapter.auth.device.TenantServiceBasedX509Authentication;
@@ -214,13 +215,20 @@ public final class LoraProtocolAdapter extends AbstractVertxBasedHttpProtocolAda
 
         final ChainAuthHandler authHandler = ChainAuthHandler.any();
         authHandler.add(new X509AuthHandler(
-                new TenantServiceBasedX509Authentication(getTenantClient(), tracer),
+                new TenantServiceBasedX509Authentication(
+                        getTenantClient(),
+                        tracer,
+                        new DeviceCertificateValidator(getConfig())),
                 Optional.ofNullable(clientCertAuthProvider).orElseGet(
                         () -> new X509AuthProvider(getCredentialsClient(), tracer)),
                 this::handleBeforeCredentialsValidation));
         authHandler.add(new HonoBasicAuthHandler(
                 Optional.ofNullable(usernamePasswordAuthProvider).orElseGet(
-                        () -> new UsernamePasswordAuthProvider(getCredentialsClient(), tracer)),
+                        () -> new UsernamePasswordAuthProvider(
+                                getCredentialsClient(),
+                                getConfig(),
+                                getPasswordHashingExecutor(),
+                                tracer)),
                 getConfig().getRealm(),
                 this::handleBeforeCredentialsValidation));
 
@@ -41,6 +41,7 @@ import org.eclipse.hono.adapter.AuthorizationException;
 import org.eclipse.hono.adapter.auth.device.AuthHandler;
 import org.eclipse.hono.adapter.auth.device.ChainAuthHandler;
 import org.eclipse.hono.adapter.auth.device.CredentialsApiAuthProvider;
+import org.eclipse.hono.adapter.auth.device.DeviceCertificateValidator;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentials;
 import org.eclipse.hono.adapter.auth.device.TenantServiceBasedX509Authentication;
 import org.eclipse.hono.adapter.auth.device.UsernamePasswordAuthProvider;
@@ -197,11 +198,16 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
 
         return new ChainAuthHandler<>(this::handleBeforeCredentialsValidation)
                 .append(new X509AuthHandler(
-                        new TenantServiceBasedX509Authentication(getTenantClient(), tracer),
+                        new TenantServiceBasedX509Authentication(
+                                getTenantClient(),
+                                tracer,
+                                new DeviceCertificateValidator(getConfig())),
                         new X509AuthProvider(getCredentialsClient(), tracer)))
                 .append(new ConnectPacketAuthHandler(
                         new UsernamePasswordAuthProvider(
                                 getCredentialsClient(),
+                                getConfig(),
+                                getPasswordHashingExecutor(),
                                 tracer)));
     }
 
@@ -13,20 +13,23 @@
 
 package org.eclipse.hono.adapter.mqtt;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.hono.util.TimeoutWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 
 /**
  * A class that handles PUBACKs for a particular MQTT endpoint.
- *
+ * <p>
+ * The timeouts for waiting on acknowledgements are scheduled on the {@link TimeoutWheel} of the
+ * vert.x context that the instance has been created on. Instances are not thread safe and are
+ * supposed to be used on the context of the device connection only.
  */
 public final class PendingPubAcks {
     private static final Logger LOG = LoggerFactory.getLogger(PendingPubAcks.class);
@@ -34,17 +37,18 @@ public final class PendingPubAcks {
     /**
      * Map of the requests waiting for an acknowledgement. Key is the packet id of the published message.
      */
-    private final Map<Integer, PendingPubAck> pendingAcks = new ConcurrentHashMap<>();
-    private final Vertx vertx;
+    private final IntObjectMap<PendingPubAck> pendingAcks = new IntObjectHashMap<>();
+    private final TimeoutWheel timeoutWheel;
 
     /**
      * Creates a new PendingPubAcks instance.
      *
-     * @param vertx The Vert.x instance to execute timers with.
+     * @param vertx The Vert.x instance to get the current context for executing timers from.
      * @throws NullPointerException if vertx is {@code null}.
      */
     public PendingPubAcks(final Vertx vertx) {
-        this.vertx = Objects.requireNonNull(vertx);
+        Objects.requireNonNull(vertx);
+        this.timeoutWheel = TimeoutWheel.get(vertx);
     }
 
     /**
@@ -55,9 +59,12 @@ public final class PendingPubAcks {
      */
     public void handlePubAck(final Integer msgId) {
         Objects.requireNonNull(msgId);
-        Optional.ofNullable(pendingAcks.remove(msgId))
-                .ifPresentOrElse(PendingPubAck::onPubAck,
-                        () -> LOG.debug("no active request found for received acknowledgement [packet-id: {}]", msgId));
+        final PendingPubAck pendingAck = pendingAcks.remove(msgId.intValue());
+        if (pendingAck == null) {
+            LOG.debug("no active request found for received acknowledgement [packet-id: {}]", msgId);
+        } else {
+            pendingAck.onPubAck();
+        }
     }
 
     /**
@@ -78,32 +85,24 @@ public final class PendingPubAcks {
         Objects.requireNonNull(onAckHandler);
         Objects.requireNonNull(onAckTimeoutHandler);
 
-        final PendingPubAck replacedObj = pendingAcks.put(msgId,
-                new PendingPubAck(msgId, onAckHandler, onAckTimeoutHandler, startTimerIfNeeded(msgId, waitingForAckTimeout)));
+        final PendingPubAck pendingAck = new PendingPubAck(msgId, onAckHandler, onAckTimeoutHandler);
+        final PendingPubAck replacedObj = pendingAcks.put(pendingAck.msgId, pendingAck);
         if (replacedObj != null) {
             LOG.error("error registering ack handler; already waiting for ack of message id [{}]", msgId);
+            replacedObj.cancelTimeout();
         }
-    }
-
-    private Long startTimerIfNeeded(final Integer msgId, final long waitingForAckTimeout) {
-        if (waitingForAckTimeout < 1) {
-            return null;
-        }
-        return vertx.setTimer(waitingForAckTimeout, timerId -> {
-            Optional.ofNullable(pendingAcks.remove(msgId))
-                    .ifPresent(PendingPubAck::onPubAckTimeout);
-        });
+        pendingAck.startTimeoutIfNeeded(waitingForAckTimeout);
     }
 
     /**
      * Represents a request waiting to get acknowledged by the device.
      */
-    private class PendingPubAck {
+    private class PendingPubAck implements Handler<Void> {
 
         private final int msgId;
         private final Handler<Integer> onAckHandler;
         private final Handler<Void> onAckTimeoutHandler;
-        private final Long timerId;
+        private TimeoutWheel.Timeout timeout;
 
         /**
          * Creates a new PendingPubAck instance.
@@ -112,28 +111,43 @@ public final class PendingPubAcks {
          * @param onAckHandler Handler to invoke when the device has acknowledged the message.
          * @param onAckTimeoutHandler Handler to invoke when there is a timeout waiting for the acknowledgement from the
          *            device.
-         * @param timerId The unique ID of the timer to way for the request to be acknowledged (may be
-         *            {@code null} if no timeout is configured).
-         * @throws NullPointerException if any of the parameters except timerId is {@code null}.
+         * @throws NullPointerException if any of the parameters is {@code null}.
          */
         PendingPubAck(final int msgId, final Handler<Integer> onAckHandler,
-                final Handler<Void> onAckTimeoutHandler, final Long timerId) {
+                final Handler<Void> onAckTimeoutHandler) {
             this.msgId = msgId;
             this.onAckHandler = Objects.requireNonNull(onAckHandler);
             this.onAckTimeoutHandler = Objects.requireNonNull(onAckTimeoutHandler);
-            this.timerId = timerId;
         }
 
-        public void onPubAck() {
-            LOG.trace("acknowledgement received for message sent to device [packet-id: {}]", msgId);
-            if (timerId != null) {
-                vertx.cancelTimer(timerId);
+        void startTimeoutIfNeeded(final long waitingForAckTimeout) {
+            if (waitingForAckTimeout > 0) {
+                timeout = timeoutWheel.schedule(waitingForAckTimeout, this);
             }
+        }
+
+        void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        void onPubAck() {
+            LOG.trace("acknowledgement received for message sent to device [packet-id: {}]", msgId);
+            cancelTimeout();
             onAckHandler.handle(msgId);
         }
 
-        public void onPubAckTimeout() {
-            onAckTimeoutHandler.handle(null);
+        /**
+         * Invoked when the timeout for waiting on the acknowledgement has expired.
+         */
+        @Override
+        public void handle(final Void event) {
+            // make sure not to remove another request that has been registered with the same id
+            if (pendingAcks.get(msgId) == this) {
+                pendingAcks.remove(msgId);
+                onAckTimeoutHandler.handle(null);
+            }
         }
     }
 }
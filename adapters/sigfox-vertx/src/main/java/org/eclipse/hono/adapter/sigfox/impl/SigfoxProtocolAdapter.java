@@ -105,7 +105,11 @@ public final class SigfoxProtocolAdapter
 
         authHandler.add(new HonoBasicAuthHandler(
                 Optional.ofNullable(this.usernamePasswordAuthProvider).orElseGet(
-                        () -> new UsernamePasswordAuthProvider(getCredentialsClient(), this.tracer)),
+                        () -> new UsernamePasswordAuthProvider(
+                                getCredentialsClient(),
+                                getConfig(),
+                                getPasswordHashingExecutor(),
+                                this.tracer)),
                 getConfig().getRealm(),
                 this::handleBeforeCredentialsValidation));
 
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for checking authorities using {@link AuthoritiesImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthoritiesBenchmark {
+
+    private AuthoritiesImpl authorities;
+    private ResourceIdentifier telemetryResource;
+    private ResourceIdentifier tenantResource;
+    private ResourceIdentifier forbiddenResource;
+    private ResourceIdentifier registrationResource;
+    private ResourceIdentifier deviceResource;
+    private ResourceIdentifier forbiddenOperationResource;
+
+    /**
+     * Creates the authorities and the resources to check.
+     */
+    @Setup
+    public void createAuthorities() {
+        authorities = new AuthoritiesImpl()
+                .addResource("telemetry", "*", Activity.WRITE)
+                .addResource("event", "*", Activity.WRITE)
+                .addResource("command_response", "*", Activity.WRITE)
+                .addResource("command", "DEFAULT_TENANT", Activity.READ)
+                .addResource("tenant", Activity.READ)
+                .addResource("command_internal/adapter-instance-1", Activity.READ, Activity.WRITE)
+                .addOperation("registration", "*", "assert")
+                .addOperation("credentials", "*", "get");
+        telemetryResource = ResourceIdentifier.from("telemetry", "DEFAULT_TENANT", "4711");
+        tenantResource = ResourceIdentifier.from("tenant", "DEFAULT_TENANT", null);
+        forbiddenResource = ResourceIdentifier.from("telemetry", "DEFAULT_TENANT", "4711");
+        registrationResource = ResourceIdentifier.from("registration", "DEFAULT_TENANT", null);
+        deviceResource = ResourceIdentifier.from("command_internal", "adapter-instance-1", "4711");
+        forbiddenOperationResource = ResourceIdentifier.from("registration", "DEFAULT_TENANT", "4711");
+    }
+
+    /**
+     * Measures checking an activity on a resource that is granted by means of a tenant wildcard.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedWildcardTenant() {
+        return authorities.isAuthorized(telemetryResource, Activity.WRITE);
+    }
+
+    /**
+     * Measures checking an activity on a resource that is granted for the endpoint as a whole.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedEndpoint() {
+        return authorities.isAuthorized(tenantResource, Activity.READ);
+    }
+
+    /**
+     * Measures checking an activity that has not been granted.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedDenied() {
+        return authorities.isAuthorized(forbiddenResource, Activity.READ);
+    }
+
+    /**
+     * Measures checking the authority to execute an operation.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedOperation() {
+        return authorities.isAuthorized(registrationResource, "assert");
+    }
+
+    /**
+     * Measures checking an activity on a resource that is granted for the resource's tenant,
+     * requiring a lookup of the resource's full path first.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedResourceOfTenant() {
+        return authorities.isAuthorized(deviceResource, Activity.WRITE);
+    }
+
+    /**
+     * Measures checking the authority to execute an operation that has not been granted,
+     * requiring all wildcard fallbacks to be checked.
+     *
+     * @return {@code true} if authorized.
+     */
+    @Benchmark
+    public boolean isAuthorizedOperationDenied() {
+        return authorities.isAuthorized(forbiddenOperationResource, "update");
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs Hono's benchmarks.
+ * <p>
+ * Supports the same command line options as JMH's own {@code org.openjdk.jmh.Main}.
+ * In addition to the profilers given on the command line, the {@link GCProfiler} is always
+ * enabled so that allocation rates are reported alongside the throughput of each benchmark.
+ * <p>
+ * Example:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ResourceIdentifier -rf json -rff results.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final String GC_PROFILER_NAME = "gc";
+
+    private BenchmarkRunner() {
+        // prevent instantiation
+    }
+
+    /**
+     * Runs the benchmarks selected by the given command line options.
+     *
+     * @param args The JMH command line options.
+     * @throws CommandLineOptionException if the command line options cannot be parsed.
+     * @throws IOException if JMH fails to print the requested information.
+     * @throws RunnerException if running the benchmarks fails.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException {
+
+        final CommandLineOptions cmdLineOptions = new CommandLineOptions(args);
+        if (cmdLineOptions.shouldHelp() || cmdLineOptions.shouldList() || cmdLineOptions.shouldListWithParams()
+                || cmdLineOptions.shouldListProfilers() || cmdLineOptions.shouldListResultFormats()) {
+            // let JMH handle informational requests
+            Main.main(args);
+            return;
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdLineOptions);
+        final boolean gcProfilerSelected = cmdLineOptions.getProfilers().stream()
+                .anyMatch(profiler -> GC_PROFILER_NAME.equals(profiler.getKlass())
+                        || GCProfiler.class.getName().equals(profiler.getKlass()));
+        if (!gcProfilerSelected) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
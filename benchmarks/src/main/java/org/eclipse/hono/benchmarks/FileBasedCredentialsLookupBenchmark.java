@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.auth.SpringBasedHonoPasswordEncoder;
+import org.eclipse.hono.deviceregistry.file.FileBasedCredentialsConfigProperties;
+import org.eclipse.hono.deviceregistry.file.FileBasedCredentialsService;
+import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.opentracing.noop.NoopSpan;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Benchmarks for looking up a device's credentials by type and auth-id in the file based
+ * credentials service as done for each device that authenticates to a protocol adapter.
+ * <p>
+ * The {@link #scanAndCopy()} benchmark implements the lookup strategy that the service used before
+ * the credentials have been indexed, i.e. scanning all credentials of the auth-id and copying the
+ * matching credentials, on the same data. It serves as the baseline for the lookups performed by
+ * the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FileBasedCredentialsLookupBenchmark {
+
+    private static final String TENANT_ID = "benchmark-tenant";
+    private static final int DEVICES = 10_000;
+    private static final String AUTH_ID = "device-4711";
+    private static final JsonObject CLIENT_CONTEXT = new JsonObject().put("region", "eu");
+
+    /**
+     * The number of secrets per credentials.
+     */
+    @Param({ "1", "10" })
+    public int secrets;
+
+    private Vertx vertx;
+    private Path credentialsFile;
+    private FileBasedCredentialsService service;
+    private Map<String, JsonArray> credentialsPerAuthId;
+
+    /**
+     * Creates the credentials of the devices and starts the credentials service.
+     *
+     * @throws Exception if the service cannot be started.
+     */
+    @Setup
+    public void startService() throws Exception {
+
+        credentialsPerAuthId = new HashMap<>(DEVICES);
+        final JsonArray allCredentials = new JsonArray();
+        for (int i = 0; i < DEVICES; i++) {
+            final String deviceId = "device-" + i;
+            final JsonArray authIdCredentials = new JsonArray()
+                    .add(newCredentials(deviceId, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD))
+                    .add(newCredentials(deviceId, CredentialsConstants.SECRETS_TYPE_X509_CERT))
+                    .add(newCredentials(deviceId, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY));
+            credentialsPerAuthId.put(deviceId, authIdCredentials);
+            allCredentials.addAll(authIdCredentials);
+        }
+
+        credentialsFile = Files.createTempFile("credentials", ".json");
+        Files.writeString(
+                credentialsFile,
+                new JsonArray().add(new JsonObject()
+                        .put(FileBasedCredentialsService.FIELD_TENANT, TENANT_ID)
+                        .put(FileBasedCredentialsService.ARRAY_CREDENTIALS, allCredentials)).encode(),
+                StandardCharsets.UTF_8);
+
+        final FileBasedCredentialsConfigProperties config = new FileBasedCredentialsConfigProperties();
+        config.setFilename(credentialsFile.toString());
+        vertx = Vertx.vertx();
+        service = new FileBasedCredentialsService(vertx, config, new SpringBasedHonoPasswordEncoder());
+        service.start().toCompletionStage().toCompletableFuture().get();
+    }
+
+    private JsonObject newCredentials(final String deviceId, final String type) {
+        final JsonArray secretsArray = new JsonArray();
+        for (int i = 0; i < secrets; i++) {
+            secretsArray.add(new JsonObject()
+                    .put("id", "secret-" + i)
+                    .put(CredentialsConstants.FIELD_ENABLED, i % 2 == 0)
+                    .put(CredentialsConstants.FIELD_SECRETS_KEY, "c2VjcmV0LWtleQ=="));
+        }
+        return new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(CredentialsConstants.FIELD_TYPE, type)
+                .put(CredentialsConstants.FIELD_AUTH_ID, deviceId)
+                .put(CredentialsConstants.FIELD_SECRETS, secretsArray)
+                .put("ext", new JsonObject().put("region", "eu"));
+    }
+
+    /**
+     * Stops the credentials service.
+     *
+     * @throws IOException if the credentials file cannot be deleted.
+     */
+    @TearDown
+    public void stopService() throws IOException {
+        service.stop();
+        vertx.close();
+        Files.deleteIfExists(credentialsFile);
+    }
+
+    /**
+     * Measures looking up credentials by means of the service.
+     * <p>
+     * The service completes the returned future immediately.
+     *
+     * @return The lookup result.
+     */
+    @Benchmark
+    public CredentialsResult<JsonObject> lookup() {
+        return service.get(TENANT_ID, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, AUTH_ID, NoopSpan.INSTANCE)
+                .result();
+    }
+
+    /**
+     * Measures looking up credentials matching a client context by means of the service.
+     *
+     * @return The lookup result.
+     */
+    @Benchmark
+    public CredentialsResult<JsonObject> lookupWithClientContext() {
+        return service.get(TENANT_ID, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, AUTH_ID, CLIENT_CONTEXT,
+                NoopSpan.INSTANCE).result();
+    }
+
+    /**
+     * Measures looking up credentials by means of scanning and copying the auth-id's credentials.
+     *
+     * @return The credentials.
+     */
+    @Benchmark
+    public JsonObject scanAndCopy() {
+        for (final Object entry : credentialsPerAuthId.get(AUTH_ID)) {
+            final JsonObject credential = (JsonObject) entry;
+            if (!CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY.equals(credential.getString(CredentialsConstants.FIELD_TYPE))
+                    || !credential.getBoolean(CredentialsConstants.FIELD_ENABLED, true)
+                    || !DeviceRegistryUtils.matchesWithClientContext(credential, CLIENT_CONTEXT)) {
+                continue;
+            }
+            final JsonObject copy = credential.copy();
+            copy.put(CredentialsConstants.FIELD_SECRETS, copy.getJsonArray(CredentialsConstants.FIELD_SECRETS)
+                    .stream()
+                    .filter(JsonObject.class::isInstance)
+                    .map(JsonObject.class::cast)
+                    .filter(secret -> secret.getBoolean(CredentialsConstants.FIELD_ENABLED, true))
+                    .collect(JsonArray::new, JsonArray::add, JsonArray::addAll));
+            return copy;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.kafka.producer.AbstractKafkaBasedMessageSender;
+import org.eclipse.hono.client.kafka.producer.CachingKafkaProducerFactory;
+import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
+import org.eclipse.hono.util.MessageHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.opentracing.noop.NoopSpan;
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Benchmarks for the encoding of message properties into Kafka record headers
+ * as done by {@link AbstractKafkaBasedMessageSender} for each message being sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaBasedMessageSenderBenchmark {
+
+    private Vertx vertx;
+    private HeaderEncodingSender sender;
+    private Map<String, Object> telemetryProperties;
+    private Map<String, Object> propertiesWithCreationTime;
+
+    /**
+     * Creates the sender and the message properties to encode.
+     */
+    @Setup
+    public void createSender() {
+        vertx = Vertx.vertx();
+        final MessagingKafkaProducerConfigProperties config = new MessagingKafkaProducerConfigProperties();
+        config.setProducerConfig(Map.of("bootstrap.servers", "localhost:9092"));
+        // the producer is never used because the benchmarks do not send any records
+        sender = new HeaderEncodingSender(
+                CachingKafkaProducerFactory.testFactory(vertx, (name, producerConfig) -> null),
+                config);
+        telemetryProperties = Map.of(
+                MessageHelper.APP_PROPERTY_DEVICE_ID, "4711",
+                MessageHelper.APP_PROPERTY_QOS, 1,
+                MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json",
+                MessageHelper.APP_PROPERTY_ORIG_ADAPTER, "hono-mqtt",
+                MessageHelper.APP_PROPERTY_ORIG_ADDRESS, "telemetry/DEFAULT_TENANT/4711",
+                MessageHelper.SYS_HEADER_PROPERTY_TTL, 60_000L);
+        propertiesWithCreationTime = Map.of(
+                MessageHelper.APP_PROPERTY_DEVICE_ID, "4711",
+                MessageHelper.APP_PROPERTY_QOS, 1,
+                MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json",
+                MessageHelper.SYS_PROPERTY_CREATION_TIME, System.currentTimeMillis());
+    }
+
+    /**
+     * Closes the vert.x instance.
+     */
+    @TearDown
+    public void closeVertx() {
+        vertx.close();
+    }
+
+    /**
+     * Measures encoding of the properties of a typical telemetry message
+     * which do not contain a creation time.
+     *
+     * @return The headers.
+     */
+    @Benchmark
+    public List<KafkaHeader> encodeTelemetryProperties() {
+        return sender.encode(telemetryProperties);
+    }
+
+    /**
+     * Measures encoding of message properties that already contain a creation time.
+     *
+     * @return The headers.
+     */
+    @Benchmark
+    public List<KafkaHeader> encodePropertiesWithCreationTime() {
+        return sender.encode(propertiesWithCreationTime);
+    }
+
+    /**
+     * A sender that exposes the encoding of message properties.
+     */
+    private static final class HeaderEncodingSender extends AbstractKafkaBasedMessageSender {
+
+        HeaderEncodingSender(
+                final CachingKafkaProducerFactory<String, Buffer> producerFactory,
+                final MessagingKafkaProducerConfigProperties config) {
+            super(producerFactory, "benchmark", config, NoopTracerFactory.create());
+        }
+
+        List<KafkaHeader> encode(final Map<String, Object> properties) {
+            return encodePropertiesAsKafkaHeaders(properties, NoopSpan.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Benchmarks for encoding and decoding Kafka record headers using {@link KafkaRecordHelper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaRecordHelperBenchmark {
+
+    private static final String TENANT_ID = "DEFAULT_TENANT";
+    private static final String DEVICE_ID = "4711";
+
+    private List<KafkaHeader> headers;
+    private KafkaHeader creationTimeHeader;
+    private KafkaHeader qosHeader;
+    private KafkaHeader responseRequiredHeader;
+    private KafkaHeader binaryCreationTimeHeader;
+    private KafkaHeader binaryQosHeader;
+    private KafkaHeader binaryResponseRequiredHeader;
+    private long creationTime;
+
+    /**
+     * Creates the headers used by the decoding benchmarks.
+     */
+    @Setup
+    public void createHeaders() {
+        creationTime = System.currentTimeMillis();
+        creationTimeHeader = KafkaRecordHelper.createKafkaHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME, creationTime);
+        qosHeader = KafkaRecordHelper.createKafkaHeader(MessageHelper.APP_PROPERTY_QOS, 1);
+        responseRequiredHeader = KafkaRecordHelper.createResponseRequiredHeader(true);
+        binaryCreationTimeHeader = KafkaRecordHelper.createBinaryKafkaHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME, creationTime);
+        binaryQosHeader = KafkaRecordHelper.createBinaryKafkaHeader(MessageHelper.APP_PROPERTY_QOS, 1);
+        binaryResponseRequiredHeader = KafkaRecordHelper.createBinaryKafkaHeader(KafkaRecordHelper.HEADER_RESPONSE_REQUIRED, true);
+        headers = List.of(
+                KafkaRecordHelper.createKafkaHeader(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json"),
+                qosHeader,
+                KafkaRecordHelper.createKafkaHeader(MessageHelper.SYS_HEADER_PROPERTY_TTL, 60_000L),
+                creationTimeHeader,
+                KafkaRecordHelper.createSubjectHeader("setVolume"),
+                KafkaRecordHelper.createCorrelationIdHeader("corr-id-0815"),
+                responseRequiredHeader,
+                KafkaRecordHelper.createTenantIdHeader(TENANT_ID),
+                KafkaRecordHelper.createDeviceIdHeader(DEVICE_ID));
+    }
+
+    /**
+     * Measures the creation of a header with a String value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader createStringHeader() {
+        return KafkaRecordHelper.createKafkaHeader(MessageHelper.APP_PROPERTY_DEVICE_ID, DEVICE_ID);
+    }
+
+    /**
+     * Measures the creation of a header with a long value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader createLongHeader() {
+        return KafkaRecordHelper.createKafkaHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME, creationTime);
+    }
+
+    /**
+     * Measures the creation of a header with a boolean value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader createBooleanHeader() {
+        return KafkaRecordHelper.createResponseRequiredHeader(true);
+    }
+
+    /**
+     * Measures the creation of a header with a binary encoded long value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader createBinaryLongHeader() {
+        return KafkaRecordHelper.createBinaryKafkaHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME, creationTime);
+    }
+
+    /**
+     * Measures the creation of a header with a binary encoded boolean value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader createBinaryBooleanHeader() {
+        return KafkaRecordHelper.createBinaryKafkaHeader(KafkaRecordHelper.HEADER_RESPONSE_REQUIRED, true);
+    }
+
+    /**
+     * Measures decoding of a header with a long value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Long decodeLongHeader() {
+        return KafkaRecordHelper.decode(creationTimeHeader, Long.class);
+    }
+
+    /**
+     * Measures decoding of a header with an integer value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Integer decodeIntegerHeader() {
+        return KafkaRecordHelper.decode(qosHeader, Integer.class);
+    }
+
+    /**
+     * Measures decoding of a header with a boolean value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Boolean decodeBooleanHeader() {
+        return KafkaRecordHelper.decode(responseRequiredHeader, Boolean.class);
+    }
+
+    /**
+     * Measures decoding of a header with a binary encoded long value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Long decodeBinaryLongHeader() {
+        return KafkaRecordHelper.decode(binaryCreationTimeHeader, Long.class, true);
+    }
+
+    /**
+     * Measures decoding of a header with a binary encoded integer value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Integer decodeBinaryIntegerHeader() {
+        return KafkaRecordHelper.decode(binaryQosHeader, Integer.class, true);
+    }
+
+    /**
+     * Measures decoding of a header with a binary encoded boolean value.
+     *
+     * @return The decoded value.
+     */
+    @Benchmark
+    public Boolean decodeBinaryBooleanHeader() {
+        return KafkaRecordHelper.decode(binaryResponseRequiredHeader, Boolean.class, true);
+    }
+
+    /**
+     * Measures looking up and decoding the device identifier from the (last) header of a record.
+     *
+     * @return The device identifier.
+     */
+    @Benchmark
+    public Optional<String> getDeviceId() {
+        return KafkaRecordHelper.getDeviceId(headers);
+    }
+
+    /**
+     * Measures checking if a record's time-to-live has elapsed.
+     *
+     * @return {@code true} if the TTL has elapsed.
+     */
+    @Benchmark
+    public boolean isTtlElapsed() {
+        return KafkaRecordHelper.isTtlElapsed(headers);
+    }
+}
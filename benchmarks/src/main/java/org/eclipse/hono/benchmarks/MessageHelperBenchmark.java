@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Benchmarks for accessing the properties and payload of AMQP 1.0 messages using {@link MessageHelper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageHelperBenchmark {
+
+    private Message message;
+
+    /**
+     * Creates the message to access.
+     */
+    @Setup
+    public void createMessage() {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(MessageHelper.APP_PROPERTY_TENANT_ID, "DEFAULT_TENANT");
+        props.put(MessageHelper.APP_PROPERTY_DEVICE_ID, "4711");
+        props.put(MessageHelper.APP_PROPERTY_QOS, 1);
+        props.put(MessageHelper.APP_PROPERTY_ORIG_ADAPTER, "hono-mqtt");
+        message = ProtonHelper.message();
+        message.setAddress("telemetry/DEFAULT_TENANT/4711");
+        message.setContentType(MessageHelper.CONTENT_TYPE_APPLICATION_JSON);
+        message.setApplicationProperties(new ApplicationProperties(props));
+        final JsonObject payload = new JsonObject()
+                .put("temp", 23.5)
+                .put("humidity", 48)
+                .put("location", new JsonObject().put("lat", 52.52).put("lon", 13.405))
+                .put("status", "operational");
+        message.setBody(new Data(new Binary(payload.toBuffer().getBytes())));
+    }
+
+    /**
+     * Measures retrieval of the tenant identifier.
+     *
+     * @return The tenant identifier.
+     */
+    @Benchmark
+    public String getTenantId() {
+        return MessageHelper.getTenantId(message);
+    }
+
+    /**
+     * Measures retrieval of the device identifier.
+     *
+     * @return The device identifier.
+     */
+    @Benchmark
+    public String getDeviceId() {
+        return MessageHelper.getDeviceId(message);
+    }
+
+    /**
+     * Measures retrieval of the QoS level.
+     *
+     * @return The QoS level.
+     */
+    @Benchmark
+    public Integer getQoS() {
+        return MessageHelper.getQoS(message);
+    }
+
+    /**
+     * Measures extraction of the payload.
+     *
+     * @return The payload.
+     */
+    @Benchmark
+    public Buffer getPayload() {
+        return MessageHelper.getPayload(message);
+    }
+
+    /**
+     * Measures determining the size of the payload.
+     *
+     * @return The payload size.
+     */
+    @Benchmark
+    public int getPayloadSize() {
+        return MessageHelper.getPayloadSize(message);
+    }
+
+    /**
+     * Measures extraction of the payload as a String.
+     *
+     * @return The payload.
+     */
+    @Benchmark
+    public String getPayloadAsString() {
+        return MessageHelper.getPayloadAsString(message);
+    }
+
+    /**
+     * Measures parsing of the payload into a JSON object.
+     *
+     * @return The payload.
+     */
+    @Benchmark
+    public JsonObject getJsonPayload() {
+        return MessageHelper.getJsonPayload(message);
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.deviceregistry.mongodb.config.MongoDbConfigProperties;
+import org.eclipse.hono.deviceregistry.mongodb.model.MongoDbBasedDeviceDao;
+import org.eclipse.hono.service.management.SearchResult;
+import org.eclipse.hono.service.management.Sort;
+import org.eclipse.hono.service.management.device.Device;
+import org.eclipse.hono.service.management.device.DeviceDto;
+import org.eclipse.hono.service.management.device.DeviceWithId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.MongoClient;
+
+/**
+ * Benchmarks for retrieving a page of devices from a tenant with a large number of devices
+ * registered in the Mongo DB based device registry.
+ * <p>
+ * The benchmarks compare retrieving a page far into the result set by means of a page offset with retrieving
+ * the same page by means of a continuation token. The benchmarks require a Mongo DB instance that can be
+ * configured by means of the {@value #PROPERTY_CONNECTION_STRING} system property, which JMH passes on to
+ * the forked JVM. The devices are only registered if the tenant does not already contain the expected number
+ * of devices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MongoDbDeviceSearchBenchmark {
+
+    /**
+     * The name of the system property that contains the connection string of the Mongo DB to use.
+     */
+    public static final String PROPERTY_CONNECTION_STRING = "hono.benchmarks.mongodb.connectionString";
+
+    private static final String DEFAULT_CONNECTION_STRING = "mongodb://localhost:27017/hono-benchmarks";
+    private static final String COLLECTION_NAME = "devices";
+    private static final String TENANT_ID = "benchmark-tenant";
+    private static final int PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * The number of devices registered for the tenant.
+     */
+    @Param("1000000")
+    public int devices;
+
+    /**
+     * The index of the page to retrieve.
+     */
+    @Param({ "10", "9000" })
+    public int page;
+
+    /**
+     * Indicates whether the total number of matching devices may be estimated.
+     */
+    @Param({ "false", "true" })
+    public boolean estimateTotal;
+
+    private Vertx vertx;
+    private MongoClient mongoClient;
+    private MongoDbBasedDeviceDao dao;
+    private List<Sort> sortOptions;
+    private String continuationToken;
+
+    /**
+     * Registers the devices and determines the continuation token for the page to retrieve.
+     *
+     * @throws Exception if the devices cannot be registered.
+     */
+    @Setup
+    public void registerDevices() throws Exception {
+
+        vertx = Vertx.vertx();
+        final JsonObject config = new MongoDbConfigProperties()
+                .setConnectionString(System.getProperty(PROPERTY_CONNECTION_STRING, DEFAULT_CONNECTION_STRING))
+                .getMongoClientConfig();
+        mongoClient = MongoClient.create(vertx, config);
+        dao = new MongoDbBasedDeviceDao(mongoClient, COLLECTION_NAME, null);
+        await(dao.createIndices());
+
+        final JsonObject tenantQuery = new JsonObject().put(DeviceDto.FIELD_TENANT_ID, TENANT_ID);
+        if (await(mongoClient.count(COLLECTION_NAME, tenantQuery)) != devices) {
+            await(mongoClient.removeDocuments(COLLECTION_NAME, tenantQuery));
+            for (int batchStart = 0; batchStart < devices; batchStart += BATCH_SIZE) {
+                final List<BulkOperation> inserts = new ArrayList<>(BATCH_SIZE);
+                for (int i = batchStart; i < Math.min(devices, batchStart + BATCH_SIZE); i++) {
+                    final Device device = new Device().setExtensions(Map.of("group", "group-" + i % 100));
+                    final DeviceDto dto = DeviceDto.forCreation(
+                            DeviceDto::new,
+                            TENANT_ID,
+                            String.format("device-%07d", i),
+                            device,
+                            "1");
+                    inserts.add(BulkOperation.createInsert(JsonObject.mapFrom(dto)));
+                }
+                await(mongoClient.bulkWrite(COLLECTION_NAME, inserts));
+            }
+        }
+
+        // devices are sorted by their identifier which is backed by the (tenant ID, device ID) index
+        sortOptions = List.of();
+        // the token of the preceding page refers to the position right before the page to retrieve
+        continuationToken = await(dao.find(
+                TENANT_ID,
+                PAGE_SIZE,
+                page - 1,
+                List.of(),
+                sortOptions,
+                Optional.empty(),
+                true,
+                null)).getContinuationToken();
+    }
+
+    /**
+     * Closes the connection to the Mongo DB.
+     */
+    @TearDown
+    public void closeConnection() {
+        mongoClient.close();
+        vertx.close();
+    }
+
+    /**
+     * Measures retrieving the page by means of skipping all devices on the preceding pages.
+     *
+     * @return The page of devices.
+     * @throws Exception if the page cannot be retrieved.
+     */
+    @Benchmark
+    public SearchResult<DeviceWithId> findPageUsingOffset() throws Exception {
+        return await(dao.find(TENANT_ID, PAGE_SIZE, page, List.of(), sortOptions, Optional.empty(), estimateTotal,
+                null));
+    }
+
+    /**
+     * Measures retrieving the page by means of the continuation token of the preceding page.
+     *
+     * @return The page of devices.
+     * @throws Exception if the page cannot be retrieved.
+     */
+    @Benchmark
+    public SearchResult<DeviceWithId> findPageUsingContinuationToken() throws Exception {
+        return await(dao.find(TENANT_ID, PAGE_SIZE, 0, List.of(), sortOptions, Optional.of(continuationToken),
+                estimateTotal, null));
+    }
+
+    private static <T> T await(final Future<T> future) throws InterruptedException, ExecutionException {
+        return future.toCompletionStage().toCompletableFuture().get();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for creating {@link ResourceIdentifier}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResourceIdentifierBenchmark {
+
+    private String address;
+    private String tenantAddress;
+
+    /**
+     * Creates the addresses to parse.
+     */
+    @Setup
+    public void createAddresses() {
+        address = "telemetry/DEFAULT_TENANT/4711";
+        tenantAddress = "command_response/DEFAULT_TENANT";
+    }
+
+    /**
+     * Measures parsing of an address containing endpoint, tenant and resource ID.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromString() {
+        return ResourceIdentifier.fromString(address);
+    }
+
+    /**
+     * Measures parsing of an address containing endpoint and tenant only.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromStringWithoutResourceId() {
+        return ResourceIdentifier.fromString(tenantAddress);
+    }
+
+    /**
+     * Measures creating a resource identifier from its segments.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromSegments() {
+        return ResourceIdentifier.from("telemetry", "DEFAULT_TENANT", "4711");
+    }
+}
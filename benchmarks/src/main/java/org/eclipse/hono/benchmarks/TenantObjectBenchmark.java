@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.util.Adapter;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Benchmarks for decoding {@link TenantObject}s from their JSON representation
+ * and for checking if an adapter is enabled for a tenant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TenantObjectBenchmark {
+
+    private Buffer tenantJson;
+    private TenantObject tenantWithAdapters;
+    private TenantObject tenantWithoutAdapters;
+
+    /**
+     * Creates the tenants.
+     */
+    @Setup
+    public void createTenants() {
+        tenantWithAdapters = TenantObject.from("DEFAULT_TENANT", true)
+                .setAdapters(List.of(
+                        new Adapter(Constants.PROTOCOL_ADAPTER_TYPE_HTTP).setEnabled(true),
+                        new Adapter(Constants.PROTOCOL_ADAPTER_TYPE_AMQP).setEnabled(false),
+                        new Adapter(Constants.PROTOCOL_ADAPTER_TYPE_MQTT).setEnabled(true)))
+                .setResourceLimits(new ResourceLimits().setMaxConnections(100_000).setMaxTtl(3600))
+                .setDefaults(new JsonObject().put("ttl", 60))
+                .addTrustAnchor(new byte[] { 0x01, 0x02, 0x03 }, "RSA", new X500Principal("CN=DEFAULT_TENANT_CA"), null, false);
+        tenantJson = Json.encodeToBuffer(tenantWithAdapters);
+        tenantWithoutAdapters = TenantObject.from("DEFAULT_TENANT", true);
+    }
+
+    /**
+     * Measures decoding of a tenant from its JSON representation as done
+     * by the Tenant client for each response received from the Tenant service.
+     *
+     * @return The tenant.
+     */
+    @Benchmark
+    public TenantObject decode() {
+        return Json.decodeValue(tenantJson, TenantObject.class);
+    }
+
+    /**
+     * Measures checking if an explicitly configured adapter is enabled.
+     *
+     * @return {@code true} if the adapter is enabled.
+     */
+    @Benchmark
+    public boolean isAdapterEnabledConfiguredAdapter() {
+        return tenantWithAdapters.isAdapterEnabled(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+
+    /**
+     * Measures checking if an adapter is enabled for a tenant that has no explicit adapter configuration.
+     *
+     * @return {@code true} if the adapter is enabled.
+     */
+    @Benchmark
+    public boolean isAdapterEnabledDefaultConfiguration() {
+        return tenantWithoutAdapters.isAdapterEnabled(Constants.PROTOCOL_ADAPTER_TYPE_MQTT);
+    }
+}
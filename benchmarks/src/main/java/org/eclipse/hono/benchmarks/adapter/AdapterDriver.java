@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Creates a protocol adapter instance and connects simulated devices to it
+ * using the adapter's transport protocol.
+ */
+interface AdapterDriver {
+
+    /**
+     * The host that the adapter binds to and that devices connect to.
+     */
+    String HOST = "127.0.0.1";
+
+    /**
+     * Creates a protocol adapter that listens on an arbitrary port of the loopback
+     * device and which accepts messages from unauthenticated devices.
+     * <p>
+     * The service clients are set by the caller.
+     *
+     * @param vertx The vert.x instance that the adapter will be deployed to.
+     * @param meterRegistry The registry to use for the adapter's metrics.
+     * @return The adapter.
+     */
+    AbstractProtocolAdapterBase<?> createAdapter(Vertx vertx, MeterRegistry meterRegistry);
+
+    /**
+     * Connects a device to the adapter.
+     *
+     * @param vertx The vert.x instance to use for the device's connection.
+     * @param port The port that the adapter is listening on.
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return A future indicating the outcome of the connection attempt.
+     */
+    Future<DeviceConnection> connect(Vertx vertx, int port, String tenantId, String deviceId);
+
+    /**
+     * Releases all resources allocated by this driver.
+     */
+    default void close() {
+        // nothing to do by default
+    }
+
+    /**
+     * A device's connection to the protocol adapter.
+     */
+    interface DeviceConnection {
+
+        /**
+         * Publishes a message.
+         *
+         * @param endpoint The endpoint to publish the message to, either <em>telemetry</em> or <em>event</em>.
+         * @param payload The message payload.
+         * @return A future indicating the outcome of the operation. The future will be succeeded
+         *         once the adapter has acknowledged the message.
+         */
+        Future<Void> publish(String endpoint, Buffer payload);
+
+        /**
+         * Closes the connection.
+         *
+         * @return A future indicating the outcome of the operation.
+         */
+        Future<Void> close();
+    }
+}
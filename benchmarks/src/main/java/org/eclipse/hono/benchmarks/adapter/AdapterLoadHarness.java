@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.MessagingClientProviders;
+import org.eclipse.hono.adapter.test.ProtocolAdapterMockSupport;
+import org.eclipse.hono.client.command.CommandResponseSender;
+import org.eclipse.hono.client.telemetry.EventSender;
+import org.eclipse.hono.client.telemetry.TelemetrySender;
+import org.eclipse.hono.client.util.MessagingClientProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A harness for measuring the end-to-end throughput and latency of a protocol adapter.
+ * <p>
+ * The harness runs a protocol adapter in-process, using an in-memory device registry
+ * and a downstream sender that captures all messages being forwarded by the adapter.
+ * A configurable number of (unauthenticated) devices are connected to the adapter using
+ * the adapter's transport protocol. Each device then publishes messages one at a time,
+ * i.e. a device waits for the adapter to acknowledge a message before publishing the next one.
+ * <p>
+ * After a warmup round, the harness measures
+ * <ul>
+ * <li>the number of messages forwarded per second,</li>
+ * <li>the distribution of the time between a device publishing a message and the adapter
+ * forwarding the message downstream and</li>
+ * <li>the number of bytes allocated per message by all threads of the JVM, including the
+ * threads used for simulating the devices.</li>
+ * </ul>
+ * The results are written in JSON format to a file or to standard out.
+ */
+public final class AdapterLoadHarness extends ProtocolAdapterMockSupport {
+
+    private static final String TENANT_ID = "load-test";
+    private static final int CONNECT_BATCH_SIZE = 100;
+
+    private final LoadHarnessOptions options;
+    private final AdapterDriver driver;
+    private final CapturingDownstreamSender downstreamSender = new CapturingDownstreamSender();
+    private final List<AdapterDriver.DeviceConnection> connections = new ArrayList<>();
+
+    private AdapterLoadHarness(final LoadHarnessOptions options) {
+        this.options = options;
+        this.driver = options.newDriver();
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args The command line arguments.
+     * @throws Exception if the harness fails to run.
+     */
+    public static void main(final String[] args) throws Exception {
+
+        final LoadHarnessOptions options;
+        try {
+            options = LoadHarnessOptions.fromArgs(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadHarnessOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        final JsonObject result = new AdapterLoadHarness(options).run();
+        if (options.output == null) {
+            System.out.println(result.encodePrettily());
+        } else {
+            Files.writeString(Path.of(options.output), result.encodePrettily(), StandardCharsets.UTF_8);
+        }
+        // make sure that lingering non-daemon threads do not prevent the JVM from terminating
+        System.exit(0);
+    }
+
+    private JsonObject run() throws Exception {
+
+        final Vertx adapterVertx = Vertx.vertx();
+        final Vertx deviceVertx = Vertx.vertx();
+        try {
+            final AbstractProtocolAdapterBase<?> adapter = createAdapter(adapterVertx);
+            await(adapterVertx.deployVerticle(adapter));
+            final int port = adapter.getInsecurePort();
+
+            connectDevices(deviceVertx, port);
+            if (options.warmupMessages > 0) {
+                runRound(options.warmupMessages);
+            }
+
+            final long allocatedBytesBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            final LatencyRecorder recorder = runRound(options.messages);
+            final long durationNanos = System.nanoTime() - start;
+            final long allocatedBytes = getAllocatedBytes() - allocatedBytesBefore;
+
+            final long totalMessages = (long) options.devices * options.messages;
+            final JsonObject result = new JsonObject()
+                    .put("adapter", options.adapter)
+                    .put("endpoint", options.endpoint)
+                    .put("devices", options.devices)
+                    .put("messagesPerDevice", options.messages)
+                    .put("warmupMessagesPerDevice", options.warmupMessages)
+                    .put("payloadSize", options.payloadSize)
+                    .put("messages", totalMessages)
+                    .put("forwardedMessages", recorder.getForwardedMessages())
+                    .put("failedMessages", recorder.getFailedMessages())
+                    .put("durationMillis", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                    .put("throughput", new JsonObject()
+                            .put("unit", "msgs/s")
+                            .put("value", recorder.getForwardedMessages() * 1_000_000_000d / durationNanos))
+                    .put("latency", recorder.getLatencyStatistics())
+                    .put("allocatedBytesPerMessage", allocatedBytes < 0 ? null : allocatedBytes / totalMessages)
+                    .put("jvm", new JsonObject()
+                            .put("version", System.getProperty("java.version"))
+                            .put("vmName", System.getProperty("java.vm.name"))
+                            .put("availableProcessors", Runtime.getRuntime().availableProcessors())
+                            .put("maxHeapBytes", Runtime.getRuntime().maxMemory()));
+
+            disconnectDevices();
+            await(adapterVertx.undeploy(adapter.deploymentID()));
+            return result;
+        } finally {
+            driver.close();
+            await(deviceVertx.close());
+            await(adapterVertx.close());
+        }
+    }
+
+    private AbstractProtocolAdapterBase<?> createAdapter(final Vertx vertx) {
+
+        createClients();
+        final InMemoryDeviceRegistry registry = new InMemoryDeviceRegistry();
+
+        final AbstractProtocolAdapterBase<?> adapter = driver.createAdapter(vertx, new SimpleMeterRegistry());
+        adapter.setTenantClient(registry);
+        adapter.setRegistrationClient(registry);
+        adapter.setCredentialsClient(registry);
+        adapter.setCommandConsumerFactory(commandConsumerFactory);
+        adapter.setCommandRouterClient(commandRouterClient);
+        adapter.setMessagingClientProviders(new MessagingClientProviders(
+                new MessagingClientProvider<TelemetrySender>().setClient(downstreamSender),
+                new MessagingClientProvider<EventSender>().setClient(downstreamSender),
+                new MessagingClientProvider<CommandResponseSender>().setClient(commandResponseSender)));
+        return adapter;
+    }
+
+    private void connectDevices(final Vertx vertx, final int port) throws Exception {
+
+        for (int batchStart = 0; batchStart < options.devices; batchStart += CONNECT_BATCH_SIZE) {
+            @SuppressWarnings("rawtypes")
+            final List<Future> batch = new ArrayList<>();
+            for (int i = batchStart; i < Math.min(batchStart + CONNECT_BATCH_SIZE, options.devices); i++) {
+                batch.add(driver.connect(vertx, port, TENANT_ID, String.format("device-%06d", i))
+                        .onSuccess(con -> {
+                            synchronized (connections) {
+                                connections.add(con);
+                            }
+                        }));
+            }
+            await(CompositeFuture.all(batch));
+        }
+    }
+
+    private void disconnectDevices() throws Exception {
+        @SuppressWarnings("rawtypes")
+        final List<Future> closed = new ArrayList<>();
+        connections.forEach(con -> closed.add(con.close()));
+        await(CompositeFuture.join(closed).recover(t -> Future.succeededFuture()));
+    }
+
+    private LatencyRecorder runRound(final int messagesPerDevice) throws Exception {
+
+        final LatencyRecorder recorder = new LatencyRecorder(connections.size() * messagesPerDevice);
+        downstreamSender.setRecorder(recorder);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> devicesDone = new ArrayList<>();
+        for (int i = 0; i < connections.size(); i++) {
+            final Promise<Void> deviceDone = Promise.promise();
+            publish(connections.get(i), i * messagesPerDevice, (i + 1) * messagesPerDevice, recorder, deviceDone);
+            devicesDone.add(deviceDone.future());
+        }
+        await(CompositeFuture.all(devicesDone));
+        return recorder;
+    }
+
+    private void publish(
+            final AdapterDriver.DeviceConnection connection,
+            final int messageId,
+            final int lastMessageId,
+            final LatencyRecorder recorder,
+            final Promise<Void> done) {
+
+        if (messageId >= lastMessageId) {
+            done.complete();
+            return;
+        }
+        final var payload = LatencyRecorder.newPayload(messageId, options.payloadSize);
+        recorder.published(messageId);
+        connection.publish(options.endpoint, payload)
+            .onComplete(ar -> {
+                if (ar.failed()) {
+                    recorder.failed();
+                }
+                publish(connection, messageId + 1, lastMessageId, recorder, done);
+            });
+    }
+
+    private <T> T await(final Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(options.timeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets the total number of bytes allocated by all live threads of the JVM.
+     *
+     * @return The number of bytes or -1 if the JVM does not support measuring thread allocation.
+     */
+    private static long getAllocatedBytes() {
+        final var threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            final var sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (sunThreadBean.isThreadAllocatedMemorySupported() && sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+                long total = 0;
+                for (final long allocated : sunThreadBean.getThreadAllocatedBytes(sunThreadBean.getAllThreadIds())) {
+                    if (allocated > 0) {
+                        total += allocated;
+                    }
+                }
+                return total;
+            }
+        }
+        return -1;
+    }
+}
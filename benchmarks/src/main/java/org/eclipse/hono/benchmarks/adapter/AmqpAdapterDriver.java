@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.net.HttpURLConnection;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.Rejected;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.amqp.AmqpAdapterProperties;
+import org.eclipse.hono.adapter.amqp.MicrometerBasedAmqpAdapterMetrics;
+import org.eclipse.hono.adapter.amqp.VertxBasedAmqpProtocolAdapter;
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.util.MessageHelper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.proton.ProtonClient;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * A driver for the AMQP protocol adapter.
+ * <p>
+ * Each device opens its own connection using SASL ANONYMOUS and publishes messages
+ * <em>at least once</em> over an anonymous relay link.
+ */
+final class AmqpAdapterDriver implements AdapterDriver {
+
+    @Override
+    public AbstractProtocolAdapterBase<?> createAdapter(final Vertx vertx, final MeterRegistry meterRegistry) {
+        final AmqpAdapterProperties config = new AmqpAdapterProperties();
+        config.setInsecurePort(0);
+        config.setInsecurePortBindAddress(HOST);
+        config.setAuthenticationRequired(false);
+        final VertxBasedAmqpProtocolAdapter adapter = new VertxBasedAmqpProtocolAdapter();
+        adapter.setConfig(config);
+        adapter.setMetrics(new MicrometerBasedAmqpAdapterMetrics(meterRegistry, vertx));
+        return adapter;
+    }
+
+    @Override
+    public Future<DeviceConnection> connect(
+            final Vertx vertx,
+            final int port,
+            final String tenantId,
+            final String deviceId) {
+
+        final Promise<ProtonConnection> connected = Promise.promise();
+        ProtonClient.create(vertx).connect(new ProtonClientOptions(), HOST, port, connected);
+        return connected.future()
+                .compose(con -> {
+                    final Promise<ProtonConnection> opened = Promise.promise();
+                    con.setContainer(deviceId).openHandler(opened).open();
+                    return opened.future();
+                })
+                .compose(con -> {
+                    final Promise<ProtonSender> senderOpened = Promise.promise();
+                    final ProtonSender sender = con.createSender(null);
+                    sender.setQoS(ProtonQoS.AT_LEAST_ONCE)
+                        .openHandler(senderOpened)
+                        .open();
+                    return senderOpened.future()
+                            .map(s -> newConnection(con, s, tenantId, deviceId));
+                });
+    }
+
+    private static DeviceConnection newConnection(
+            final ProtonConnection con,
+            final ProtonSender sender,
+            final String tenantId,
+            final String deviceId) {
+
+        return new DeviceConnection() {
+
+            @Override
+            public Future<Void> publish(final String endpoint, final Buffer payload) {
+                final Message msg = ProtonHelper.message();
+                msg.setAddress(String.format("%s/%s/%s", endpoint, tenantId, deviceId));
+                msg.setContentType(MessageHelper.CONTENT_TYPE_OCTET_STREAM);
+                msg.setBody(new Data(new Binary(payload.getBytes())));
+                final Promise<Void> result = Promise.promise();
+                sender.send(msg, delivery -> {
+                    if (delivery.getRemoteState() instanceof Accepted) {
+                        result.complete();
+                    } else {
+                        final ErrorCondition error = delivery.getRemoteState() instanceof Rejected
+                                ? ((Rejected) delivery.getRemoteState()).getError()
+                                : null;
+                        result.fail(new ClientErrorException(
+                                HttpURLConnection.HTTP_BAD_REQUEST,
+                                error == null ? String.valueOf(delivery.getRemoteState()) : error.getDescription()));
+                    }
+                });
+                return result.future();
+            }
+
+            @Override
+            public Future<Void> close() {
+                final Promise<ProtonConnection> closed = Promise.promise();
+                con.closeHandler(closed).close();
+                return closed.future().mapEmpty();
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.hono.client.telemetry.EventSender;
+import org.eclipse.hono.client.telemetry.TelemetrySender;
+import org.eclipse.hono.util.MessagingType;
+import org.eclipse.hono.util.QoS;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A downstream sender that records the latency of the messages being forwarded
+ * by a protocol adapter instead of sending them to a messaging infrastructure.
+ * <p>
+ * All messages are considered to be sent successfully.
+ */
+final class CapturingDownstreamSender implements TelemetrySender, EventSender {
+
+    private volatile LatencyRecorder recorder;
+
+    /**
+     * Sets the recorder to report forwarded messages to.
+     *
+     * @param recorder The recorder.
+     * @throws NullPointerException if recorder is {@code null}.
+     */
+    void setRecorder(final LatencyRecorder recorder) {
+        this.recorder = Objects.requireNonNull(recorder);
+    }
+
+    @Override
+    public MessagingType getMessagingType() {
+        return MessagingType.amqp;
+    }
+
+    @Override
+    public Future<Void> start() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> sendTelemetry(
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final QoS qos,
+            final String contentType,
+            final Buffer payload,
+            final Map<String, Object> properties,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenant);
+        Objects.requireNonNull(device);
+        Objects.requireNonNull(qos);
+
+        return capture(payload);
+    }
+
+    @Override
+    public Future<Void> sendEvent(
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final String contentType,
+            final Buffer payload,
+            final Map<String, Object> properties,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenant);
+        Objects.requireNonNull(device);
+
+        return capture(payload);
+    }
+
+    private Future<Void> capture(final Buffer payload) {
+        final LatencyRecorder currentRecorder = recorder;
+        if (currentRecorder != null) {
+            currentRecorder.forwarded(payload);
+        }
+        return Future.succeededFuture();
+    }
+}
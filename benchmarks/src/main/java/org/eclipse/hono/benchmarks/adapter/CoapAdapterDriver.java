@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.californium.core.CoapClient;
+import org.eclipse.californium.core.CoapHandler;
+import org.eclipse.californium.core.CoapResponse;
+import org.eclipse.californium.core.coap.MediaTypeRegistry;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.Endpoint;
+import org.eclipse.californium.core.network.config.NetworkConfig;
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.coap.CoapAdapterProperties;
+import org.eclipse.hono.adapter.coap.CommandResponseResource;
+import org.eclipse.hono.adapter.coap.EventResource;
+import org.eclipse.hono.adapter.coap.MicrometerBasedCoapAdapterMetrics;
+import org.eclipse.hono.adapter.coap.TelemetryResource;
+import org.eclipse.hono.adapter.coap.impl.ConfigBasedCoapEndpointFactory;
+import org.eclipse.hono.adapter.coap.impl.VertxBasedCoapAdapter;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.StatusCodeMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A driver for the CoAP protocol adapter.
+ * <p>
+ * Devices publish messages using confirmable PUT requests. Each CoAP endpoint is shared
+ * by a fixed number of devices in order to limit the number of UDP sockets while still
+ * keeping the number of message IDs used per endpoint well below the 16 bit message ID space
+ * within the exchange lifetime.
+ */
+final class CoapAdapterDriver implements AdapterDriver {
+
+    private static final int DEVICES_PER_ENDPOINT = 16;
+
+    private final NetworkConfig networkConfig = NetworkConfig.createStandardWithoutFile();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private int connectedDevices;
+
+    @Override
+    public AbstractProtocolAdapterBase<?> createAdapter(final Vertx vertx, final MeterRegistry meterRegistry) {
+        final CoapAdapterProperties config = new CoapAdapterProperties();
+        config.setInsecurePort(0);
+        config.setInsecurePortBindAddress(HOST);
+        config.setAuthenticationRequired(false);
+        final VertxBasedCoapAdapter adapter = new VertxBasedCoapAdapter();
+        adapter.setConfig(config);
+        adapter.setMetrics(new MicrometerBasedCoapAdapterMetrics(meterRegistry, vertx));
+        adapter.addResources(Set.of(
+                new TelemetryResource(adapter, NoopTracerFactory.create(), vertx),
+                new EventResource(adapter, NoopTracerFactory.create(), vertx),
+                new CommandResponseResource(adapter, NoopTracerFactory.create(), vertx)));
+        adapter.setCoapEndpointFactory(new ConfigBasedCoapEndpointFactory(vertx, config));
+        return adapter;
+    }
+
+    @Override
+    public synchronized Future<DeviceConnection> connect(
+            final Vertx vertx,
+            final int port,
+            final String tenantId,
+            final String deviceId) {
+
+        final Endpoint endpoint;
+        try {
+            endpoint = getEndpoint();
+        } catch (final Exception e) {
+            return Future.failedFuture(e);
+        }
+        final CoapClient client = new CoapClient().setEndpoint(endpoint);
+
+        return Future.succeededFuture(new DeviceConnection() {
+
+            @Override
+            public Future<Void> publish(final String endpointName, final Buffer payload) {
+                final Request request = Request.newPut();
+                request.setURI(String.format("coap://%s:%d/%s/%s/%s", HOST, port, endpointName, tenantId, deviceId));
+                request.getOptions().setContentFormat(MediaTypeRegistry.APPLICATION_OCTET_STREAM);
+                request.setPayload(payload.getBytes());
+                final Promise<Void> result = Promise.promise();
+                client.advanced(new CoapHandler() {
+
+                    @Override
+                    public void onLoad(final CoapResponse response) {
+                        if (response.isSuccess()) {
+                            result.tryComplete();
+                        } else {
+                            result.tryFail(StatusCodeMapper.from(
+                                    response.getCode().codeClass * 100 + response.getCode().codeDetail,
+                                    response.getResponseText()));
+                        }
+                    }
+
+                    @Override
+                    public void onError() {
+                        result.tryFail(new ServerErrorException(
+                                HttpURLConnection.HTTP_UNAVAILABLE,
+                                "request timed out or has been rejected"));
+                    }
+                }, request);
+                return result.future();
+            }
+
+            @Override
+            public Future<Void> close() {
+                return Future.succeededFuture();
+            }
+        });
+    }
+
+    private Endpoint getEndpoint() throws Exception {
+        if (connectedDevices % DEVICES_PER_ENDPOINT == 0) {
+            final Endpoint endpoint = new CoapEndpoint.Builder()
+                    .setNetworkConfig(networkConfig)
+                    .setInetSocketAddress(new InetSocketAddress(HOST, 0))
+                    .build();
+            endpoint.start();
+            endpoints.add(endpoint);
+        }
+        connectedDevices++;
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    @Override
+    public synchronized void close() {
+        endpoints.forEach(Endpoint::destroy);
+        endpoints.clear();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.http.HttpProtocolAdapterProperties;
+import org.eclipse.hono.adapter.http.MicrometerBasedHttpAdapterMetrics;
+import org.eclipse.hono.adapter.http.impl.VertxBasedHttpProtocolAdapter;
+import org.eclipse.hono.client.StatusCodeMapper;
+import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.MessageHelper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+
+/**
+ * A driver for the HTTP protocol adapter.
+ * <p>
+ * Each device uses its own HTTP connection which is kept alive between requests.
+ * Devices publish telemetry messages using QoS 1.
+ */
+final class HttpAdapterDriver implements AdapterDriver {
+
+    @Override
+    public AbstractProtocolAdapterBase<?> createAdapter(final Vertx vertx, final MeterRegistry meterRegistry) {
+        final HttpProtocolAdapterProperties config = new HttpProtocolAdapterProperties();
+        config.setInsecurePort(0);
+        config.setInsecurePortBindAddress(HOST);
+        config.setAuthenticationRequired(false);
+        final VertxBasedHttpProtocolAdapter adapter = new VertxBasedHttpProtocolAdapter();
+        adapter.setConfig(config);
+        adapter.setMetrics(new MicrometerBasedHttpAdapterMetrics(meterRegistry, vertx));
+        return adapter;
+    }
+
+    @Override
+    public Future<DeviceConnection> connect(
+            final Vertx vertx,
+            final int port,
+            final String tenantId,
+            final String deviceId) {
+
+        final HttpClient client = vertx.createHttpClient(new HttpClientOptions()
+                .setDefaultHost(HOST)
+                .setDefaultPort(port)
+                .setKeepAlive(true)
+                .setMaxPoolSize(1));
+
+        return Future.succeededFuture(new DeviceConnection() {
+
+            @Override
+            public Future<Void> publish(final String endpoint, final Buffer payload) {
+                final RequestOptions request = new RequestOptions()
+                        .setMethod(HttpMethod.PUT)
+                        .setURI(String.format("/%s/%s/%s", endpoint, tenantId, deviceId))
+                        .putHeader(HttpHeaders.CONTENT_TYPE, MessageHelper.CONTENT_TYPE_OCTET_STREAM)
+                        .putHeader(Constants.HEADER_QOS_LEVEL, "1");
+                return client.request(request)
+                        .compose(req -> req.send(payload))
+                        .compose(response -> {
+                            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                                return response.end();
+                            } else {
+                                return Future.failedFuture(StatusCodeMapper.from(
+                                        response.statusCode(),
+                                        response.statusMessage()));
+                            }
+                        });
+            }
+
+            @Override
+            public Future<Void> close() {
+                return client.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.registry.CredentialsClient;
+import org.eclipse.hono.client.registry.DeviceRegistrationClient;
+import org.eclipse.hono.client.registry.TenantClient;
+import org.eclipse.hono.util.CredentialsObject;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A device registry that keeps all data in memory.
+ * <p>
+ * All tenants and devices are considered to exist and to be enabled.
+ * The objects returned by the registry are created on first access and are
+ * then being reused in order to mimic the behavior of the caching registry clients
+ * that protocol adapters use in production.
+ * <p>
+ * The registry does not contain any credentials because the load harness only
+ * uses unauthenticated devices.
+ */
+final class InMemoryDeviceRegistry implements TenantClient, DeviceRegistrationClient, CredentialsClient {
+
+    private final Map<String, TenantObject> tenants = new ConcurrentHashMap<>();
+    private final Map<String, RegistrationAssertion> devices = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<Void> start() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<TenantObject> get(final String tenantId, final SpanContext context) {
+        return Future.succeededFuture(tenants.computeIfAbsent(tenantId, id -> TenantObject.from(id, true)));
+    }
+
+    @Override
+    public Future<TenantObject> get(final X500Principal subjectDn, final SpanContext context) {
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND, "no such tenant"));
+    }
+
+    @Override
+    public Future<RegistrationAssertion> assertRegistration(
+            final String tenantId,
+            final String deviceId,
+            final String gatewayId,
+            final SpanContext context) {
+        return Future.succeededFuture(devices.computeIfAbsent(
+                tenantId + "/" + deviceId,
+                key -> new RegistrationAssertion(deviceId)));
+    }
+
+    @Override
+    public Future<CredentialsObject> get(
+            final String tenantId,
+            final String type,
+            final String authId,
+            final SpanContext spanContext) {
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND, "no such credentials"));
+    }
+
+    @Override
+    public Future<CredentialsObject> get(
+            final String tenantId,
+            final String type,
+            final String authId,
+            final JsonObject clientContext,
+            final SpanContext spanContext) {
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND, "no such credentials"));
+    }
+}
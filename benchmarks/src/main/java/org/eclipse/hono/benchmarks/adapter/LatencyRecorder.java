@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Records the time it takes for messages published by devices to be forwarded downstream.
+ * <p>
+ * Each message is identified by a unique (zero based) sequence number that the
+ * device includes in the first eight bytes of the message payload.
+ */
+final class LatencyRecorder {
+
+    private final AtomicLongArray publishTimes;
+    private final AtomicLongArray latencies;
+    private final AtomicInteger forwardedMessages = new AtomicInteger();
+    private final AtomicInteger failedMessages = new AtomicInteger();
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param expectedMessages The total number of messages to record.
+     */
+    LatencyRecorder(final int expectedMessages) {
+        this.publishTimes = new AtomicLongArray(expectedMessages);
+        this.latencies = new AtomicLongArray(expectedMessages);
+    }
+
+    /**
+     * Creates the payload of a message.
+     *
+     * @param messageId The message's sequence number.
+     * @param payloadSize The total size of the payload in bytes (must be at least 8).
+     * @return The payload.
+     */
+    static Buffer newPayload(final int messageId, final int payloadSize) {
+        final Buffer payload = Buffer.buffer(payloadSize).appendLong(messageId);
+        for (int i = Long.BYTES; i < payloadSize; i++) {
+            payload.appendByte((byte) 'x');
+        }
+        return payload;
+    }
+
+    /**
+     * Records the point in time at which a device has published a message.
+     *
+     * @param messageId The message's sequence number.
+     */
+    void published(final int messageId) {
+        publishTimes.set(messageId, System.nanoTime());
+    }
+
+    /**
+     * Records the point in time at which a message is being forwarded downstream.
+     *
+     * @param payload The message payload.
+     */
+    void forwarded(final Buffer payload) {
+        final long now = System.nanoTime();
+        if (payload == null || payload.length() < Long.BYTES) {
+            return;
+        }
+        final int messageId = (int) payload.getLong(0);
+        final int idx = forwardedMessages.getAndIncrement();
+        if (idx < latencies.length() && messageId >= 0 && messageId < publishTimes.length()) {
+            latencies.set(idx, now - publishTimes.get(messageId));
+        }
+    }
+
+    /**
+     * Records the failure of a device to publish a message.
+     */
+    void failed() {
+        failedMessages.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of messages that have been forwarded downstream.
+     *
+     * @return The number of messages.
+     */
+    int getForwardedMessages() {
+        return forwardedMessages.get();
+    }
+
+    /**
+     * Gets the number of messages that devices failed to publish.
+     *
+     * @return The number of messages.
+     */
+    int getFailedMessages() {
+        return failedMessages.get();
+    }
+
+    /**
+     * Gets statistics about the recorded latencies.
+     *
+     * @return A JSON object containing the mean, p50, p99, p999 and max latencies in microseconds.
+     */
+    JsonObject getLatencyStatistics() {
+
+        final int count = Math.min(forwardedMessages.get(), latencies.length());
+        final long[] sorted = new long[count];
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sorted[i] = latencies.get(i);
+            sum += sorted[i];
+        }
+        Arrays.sort(sorted);
+        final JsonObject result = new JsonObject().put("unit", "us");
+        if (count == 0) {
+            return result;
+        }
+        return result
+                .put("mean", toMicros(sum / count))
+                .put("p50", toMicros(percentile(sorted, 0.5)))
+                .put("p99", toMicros(percentile(sorted, 0.99)))
+                .put("p999", toMicros(percentile(sorted, 0.999)))
+                .put("max", toMicros(sorted[count - 1]));
+    }
+
+    private static long percentile(final long[] sorted, final double percentile) {
+        final int idx = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private static double toMicros(final long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.TelemetryConstants;
+
+/**
+ * Options for running the protocol adapter load harness.
+ * <p>
+ * Options are passed in as command line arguments of the form <em>--name=value</em>.
+ */
+final class LoadHarnessOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: AdapterLoadHarness [options]",
+            "  --adapter=mqtt|http|amqp|coap  the protocol adapter to run (default: mqtt)",
+            "  --devices=<n>                  the number of concurrently connected devices (default: 100)",
+            "  --messages=<n>                 the number of measured messages per device (default: 1000)",
+            "  --warmupMessages=<n>           the number of messages per device to publish before measuring (default: 100)",
+            "  --payloadSize=<bytes>          the size of each message's payload, at least 8 (default: 64)",
+            "  --endpoint=telemetry|event     the endpoint to publish messages to (default: telemetry)",
+            "  --output=<file>                the file to write the JSON result to (default: stdout)",
+            "  --timeout=<seconds>            the maximum time to wait for a round of messages (default: 600)");
+
+    String adapter = "mqtt";
+    int devices = 100;
+    int messages = 1000;
+    int warmupMessages = 100;
+    int payloadSize = 64;
+    String endpoint = TelemetryConstants.TELEMETRY_ENDPOINT;
+    String output;
+    long timeoutSeconds = 600;
+
+    /**
+     * Parses command line arguments.
+     *
+     * @param args The arguments.
+     * @return The options.
+     * @throws NullPointerException if args is {@code null}.
+     * @throws IllegalArgumentException if any of the arguments is unknown or invalid.
+     */
+    static LoadHarnessOptions fromArgs(final String[] args) {
+
+        Objects.requireNonNull(args);
+
+        final LoadHarnessOptions options = new LoadHarnessOptions();
+        for (final String arg : args) {
+            final int idx = arg.indexOf('=');
+            if (!arg.startsWith("--") || idx < 0) {
+                throw new IllegalArgumentException("unsupported argument: " + arg);
+            }
+            final String name = arg.substring(2, idx);
+            final String value = arg.substring(idx + 1);
+            switch (name) {
+            case "adapter":
+                options.adapter = value.toLowerCase(Locale.ROOT);
+                break;
+            case "devices":
+                options.devices = parsePositiveInt(name, value);
+                break;
+            case "messages":
+                options.messages = parsePositiveInt(name, value);
+                break;
+            case "warmupMessages":
+                options.warmupMessages = Integer.parseInt(value);
+                break;
+            case "payloadSize":
+                options.payloadSize = parsePositiveInt(name, value);
+                break;
+            case "endpoint":
+                options.endpoint = value;
+                break;
+            case "output":
+                options.output = value;
+                break;
+            case "timeout":
+                options.timeoutSeconds = parsePositiveInt(name, value);
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported option: " + name);
+            }
+        }
+        if (options.payloadSize < Long.BYTES) {
+            throw new IllegalArgumentException("payload size must be at least " + Long.BYTES + " bytes");
+        }
+        if (options.warmupMessages < 0) {
+            throw new IllegalArgumentException("number of warmup messages must not be negative");
+        }
+        if (!TelemetryConstants.TELEMETRY_ENDPOINT.equals(options.endpoint)
+                && !EventConstants.EVENT_ENDPOINT.equals(options.endpoint)) {
+            throw new IllegalArgumentException("unsupported endpoint: " + options.endpoint);
+        }
+        if ((long) options.devices * Math.max(options.messages, options.warmupMessages) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("total number of messages per round must not exceed " + Integer.MAX_VALUE);
+        }
+        // fail early on unknown adapter types
+        options.newDriver();
+        return options;
+    }
+
+    private static int parsePositiveInt(final String name, final String value) {
+        final int result = Integer.parseInt(value);
+        if (result <= 0) {
+            throw new IllegalArgumentException(name + " must be a positive integer");
+        }
+        return result;
+    }
+
+    /**
+     * Creates a driver for the configured protocol adapter.
+     *
+     * @return The driver.
+     * @throws IllegalArgumentException if the adapter type is not supported.
+     */
+    AdapterDriver newDriver() {
+        switch (adapter) {
+        case "mqtt":
+            return new MqttAdapterDriver();
+        case "http":
+            return new HttpAdapterDriver();
+        case "amqp":
+            return new AmqpAdapterDriver();
+        case "coap":
+            return new CoapAdapterDriver();
+        default:
+            throw new IllegalArgumentException("unsupported adapter type: " + adapter);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.mqtt.MicrometerBasedMqttAdapterMetrics;
+import org.eclipse.hono.adapter.mqtt.MqttProtocolAdapterProperties;
+import org.eclipse.hono.adapter.mqtt.impl.HttpBasedMessageMapping;
+import org.eclipse.hono.adapter.mqtt.impl.VertxBasedMqttProtocolAdapter;
+import org.eclipse.hono.client.ServerErrorException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.mqtt.MqttClient;
+import io.vertx.mqtt.MqttClientOptions;
+
+/**
+ * A driver for the MQTT protocol adapter.
+ * <p>
+ * Devices publish messages using QoS 1 so that the adapter's PUBACK can be used
+ * to determine when the next message can be published.
+ */
+final class MqttAdapterDriver implements AdapterDriver {
+
+    @Override
+    public AbstractProtocolAdapterBase<?> createAdapter(final Vertx vertx, final MeterRegistry meterRegistry) {
+        final MqttProtocolAdapterProperties config = new MqttProtocolAdapterProperties();
+        config.setInsecurePort(0);
+        config.setInsecurePortBindAddress(HOST);
+        config.setAuthenticationRequired(false);
+        final VertxBasedMqttProtocolAdapter adapter = new VertxBasedMqttProtocolAdapter();
+        adapter.setConfig(config);
+        adapter.setMetrics(new MicrometerBasedMqttAdapterMetrics(meterRegistry, vertx));
+        // devices are not configured with a mapper so messages are forwarded unmodified
+        adapter.setMessageMapping(new HttpBasedMessageMapping(WebClient.create(vertx), config));
+        return adapter;
+    }
+
+    @Override
+    public Future<DeviceConnection> connect(
+            final Vertx vertx,
+            final int port,
+            final String tenantId,
+            final String deviceId) {
+
+        final MqttClient client = MqttClient.create(vertx, new MqttClientOptions()
+                .setClientId(deviceId)
+                .setAutoKeepAlive(true));
+        final AtomicReference<Promise<Void>> pendingAck = new AtomicReference<>();
+        client.publishCompletionHandler(packetId -> {
+            final Promise<Void> ack = pendingAck.getAndSet(null);
+            if (ack != null) {
+                ack.tryComplete();
+            }
+        });
+        client.closeHandler(v -> {
+            final Promise<Void> ack = pendingAck.getAndSet(null);
+            if (ack != null) {
+                ack.tryFail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "connection closed"));
+            }
+        });
+        return client.connect(port, HOST)
+                .map(connAck -> new DeviceConnection() {
+
+                    @Override
+                    public Future<Void> publish(final String endpoint, final Buffer payload) {
+                        final Promise<Void> ack = Promise.promise();
+                        pendingAck.set(ack);
+                        client.publish(
+                                String.format("%s/%s/%s", endpoint, tenantId, deviceId),
+                                payload,
+                                MqttQoS.AT_LEAST_ONCE,
+                                false,
+                                false)
+                            .onFailure(ack::tryFail);
+                        return ack.future();
+                    }
+
+                    @Override
+                    public Future<Void> close() {
+                        return client.disconnect();
+                    }
+                });
+    }
+}
@@ -17,6 +17,7 @@ import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
@@ -195,9 +197,7 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         Objects.requireNonNull(adapterInstanceId);
         Objects.requireNonNull(span);
 
-        // sanity check, preventing an ArithmeticException in lifespan.toMillis()
-        final long lifespanMillis = lifespan == null || lifespan.isNegative()
-                || lifespan.getSeconds() > (Long.MAX_VALUE / 1000L) ? -1 : lifespan.toMillis();
+        final long lifespanMillis = getLifespanMillis(lifespan);
         return cache.put(getAdapterInstanceEntryKey(tenantId, deviceId), adapterInstanceId, lifespanMillis, TimeUnit.MILLISECONDS)
                 .map(replacedValue -> {
                     LOG.debug("set command handling adapter instance [tenant: {}, device-id: {}, adapter-instance: {}, lifespan: {}ms]",
@@ -212,6 +212,36 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
                 });
     }
 
+    @Override
+    public Future<Void> setCommandHandlingAdapterInstances(final String tenantId, final Set<String> deviceIds,
+            final String adapterInstanceId, final Duration lifespan, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+        Objects.requireNonNull(span);
+
+        if (deviceIds.isEmpty()) {
+            return Future.succeededFuture();
+        }
+
+        final long lifespanMillis = getLifespanMillis(lifespan);
+        final Map<String, String> mapToBePut = deviceIds.stream()
+                .collect(Collectors.toMap(deviceId -> getAdapterInstanceEntryKey(tenantId, deviceId),
+                        deviceId -> adapterInstanceId));
+        return cache.putAll(mapToBePut, lifespanMillis, TimeUnit.MILLISECONDS)
+                .map(v -> {
+                    LOG.debug("set {} command handling adapter instance entries [tenant: {}, adapter-instance: {}, lifespan: {}ms]",
+                            deviceIds.size(), tenantId, adapterInstanceId, lifespanMillis);
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    LOG.debug("failed to set {} command handling adapter instance entries [tenant: {}, adapter-instance: {}, lifespan: {}ms]",
+                            deviceIds.size(), tenantId, adapterInstanceId, lifespanMillis, t);
+                    TracingHelper.logError(span, "failed to set command handling adapter instance cache entries", t);
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
+                });
+    }
+
     @Override
     public Future<Void> removeCommandHandlingAdapterInstance(final String tenantId, final String deviceId,
             final String adapterInstanceId, final Span span) {
@@ -242,6 +272,34 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
 
     }
 
+    @Override
+    public Future<Void> removeCommandHandlingAdapterInstances(final String tenantId, final Set<String> deviceIds,
+            final String adapterInstanceId, final Span span) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+        Objects.requireNonNull(span);
+
+        // there is no conditional bulk removal operation, so the entries are removed concurrently
+        @SuppressWarnings("rawtypes")
+        final List<Future> removalResults = deviceIds.stream()
+                .map(deviceId -> cache.remove(getAdapterInstanceEntryKey(tenantId, deviceId), adapterInstanceId))
+                .collect(Collectors.toList());
+        return CompositeFuture.join(removalResults)
+                .map(v -> {
+                    final long removed = removalResults.stream().filter(r -> Boolean.TRUE.equals(r.result())).count();
+                    LOG.debug("removed {} of {} command handling adapter instance entries [tenant: {}, adapter-instance: {}]",
+                            removed, deviceIds.size(), tenantId, adapterInstanceId);
+                    return (Void) null;
+                })
+                .recover(t -> {
+                    LOG.debug("failed to remove {} command handling adapter instance entries [tenant: {}, adapter-instance: {}]",
+                            deviceIds.size(), tenantId, adapterInstanceId, t);
+                    TracingHelper.logError(span, "failed to remove cache entries for the command handling adapter instance", t);
+                    return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
+                });
+    }
+
     @Override
     public Future<JsonObject> getCommandHandlingAdapterInstances(final String tenantId, final String deviceId,
             final Set<String> viaGateways, final Span span) {
@@ -447,6 +505,12 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         return Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_INTERNAL_ERROR, t));
     }
 
+    private static long getLifespanMillis(final Duration lifespan) {
+        // sanity check, preventing an ArithmeticException in lifespan.toMillis()
+        return lifespan == null || lifespan.isNegative()
+                || lifespan.getSeconds() > (Long.MAX_VALUE / 1000L) ? -1 : lifespan.toMillis();
+    }
+
     static String getGatewayEntryKey(final String tenantId, final String deviceId) {
         return KEY_PREFIX_GATEWAY_ENTRIES_VALUE + KEY_SEPARATOR + tenantId + KEY_SEPARATOR + deviceId;
     }
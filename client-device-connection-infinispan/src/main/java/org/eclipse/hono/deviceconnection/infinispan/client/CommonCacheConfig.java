@@ -13,6 +13,9 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import java.time.Duration;
+import java.util.Objects;
+
 import org.eclipse.hono.util.DeviceConnectionConstants;
 
 import com.google.common.base.MoreObjects;
@@ -27,6 +30,9 @@ public class CommonCacheConfig {
     private String checkKey = "KEY_CONNECTION_CHECK";
     private String checkValue = "VALUE_CONNECTION_CHECK";
 
+    private int nearCacheMaxSize = 0;
+    private Duration nearCacheMaxAge = Duration.ofSeconds(1);
+
     /**
      * Creates properties for default values.
      */
@@ -44,6 +50,8 @@ public class CommonCacheConfig {
         this.cacheName = options.cacheName();
         this.checkKey = options.checkKey();
         this.checkValue = options.checkValue();
+        setNearCacheMaxSize(options.nearCacheMaxSize());
+        setNearCacheMaxAge(options.nearCacheMaxAge());
     }
 
     public void setCacheName(final String cacheName) {
@@ -70,6 +78,58 @@ public class CommonCacheConfig {
         return checkValue;
     }
 
+    /**
+     * Sets the maximum number of entries of the remote cache to keep in memory.
+     * <p>
+     * The default value of this property is 0, which disables keeping entries in memory.
+     *
+     * @param nearCacheMaxSize The number of entries.
+     * @throws IllegalArgumentException if the size is negative.
+     * @see NearCache
+     */
+    public void setNearCacheMaxSize(final int nearCacheMaxSize) {
+        if (nearCacheMaxSize < 0) {
+            throw new IllegalArgumentException("near cache max size must be >= 0");
+        }
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    /**
+     * Gets the maximum number of entries of the remote cache to keep in memory.
+     *
+     * @return The number of entries.
+     */
+    public int getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum period of time to keep an entry of the remote cache in memory.
+     * <p>
+     * The default value of this property is one second.
+     *
+     * @param nearCacheMaxAge The period of time.
+     * @throws NullPointerException if max age is {@code null}.
+     * @throws IllegalArgumentException if max age is not positive.
+     * @see NearCache
+     */
+    public void setNearCacheMaxAge(final Duration nearCacheMaxAge) {
+        Objects.requireNonNull(nearCacheMaxAge);
+        if (nearCacheMaxAge.isZero() || nearCacheMaxAge.isNegative()) {
+            throw new IllegalArgumentException("near cache max age must be positive");
+        }
+        this.nearCacheMaxAge = nearCacheMaxAge;
+    }
+
+    /**
+     * Gets the maximum period of time to keep an entry of the remote cache in memory.
+     *
+     * @return The period of time.
+     */
+    public Duration getNearCacheMaxAge() {
+        return nearCacheMaxAge;
+    }
+
     @Override
     public String toString() {
         return MoreObjects
@@ -77,6 +137,8 @@ public class CommonCacheConfig {
                 .add("cacheName", this.cacheName)
                 .add("checkKey", this.checkKey)
                 .add("checkValue", this.checkValue)
+                .add("nearCacheMaxSize", this.nearCacheMaxSize)
+                .add("nearCacheMaxAge", this.nearCacheMaxAge)
                 .toString();
     }
 }
@@ -13,6 +13,8 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import java.time.Duration;
+
 import org.eclipse.hono.util.CommandRouterConstants;
 
 import io.smallrye.config.ConfigMapping;
@@ -49,4 +51,20 @@ public interface CommonCacheOptions {
      */
     @WithDefault("VALUE_CONNECTION_CHECK")
     String checkValue();
+
+    /**
+     * Gets the maximum number of entries of the remote cache to keep in memory.
+     *
+     * @return The number of entries. A value of 0 disables keeping entries in memory.
+     */
+    @WithDefault("0")
+    int nearCacheMaxSize();
+
+    /**
+     * Gets the maximum period of time to keep an entry of the remote cache in memory.
+     *
+     * @return The period of time.
+     */
+    @WithDefault("PT1S")
+    Duration nearCacheMaxAge();
 }
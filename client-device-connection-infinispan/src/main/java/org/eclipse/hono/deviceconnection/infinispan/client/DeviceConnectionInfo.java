@@ -132,6 +132,51 @@ public interface DeviceConnectionInfo {
      */
     Future<Void> removeCommandHandlingAdapterInstance(String tenantId, String deviceId, String adapterInstanceId, Span span);
 
+    /**
+     * Sets the protocol adapter instance that handles commands for the given devices or gateways.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the mapping entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded if the device connection information has been updated.
+     *         Otherwise the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     *         The outcome is indeterminate if any of the entries cannot be processed by an implementation.
+     *         In such a case, client code should assume that none of the entries have been updated.
+     * @throws NullPointerException if any of the parameters except lifespan is {@code null}.
+     */
+    Future<Void> setCommandHandlingAdapterInstances(String tenantId, Set<String> deviceIds, String adapterInstanceId,
+            Duration lifespan, Span span);
+
+    /**
+     * Removes the mapping information that associates the given devices with the given protocol adapter instance
+     * that handles commands for the devices. A mapping entry is only deleted if its value
+     * contains the given protocol adapter instance id.
+     * <p>
+     * In contrast to {@link #removeCommandHandlingAdapterInstance(String, String, String, Span)}, devices for which
+     * no entry containing the given adapter instance id exists are skipped silently.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded if all matching entries have been removed.
+     *         Otherwise the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Void> removeCommandHandlingAdapterInstances(String tenantId, Set<String> deviceIds, String adapterInstanceId,
+            Span span);
+
     /**
      * Gets information about the adapter instances that can handle a command for the given device.
      * <p>
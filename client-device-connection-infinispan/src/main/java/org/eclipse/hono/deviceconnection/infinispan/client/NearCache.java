@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceconnection.infinispan.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.Lifecycle;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A cache that keeps a bounded number of entries of another (remote) cache in memory.
+ * <p>
+ * Read operations are served from the local entries if possible. Otherwise, the values are read from the
+ * remote cache and are then kept locally, including the information that the remote cache did not contain
+ * a value for a key. Write operations are passed through to the remote cache and update the local entries
+ * once they have succeeded.
+ * <p>
+ * Local entries expire after a (short) configurable period of time or when their lifespan in the remote cache
+ * ends, whichever comes first. Changes made to the remote cache by other clients therefore become visible
+ * after that period of time at the latest.
+ *
+ * @param <K> The type of keys used by the cache.
+ * @param <V> The type of values stored in the cache.
+ */
+public final class NearCache<K, V> implements Cache<K, V>, Lifecycle {
+
+    private final Cache<K, V> remoteCache;
+    private final com.github.benmanes.caffeine.cache.Cache<K, LocalEntry<V>> localCache;
+    /**
+     * The state of the keys that read or write operations are in progress for.
+     * <p>
+     * Used for preventing a value that has been read from the remote cache from replacing a more
+     * recent value written to the same key in the meantime.
+     */
+    private final Map<K, KeyState> keyStates = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
+
+    /**
+     * Creates a new near cache.
+     *
+     * @param remoteCache The cache to keep entries of in memory.
+     * @param maxSize The maximum number of entries to keep in memory.
+     * @param maxAge The maximum period of time to keep an entry in memory.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if max size is &lt; 1 or max age is not positive.
+     */
+    public NearCache(final Cache<K, V> remoteCache, final long maxSize, final Duration maxAge) {
+        this.remoteCache = Objects.requireNonNull(remoteCache);
+        Objects.requireNonNull(maxAge);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        }
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            throw new IllegalArgumentException("max age must be positive");
+        }
+        this.maxAgeNanos = maxAge.toNanos();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LocalEntryExpiry())
+                .build();
+    }
+
+    /**
+     * Creates a cache for the given configuration.
+     *
+     * @param <K> The type of keys used by the cache.
+     * @param <V> The type of values stored in the cache.
+     * @param remoteCache The remote cache.
+     * @param commonCacheConfig The common cache configuration.
+     * @return A near cache in front of the given remote cache or the remote cache itself
+     *         if the near cache is disabled by means of the configuration.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static <K, V> Cache<K, V> from(final Cache<K, V> remoteCache, final CommonCacheConfig commonCacheConfig) {
+        Objects.requireNonNull(remoteCache);
+        Objects.requireNonNull(commonCacheConfig);
+
+        if (commonCacheConfig.getNearCacheMaxSize() > 0) {
+            return new NearCache<>(remoteCache, commonCacheConfig.getNearCacheMaxSize(),
+                    commonCacheConfig.getNearCacheMaxAge());
+        }
+        return remoteCache;
+    }
+
+    @Override
+    public Future<Void> start() {
+        if (remoteCache instanceof Lifecycle) {
+            return ((Lifecycle) remoteCache).start();
+        }
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        localCache.invalidateAll();
+        if (remoteCache instanceof Lifecycle) {
+            return ((Lifecycle) remoteCache).stop();
+        }
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<JsonObject> checkForCacheAvailability() {
+        return remoteCache.checkForCacheAvailability();
+    }
+
+    @Override
+    public Future<V> put(final K key, final V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        beginWrite(key);
+        return remoteCache.put(key, value)
+                .onComplete(r -> endWrite(key, r.succeeded() ? new LocalEntry<>(value, -1) : null));
+    }
+
+    @Override
+    public Future<V> put(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(lifespanUnit);
+
+        beginWrite(key);
+        return remoteCache.put(key, value, lifespan, lifespanUnit)
+                .onComplete(r -> endWrite(key, r.succeeded() ? new LocalEntry<>(value, lifespanUnit.toNanos(lifespan)) : null));
+    }
+
+    @Override
+    public Future<Void> putAll(final Map<? extends K, ? extends V> data) {
+        Objects.requireNonNull(data);
+
+        data.keySet().forEach(this::beginWrite);
+        return remoteCache.putAll(data)
+                .onComplete(r -> data.forEach((key, value) -> endWrite(key, r.succeeded() ? new LocalEntry<>(value, -1) : null)));
+    }
+
+    @Override
+    public Future<Void> putAll(final Map<? extends K, ? extends V> data, final long lifespan, final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(lifespanUnit);
+
+        data.keySet().forEach(this::beginWrite);
+        return remoteCache.putAll(data, lifespan, lifespanUnit)
+                .onComplete(r -> {
+                    final long lifespanNanos = lifespanUnit.toNanos(lifespan);
+                    data.forEach((key, value) -> endWrite(key, r.succeeded() ? new LocalEntry<>(value, lifespanNanos) : null));
+                });
+    }
+
+    @Override
+    public Future<V> get(final K key) {
+        Objects.requireNonNull(key);
+
+        final LocalEntry<V> localEntry = localCache.getIfPresent(key);
+        if (localEntry != null) {
+            return Future.succeededFuture(localEntry.value);
+        }
+        final long version = beginRead(key);
+        return remoteCache.get(key)
+                .onComplete(r -> endRead(key, version, r.succeeded() ? new LocalEntry<>(r.result(), -1) : null));
+    }
+
+    @Override
+    public Future<Boolean> remove(final K key, final V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        beginWrite(key);
+        // the local entry is only invalidated (not updated) because the value may
+        // have been changed by another client in the meantime
+        return remoteCache.remove(key, value)
+                .onComplete(r -> endWrite(key, null));
+    }
+
+    @Override
+    public Future<Map<K, V>> getAll(final Set<? extends K> keys) {
+        Objects.requireNonNull(keys);
+
+        final Map<K, V> result = new HashMap<>(keys.size());
+        final Set<K> keysToRead = new HashSet<>();
+        for (final K key : keys) {
+            final LocalEntry<V> localEntry = localCache.getIfPresent(key);
+            if (localEntry == null) {
+                keysToRead.add(key);
+            } else if (localEntry.value != null) {
+                result.put(key, localEntry.value);
+            }
+        }
+        if (keysToRead.isEmpty()) {
+            return Future.succeededFuture(result);
+        }
+        final Map<K, Long> versions = new HashMap<>(keysToRead.size());
+        keysToRead.forEach(key -> versions.put(key, beginRead(key)));
+        return remoteCache.getAll(keysToRead)
+                .onFailure(t -> versions.forEach((key, version) -> endRead(key, version, null)))
+                .map(values -> {
+                    versions.forEach((key, version) -> {
+                        final V value = values.get(key);
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                        endRead(key, version, new LocalEntry<>(value, -1));
+                    });
+                    return result;
+                });
+    }
+
+    /**
+     * Registers a read operation for a key.
+     *
+     * @param key The key.
+     * @return The version of the key at the time the read operation has been started.
+     */
+    private long beginRead(final K key) {
+        return keyStates.compute(key, (k, state) -> state == null
+                ? new KeyState(0, 1, 0)
+                : new KeyState(state.version, state.pendingReads + 1, state.pendingWrites))
+                .version;
+    }
+
+    /**
+     * Completes a read operation for a key.
+     * <p>
+     * The value that has been read is only kept in memory if no write operation for the key
+     * has been started or completed since the read operation has been started.
+     *
+     * @param key The key.
+     * @param version The version of the key at the time the read operation has been started.
+     * @param entry The value that has been read or {@code null} if the read operation has failed.
+     */
+    private void endRead(final K key, final long version, final LocalEntry<V> entry) {
+        keyStates.computeIfPresent(key, (k, state) -> {
+            if (entry != null && state.version == version && state.pendingWrites == 0) {
+                localCache.put(key, entry);
+            }
+            return KeyState.of(state.version, state.pendingReads - 1, state.pendingWrites);
+        });
+    }
+
+    /**
+     * Registers a write operation for a key and invalidates the key's local entry.
+     *
+     * @param key The key.
+     */
+    private void beginWrite(final K key) {
+        keyStates.compute(key, (k, state) -> {
+            localCache.invalidate(key);
+            return state == null
+                    ? new KeyState(1, 0, 1)
+                    : new KeyState(state.version + 1, state.pendingReads, state.pendingWrites + 1);
+        });
+    }
+
+    /**
+     * Completes a write operation for a key.
+     *
+     * @param key The key.
+     * @param entry The value that has been written or {@code null} if the key's local entry
+     *              should be invalidated.
+     */
+    private void endWrite(final K key, final LocalEntry<V> entry) {
+        keyStates.computeIfPresent(key, (k, state) -> {
+            if (entry == null || state.pendingWrites > 1) {
+                // another write operation for the key is still in progress
+                localCache.invalidate(key);
+            } else {
+                localCache.put(key, entry);
+            }
+            return KeyState.of(state.version + 1, state.pendingReads, state.pendingWrites - 1);
+        });
+    }
+
+    /**
+     * The (immutable) state of a key that read or write operations are in progress for.
+     */
+    private static final class KeyState {
+
+        /**
+         * The number of write operations that have been started or completed for the key.
+         */
+        private final long version;
+        private final int pendingReads;
+        private final int pendingWrites;
+
+        KeyState(final long version, final int pendingReads, final int pendingWrites) {
+            this.version = version;
+            this.pendingReads = pendingReads;
+            this.pendingWrites = pendingWrites;
+        }
+
+        /**
+         * Creates a key state.
+         *
+         * @return The state or {@code null} if no operations are in progress for the key anymore.
+         */
+        static KeyState of(final long version, final int pendingReads, final int pendingWrites) {
+            if (pendingReads == 0 && pendingWrites == 0) {
+                return null;
+            }
+            return new KeyState(version, pendingReads, pendingWrites);
+        }
+    }
+
+    /**
+     * A value kept in memory.
+     *
+     * @param <V> The type of value.
+     */
+    private static final class LocalEntry<V> {
+
+        private final V value;
+        /**
+         * The lifespan of the value in the remote cache or a negative value if unlimited or unknown.
+         */
+        private final long lifespanNanos;
+
+        LocalEntry(final V value, final long lifespanNanos) {
+            this.value = value;
+            this.lifespanNanos = lifespanNanos;
+        }
+    }
+
+    /**
+     * Determines the expiration of local entries based on the maximum age and their lifespan.
+     */
+    private final class LocalEntryExpiry implements Expiry<K, LocalEntry<V>> {
+
+        @Override
+        public long expireAfterCreate(final K key, final LocalEntry<V> entry, final long currentTime) {
+            return entry.lifespanNanos < 0 ? maxAgeNanos : Math.min(maxAgeNanos, entry.lifespanNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                final K key,
+                final LocalEntry<V> entry,
+                final long currentTime,
+                final long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                final K key,
+                final LocalEntry<V> entry,
+                final long currentTime,
+                final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
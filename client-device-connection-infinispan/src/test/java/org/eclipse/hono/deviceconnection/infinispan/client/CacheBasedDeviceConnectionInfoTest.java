@@ -293,6 +293,61 @@ public class CacheBasedDeviceConnectionInfoTest {
                 }));
     }
 
+    /**
+     * Verifies that the <em>setCommandHandlingAdapterInstances</em> operation sets the entries for
+     * all devices in a single cache operation.
+     *
+     * @param ctx The vert.x context.
+     */
+    @Test
+    public void testSetCommandHandlingAdapterInstancesSucceeds(final VertxTestContext ctx) {
+
+        when(cache.putAll(anyMap(), anyLong(), any(TimeUnit.class))).thenReturn(Future.succeededFuture());
+
+        info.setCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, Set.of("device1", "device2"), "adapterInstance",
+                Duration.ofSeconds(10), span)
+                .onComplete(ctx.succeeding(ok -> {
+                    ctx.verify(() -> {
+                        verify(cache).putAll(
+                                argThat(map -> map.size() == 2
+                                        && "adapterInstance".equals(map.get(CacheBasedDeviceConnectionInfo
+                                                .getAdapterInstanceEntryKey(Constants.DEFAULT_TENANT, "device1")))
+                                        && "adapterInstance".equals(map.get(CacheBasedDeviceConnectionInfo
+                                                .getAdapterInstanceEntryKey(Constants.DEFAULT_TENANT, "device2")))),
+                                eq(10_000L),
+                                eq(TimeUnit.MILLISECONDS));
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
+    /**
+     * Verifies that the <em>removeCommandHandlingAdapterInstances</em> operation succeeds if
+     * only some of the devices have an entry containing the given adapter instance.
+     *
+     * @param ctx The vert.x context.
+     */
+    @Test
+    public void testRemoveCommandHandlingAdapterInstancesSucceeds(final VertxTestContext ctx) {
+
+        when(cache.remove(anyString(), anyString())).thenReturn(Future.succeededFuture(Boolean.FALSE));
+        when(cache.remove(eq(CacheBasedDeviceConnectionInfo.getAdapterInstanceEntryKey(Constants.DEFAULT_TENANT, "device1")),
+                anyString())).thenReturn(Future.succeededFuture(Boolean.TRUE));
+
+        info.removeCommandHandlingAdapterInstances(Constants.DEFAULT_TENANT, Set.of("device1", "device2"), "adapterInstance", span)
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    verify(cache).remove(
+                            eq(CacheBasedDeviceConnectionInfo.getAdapterInstanceEntryKey(Constants.DEFAULT_TENANT, "device1")),
+                            eq("adapterInstance"));
+                    verify(cache).remove(
+                            eq(CacheBasedDeviceConnectionInfo.getAdapterInstanceEntryKey(Constants.DEFAULT_TENANT, "device2")),
+                            eq("adapterInstance"));
+                });
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that the <em>removeCommandHandlingAdapterInstance</em> operation succeeds if there was an entry to be deleted.
      *
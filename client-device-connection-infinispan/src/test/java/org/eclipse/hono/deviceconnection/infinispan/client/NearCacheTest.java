@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceconnection.infinispan.client;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Tests verifying behavior of {@link NearCache}.
+ *
+ */
+class NearCacheTest {
+
+    private Cache<String, String> remoteCache;
+    private NearCache<String, String> cache;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        remoteCache = mock(Cache.class);
+        cache = new NearCache<>(remoteCache, 100, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Verifies that values read from the remote cache, including the absence of a value,
+     * are kept in memory.
+     */
+    @Test
+    void testGetAllReadsMissingKeysFromRemoteCacheOnly() {
+
+        when(remoteCache.getAll(Set.of("one", "two"))).thenReturn(Future.succeededFuture(Map.of("one", "1")));
+        when(remoteCache.getAll(Set.of("three"))).thenReturn(Future.succeededFuture(Map.of("three", "3")));
+
+        // WHEN reading two keys, one of which does not exist in the remote cache
+        assertThat(cache.getAll(Set.of("one", "two")).result()).isEqualTo(Map.of("one", "1"));
+        // THEN subsequent reads of these keys are served from memory
+        assertThat(cache.getAll(Set.of("one", "two")).result()).isEqualTo(Map.of("one", "1"));
+        assertThat(cache.get("one").result()).isEqualTo("1");
+        assertThat(cache.get("two").result()).isNull();
+        verify(remoteCache, times(1)).getAll(Set.of("one", "two"));
+        // AND only keys not in memory are read from the remote cache
+        assertThat(cache.getAll(Set.of("one", "two", "three")).result())
+            .isEqualTo(Map.of("one", "1", "three", "3"));
+        verify(remoteCache).getAll(Set.of("three"));
+    }
+
+    /**
+     * Verifies that values written to the cache are passed through to the remote cache
+     * and are then served from memory.
+     */
+    @Test
+    void testPutWritesThroughToRemoteCache() {
+
+        when(remoteCache.get("key")).thenReturn(Future.succeededFuture("old"));
+        when(remoteCache.put(anyString(), anyString(), anyLong(), eq(TimeUnit.SECONDS)))
+            .thenReturn(Future.succeededFuture("old"));
+
+        assertThat(cache.get("key").result()).isEqualTo("old");
+        cache.put("key", "new", 30, TimeUnit.SECONDS);
+
+        verify(remoteCache).put("key", "new", 30, TimeUnit.SECONDS);
+        assertThat(cache.get("key").result()).isEqualTo("new");
+        verify(remoteCache, times(1)).get("key");
+    }
+
+    /**
+     * Verifies that a value read from the remote cache is not kept in memory if
+     * the entry has been written while the read operation was in progress.
+     */
+    @Test
+    void testGetDoesNotKeepValueReadConcurrentlyToWrite() {
+
+        final Promise<String> readResult = Promise.promise();
+        when(remoteCache.get("key")).thenReturn(readResult.future(), Future.succeededFuture("new"));
+        final Promise<Boolean> removeResult = Promise.promise();
+        when(remoteCache.remove("key", "old")).thenReturn(removeResult.future());
+
+        // WHEN reading a value while the entry is being removed
+        final Future<String> value = cache.get("key");
+        cache.remove("key", "old");
+        readResult.complete("old");
+        removeResult.complete(true);
+
+        // THEN the value read is returned
+        assertThat(value.result()).isEqualTo("old");
+        // but is not kept in memory
+        assertThat(cache.get("key").result()).isEqualTo("new");
+        verify(remoteCache, times(2)).get("key");
+    }
+
+    /**
+     * Verifies that a value read from the remote cache is kept in memory if
+     * another entry has been written while the read operation was in progress.
+     */
+    @Test
+    void testGetKeepsValueReadConcurrentlyToWriteOfOtherKey() {
+
+        final Promise<String> readResult = Promise.promise();
+        when(remoteCache.get("key")).thenReturn(readResult.future());
+        final Promise<String> writeResult = Promise.promise();
+        when(remoteCache.put("other", "value")).thenReturn(writeResult.future());
+
+        // WHEN reading a value while another entry is being written
+        final Future<String> value = cache.get("key");
+        cache.put("other", "value");
+        readResult.complete("1");
+        writeResult.complete();
+
+        // THEN the value read is kept in memory
+        assertThat(value.result()).isEqualTo("1");
+        assertThat(cache.get("key").result()).isEqualTo("1");
+        assertThat(cache.get("other").result()).isEqualTo("value");
+        verify(remoteCache, times(1)).get("key");
+    }
+
+    /**
+     * Verifies that a value read from the remote cache is not kept in memory if
+     * the read operation has been started after the removal of the entry has been
+     * started but has completed after the removal has completed.
+     */
+    @Test
+    void testGetDoesNotKeepValueReadDuringRemoval() {
+
+        final Promise<Boolean> removeResult = Promise.promise();
+        when(remoteCache.remove("key", "old")).thenReturn(removeResult.future());
+        final Promise<String> readResult = Promise.promise();
+        when(remoteCache.get("key")).thenReturn(readResult.future(), Future.succeededFuture());
+
+        // WHEN reading a value while the entry is being removed
+        cache.remove("key", "old");
+        final Future<String> value = cache.get("key");
+        removeResult.complete(true);
+        readResult.complete("old");
+
+        // THEN the stale value read is returned
+        assertThat(value.result()).isEqualTo("old");
+        // but is not kept in memory
+        assertThat(cache.get("key").result()).isNull();
+        verify(remoteCache, times(2)).get("key");
+    }
+
+    /**
+     * Verifies that entries expire according to their lifespan in the remote cache.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting.
+     */
+    @Test
+    void testEntriesExpireWithRemoteLifespan() throws InterruptedException {
+
+        when(remoteCache.put(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .thenReturn(Future.succeededFuture());
+        when(remoteCache.get("key")).thenReturn(Future.succeededFuture());
+
+        cache.put("key", "value", 10, TimeUnit.MILLISECONDS);
+        Thread.sleep(50);
+
+        assertThat(cache.get("key").result()).isNull();
+        verify(remoteCache).get("key");
+    }
+}
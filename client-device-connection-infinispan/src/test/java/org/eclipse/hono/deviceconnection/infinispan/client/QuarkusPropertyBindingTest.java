@@ -16,6 +16,8 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.time.Duration;
+
 import javax.inject.Inject;
 
 import org.infinispan.client.hotrod.impl.ConfigurationProperties;
@@ -45,6 +47,8 @@ public class QuarkusPropertyBindingTest {
         assertThat(commonCacheConfig.getCacheName()).isEqualTo("the-cache");
         assertThat(commonCacheConfig.getCheckKey()).isEqualTo("the-key");
         assertThat(commonCacheConfig.getCheckValue()).isEqualTo("the-value");
+        assertThat(commonCacheConfig.getNearCacheMaxSize()).isEqualTo(1000);
+        assertThat(commonCacheConfig.getNearCacheMaxAge()).isEqualTo(Duration.ofSeconds(5));
     }
 
     @SuppressWarnings("deprecation")
@@ -42,6 +42,8 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
     private int responseCacheMinSize = DEFAULT_RESPONSE_CACHE_MIN_SIZE;
     private long responseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE;
     private long responseCacheDefaultTimeout = DEFAULT_RESPONSE_CACHE_TIMEOUT;
+    private double responseCacheRefreshAheadFactor = 0;
+    private long responseCacheStaleGracePeriod = 0;
 
     /**
      * Creates new properties using default values.
@@ -60,6 +62,8 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
         setResponseCacheDefaultTimeout(options.responseCacheDefaultTimeout());
         setResponseCacheMaxSize(options.responseCacheMaxSize());
         setResponseCacheMinSize(options.responseCacheMinSize());
+        setResponseCacheRefreshAheadFactor(options.responseCacheRefreshAheadFactor());
+        setResponseCacheStaleGracePeriod(options.responseCacheStaleGracePeriod());
     }
 
     /**
@@ -155,6 +159,77 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
         this.responseCacheDefaultTimeout = Math.min(timeout, MAX_RESPONSE_CACHE_TIMEOUT);
     }
 
+    /**
+     * Gets the fraction of a cached response's lifetime after which the response
+     * is refreshed in the background.
+     * <p>
+     * A cached response that is older than this fraction of its lifetime is still
+     * returned to the caller but an asynchronous request is sent to the service in
+     * order to replace the cached response before it expires. This keeps frequently
+     * used responses in the cache so that no caller needs to wait for the service's
+     * response.
+     * <p>
+     * The default value of this property is 0, which means that responses are not
+     * refreshed ahead of their expiration.
+     *
+     * @return The fraction of the lifetime, a value in the range [0, 1).
+     */
+    public final double getResponseCacheRefreshAheadFactor() {
+        return responseCacheRefreshAheadFactor;
+    }
+
+    /**
+     * Sets the fraction of a cached response's lifetime after which the response
+     * is refreshed in the background.
+     * <p>
+     * The default value of this property is 0, which means that responses are not
+     * refreshed ahead of their expiration.
+     *
+     * @param factor The fraction of the lifetime, a value in the range [0, 1).
+     * @throws IllegalArgumentException if factor is &lt; 0 or &gt;= 1.
+     */
+    public final void setResponseCacheRefreshAheadFactor(final double factor) {
+        if (factor < 0 || factor >= 1) {
+            throw new IllegalArgumentException("refresh ahead factor must be in range [0, 1)");
+        }
+        this.responseCacheRefreshAheadFactor = factor;
+    }
+
+    /**
+     * Gets the period of time that a cached response may still be used after it has
+     * expired, if the service cannot be reached.
+     * <p>
+     * An expired response is kept in the cache for this period of time. A request for
+     * an expired response is always sent to the service. However, if the service cannot
+     * be reached or fails to process the request, the expired response is returned
+     * to the caller instead of an error.
+     * <p>
+     * The default value of this property is 0, which means that expired responses are
+     * never used.
+     *
+     * @return The grace period in seconds.
+     */
+    public final long getResponseCacheStaleGracePeriod() {
+        return responseCacheStaleGracePeriod;
+    }
+
+    /**
+     * Sets the period of time that a cached response may still be used after it has
+     * expired, if the service cannot be reached.
+     * <p>
+     * The default value of this property is 0, which means that expired responses are
+     * never used.
+     *
+     * @param period The grace period in seconds.
+     * @throws IllegalArgumentException if period is &lt; 0.
+     */
+    public final void setResponseCacheStaleGracePeriod(final long period) {
+        if (period < 0) {
+            throw new IllegalArgumentException("stale grace period must not be negative");
+        }
+        this.responseCacheStaleGracePeriod = Math.min(period, MAX_RESPONSE_CACHE_TIMEOUT);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -153,4 +153,28 @@ public interface SendMessageSampler {
      */
     void queueFull(String tenantId);
 
+    /**
+     * Record a request that has been sent to the remote peer because the response
+     * was neither available from a cache nor from an identical request that was already pending.
+     * <p>
+     * This default implementation does nothing.
+     *
+     * @param tenantId The tenant ID to sample for. If {@code null} or an empty string,
+     *                 the value <em>UNKNOWN</em> will be used as the tenant identifier.
+     */
+    default void requestIssued(final String tenantId) {
+    }
+
+    /**
+     * Record a request that has not been sent to the remote peer because an identical
+     * request was already pending and its response will be used instead.
+     * <p>
+     * This default implementation does nothing.
+     *
+     * @param tenantId The tenant ID to sample for. If {@code null} or an empty string,
+     *                 the value <em>UNKNOWN</em> will be used as the tenant identifier.
+     */
+    default void requestCoalesced(final String tenantId) {
+    }
+
 }
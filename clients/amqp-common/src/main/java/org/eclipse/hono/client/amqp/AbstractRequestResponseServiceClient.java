@@ -15,11 +15,17 @@ package org.eclipse.hono.client.amqp;
 import java.net.HttpURLConnection;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
@@ -27,6 +33,7 @@ import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.SendMessageSampler;
+import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.StatusCodeMapper;
 import org.eclipse.hono.client.impl.CachingClientFactory;
@@ -41,6 +48,7 @@ import io.opentracing.Span;
 import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -63,6 +71,24 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
                             HttpURLConnection.HTTP_GONE
     };
 
+    /**
+     * The freshness of a cached response.
+     */
+    private enum Freshness {
+        /**
+         * The response can be used.
+         */
+        FRESH,
+        /**
+         * The response can be used but should be refreshed.
+         */
+        REFRESH_DUE,
+        /**
+         * The response has expired and may only be used if the service cannot be reached.
+         */
+        STALE
+    }
+
     /**
      * Contains the AMQP link sender/receiver link pairs for invoking the service.
      */
@@ -71,6 +97,14 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * A cache to use for responses received from the service.
      */
     private final Cache<Object, R> responseCache;
+    /**
+     * The requests that have been sent to the service but for which no response has been received yet.
+     */
+    private final Map<Object, Future<R>> pendingRequests = new ConcurrentHashMap<>();
+    /**
+     * The index of the keys of the responses contained in the cache.
+     */
+    private final CacheKeyIndex responseCacheIndex = new CacheKeyIndex();
 
     /**
      * Creates a request-response client.
@@ -101,6 +135,31 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      */
     protected abstract String getKey(String tenantId);
 
+    /**
+     * Gets the index key for cached responses that belong to a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return The index key.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     * @see #addToCache(Object, RequestResponseResult, Object...)
+     */
+    protected static Object getTenantIndexKey(final String tenantId) {
+        return Objects.requireNonNull(tenantId);
+    }
+
+    /**
+     * Gets the index key for cached responses that belong to a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device.
+     * @return The index key.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @see #addToCache(Object, RequestResponseResult, Object...)
+     */
+    protected static Object getDeviceIndexKey(final String tenantId, final String deviceId) {
+        return List.of(tenantId, deviceId);
+    }
+
     /**
      * Removes a client for a tenant from the cache.
      *
@@ -255,16 +314,187 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
 
         if (isCachingEnabled()) {
             final R result = responseCache.getIfPresent(key);
-            TracingHelper.TAG_CACHE_HIT.set(currentSpan, result != null);
-            return Optional.ofNullable(result)
-                    .map(Future::succeededFuture)
-                    .orElse(Future.failedFuture("cache miss"));
+            final boolean isHit = result != null && getFreshness(key, result) != Freshness.STALE;
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, isHit);
+            return isHit ? Future.succeededFuture(result) : Future.failedFuture("cache miss");
         } else {
             TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
             return Future.failedFuture(new IllegalStateException("no cache configured"));
         }
     }
 
+    /**
+     * Gets a response from the cache or, if no response is cached, from the service.
+     * <p>
+     * Concurrent lookups for the same key that cannot be served from the cache are coalesced,
+     * i.e. only the first lookup invokes the service while all other lookups share the
+     * outcome of that invocation. This prevents a burst of requests for the same key from
+     * being forwarded to the service, e.g. when a large number of devices of the same tenant
+     * reconnect at the same time.
+     * <p>
+     * If a {@linkplain RequestResponseClientConfigProperties#getResponseCacheRefreshAheadFactor()
+     * refresh ahead factor} is configured, a cached response that has exceeded the corresponding
+     * fraction of its lifetime is returned immediately while the service is invoked in the background
+     * in order to refresh the cached response.
+     * <p>
+     * If a {@linkplain RequestResponseClientConfigProperties#getResponseCacheStaleGracePeriod()
+     * stale grace period} is configured, an expired response is returned if the service
+     * invocation fails with a {@link ServerErrorException}, e.g. because the service cannot be reached.
+     * <p>
+     * The service invocation is expected to put the response to the cache, if applicable.
+     *
+     * @param key The key to get the response for.
+     * @param currentSpan The span to mark (may be {@code null}).
+     * @param sampler The sampler to record the issued and coalesced requests with.
+     * @param tenantId The tenant that the request is scoped to (may be {@code null}).
+     * @param serviceInvocation The function to invoke for sending the request to the service.
+     *                          The function is passed in the span to use for tracking the request.
+     * @return A future containing the response from the cache or the service.
+     * @throws NullPointerException if any of the parameters other than span or tenant ID are {@code null}.
+     */
+    protected final Future<R> getResponseFromCacheOrService(
+            final Object key,
+            final Span currentSpan,
+            final SendMessageSampler sampler,
+            final String tenantId,
+            final Function<Span, Future<R>> serviceInvocation) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(sampler);
+        Objects.requireNonNull(serviceInvocation);
+
+        if (!isCachingEnabled()) {
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
+            return executeOrUsePendingRequest(key, sampler, tenantId, () -> serviceInvocation.apply(currentSpan));
+        }
+
+        final R cachedResponse = responseCache.getIfPresent(key);
+        if (cachedResponse == null) {
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
+            return executeOrUsePendingRequest(key, sampler, tenantId, () -> serviceInvocation.apply(currentSpan));
+        }
+
+        switch (getFreshness(key, cachedResponse)) {
+        case REFRESH_DUE:
+            refreshInBackground(key, currentSpan, sampler, tenantId, serviceInvocation);
+            // fall through
+        case FRESH:
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.TRUE);
+            return Future.succeededFuture(cachedResponse);
+        default:
+            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
+            return executeOrUsePendingRequest(key, sampler, tenantId, () -> serviceInvocation.apply(currentSpan))
+                    .recover(t -> {
+                        if (t instanceof ServerErrorException) {
+                            log.debug("failed to get response from service, using stale response from cache [key: {}]",
+                                    key, t);
+                            if (currentSpan != null) {
+                                currentSpan.log("failed to get response from service, using stale response from cache");
+                            }
+                            return Future.succeededFuture(cachedResponse);
+                        }
+                        return Future.failedFuture(t);
+                    });
+        }
+    }
+
+    private void refreshInBackground(
+            final Object key,
+            final Span currentSpan,
+            final SendMessageSampler sampler,
+            final String tenantId,
+            final Function<Span, Future<R>> serviceInvocation) {
+
+        if (pendingRequests.containsKey(key)) {
+            // response is already being refreshed
+            return;
+        }
+        log.trace("refreshing cached response [key: {}]", key);
+        final Span refreshSpan = newFollowingSpan(
+                Optional.ofNullable(currentSpan).map(Span::context).orElse(null),
+                "refresh cached response");
+        executeOrUsePendingRequest(key, sampler, tenantId, () -> serviceInvocation.apply(refreshSpan))
+            .onFailure(t -> {
+                log.debug("failed to refresh cached response [key: {}]", key, t);
+                TracingHelper.logError(refreshSpan, t);
+            })
+            .onComplete(r -> refreshSpan.finish());
+    }
+
+    private Freshness getFreshness(final Object key, final R response) {
+
+        final double refreshAheadFactor = getResponseCacheRefreshAheadFactor();
+        final long staleGracePeriod = getResponseCacheStaleGracePeriod();
+        if (refreshAheadFactor <= 0 && staleGracePeriod <= 0) {
+            // entries are removed from the cache once they expire
+            return Freshness.FRESH;
+        }
+
+        final long lifetime = TimeUnit.SECONDS.toNanos(Optional.ofNullable(response.getCacheDirective())
+                .map(directive -> Math.min(directive.getMaxAge(), getResponseCacheDefaultTimeout()))
+                .orElseGet(this::getResponseCacheDefaultTimeout));
+
+        return responseCache.policy().expireVariably()
+                .map(expiration -> expiration.getExpiresAfter(key, TimeUnit.NANOSECONDS))
+                .filter(OptionalLong::isPresent)
+                .map(remaining -> {
+                    final long age = lifetime + TimeUnit.SECONDS.toNanos(staleGracePeriod) - remaining.getAsLong();
+                    if (age >= lifetime) {
+                        return Freshness.STALE;
+                    } else if (refreshAheadFactor > 0 && age >= lifetime * refreshAheadFactor) {
+                        return Freshness.REFRESH_DUE;
+                    } else {
+                        return Freshness.FRESH;
+                    }
+                })
+                .orElse(Freshness.FRESH);
+    }
+
+    private double getResponseCacheRefreshAheadFactor() {
+        if (connection.getConfig() instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) connection.getConfig()).getResponseCacheRefreshAheadFactor();
+        } else {
+            return 0;
+        }
+    }
+
+    private long getResponseCacheStaleGracePeriod() {
+        if (connection.getConfig() instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) connection.getConfig()).getResponseCacheStaleGracePeriod();
+        } else {
+            return 0;
+        }
+    }
+
+    private Future<R> executeOrUsePendingRequest(
+            final Object key,
+            final SendMessageSampler sampler,
+            final String tenantId,
+            final Supplier<Future<R>> serviceInvocation) {
+
+        final Promise<R> result = Promise.promise();
+        final Future<R> pendingRequest = pendingRequests.putIfAbsent(key, result.future());
+        if (pendingRequest == null) {
+            sampler.requestIssued(tenantId);
+            Future<R> serviceResponse;
+            try {
+                serviceResponse = serviceInvocation.get();
+            } catch (final RuntimeException e) {
+                serviceResponse = Future.failedFuture(e);
+            }
+            serviceResponse
+                // remove the pending request before completing the result so that
+                // a subsequent lookup is served from the cache or invokes the service again
+                .onComplete(ar -> pendingRequests.remove(key, result.future()))
+                .onComplete(result);
+        } else {
+            log.trace("coalescing request with pending request [key: {}]", key);
+            sampler.requestCoalesced(tenantId);
+            pendingRequest.onComplete(result);
+        }
+        return result.future();
+    }
+
     /**
      * Adds a response to the cache.
      * <p>
@@ -277,15 +507,20 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * one of the codes defined by <a href="https://tools.ietf.org/html/rfc2616#section-13.4">
      * RFC 2616, Section 13.4 Response Cacheability</a>.</li>
      * </ol>
+     * Otherwise, a response that has been cached for the key before is removed from the cache.
      * It is the cache implementation's responsibility to evict entries after a reasonable amount
      * of time. The maxAge property of the cache directive contained in a response should be
      * considered when determining the concrete amount of time.
+     * <p>
+     * A cached response is added to the index under each of the given index keys so that it
+     * can later be removed from the cache by means of {@link #removeFromCacheByIndexKey(Object)}.
      *
      * @param key The key to use for the response.
      * @param response The response to put to the cache.
+     * @param indexKeys The keys to index the response under.
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
-    protected final void addToCache(final Object key, final R response) {
+    protected final void addToCache(final Object key, final R response, final Object... indexKeys) {
 
         if (isCachingEnabled()) {
 
@@ -297,7 +532,22 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
                     .orElse(isCacheableStatusCode(response.getStatus()));
 
             if (resultCanBeCached) {
+                for (final Object indexKey : indexKeys) {
+                    if (responseCacheIndex.add(indexKey, key)) {
+                        cleanUpResponseCacheIndex();
+                    }
+                }
                 responseCache.put(key, response);
+                for (final Object indexKey : indexKeys) {
+                    if (!responseCacheIndex.contains(indexKey, key)) {
+                        // the index key has been removed concurrently
+                        responseCache.invalidate(key);
+                        break;
+                    }
+                }
+            } else {
+                // make sure that a response that has been cached before is not used anymore
+                responseCache.invalidate(key);
             }
         }
     }
@@ -344,6 +594,36 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
         }
     }
 
+    /**
+     * Removes all responses from the cache that have been indexed under the given key.
+     * <p>
+     * In contrast to {@link #removeFromCacheByPattern(Predicate)} the effort of this operation
+     * only depends on the number of affected responses instead of the overall size of the cache.
+     * <p>
+     * If no cache is configured then this method does nothing.
+     *
+     * @param indexKey The index key of the responses to remove.
+     * @throws NullPointerException if index key is {@code null}.
+     * @see #addToCache(Object, RequestResponseResult, Object...)
+     */
+    protected final void removeFromCacheByIndexKey(final Object indexKey) {
+        if (isCachingEnabled()) {
+            Objects.requireNonNull(indexKey);
+
+            final Set<Object> matchingKeys = responseCacheIndex.remove(indexKey);
+            log.debug("removing {} responses from the cache", matchingKeys.size());
+            responseCache.invalidateAll(matchingKeys);
+        }
+    }
+
+    private void cleanUpResponseCacheIndex() {
+        connection.getVertx().executeBlocking(p -> {
+            responseCacheIndex.cleanUp(key -> responseCache.asMap().containsKey(key));
+            log.debug("cleaned up response cache index [remaining keys: {}]", responseCacheIndex.size());
+            p.complete();
+        });
+    }
+
     /**
      * Applies the given mapper function to the result of the given Future if it succeeded.
      * <p>
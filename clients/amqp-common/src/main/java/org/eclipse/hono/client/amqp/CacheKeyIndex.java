@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.client.amqp;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A secondary index of the keys of entries in a response cache.
+ * <p>
+ * The index maps arbitrary index keys, e.g. a tenant identifier, to the keys of the cache entries
+ * that belong to the index key. This allows all entries for an index key to be removed
+ * from the cache without scanning the whole cache.
+ * <p>
+ * The index does not get notified about entries being evicted from the cache. Instead, the keys of
+ * entries that are no longer contained in the cache are removed from the index during a clean-up.
+ * A clean-up is due once the number of indexed keys has grown to twice the number of keys that
+ * have remained after the previous clean-up.
+ */
+final class CacheKeyIndex {
+
+    /**
+     * The minimum number of indexed keys that triggers a clean-up.
+     */
+    static final long MIN_CLEAN_UP_THRESHOLD = 1024;
+
+    private final Map<Object, Set<Object>> cacheKeysByIndexKey = new ConcurrentHashMap<>();
+    private final AtomicLong indexedKeys = new AtomicLong();
+    private final AtomicBoolean cleanUpPending = new AtomicBoolean(false);
+    private volatile long cleanUpThreshold = MIN_CLEAN_UP_THRESHOLD;
+
+    /**
+     * Adds a cache key to the index.
+     *
+     * @param indexKey The index key to add the cache key for.
+     * @param cacheKey The cache key.
+     * @return {@code true} if a clean-up of the index is due. In this case the caller is expected to
+     *         invoke {@link #cleanUp(Predicate)} eventually.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    boolean add(final Object indexKey, final Object cacheKey) {
+        Objects.requireNonNull(indexKey);
+        Objects.requireNonNull(cacheKey);
+
+        cacheKeysByIndexKey.compute(indexKey, (k, cacheKeys) -> {
+            final Set<Object> result = cacheKeys == null ? ConcurrentHashMap.newKeySet() : cacheKeys;
+            if (result.add(cacheKey)) {
+                indexedKeys.incrementAndGet();
+            }
+            return result;
+        });
+        return indexedKeys.get() >= cleanUpThreshold && cleanUpPending.compareAndSet(false, true);
+    }
+
+    /**
+     * Checks if a cache key is contained in the index.
+     *
+     * @param indexKey The index key to check.
+     * @param cacheKey The cache key to check.
+     * @return {@code true} if the cache key is contained in the index.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    boolean contains(final Object indexKey, final Object cacheKey) {
+        Objects.requireNonNull(indexKey);
+        Objects.requireNonNull(cacheKey);
+
+        final Set<Object> cacheKeys = cacheKeysByIndexKey.get(indexKey);
+        return cacheKeys != null && cacheKeys.contains(cacheKey);
+    }
+
+    /**
+     * Removes all cache keys for an index key from the index.
+     *
+     * @param indexKey The index key to remove the cache keys for.
+     * @return The removed cache keys (may be empty).
+     * @throws NullPointerException if index key is {@code null}.
+     */
+    Set<Object> remove(final Object indexKey) {
+        Objects.requireNonNull(indexKey);
+
+        final Set<Object> cacheKeys = cacheKeysByIndexKey.remove(indexKey);
+        if (cacheKeys == null) {
+            return Set.of();
+        }
+        indexedKeys.addAndGet(-cacheKeys.size());
+        return cacheKeys;
+    }
+
+    /**
+     * Removes all cache keys from the index that are no longer contained in the cache.
+     *
+     * @param isCached The predicate to check if a key is still contained in the cache.
+     * @throws NullPointerException if predicate is {@code null}.
+     */
+    void cleanUp(final Predicate<Object> isCached) {
+        Objects.requireNonNull(isCached);
+
+        try {
+            cacheKeysByIndexKey.keySet().forEach(indexKey -> cacheKeysByIndexKey.computeIfPresent(
+                    indexKey,
+                    (k, cacheKeys) -> {
+                        final int sizeBefore = cacheKeys.size();
+                        cacheKeys.removeIf(cacheKey -> !isCached.test(cacheKey));
+                        indexedKeys.addAndGet(cacheKeys.size() - sizeBefore);
+                        return cacheKeys.isEmpty() ? null : cacheKeys;
+                    }));
+            cleanUpThreshold = Math.max(MIN_CLEAN_UP_THRESHOLD, 2 * indexedKeys.get());
+        } finally {
+            cleanUpPending.set(false);
+        }
+    }
+
+    /**
+     * Gets the number of cache keys contained in the index.
+     * <p>
+     * A cache key that has been added for multiple index keys is counted multiple times.
+     *
+     * @return The number of keys.
+     */
+    long size() {
+        return indexedKeys.get();
+    }
+}
@@ -22,12 +22,20 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.HonoConnection;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.SendMessageSampler;
+import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.amqp.test.AmqpClientUnitTestHelper;
 import org.eclipse.hono.client.impl.CachingClientFactory;
 import org.eclipse.hono.test.VertxMockSupport;
@@ -36,8 +44,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import io.opentracing.noop.NoopSpan;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 
@@ -53,6 +65,7 @@ class AbstractRequestResponseServiceClientTest {
     private Vertx vertx;
     private Cache<Object, SimpleRequestResponseResult> cache;
     private HonoConnection connection;
+    private RequestResponseClientConfigProperties props;
 
     /**
      * Sets up the fixture.
@@ -63,16 +76,21 @@ class AbstractRequestResponseServiceClientTest {
 
         vertx = mock(Vertx.class);
         cache = mock(Cache.class);
-        final var props = new RequestResponseClientConfigProperties();
+        props = new RequestResponseClientConfigProperties();
         props.setResponseCacheDefaultTimeout(DEFAULT_CACHE_TIMEOUT_SECONDS);
         connection = AmqpClientUnitTestHelper.mockHonoConnection(vertx, props);
         when(connection.connect()).thenReturn(Future.succeededFuture(connection));
 
+        givenAClient(cache);
+    }
+
+    private void givenAClient(final Cache<Object, SimpleRequestResponseResult> responseCache) {
+
         client = new AbstractRequestResponseServiceClient<>(
                 connection,
                 SendMessageSampler.Factory.noop(),
                 new CachingClientFactory<>(vertx, v -> true),
-                cache) {
+                responseCache) {
 
             @Override
             protected SimpleRequestResponseResult getResult(
@@ -91,6 +109,50 @@ class AbstractRequestResponseServiceClientTest {
         };
     }
 
+    /**
+     * Creates a cache that expires entries after their max age plus the configured
+     * stale grace period, using the given ticker as its time source.
+     *
+     * @param ticker The current time in nanoseconds.
+     * @return The cache.
+     */
+    private Cache<Object, SimpleRequestResponseResult> newExpiringCache(final AtomicLong ticker) {
+
+        final long gracePeriod = TimeUnit.SECONDS.toNanos(props.getResponseCacheStaleGracePeriod());
+        return Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .ticker(ticker::get)
+                .expireAfter(new Expiry<Object, SimpleRequestResponseResult>() {
+
+                    @Override
+                    public long expireAfterCreate(
+                            final Object key,
+                            final SimpleRequestResponseResult value,
+                            final long currentTime) {
+                        return TimeUnit.SECONDS.toNanos(value.getCacheDirective().getMaxAge()) + gracePeriod;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            final Object key,
+                            final SimpleRequestResponseResult value,
+                            final long currentTime,
+                            final long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            final Object key,
+                            final SimpleRequestResponseResult value,
+                            final long currentTime,
+                            final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Verifies that the client triggers the underlying connection to be established as part of starting up.
      */
@@ -194,4 +256,103 @@ class AbstractRequestResponseServiceClientTest {
         // THEN the response is not put to the cache
         verify(cache, never()).put(anyString(), any(SimpleRequestResponseResult.class));
     }
+
+    /**
+     * Verifies that a cached response that has exceeded the configured fraction of its
+     * lifetime is returned to the caller while it is being refreshed in the background.
+     */
+    @Test
+    public void testGetResponseFromCacheOrServiceRefreshesResponseAhead() {
+
+        // GIVEN a client that refreshes responses after half of their lifetime
+        props.setResponseCacheRefreshAheadFactor(0.5);
+        final AtomicLong ticker = new AtomicLong();
+        final var responseCache = newExpiringCache(ticker);
+        givenAClient(responseCache);
+        // and a cached response with a lifetime of 100 seconds
+        final var cachedResponse = SimpleRequestResponseResult.from(
+                200, Buffer.buffer("cached"), CacheDirective.maxAgeDirective(100), null);
+        client.addToCache("key", cachedResponse);
+
+        // WHEN getting the response after 60 seconds
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        final Promise<SimpleRequestResponseResult> serviceResponse = Promise.promise();
+        final AtomicInteger serviceInvocations = new AtomicInteger();
+        final Future<SimpleRequestResponseResult> result = client.getResponseFromCacheOrService(
+                "key",
+                NoopSpan.INSTANCE,
+                SendMessageSampler.noop(),
+                "tenant",
+                span -> {
+                    serviceInvocations.incrementAndGet();
+                    return serviceResponse.future();
+                });
+
+        // THEN the cached response is returned immediately
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(cachedResponse);
+        // and the service has been invoked in order to refresh the response
+        assertThat(serviceInvocations.get()).isEqualTo(1);
+
+        // and once the service has responded
+        final var refreshedResponse = SimpleRequestResponseResult.from(
+                200, Buffer.buffer("refreshed"), CacheDirective.maxAgeDirective(100), null);
+        client.addToCache("key", refreshedResponse);
+        serviceResponse.complete(refreshedResponse);
+
+        // subsequent requests are served from the cache without invoking the service
+        final Future<SimpleRequestResponseResult> nextResult = client.getResponseFromCacheOrService(
+                "key",
+                NoopSpan.INSTANCE,
+                SendMessageSampler.noop(),
+                "tenant",
+                span -> {
+                    serviceInvocations.incrementAndGet();
+                    return Future.failedFuture(new IllegalStateException());
+                });
+        assertThat(nextResult.result()).isEqualTo(refreshedResponse);
+        assertThat(serviceInvocations.get()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that an expired response is returned during the configured grace period
+     * if the service cannot be reached.
+     */
+    @Test
+    public void testGetResponseFromCacheOrServiceUsesStaleResponseIfServiceIsUnavailable() {
+
+        // GIVEN a client that keeps expired responses for 60 seconds
+        props.setResponseCacheStaleGracePeriod(60);
+        final AtomicLong ticker = new AtomicLong();
+        givenAClient(newExpiringCache(ticker));
+        // and a cached response with a lifetime of 100 seconds
+        final var cachedResponse = SimpleRequestResponseResult.from(
+                200, Buffer.buffer("cached"), CacheDirective.maxAgeDirective(100), null);
+        client.addToCache("key", cachedResponse);
+
+        // WHEN getting the response after it has expired
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(120));
+
+        // THEN the response is not returned as a regular cache hit
+        assertThat(client.getResponseFromCache("key", NoopSpan.INSTANCE).failed()).isTrue();
+
+        // but it is returned if the service cannot be reached
+        final Future<SimpleRequestResponseResult> result = client.getResponseFromCacheOrService(
+                "key",
+                NoopSpan.INSTANCE,
+                SendMessageSampler.noop(),
+                "tenant",
+                span -> Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE)));
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isEqualTo(cachedResponse);
+
+        // and a client error reported by the service is passed on to the caller
+        final Future<SimpleRequestResponseResult> failedResult = client.getResponseFromCacheOrService(
+                "key",
+                NoopSpan.INSTANCE,
+                SendMessageSampler.noop(),
+                "tenant",
+                span -> Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST)));
+        assertThat(failedResult.failed()).isTrue();
+    }
 }
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.amqp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests verifying behavior of {@link CacheKeyIndex}.
+ */
+public class CacheKeyIndexTest {
+
+    /**
+     * Verifies that removing an index key returns only the cache keys that have been added for it.
+     */
+    @Test
+    public void testRemoveReturnsCacheKeysOfIndexKey() {
+
+        final CacheKeyIndex index = new CacheKeyIndex();
+        index.add("tenant", "key1");
+        index.add("tenant", "key2");
+        index.add("other-tenant", "key3");
+
+        assertThat(index.remove("tenant")).containsExactly("key1", "key2");
+        assertThat(index.contains("tenant", "key1")).isFalse();
+        assertThat(index.contains("other-tenant", "key3")).isTrue();
+        assertThat(index.remove("unknown-tenant")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that a clean-up is requested once the number of indexed keys reaches the threshold
+     * and that the clean-up removes the keys that are no longer contained in the cache.
+     */
+    @Test
+    public void testCleanUpRemovesKeysNotContainedInCache() {
+
+        final CacheKeyIndex index = new CacheKeyIndex();
+        boolean cleanUpDue = false;
+        for (int i = 0; i < CacheKeyIndex.MIN_CLEAN_UP_THRESHOLD; i++) {
+            assertThat(cleanUpDue).isFalse();
+            cleanUpDue = index.add("tenant-" + i % 2, "key" + i);
+        }
+        assertThat(cleanUpDue).isTrue();
+        // no further clean-up is requested as long as the pending one has not been run
+        assertThat(index.add("tenant-0", "another-key")).isFalse();
+
+        final Set<Object> cachedKeys = Set.of("key0", "key1");
+        index.cleanUp(cachedKeys::contains);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.contains("tenant-0", "key0")).isTrue();
+        assertThat(index.contains("tenant-1", "key1")).isTrue();
+        assertThat(index.contains("tenant-0", "key2")).isFalse();
+    }
+}
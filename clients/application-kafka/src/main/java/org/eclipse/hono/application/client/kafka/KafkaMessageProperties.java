@@ -31,6 +31,7 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 public class KafkaMessageProperties implements MessageProperties {
 
     private final Map<String, Object> properties = new HashMap<>();
+    private final boolean binaryHeaderEncoding;
 
     /**
      * Creates message properties from a Kafka consumer record.
@@ -42,6 +43,7 @@ public class KafkaMessageProperties implements MessageProperties {
         Objects.requireNonNull(record);
 
         record.headers().forEach(header -> properties.put(header.key(), header.value()));
+        binaryHeaderEncoding = KafkaRecordHelper.isBinaryHeaderEncoding(record.headers());
     }
 
     /**
@@ -59,14 +61,15 @@ public class KafkaMessageProperties implements MessageProperties {
     /**
      * {@inheritDoc}
      * <p>
-     * The values in the map are of type {@link Buffer}.
+     * The values in the map are of type {@link Buffer}. They are decoded as binary encoded values
+     * only if the record contains a {@value KafkaRecordHelper#HEADER_ENCODING_VERSION} header.
      */
     @Override
     public final <T> T getProperty(final String name, final Class<T> type) {
         return Optional.ofNullable(properties.get(name))
                 .filter(Buffer.class::isInstance)
                 .map(Buffer.class::cast)
-                .map(value -> KafkaRecordHelper.decode(value, type))
+                .map(value -> KafkaRecordHelper.decode(value, type, binaryHeaderEncoding))
                 .orElse(null);
     }
 
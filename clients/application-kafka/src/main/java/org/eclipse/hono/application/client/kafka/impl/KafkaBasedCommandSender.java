@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.consumer.Consumer;
@@ -42,6 +43,7 @@ import org.eclipse.hono.client.kafka.producer.KafkaProducerFactory;
 import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.TimeoutWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +62,11 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 /**
  * A Kafka based client for sending commands and receiving command responses.
+ * <p>
+ * By default, a separate consumer is created for receiving the command responses of each tenant that a
+ * request/response command is sent to. When sending commands to devices of a large number of tenants,
+ * the sender can be configured to use a single consumer instead, which is subscribed to the command response
+ * topics of all tenants by means of a topic pattern (see {@link #setUseSharedCommandResponseConsumer(boolean)}).
  *
  * @see <a href="https://www.eclipse.org/hono/docs/api/command-and-control-kafka/">
  *      Command &amp; Control API for Kafka Specification</a>
@@ -68,6 +75,8 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
         implements CommandSender<KafkaMessageContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaBasedCommandSender.class);
     private static final long DEFAULT_COMMAND_TIMEOUT_IN_MS = 10000;
+    private static final Pattern COMMAND_RESPONSE_TOPIC_PATTERN = Pattern
+            .compile(Pattern.quote(HonoTopic.Type.COMMAND_RESPONSE.prefix) + ".*");
 
     private final Vertx vertx;
     private final MessagingKafkaConsumerConfigProperties consumerConfig;
@@ -76,12 +85,15 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
      */
     private final ConcurrentHashMap<String, HonoKafkaConsumer> commandResponseConsumers = new ConcurrentHashMap<>();
     /**
-     * Key is the tenant identifier, value is a map with correlation ids as keys and expiring command promises as values.
+     * Key is the correlation id, value is the expiring command promise.
      * These correlation ids are used to correlate the response messages with the sent commands.
      */
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ExpiringCommandPromise>> pendingCommandResponses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ExpiringCommandPromise> pendingCommandResponses = new ConcurrentHashMap<>();
     private Supplier<Consumer<String, Buffer>> kafkaConsumerSupplier;
     private Supplier<String> correlationIdSupplier = () -> UUID.randomUUID().toString();
+    private boolean useSharedCommandResponseConsumer = false;
+    private HonoKafkaConsumer sharedCommandResponseConsumer;
+    private Future<HonoKafkaConsumer> sharedCommandResponseConsumerStartFuture;
 
     /**
      * Creates a new Kafka-based command sender.
@@ -106,6 +118,25 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
         this.consumerConfig = Objects.requireNonNull(consumerConfig);
     }
 
+    /**
+     * Sets whether a single consumer should be used for receiving the command responses of all tenants.
+     * <p>
+     * If set to {@code true}, a single consumer is created on demand which is subscribed to the command response
+     * topics of all tenants by means of a topic pattern. Otherwise, a separate consumer is created for every tenant
+     * that a request/response command is sent to.
+     * <p>
+     * The single consumer avoids the overhead of running a consumer (having its own polling thread,
+     * fetch buffers and consumer group membership) per tenant. On the other hand, it receives the
+     * command responses of all tenants, including the ones that this sender has not sent any commands to.
+     * <p>
+     * This method needs to be invoked before the first command is being sent.
+     *
+     * @param useSharedConsumer {@code true} if a single consumer should be used.
+     */
+    public final void setUseSharedCommandResponseConsumer(final boolean useSharedConsumer) {
+        this.useSharedCommandResponseConsumer = useSharedConsumer;
+    }
+
     @SuppressWarnings("rawtypes")
     @Override
     public Future<Void> stop() {
@@ -114,6 +145,12 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
                 .map(HonoKafkaConsumer::stop)
                 .collect(Collectors.toList());
         commandResponseConsumers.clear();
+        synchronized (this) {
+            Optional.ofNullable(sharedCommandResponseConsumer)
+                    .ifPresent(consumer -> stopKafkaClientsTracker.add(consumer.stop()));
+            sharedCommandResponseConsumer = null;
+            sharedCommandResponseConsumerStartFuture = null;
+        }
 
         // add future for closing command producer
         stopKafkaClientsTracker.add(super.stop());
@@ -211,6 +248,7 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
                 .withTag(TracingHelper.TAG_CORRELATION_ID, correlationId)
                 .start();
         final ExpiringCommandPromise expiringCommandPromise = new ExpiringCommandPromise(
+                tenantId,
                 correlationId,
                 timeoutInMs,
                 // Remove the corresponding pending response entry if times out
@@ -220,8 +258,7 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
         subscribeForCommandResponse(tenantId, span)
                 .compose(ok -> {
                     // Store the correlation id and the expiring command promise
-                    pendingCommandResponses.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>())
-                            .put(correlationId, expiringCommandPromise);
+                    pendingCommandResponses.put(correlationId, expiringCommandPromise);
                     return sendCommand(tenantId, deviceId, command, contentType, data, correlationId, properties,
                             true, "send command", span.context())
                                     .onSuccess(sent -> {
@@ -298,18 +335,16 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
         return props;
     }
 
-    private Handler<DownstreamMessage<KafkaMessageContext>> getCommandResponseHandler(final String tenantId) {
-        return message -> {
-            if (message.getCorrelationId() == null) {
-                LOGGER.trace("ignoring received command response - no correlation id set [tenant: {}]", tenantId);
-                return;
-            }
-            removePendingCommandResponse(tenantId, message.getCorrelationId())
-                    .ifPresentOrElse(expiringCommandPromise -> expiringCommandPromise
-                            .tryCompleteAndCancelTimer(mapResponseResult(message)),
-                            () -> LOGGER.trace("ignoring received command response - no response pending [tenant: {}, correlation-id: {}]",
-                                    tenantId, message.getCorrelationId()));
-        };
+    private void handleCommandResponse(final String tenantId, final DownstreamMessage<KafkaMessageContext> message) {
+        if (message.getCorrelationId() == null) {
+            LOGGER.trace("ignoring received command response - no correlation id set [tenant: {}]", tenantId);
+            return;
+        }
+        removePendingCommandResponse(tenantId, message.getCorrelationId())
+                .ifPresentOrElse(expiringCommandPromise -> expiringCommandPromise
+                        .tryCompleteAndCancelTimer(mapResponseResult(message)),
+                        () -> LOGGER.trace("ignoring received command response - no response pending [tenant: {}, correlation-id: {}]",
+                                tenantId, message.getCorrelationId()));
     }
 
     /**
@@ -340,32 +375,31 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
 
     private Optional<ExpiringCommandPromise> removePendingCommandResponse(final String tenantId,
             final String correlationId) {
-        return Optional.ofNullable(pendingCommandResponses.get(tenantId))
-                .map(ids -> ids.remove(correlationId));
+        final ExpiringCommandPromise expiringCommandPromise = pendingCommandResponses.get(correlationId);
+        // only accept responses from the tenant that the command has been sent to
+        if (expiringCommandPromise != null && expiringCommandPromise.tenantId.equals(tenantId)
+                && pendingCommandResponses.remove(correlationId, expiringCommandPromise)) {
+            return Optional.of(expiringCommandPromise);
+        }
+        return Optional.empty();
     }
 
     private Future<Void> subscribeForCommandResponse(final String tenantId, final Span span) {
+        if (useSharedCommandResponseConsumer) {
+            return subscribeForCommandResponseUsingSharedConsumer(tenantId, span);
+        }
         if (commandResponseConsumers.get(tenantId) != null) {
             LOGGER.debug("command response consumer already exists for tenant [{}]", tenantId);
             span.log("command response consumer already exists");
             return Future.succeededFuture();
         }
-        final Map<String, String> consumerConfig = this.consumerConfig
-                .getConsumerConfig(HonoTopic.Type.COMMAND_RESPONSE.toString());
-        final String autoOffsetResetConfigValue = consumerConfig.get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
-        //Ensure that 'auto.offset.reset' is always set to 'latest'.
-        if (autoOffsetResetConfigValue != null && !autoOffsetResetConfigValue.equals("latest")) {
-            LOGGER.warn("[auto.offset.reset] value is set to other than [latest]. It will be ignored and internally set to [latest]");
-        }
-        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
         // Use a unique group-id so that all command responses for this tenant are received by this consumer.
         // Thereby the responses can be correlated with the command that has been sent.
-        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, tenantId + "-" + UUID.randomUUID());
+        final Map<String, String> consumerConfig = getCommandResponseConsumerConfig(tenantId + "-" + UUID.randomUUID());
 
         final String topic = new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenantId).toString();
         final Handler<KafkaConsumerRecord<String, Buffer>> recordHandler = record -> {
-            getCommandResponseHandler(tenantId)
-                    .handle(new KafkaDownstreamMessage(record));
+            handleCommandResponse(tenantId, new KafkaDownstreamMessage(record));
         };
         final HonoKafkaConsumer consumer = new HonoKafkaConsumer(vertx, Set.of(topic), recordHandler, consumerConfig);
         Optional.ofNullable(kafkaConsumerSupplier)
@@ -383,18 +417,77 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
                 });
     }
 
+    private Future<Void> subscribeForCommandResponseUsingSharedConsumer(final String tenantId, final Span span) {
+        final String topic = new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenantId).toString();
+        return getOrCreateSharedCommandResponseConsumer()
+                // make sure that the (possibly just created) response topic of the tenant is
+                // part of the subscription before the command is sent
+                .compose(consumer -> consumer.ensureTopicIsAmongSubscribedTopicPatternTopics(topic))
+                .recover(error -> {
+                    LOGGER.debug("error subscribing to command response topic of tenant [{}]", tenantId, error);
+                    TracingHelper.logError(span, "error subscribing to command response topic", error);
+                    return Future.failedFuture(error);
+                })
+                .onSuccess(v -> span.log("subscribed to command response topic"));
+    }
+
+    private synchronized Future<HonoKafkaConsumer> getOrCreateSharedCommandResponseConsumer() {
+        if (sharedCommandResponseConsumerStartFuture != null && !sharedCommandResponseConsumerStartFuture.failed()) {
+            return sharedCommandResponseConsumerStartFuture;
+        }
+        // Use a unique group-id so that the command responses of all tenants are received by this consumer.
+        final Map<String, String> consumerConfig = getCommandResponseConsumerConfig("command-response-" + UUID.randomUUID());
+        final Handler<KafkaConsumerRecord<String, Buffer>> recordHandler = record -> {
+            final KafkaDownstreamMessage message;
+            try {
+                message = new KafkaDownstreamMessage(record);
+            } catch (final IllegalArgumentException e) {
+                LOGGER.debug("ignoring received command response - invalid topic [{}]", record.topic());
+                return;
+            }
+            handleCommandResponse(message.getTenantId(), message);
+        };
+        final HonoKafkaConsumer consumer = new HonoKafkaConsumer(vertx, COMMAND_RESPONSE_TOPIC_PATTERN, recordHandler,
+                consumerConfig);
+        Optional.ofNullable(kafkaConsumerSupplier)
+                .ifPresent(consumer::setKafkaConsumerSupplier);
+        sharedCommandResponseConsumer = consumer;
+        sharedCommandResponseConsumerStartFuture = consumer.start()
+                .onSuccess(v -> LOGGER.debug("created shared command response consumer"))
+                .onFailure(error -> LOGGER.debug("error creating shared command response consumer", error))
+                .map(consumer);
+        return sharedCommandResponseConsumerStartFuture;
+    }
+
+    private Map<String, String> getCommandResponseConsumerConfig(final String groupId) {
+        final Map<String, String> consumerConfig = this.consumerConfig
+                .getConsumerConfig(HonoTopic.Type.COMMAND_RESPONSE.toString());
+        final String autoOffsetResetConfigValue = consumerConfig.get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
+        //Ensure that 'auto.offset.reset' is always set to 'latest'.
+        if (autoOffsetResetConfigValue != null && !autoOffsetResetConfigValue.equals("latest")) {
+            LOGGER.warn("[auto.offset.reset] value is set to other than [latest]. It will be ignored and internally set to [latest]");
+        }
+        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        return consumerConfig;
+    }
+
     /**
      * Wrapped promise with an expiration mechanism, failing the promise after a given time if it has not been completed
      * yet.
      */
     private class ExpiringCommandPromise {
         private final Promise<DownstreamMessage<KafkaMessageContext>> promise = Promise.promise();
+        private final String tenantId;
         private final Span span;
-        private Long timerId;
+        private final TimeoutWheel.Timeout timeout;
 
         /**
-         * Starts a timer so that after the given timeout value, this promise shall get failed if not completed already.
+         * Schedules a timeout so that after the given timeout value, this promise shall get failed if not completed already.
+         * <p>
+         * The timeout is scheduled on the {@link TimeoutWheel} of the current vert.x context.
          *
+         * @param tenantId The tenant that the command is sent to.
          * @param correlationId The identifier to use for correlating a command with its response.
          * @param timeoutInMs The timeout duration in milliseconds to use for the timer.
          *                    If it is set to &lt;= 0 then the promise never times out.
@@ -402,18 +495,19 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
          * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
          *             An implementation should log (error) events on this span and it may set tags and use this span as
          *             the parent for any spans created in this method.
-         * @throws NullPointerException if the span is {@code null}.
+         * @throws NullPointerException if tenant ID or span are {@code null}.
          */
-        ExpiringCommandPromise(final String correlationId, final long timeoutInMs, final Handler<Void> timeOutHandler,
-                final Span span) {
+        ExpiringCommandPromise(final String tenantId, final String correlationId, final long timeoutInMs,
+                final Handler<Void> timeOutHandler, final Span span) {
+            Objects.requireNonNull(tenantId);
             Objects.requireNonNull(span);
 
+            this.tenantId = tenantId;
             this.span = span;
             if (timeoutInMs > 0) {
-                timerId = vertx.setTimer(timeoutInMs, id -> {
+                timeout = TimeoutWheel.get(vertx).schedule(timeoutInMs, v -> {
                     final SendMessageTimeoutException error = new SendMessageTimeoutException(
                             "send command/wait for response timed out after " + timeoutInMs + "ms");
-                    timerId = null;
                     LOGGER.debug("cancelling sending command [correlation-id: {}] and waiting for response after {} ms",
                             correlationId, timeoutInMs);
                     TracingHelper.logError(span, error);
@@ -421,6 +515,8 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
                     Optional.ofNullable(timeOutHandler)
                             .ifPresent(handler -> handler.handle(null));
                 });
+            } else {
+                timeout = null;
             }
         }
 
@@ -434,8 +530,8 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender
                 final AsyncResult<DownstreamMessage<KafkaMessageContext>> commandResponseResult) {
             Objects.requireNonNull(commandResponseResult);
 
-            Optional.ofNullable(timerId)
-                    .ifPresent(vertx::cancelTimer);
+            Optional.ofNullable(timeout)
+                    .ifPresent(TimeoutWheel.Timeout::cancel);
 
             if (commandResponseResult.succeeded()) {
                 final String correlationId = Optional.ofNullable(commandResponseResult.result())
@@ -15,7 +15,6 @@ package org.eclipse.hono.application.client.kafka.impl;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -24,13 +23,12 @@ import org.eclipse.hono.application.client.MessageProperties;
 import org.eclipse.hono.application.client.kafka.KafkaMessageContext;
 import org.eclipse.hono.application.client.kafka.KafkaMessageProperties;
 import org.eclipse.hono.client.kafka.HonoTopic;
-import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.client.kafka.IndexedKafkaHeaders;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.QoS;
 
 import io.vertx.core.buffer.Buffer;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
-import io.vertx.kafka.client.producer.KafkaHeader;
 
 /**
  * A downstream message of Hono's Kafka-based north bound APIs.
@@ -61,13 +59,15 @@ public class KafkaDownstreamMessage implements DownstreamMessage<KafkaMessageCon
         tenantId = getTenantIdFromTopic(record);
         deviceId = record.key();
         properties = new KafkaMessageProperties(record);
-        contentType = getContentTypeHeaderValue(record.headers());
         messageContext = new KafkaMessageContext(record);
-        qos = getQosHeaderValue(record.headers());
         payload = record.value();
-        creationTime = getCreationTimeHeaderValue(record.headers());
-        timeToLive = getTimeToLiveHeaderValue(record.headers());
-        timeTillDisconnect = getTimeTillDisconnectHeaderValue(record.headers());
+
+        final IndexedKafkaHeaders headers = new IndexedKafkaHeaders(record.headers());
+        contentType = headers.getContentType().orElse(MessageHelper.CONTENT_TYPE_OCTET_STREAM);
+        qos = headers.getQoS().orElse(QoS.AT_LEAST_ONCE);
+        creationTime = headers.getCreationTime().orElse(null);
+        timeToLive = headers.getTimeToLive().orElse(null);
+        timeTillDisconnect = headers.getHeaderValue(MessageHelper.APP_PROPERTY_DEVICE_TTD, Integer.class).orElse(null);
     }
 
     private String getTenantIdFromTopic(final KafkaConsumerRecord<String, Buffer> record) {
@@ -76,32 +76,6 @@ public class KafkaDownstreamMessage implements DownstreamMessage<KafkaMessageCon
                 .orElseThrow(() -> new IllegalArgumentException("Invalid topic name"));
     }
 
-    private String getContentTypeHeaderValue(final List<KafkaHeader> headers) {
-        return KafkaRecordHelper.getContentType(headers)
-                .orElse(MessageHelper.CONTENT_TYPE_OCTET_STREAM);
-    }
-
-    private QoS getQosHeaderValue(final List<KafkaHeader> headers) {
-        return KafkaRecordHelper.getQoS(headers)
-                .orElse(QoS.AT_LEAST_ONCE);
-    }
-
-    private Instant getCreationTimeHeaderValue(final List<KafkaHeader> headers) {
-        return KafkaRecordHelper.getCreationTime(headers)
-                .orElse(null);
-    }
-
-    private Duration getTimeToLiveHeaderValue(final List<KafkaHeader> headers) {
-        return KafkaRecordHelper.getHeaderValue(headers, MessageHelper.SYS_HEADER_PROPERTY_TTL, Long.class)
-                .map(Duration::ofMillis)
-                .orElse(null);
-    }
-
-    private Integer getTimeTillDisconnectHeaderValue(final List<KafkaHeader> headers) {
-        return KafkaRecordHelper.getHeaderValue(headers, MessageHelper.APP_PROPERTY_DEVICE_TTD, Integer.class)
-                .orElse(null);
-    }
-
     @Override
     public final String getTenantId() {
         return tenantId;
@@ -98,4 +98,19 @@ public class KafkaMessagePropertiesTest {
         assertThat(decodedInteger).isEqualTo(intHeaderValue);
     }
 
+    /**
+     * Verifies that {@link KafkaMessageProperties#getProperty(String, Class)} decodes binary encoded values
+     * only if the record contains the encoding version header.
+     */
+    @Test
+    public void testGetPropertyDecodesBinaryEncodedValues() {
+        final String intHeaderKey = "int";
+
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader(intHeaderKey, 5));
+        assertThat(new KafkaMessageProperties(record).getProperty(intHeaderKey, Integer.class)).isNull();
+
+        headers.add(KafkaRecordHelper.createEncodingVersionHeader());
+        assertThat(new KafkaMessageProperties(record).getProperty(intHeaderKey, Integer.class)).isEqualTo(5);
+    }
+
 }
@@ -274,6 +274,20 @@ public class KafkaBasedCommandSenderTest {
         sendCommandAndReceiveResponse(ctx, correlationId, responseStatus, "success", true, responseStatus);
     }
 
+    /**
+     * Verifies that a command sent to a device succeeds and also a response is received from the device
+     * if the sender is configured to use a single consumer for the command responses of all tenants.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSendCommandAndReceiveResponseUsingSharedConsumer(final VertxTestContext ctx) {
+        final String correlationId = UUID.randomUUID().toString();
+        final int responseStatus = HttpURLConnection.HTTP_OK;
+
+        sendCommandAndReceiveResponse(ctx, correlationId, responseStatus, "success", true, responseStatus, true);
+    }
+
     /**
      * Verifies that
      * {@link org.eclipse.hono.application.client.CommandSender#sendCommand(String, String, String, String, Buffer, Map)}
@@ -310,6 +324,18 @@ public class KafkaBasedCommandSenderTest {
             final String responsePayload,
             final boolean expectSuccess,
             final int expectedStatusCode) {
+        sendCommandAndReceiveResponse(ctx, correlationId, responseStatus, responsePayload, expectSuccess,
+                expectedStatusCode, false);
+    }
+
+    private void sendCommandAndReceiveResponse(
+            final VertxTestContext ctx,
+            final String correlationId,
+            final Integer responseStatus,
+            final String responsePayload,
+            final boolean expectSuccess,
+            final int expectedStatusCode,
+            final boolean useSharedConsumer) {
 
         final Context context = vertx.getOrCreateContext();
         final Promise<Void> onProducerRecordSentPromise = Promise.promise();
@@ -333,6 +359,7 @@ public class KafkaBasedCommandSenderTest {
                 producerFactory,
                 producerConfig,
                 NoopTracerFactory.create());
+        commandSender.setUseSharedCommandResponseConsumer(useSharedConsumer);
 
         final Map<String, Object> headerProperties = new HashMap<>();
         headerProperties.put("appKey", "appValue");
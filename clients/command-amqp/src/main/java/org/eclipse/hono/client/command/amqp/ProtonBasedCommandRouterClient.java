@@ -453,6 +453,90 @@ public class ProtonBasedCommandRouterClient extends AbstractRequestResponseServi
                 .mapEmpty();
     }
 
+    @Override
+    public Future<Void> registerCommandConsumer(
+            final String tenantId,
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final Duration lifespan,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        if (deviceIds.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        final int lifespanSeconds = lifespan != null && lifespan.getSeconds() <= Integer.MAX_VALUE ? (int) lifespan.getSeconds() : -1;
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        properties.put(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+
+        final Span currentSpan = newChildSpan(context, "register command consumer for tenant devices");
+        TracingHelper.setDeviceTags(currentSpan, tenantId, null);
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespanSeconds);
+        currentSpan.log(Map.of("no_of_entries", deviceIds.size()));
+
+        final Future<RequestResponseResult<JsonObject>> resultTracker = getOrCreateClient(tenantId)
+                .compose(client -> client.createAndSendRequest(
+                        CommandRouterConstants.CommandRouterAction.REGISTER_COMMAND_CONSUMER.getSubject(),
+                        properties,
+                        new JsonArray(deviceIds).toBuffer(),
+                        MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                        this::getRequestResponseResult,
+                        currentSpan));
+        return mapResultAndFinishSpan(resultTracker, result -> {
+            switch (result.getStatus()) {
+                case HttpURLConnection.HTTP_NO_CONTENT:
+                    return null;
+                default:
+                    throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan).mapEmpty();
+    }
+
+    @Override
+    public Future<Void> unregisterCommandConsumer(
+            final String tenantId,
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(adapterInstanceId);
+
+        if (deviceIds.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+
+        final Span currentSpan = newChildSpan(context, "unregister command consumer for tenant devices");
+        TracingHelper.setDeviceTags(currentSpan, tenantId, null);
+        currentSpan.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
+        currentSpan.log(Map.of("no_of_entries", deviceIds.size()));
+
+        final Future<RequestResponseResult<JsonObject>> resultTracker = getOrCreateClient(tenantId)
+                .compose(client -> client.createAndSendRequest(
+                        CommandRouterConstants.CommandRouterAction.UNREGISTER_COMMAND_CONSUMER.getSubject(),
+                        properties,
+                        new JsonArray(deviceIds).toBuffer(),
+                        MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                        this::getRequestResponseResult,
+                        currentSpan));
+        return mapResultAndFinishSpan(resultTracker, result -> {
+            switch (result.getStatus()) {
+                case HttpURLConnection.HTTP_NO_CONTENT:
+                    return null;
+                default:
+                    throw StatusCodeMapper.from(result);
+            }
+        }, currentSpan).mapEmpty();
+    }
+
     @Override
     public Future<Void> enableCommandRouting(final List<String> tenantIds, final SpanContext context) {
 
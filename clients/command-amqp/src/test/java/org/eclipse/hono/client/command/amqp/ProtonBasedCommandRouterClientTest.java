@@ -60,6 +60,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
@@ -665,6 +666,52 @@ public class ProtonBasedCommandRouterClientTest {
         assertThat(MessageHelper.getJsonPayload(sentMessage)).isNull();
     }
 
+    /**
+     * Verifies that the client includes the required information in the <em>register-command-consumer</em> batch
+     * operation request message sent to the command router service.
+     */
+    @Test
+    public void testRegisterCommandConsumerForMultipleDevicesIncludesRequiredInformationInRequest() {
+
+        // WHEN registering the command consumer for multiple devices
+        client.registerCommandConsumer("tenant", List.of("deviceId", "deviceId2"), "adapterInstanceId",
+                Duration.ofSeconds(20), span.context());
+
+        // THEN the message being sent contains the device IDs in its payload
+        final Message sentMessage = AmqpClientUnitTestHelper.assertMessageHasBeenSent(sender);
+        assertThat(MessageHelper.getDeviceId(sentMessage)).isNull();
+        assertThat(MessageHelper.getApplicationProperty(sentMessage.getApplicationProperties(),
+                MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, String.class))
+                .isEqualTo("adapterInstanceId");
+        assertThat(MessageHelper.getApplicationProperty(sentMessage.getApplicationProperties(),
+                MessageHelper.APP_PROPERTY_LIFESPAN, Integer.class))
+                .isEqualTo(Integer.valueOf(20));
+        assertThat(sentMessage.getSubject()).isEqualTo(CommandRouterAction.REGISTER_COMMAND_CONSUMER.getSubject());
+        assertThat(MessageHelper.getPayload(sentMessage).toJsonArray())
+                .isEqualTo(new JsonArray(List.of("deviceId", "deviceId2")));
+    }
+
+    /**
+     * Verifies that the client includes the required information in the <em>unregister-command-consumer</em> batch
+     * operation request message sent to the command router service.
+     */
+    @Test
+    public void testUnregisterCommandConsumerForMultipleDevicesIncludesRequiredInformationInRequest() {
+
+        // WHEN unregistering the command consumer for multiple devices
+        client.unregisterCommandConsumer("tenant", List.of("deviceId", "deviceId2"), "adapterInstanceId", span.context());
+
+        // THEN the message being sent contains the device IDs in its payload
+        final Message sentMessage = AmqpClientUnitTestHelper.assertMessageHasBeenSent(sender);
+        assertThat(MessageHelper.getDeviceId(sentMessage)).isNull();
+        assertThat(MessageHelper.getApplicationProperty(sentMessage.getApplicationProperties(),
+                MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, String.class))
+                .isEqualTo("adapterInstanceId");
+        assertThat(sentMessage.getSubject()).isEqualTo(CommandRouterAction.UNREGISTER_COMMAND_CONSUMER.getSubject());
+        assertThat(MessageHelper.getPayload(sentMessage).toJsonArray())
+                .isEqualTo(new JsonArray(List.of("deviceId", "deviceId2")));
+    }
+
     /**
      * Verifies that the client includes the required information in the <em>register-command-consumer</em> operation
      * request message sent to the command router service, including the lifespan parameter.
@@ -23,7 +23,7 @@ import java.util.stream.Collectors;
 import org.eclipse.hono.client.command.Command;
 import org.eclipse.hono.client.command.Commands;
 import org.eclipse.hono.client.kafka.HonoTopic;
-import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.client.kafka.IndexedKafkaHeaders;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.MessagingType;
 import org.eclipse.hono.util.Strings;
@@ -54,6 +54,7 @@ public final class KafkaBasedCommand implements Command {
      */
     private final Optional<String> validationError;
     private final KafkaConsumerRecord<String, Buffer> record;
+    private final IndexedKafkaHeaders headers;
     private final String tenantId;
     private final String deviceId;
     private final String correlationId;
@@ -67,6 +68,7 @@ public final class KafkaBasedCommand implements Command {
     private KafkaBasedCommand(
             final Optional<String> validationError,
             final KafkaConsumerRecord<String, Buffer> commandRecord,
+            final IndexedKafkaHeaders headers,
             final String tenantId,
             final String deviceId,
             final String correlationId,
@@ -76,6 +78,7 @@ public final class KafkaBasedCommand implements Command {
 
         this.validationError = validationError;
         this.record = commandRecord;
+        this.headers = headers;
         this.tenantId = Objects.requireNonNull(tenantId);
         this.deviceId = Objects.requireNonNull(deviceId);
         this.correlationId = correlationId;
@@ -118,7 +121,7 @@ public final class KafkaBasedCommand implements Command {
             throw new IllegalArgumentException("unsupported topic");
         }
         final String tenantId = honoTopic.getTenantId();
-        return from(record, tenantId);
+        return from(record, new IndexedKafkaHeaders(record.headers()), tenantId);
     }
 
     /**
@@ -146,13 +149,34 @@ public final class KafkaBasedCommand implements Command {
      */
     public static KafkaBasedCommand fromRoutedCommandRecord(final KafkaConsumerRecord<String, Buffer> record) {
         Objects.requireNonNull(record);
+        return fromRoutedCommandRecord(record, new IndexedKafkaHeaders(record.headers()));
+    }
+
+    /**
+     * Creates a command from a Kafka consumer record, forwarded by the Command Router.
+     * <p>
+     * This method is the same as {@link #fromRoutedCommandRecord(KafkaConsumerRecord)} except that
+     * it uses an already existing view on the record's headers.
+     *
+     * @param record The record containing the command.
+     * @param headers The view on the record's headers.
+     * @return The command.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if the record's headers do not contain a tenant identifier and a target
+     *                                  device identifier matching the record's key.
+     */
+    public static KafkaBasedCommand fromRoutedCommandRecord(
+            final KafkaConsumerRecord<String, Buffer> record,
+            final IndexedKafkaHeaders headers) {
+        Objects.requireNonNull(record);
+        Objects.requireNonNull(headers);
 
-        final String tenantId = KafkaRecordHelper.getTenantId(record.headers())
+        final String tenantId = headers.getTenantId()
                 .filter(id -> !id.isEmpty())
                 .orElseThrow(() -> new IllegalArgumentException("tenant is not set"));
-        final KafkaBasedCommand command = from(record, tenantId);
+        final KafkaBasedCommand command = from(record, headers, tenantId);
 
-        KafkaRecordHelper.getViaHeader(record.headers())
+        headers.getVia()
                 .filter(id -> !id.isEmpty())
                 .ifPresent(command::setGatewayId);
 
@@ -161,9 +185,10 @@ public final class KafkaBasedCommand implements Command {
 
     private static KafkaBasedCommand from(
             final KafkaConsumerRecord<String, Buffer> record,
+            final IndexedKafkaHeaders headers,
             final String tenantId) {
 
-        final String deviceId = KafkaRecordHelper.getDeviceId(record.headers())
+        final String deviceId = headers.getDeviceId()
                 .filter(id -> !id.isEmpty())
                 .orElseThrow(() -> new IllegalArgumentException("device identifier is not set"));
         if (!deviceId.equals(record.key())) {
@@ -171,14 +196,14 @@ public final class KafkaBasedCommand implements Command {
         }
 
         final StringJoiner validationErrorJoiner = new StringJoiner(", ");
-        final String subject = KafkaRecordHelper.getSubject(record.headers())
+        final String subject = headers.getSubject()
                 .orElseGet(() -> {
                     validationErrorJoiner.add("subject not set");
                     return null;
                 });
-        final String contentType = KafkaRecordHelper.getContentType(record.headers()).orElse(null);
-        final boolean responseRequired = KafkaRecordHelper.isResponseRequired(record.headers());
-        final String correlationId = KafkaRecordHelper.getCorrelationId(record.headers())
+        final String contentType = headers.getContentType().orElse(null);
+        final boolean responseRequired = headers.isResponseRequired();
+        final String correlationId = headers.getCorrelationId()
                 .filter(id -> !id.isEmpty())
                 .orElseGet(() -> {
                     if (responseRequired) {
@@ -190,6 +215,7 @@ public final class KafkaBasedCommand implements Command {
         return new KafkaBasedCommand(
                 validationErrorJoiner.length() > 0 ? Optional.of(validationErrorJoiner.toString()) : Optional.empty(),
                 record,
+                headers,
                 tenantId,
                 deviceId,
                 correlationId,
@@ -328,6 +354,15 @@ public final class KafkaBasedCommand implements Command {
         return record;
     }
 
+    /**
+     * Gets the indexed view on the headers of the record corresponding to this command.
+     *
+     * @return The headers.
+     */
+    public IndexedKafkaHeaders getRecordHeaders() {
+        return headers;
+    }
+
     private void requireValid() {
         if (!isValid()) {
             throw new IllegalStateException("command is invalid");
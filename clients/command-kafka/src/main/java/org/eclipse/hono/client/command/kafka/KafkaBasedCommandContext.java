@@ -26,7 +26,6 @@ import org.eclipse.hono.client.command.CommandContext;
 import org.eclipse.hono.client.command.CommandResponse;
 import org.eclipse.hono.client.command.CommandResponseSender;
 import org.eclipse.hono.client.command.CommandToBeReprocessedException;
-import org.eclipse.hono.client.kafka.KafkaRecordHelper;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.MapBasedExecutionContext;
@@ -228,7 +227,7 @@ public class KafkaBasedCommandContext extends MapBasedExecutionContext implement
     private String getCorrelationId() {
         // extract correlation id from headers; command could be invalid in which case
         // command.getCorrelationId() throws an exception
-        return KafkaRecordHelper.getCorrelationId(command.getRecord().headers()).orElse(null);
+        return command.getRecordHeaders().getCorrelationId().orElse(null);
     }
 
     private boolean setCompleted(final String outcome) {
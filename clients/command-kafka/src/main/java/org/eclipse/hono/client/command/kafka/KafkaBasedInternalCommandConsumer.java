@@ -38,9 +38,9 @@ import org.eclipse.hono.client.command.CommandHandlers;
 import org.eclipse.hono.client.command.CommandResponseSender;
 import org.eclipse.hono.client.command.InternalCommandConsumer;
 import org.eclipse.hono.client.kafka.HonoTopic;
+import org.eclipse.hono.client.kafka.IndexedKafkaHeaders;
 import org.eclipse.hono.client.kafka.KafkaAdminClientConfigProperties;
 import org.eclipse.hono.client.kafka.KafkaClientFactory;
-import org.eclipse.hono.client.kafka.KafkaRecordHelper;
 import org.eclipse.hono.client.kafka.consumer.MessagingKafkaConsumerConfigProperties;
 import org.eclipse.hono.client.kafka.metrics.KafkaClientMetricsSupport;
 import org.eclipse.hono.client.kafka.tracing.KafkaTracingHelper;
@@ -359,10 +359,11 @@ public class KafkaBasedInternalCommandConsumer implements InternalCommandConsume
 
     void handleCommandMessage(final KafkaConsumerRecord<String, Buffer> record) {
 
+        final IndexedKafkaHeaders headers = new IndexedKafkaHeaders(record.headers());
         // get partition/offset of the command record - related to the tenant-based topic the command was originally received in
-        final Integer commandPartition = KafkaRecordHelper.getOriginalPartitionHeader(record.headers())
+        final Integer commandPartition = headers.getOriginalPartition()
                 .orElse(null);
-        final Long commandOffset = KafkaRecordHelper.getOriginalOffsetHeader(record.headers())
+        final Long commandOffset = headers.getOriginalOffset()
                 .orElse(null);
         if (commandPartition == null || commandOffset == null) {
             LOG.warn("command record is invalid - missing required original partition/offset headers");
@@ -371,11 +372,11 @@ public class KafkaBasedInternalCommandConsumer implements InternalCommandConsume
 
         final KafkaBasedCommand command;
         try {
-            command = KafkaBasedCommand.fromRoutedCommandRecord(record);
+            command = KafkaBasedCommand.fromRoutedCommandRecord(record, headers);
         } catch (final IllegalArgumentException e) {
             LOG.warn("command record is invalid [tenant-id: {}, device-id: {}]",
-                    KafkaRecordHelper.getTenantId(record.headers()).orElse(null),
-                    KafkaRecordHelper.getDeviceId(record.headers()).orElse(null),
+                    headers.getTenantId().orElse(null),
+                    headers.getDeviceId().orElse(null),
                     e);
             return;
         }
@@ -92,6 +92,53 @@ public interface CommandRouterClient extends Lifecycle {
      */
     Future<Void> unregisterCommandConsumer(String tenantId, String deviceId, String adapterInstanceId, SpanContext context);
 
+    /**
+     * Registers a protocol adapter instance as the consumer of command &amp; control messages
+     * for multiple devices of a tenant by means of a single request.
+     * <p>
+     * This is useful for registering all devices connected via a gateway at once, e.g. after the
+     * gateway has reconnected to the protocol adapter.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the registration entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan. Only the number of seconds in the given duration
+     *                 will be taken into account.
+     * @param context The currently active OpenTracing span context or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded if the consumer was successfully registered for all devices.
+     *         Otherwise the future will be failed with a {@code org.eclipse.hono.client.ServiceInvocationException}.
+     *         In such a case, client code should assume that none of the devices have been registered.
+     * @throws NullPointerException if tenantId, deviceIds or adapterInstanceId is {@code null}.
+     */
+    Future<Void> registerCommandConsumer(String tenantId, List<String> deviceIds, String adapterInstanceId,
+            Duration lifespan, SpanContext context);
+
+    /**
+     * Unregisters a command consumer for multiple devices of a tenant by means of a single request.
+     * <p>
+     * A device's registration entry is only deleted if the device is currently mapped to the given adapter instance.
+     * Devices that are not mapped to the given adapter instance are skipped.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param context The currently active OpenTracing span context or {@code null} if no span is currently active.
+     *            An implementation should use this as the parent for any span it creates for tracing
+     *            the execution of this operation.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded if the matching entries have been removed.
+     *         Otherwise the future will be failed with a {@code org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if any of the parameters except context is {@code null}.
+     */
+    Future<Void> unregisterCommandConsumer(String tenantId, List<String> deviceIds, String adapterInstanceId,
+            SpanContext context);
+
     /**
      * Adds tenants for which command routing should be enabled.
      * <p>
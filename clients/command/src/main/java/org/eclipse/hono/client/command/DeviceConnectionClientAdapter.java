@@ -14,13 +14,17 @@
 
 package org.eclipse.hono.client.command;
 
+import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.util.ServiceClient;
 
 import io.opentracing.SpanContext;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 
@@ -73,6 +77,52 @@ public final class DeviceConnectionClientAdapter implements CommandRouterClient,
         return deviceConnectionClient.removeCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, context);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The Device Connection API does not support registering multiple devices at once.
+     * This method therefore registers each device individually.
+     */
+    @Override
+    public Future<Void> registerCommandConsumer(
+            final String tenantId,
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final Duration lifespan,
+            final SpanContext context) {
+        Objects.requireNonNull(deviceIds);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = deviceIds.stream()
+                .map(deviceId -> registerCommandConsumer(tenantId, deviceId, adapterInstanceId, lifespan, context))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results).mapEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The Device Connection API does not support unregistering multiple devices at once.
+     * This method therefore unregisters each device individually.
+     */
+    @Override
+    public Future<Void> unregisterCommandConsumer(
+            final String tenantId,
+            final List<String> deviceIds,
+            final String adapterInstanceId,
+            final SpanContext context) {
+        Objects.requireNonNull(deviceIds);
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = deviceIds.stream()
+                .map(deviceId -> unregisterCommandConsumer(tenantId, deviceId, adapterInstanceId, context)
+                        .recover(t -> ServiceInvocationException.extractStatusCode(t) == HttpURLConnection.HTTP_PRECON_FAILED
+                                ? Future.succeededFuture()
+                                : Future.failedFuture(t)))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results).mapEmpty();
+    }
+
     @Override
     public Future<Void> setLastKnownGatewayForDevice(
             final String tenantId,
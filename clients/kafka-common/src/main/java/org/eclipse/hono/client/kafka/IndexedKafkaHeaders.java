@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.client.kafka;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.QoS;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * An indexed view on the headers of a Kafka record.
+ * <p>
+ * The static methods of {@link KafkaRecordHelper} scan the list of headers and decode the header's value
+ * on every invocation. This class instead creates an index of the headers by key when a header
+ * value is accessed for the first time and decodes each header value at most once. Components that
+ * look up multiple header values of the same record should therefore create a single instance for
+ * the record and share it.
+ * <p>
+ * As with {@link KafkaRecordHelper}, if the headers contain multiple occurrences of the same key,
+ * the value of its first occurrence is used, and values are only decoded as binary encoded values
+ * if the headers contain a {@value KafkaRecordHelper#HEADER_ENCODING_VERSION} header.
+ * <p>
+ * Instances may be shared among threads, however, concurrent access may result in a header value
+ * being decoded more than once.
+ */
+public final class IndexedKafkaHeaders {
+
+    private final List<KafkaHeader> headers;
+    private volatile Map<String, Entry> index;
+
+    /**
+     * Creates a view on a list of headers.
+     *
+     * @param headers The headers (may be {@code null}).
+     */
+    public IndexedKafkaHeaders(final List<KafkaHeader> headers) {
+        this.headers = Optional.ofNullable(headers).orElseGet(Collections::emptyList);
+    }
+
+    /**
+     * Gets the underlying headers.
+     *
+     * @return The headers.
+     */
+    public List<KafkaHeader> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Checks if the headers contain a given key.
+     *
+     * @param key The key.
+     * @return {@code true} if the headers contain the key.
+     * @throws NullPointerException if key is {@code null}.
+     */
+    public boolean contains(final String key) {
+        Objects.requireNonNull(key);
+        return getIndex().containsKey(key);
+    }
+
+    /**
+     * Gets the value of a header.
+     *
+     * @param key The header key.
+     * @param type The expected value type.
+     * @param <T> The expected type of the header value.
+     * @return The value or an empty Optional if the headers do not contain a correctly encoded value of the expected
+     *         type for the given key.
+     * @throws NullPointerException if key or type is {@code null}.
+     * @see KafkaRecordHelper#getHeaderValue(List, String, Class)
+     */
+    public <T> Optional<T> getHeaderValue(final String key, final Class<T> type) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(type);
+
+        final Entry entry = getIndex().get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.getValue(type));
+    }
+
+    /**
+     * Gets the {@link MessageHelper#SYS_PROPERTY_CONTENT_TYPE content type} header value.
+     *
+     * @return The content type (may be empty).
+     */
+    public Optional<String> getContentType() {
+        return getHeaderValue(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, String.class);
+    }
+
+    /**
+     * Gets the {@link MessageHelper#APP_PROPERTY_QOS quality of service} header value.
+     *
+     * @return The quality-of-service level (may be empty).
+     */
+    public Optional<QoS> getQoS() {
+        return getHeaderValue(MessageHelper.APP_PROPERTY_QOS, Integer.class)
+                .map(integer -> integer == 0 ? QoS.AT_MOST_ONCE : QoS.AT_LEAST_ONCE);
+    }
+
+    /**
+     * Gets the point in time represented by the {@value MessageHelper#SYS_PROPERTY_CREATION_TIME} header value.
+     *
+     * @return The point in time (may be empty).
+     */
+    public Optional<Instant> getCreationTime() {
+        return getHeaderValue(MessageHelper.SYS_PROPERTY_CREATION_TIME, Long.class).map(Instant::ofEpochMilli);
+    }
+
+    /**
+     * Gets the duration represented by the {@value MessageHelper#SYS_HEADER_PROPERTY_TTL} header value.
+     *
+     * @return The time-to-live (may be empty).
+     */
+    public Optional<Duration> getTimeToLive() {
+        return getHeaderValue(MessageHelper.SYS_HEADER_PROPERTY_TTL, Long.class).map(Duration::ofMillis);
+    }
+
+    /**
+     * Checks if a {@link MessageHelper#SYS_HEADER_PROPERTY_TTL ttl} header is present and the time already elapsed.
+     *
+     * @return {@code true} if the <em>ttl</em> header is present and the time-to-live is already elapsed,
+     *         {@code false} otherwise.
+     * @see KafkaRecordHelper#isTtlElapsed(List)
+     */
+    public boolean isTtlElapsed() {
+        return getTimeToLive()
+                .map(ttl -> {
+                    final Instant now = Instant.now();
+                    return getCreationTime().orElse(now).plus(ttl).isBefore(now);
+                })
+                .orElse(Boolean.FALSE);
+    }
+
+    /**
+     * Gets the value of the {@value MessageHelper#APP_PROPERTY_TENANT_ID} header.
+     *
+     * @return The header value (may be empty).
+     */
+    public Optional<String> getTenantId() {
+        return getHeaderValue(MessageHelper.APP_PROPERTY_TENANT_ID, String.class);
+    }
+
+    /**
+     * Gets the value of the {@value MessageHelper#APP_PROPERTY_DEVICE_ID} header.
+     *
+     * @return The header value (may be empty).
+     */
+    public Optional<String> getDeviceId() {
+        return getHeaderValue(MessageHelper.APP_PROPERTY_DEVICE_ID, String.class);
+    }
+
+    /**
+     * Gets the value of the {@value MessageHelper#SYS_PROPERTY_SUBJECT} header.
+     *
+     * @return The header value (may be empty).
+     */
+    public Optional<String> getSubject() {
+        return getHeaderValue(MessageHelper.SYS_PROPERTY_SUBJECT, String.class);
+    }
+
+    /**
+     * Gets the value of the {@value MessageHelper#SYS_PROPERTY_CORRELATION_ID} header.
+     *
+     * @return The header value (may be empty).
+     */
+    public Optional<String> getCorrelationId() {
+        return getHeaderValue(MessageHelper.SYS_PROPERTY_CORRELATION_ID, String.class);
+    }
+
+    /**
+     * Gets the value of the {@value MessageHelper#APP_PROPERTY_CMD_VIA} header.
+     *
+     * @return The header value (may be empty).
+     */
+    public Optional<String> getVia() {
+        return getHeaderValue(MessageHelper.APP_PROPERTY_CMD_VIA, String.class);
+    }
+
+    /**
+     * Gets the value of the header that contains the index of the tenant topic partition
+     * that a command record was originally stored in.
+     *
+     * @return The header value (may be empty).
+     * @see KafkaRecordHelper#getOriginalPartitionHeader(List)
+     */
+    public Optional<Integer> getOriginalPartition() {
+        return getHeaderValue(KafkaRecordHelper.HEADER_ORIGINAL_PARTITION, Integer.class);
+    }
+
+    /**
+     * Gets the value of the header that contains the offset in the tenant topic partition
+     * that a command record was originally stored in.
+     *
+     * @return The header value (may be empty).
+     * @see KafkaRecordHelper#getOriginalOffsetHeader(List)
+     */
+    public Optional<Long> getOriginalOffset() {
+        return getHeaderValue(KafkaRecordHelper.HEADER_ORIGINAL_OFFSET, Long.class);
+    }
+
+    /**
+     * Gets the value of the {@value KafkaRecordHelper#HEADER_RESPONSE_REQUIRED} header.
+     *
+     * @return The header value or {@code false} if the headers do not contain the header.
+     */
+    public boolean isResponseRequired() {
+        return getHeaderValue(KafkaRecordHelper.HEADER_RESPONSE_REQUIRED, Boolean.class).orElse(false);
+    }
+
+    private Map<String, Entry> getIndex() {
+        Map<String, Entry> result = index;
+        if (result == null) {
+            result = new HashMap<>((int) (headers.size() / 0.75f) + 1);
+            final boolean binaryEncoding = KafkaRecordHelper.isBinaryHeaderEncoding(headers);
+            for (final KafkaHeader header : headers) {
+                result.putIfAbsent(header.key(), new Entry(header.value(), binaryEncoding));
+            }
+            index = result;
+        }
+        return result;
+    }
+
+    /**
+     * A header value along with its most recently decoded representation.
+     */
+    private static final class Entry {
+
+        private final Buffer encodedValue;
+        private final boolean binaryEncoding;
+        private volatile Decoded decoded;
+
+        Entry(final Buffer encodedValue, final boolean binaryEncoding) {
+            this.encodedValue = encodedValue;
+            this.binaryEncoding = binaryEncoding;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T getValue(final Class<T> type) {
+            final Decoded current = decoded;
+            if (current != null && current.type == type) {
+                return (T) current.value;
+            }
+            final T value = KafkaRecordHelper.decode(encodedValue, type, binaryEncoding);
+            decoded = new Decoded(type, value);
+            return value;
+        }
+    }
+
+    /**
+     * An immutable decoded header value (which may be {@code null} if the header value could not be decoded).
+     */
+    private static final class Decoded {
+
+        private final Class<?> type;
+        private final Object value;
+
+        Decoded(final Class<?> type, final Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
@@ -37,16 +37,37 @@ public final class KafkaRecordHelper {
      * The name of the boolean Kafka record header that defines whether a response is required for the command.
      */
     public static final String HEADER_RESPONSE_REQUIRED = "response-required";
+    /**
+     * The name of the String Kafka record header that indicates the version of the binary encoding
+     * that (some of) the non-string values of a record's other headers have been encoded with.
+     * <p>
+     * The values of the headers of records that do not contain this header are expected to be
+     * encoded as described in {@link #createKafkaHeader(String, Object)}.
+     *
+     * @see #createBinaryKafkaHeader(String, Object)
+     */
+    public static final String HEADER_ENCODING_VERSION = "header-encoding-version";
+    /**
+     * The version of the binary header value encoding implemented by this class.
+     */
+    public static final String BINARY_ENCODING_VERSION = "1";
     /**
      * The name of the Integer Kafka record header that contains the index of the tenant topic partition
      * that a command record was originally stored in.
      */
-    private static final String HEADER_ORIGINAL_PARTITION = "orig-partition";
+    static final String HEADER_ORIGINAL_PARTITION = "orig-partition";
     /**
      * The name of the Long Kafka record header that contains the offset in the tenant topic partition
      * that a command record was originally stored in.
      */
-    private static final String HEADER_ORIGINAL_OFFSET = "orig-offset";
+    static final String HEADER_ORIGINAL_OFFSET = "orig-offset";
+
+    // the type tags of binary encoded values
+    // none of these can be the first byte of a JSON encoded value
+    private static final byte TYPE_INT = 0x01;
+    private static final byte TYPE_LONG = 0x02;
+    private static final byte TYPE_BOOLEAN = 0x03;
+    private static final byte TYPE_TIMESTAMP = 0x04;
 
     private KafkaRecordHelper() {
     }
@@ -76,6 +97,82 @@ public final class KafkaRecordHelper {
         return KafkaHeader.header(key, Buffer.buffer(encodedValue));
     }
 
+    /**
+     * Creates a Kafka header for the given key and value using a compact binary encoding.
+     * <p>
+     * The value is encoded as follows:
+     * <ul>
+     * <li>A {@code String} is encoded as its UTF-8 bytes, i.e. the same way as in {@link #createKafkaHeader(String, Object)}.</li>
+     * <li>An {@code Integer} is encoded as type tag {@code 0x01} followed by the value's 4 bytes (big endian).</li>
+     * <li>A {@code Long} is encoded as type tag {@code 0x02} followed by the value's 8 bytes (big endian).</li>
+     * <li>A {@code Boolean} is encoded as type tag {@code 0x03} followed by a single byte {@code 0x00} or {@code 0x01}.</li>
+     * <li>An {@code Instant} is encoded as type tag {@code 0x04} followed by the 8 bytes (big endian) of the number
+     * of milliseconds since the Unix epoch.</li>
+     * <li>Values of any other type are JSON encoded.</li>
+     * </ul>
+     * Records containing binary encoded header values must also contain a {@value #HEADER_ENCODING_VERSION} header.
+     * The decoding methods of this class only try to decode a value as a binary encoded value if the record contains
+     * that header. Because none of the type tags is a valid first byte of a JSON encoded value, such records may
+     * contain JSON encoded values as well.
+     *
+     * @param key The key of the header.
+     * @param value The value of the header.
+     * @return The encoded Kafka header.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws EncodeException if encoding the value to JSON fails.
+     * @see #createEncodingVersionHeader()
+     */
+    public static KafkaHeader createBinaryKafkaHeader(final String key, final Object value) throws EncodeException {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        final Buffer encodedValue;
+        if (value instanceof Integer) {
+            encodedValue = Buffer.buffer(5).appendByte(TYPE_INT).appendInt((Integer) value);
+        } else if (value instanceof Long) {
+            encodedValue = Buffer.buffer(9).appendByte(TYPE_LONG).appendLong((Long) value);
+        } else if (value instanceof Boolean) {
+            encodedValue = Buffer.buffer(2).appendByte(TYPE_BOOLEAN).appendByte((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Instant) {
+            encodedValue = Buffer.buffer(9).appendByte(TYPE_TIMESTAMP).appendLong(((Instant) value).toEpochMilli());
+        } else {
+            return createKafkaHeader(key, value);
+        }
+        return KafkaHeader.header(key, encodedValue);
+    }
+
+    /**
+     * Creates a {@value #HEADER_ENCODING_VERSION} header indicating the binary encoding
+     * implemented by {@link #createBinaryKafkaHeader(String, Object)}.
+     *
+     * @return The header.
+     */
+    public static KafkaHeader createEncodingVersionHeader() {
+        return KafkaHeader.header(HEADER_ENCODING_VERSION, BINARY_ENCODING_VERSION);
+    }
+
+    /**
+     * Checks if the values of the given headers may have been encoded using the binary encoding
+     * implemented by {@link #createBinaryKafkaHeader(String, Object)}.
+     * <p>
+     * If the list contains multiple occurrences of the {@value #HEADER_ENCODING_VERSION} header,
+     * the value of its first occurrence is used.
+     *
+     * @param headers The headers to check.
+     * @return {@code true} if the headers contain a {@value #HEADER_ENCODING_VERSION} header with
+     *         value {@value #BINARY_ENCODING_VERSION}.
+     */
+    public static boolean isBinaryHeaderEncoding(final List<KafkaHeader> headers) {
+        if (headers == null) {
+            return false;
+        }
+        return headers.stream()
+                .filter(h -> HEADER_ENCODING_VERSION.equals(h.key()))
+                .findFirst()
+                .map(h -> BINARY_ENCODING_VERSION.equals(decode(h, String.class)))
+                .orElse(false);
+    }
+
     /**
      * Gets the {@link MessageHelper#SYS_PROPERTY_CONTENT_TYPE content type} header from the given list of Kafka
      * headers.
@@ -315,6 +412,9 @@ public final class KafkaRecordHelper {
      * <p>
      * If the headers contain multiple occurrences of the same key, the value of its first
      * occurrence is returned.
+     * <p>
+     * The value is decoded as a binary encoded value only if the headers contain a
+     * {@value #HEADER_ENCODING_VERSION} header indicating the binary encoding.
      *
      * @param headers The Kafka headers to retrieve the value from.
      * @param key The header key.
@@ -324,6 +424,7 @@ public final class KafkaRecordHelper {
      *         type for the given key.
      * @throws NullPointerException if key or type is {@code null}.
      * @see #createKafkaHeader(String, Object)
+     * @see #isBinaryHeaderEncoding(List)
      */
     public static <T> Optional<T> getHeaderValue(final List<KafkaHeader> headers, final String key,
             final Class<T> type) {
@@ -338,11 +439,13 @@ public final class KafkaRecordHelper {
         return headers.stream()
                 .filter(h -> key.equals(h.key()))
                 .findFirst()
-                .map(h -> decode(h, type));
+                .map(h -> decode(h, type, !String.class.equals(type) && isBinaryHeaderEncoding(headers)));
     }
 
     /**
      * Returns the decoded value of the given Kafka header.
+     * <p>
+     * The value is expected to be encoded as described in {@link #createKafkaHeader(String, Object)}.
      *
      * @param header The header with the value to be decoded.
      * @param type The expected value type.
@@ -353,17 +456,35 @@ public final class KafkaRecordHelper {
      * @see #createKafkaHeader(String, Object)
      */
     public static <T> T decode(final KafkaHeader header, final Class<T> type) {
+        return decode(header, type, false);
+    }
+
+    /**
+     * Returns the decoded value of the given Kafka header.
+     *
+     * @param header The header with the value to be decoded.
+     * @param type The expected value type.
+     * @param binaryEncoding {@code true} if the record containing the header indicates the binary encoding.
+     * @param <T> The expected type of the header value.
+     * @return The decoded value or {@code  null} if the header does not contain a correctly encoded value of the
+     *         expected type for the given name.
+     * @throws NullPointerException if type is {@code null}.
+     * @see #isBinaryHeaderEncoding(List)
+     */
+    public static <T> T decode(final KafkaHeader header, final Class<T> type, final boolean binaryEncoding) {
         Objects.requireNonNull(type);
 
         if (header == null) {
             return null;
         }
 
-        return decode(header.value(), type);
+        return decode(header.value(), type, binaryEncoding);
     }
 
     /**
      * Returns the decoded value of the given buffer.
+     * <p>
+     * The value is expected to be encoded as described in {@link #createKafkaHeader(String, Object)}.
      *
      * @param encodedHeaderValue The buffer with the value to be decoded.
      * @param type The expected value type.
@@ -373,8 +494,29 @@ public final class KafkaRecordHelper {
      * @throws NullPointerException if type is {@code null}.
      * @see #createKafkaHeader(String, Object)
      */
-    @SuppressWarnings("unchecked")
     public static <T> T decode(final Buffer encodedHeaderValue, final Class<T> type) {
+        return decode(encodedHeaderValue, type, false);
+    }
+
+    /**
+     * Returns the decoded value of the given buffer.
+     * <p>
+     * If the record that the value has been read from indicates the binary encoding, a value starting with
+     * one of the type tags described in {@link #createBinaryKafkaHeader(String, Object)} is decoded as a binary
+     * encoded value. All other values are decoded as described in {@link #createKafkaHeader(String, Object)}.
+     *
+     * @param encodedHeaderValue The buffer with the value to be decoded.
+     * @param type The expected value type.
+     * @param binaryEncoding {@code true} if the record that the value has been read from indicates the binary encoding.
+     * @param <T> The expected type of the header value.
+     * @return The decoded value or {@code  null} if the buffer does not contain a correctly encoded value of the
+     *         expected type for the given name.
+     * @throws NullPointerException if type is {@code null}.
+     * @see #isBinaryHeaderEncoding(List)
+     * @see #createBinaryKafkaHeader(String, Object)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(final Buffer encodedHeaderValue, final Class<T> type, final boolean binaryEncoding) {
         Objects.requireNonNull(type);
 
         if (encodedHeaderValue == null) {
@@ -384,6 +526,8 @@ public final class KafkaRecordHelper {
         try {
             if (String.class.equals(type)) {
                 return (T) encodedHeaderValue.toString();
+            } else if (binaryEncoding && hasTypeTag(encodedHeaderValue)) {
+                return (T) decodeBinary(encodedHeaderValue, type);
             } else {
                 return Json.decodeValue(encodedHeaderValue, type);
             }
@@ -391,4 +535,49 @@ public final class KafkaRecordHelper {
             return null;
         }
     }
+
+    private static boolean hasTypeTag(final Buffer encodedHeaderValue) {
+        if (encodedHeaderValue.length() == 0) {
+            return false;
+        }
+        final byte typeTag = encodedHeaderValue.getByte(0);
+        return typeTag >= TYPE_INT && typeTag <= TYPE_TIMESTAMP;
+    }
+
+    private static Object decodeBinary(final Buffer encodedHeaderValue, final Class<?> type) {
+
+        final int length = encodedHeaderValue.length();
+        switch (encodedHeaderValue.getByte(0)) {
+        case TYPE_INT:
+            if (length != 5) {
+                return null;
+            }
+            return convertNumber(encodedHeaderValue.getInt(1), type);
+        case TYPE_LONG:
+        case TYPE_TIMESTAMP:
+            if (length != 9) {
+                return null;
+            }
+            return convertNumber(encodedHeaderValue.getLong(1), type);
+        case TYPE_BOOLEAN:
+            if (length != 2 || !Boolean.class.equals(type)) {
+                return null;
+            }
+            return encodedHeaderValue.getByte(1) != 0;
+        default:
+            return null;
+        }
+    }
+
+    private static Object convertNumber(final long value, final Class<?> type) {
+        if (Long.class.equals(type)) {
+            return value;
+        } else if (Integer.class.equals(type)) {
+            return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? null : (int) value;
+        } else if (Instant.class.equals(type)) {
+            return Instant.ofEpochMilli(value);
+        } else {
+            return null;
+        }
+    }
 }
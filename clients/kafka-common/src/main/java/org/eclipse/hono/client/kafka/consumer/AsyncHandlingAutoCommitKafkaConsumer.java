@@ -15,6 +15,7 @@ package org.eclipse.hono.client.kafka.consumer;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +32,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -89,6 +92,24 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
  * reached again.
  * The overall limit, i.e. the maximum number of incomplete record handler result futures at a given point in time, is
  * calculated from the above mentioned throttling threshold plus the maximum number of records per poll operation.
+ * <p>
+ * <b>Key-ordered record handling</b>
+ * <p>
+ * By default, the record handling function is invoked for each record as soon as it has been received, regardless
+ * of whether the handling of previously received records has already been completed. This means that records
+ * may effectively be handled out of order.
+ * <p>
+ * If the <em>hono.record.handling.key.ordered.lanes</em> property is set to a positive number, the records are
+ * instead dispatched to that number of handling lanes, based on the hash of the record key (i.e. the device ID in
+ * case of Hono messages). The records of a lane are handled one after the other, i.e. the handling function is only
+ * invoked for a record once the result future of the previous record of the same lane has been completed. Records
+ * with the same key are thereby handled in the order in which they have been received, while records with different
+ * keys may still be handled in parallel, using at most the configured number of lanes. Records without a key are
+ * assigned to a lane by their partition.
+ * <p>
+ * Records waiting to be handled in a lane count as records in processing in terms of rate limiting. The offset of
+ * a record gets committed only if the handling of the record and of all records before it in the same partition
+ * has been completed, no matter which lanes these records have been dispatched to.
  */
 public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
 
@@ -110,6 +131,15 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
      * another consumer.
      */
     public static final String CONFIG_HONO_OFFSETS_COMMIT_RECORD_COMPLETION_TIMEOUT_MILLIS = "hono.offsets.commit.record.completion.timeout.millis";
+    /**
+     * The name of the configuration property to define the number of lanes that received records are dispatched to
+     * based on their key. The records of a lane are handled sequentially, thereby preserving the order of records
+     * with the same key.
+     * <p>
+     * A value of {@code 0} (the default) means that the record handling function is invoked for every record right
+     * after it has been received.
+     */
+    public static final String CONFIG_HONO_RECORD_HANDLING_KEY_ORDERED_LANES = "hono.record.handling.key.ordered.lanes";
     /**
      * The default periodic commit interval.
      */
@@ -143,6 +173,7 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
     private final long commitIntervalMillis;
     private final long skipOffsetRecommitPeriodSeconds;
     private final long offsetsCommitRecordCompletionTimeoutMillis;
+    private final KeyOrderedLane[] keyOrderedLanes;
     private final Map<TopicPartition, TopicPartitionOffsets> offsetsMap = new HashMap<>();
     /**
      * Map keeping the last offsets committed by this consumer for the partitions of the subscribed topics.
@@ -227,6 +258,15 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
         this.commitIntervalMillis = getCommitInterval(consumerConfig);
         this.skipOffsetRecommitPeriodSeconds = getSkipOffsetRecommitPeriodSeconds(consumerConfig);
         this.offsetsCommitRecordCompletionTimeoutMillis = getOffsetsCommitRecordCompletionTimeoutMillis(consumerConfig);
+        final int numberOfLanes = getKeyOrderedLanes(consumerConfig);
+        if (numberOfLanes > 0) {
+            this.keyOrderedLanes = new KeyOrderedLane[numberOfLanes];
+            for (int i = 0; i < numberOfLanes; i++) {
+                keyOrderedLanes[i] = new KeyOrderedLane();
+            }
+        } else {
+            this.keyOrderedLanes = null;
+        }
     }
 
     @Override
@@ -256,13 +296,32 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
         }
         final TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
         final OffsetsQueueEntry offsetsQueueEntry = setRecordReceived(record.offset(), topicPartition);
+        if (keyOrderedLanes == null) {
+            invokeRecordHandler(record, recordHandler, offsetsQueueEntry, topicPartition);
+        } else {
+            getKeyOrderedLane(record)
+                    .execute(() -> invokeRecordHandler(record, recordHandler, offsetsQueueEntry, topicPartition));
+        }
+    }
+
+    private KeyOrderedLane getKeyOrderedLane(final KafkaConsumerRecord<String, Buffer> record) {
+        final int hash = record.key() == null ? record.partition() : record.key().hashCode();
+        return keyOrderedLanes[Math.floorMod(hash, keyOrderedLanes.length)];
+    }
+
+    private Future<Void> invokeRecordHandler(
+            final KafkaConsumerRecord<String, Buffer> record,
+            final Function<KafkaConsumerRecord<String, Buffer>, Future<Void>> recordHandler,
+            final OffsetsQueueEntry offsetsQueueEntry,
+            final TopicPartition topicPartition) {
         try {
-            recordHandler.apply(record)
+            return recordHandler.apply(record)
                     .onComplete(ar -> setRecordHandlingComplete(offsetsQueueEntry, topicPartition));
         } catch (final Exception e) {
             log.warn("error handling record [topic: {}, partition: {}, offset: {}, headers: {}] [client-id: {}]",
                     record.topic(), record.partition(), record.offset(), record.headers(), getClientId(), e);
             setRecordHandlingComplete(offsetsQueueEntry, topicPartition);
+            return Future.succeededFuture();
         }
     }
 
@@ -314,6 +373,12 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
                 .orElse(DEFAULT_OFFSETS_COMMIT_RECORD_COMPLETION_TIMEOUT.toMillis());
     }
 
+    private static int getKeyOrderedLanes(final Map<String, String> consumerConfig) {
+        return Optional.ofNullable(consumerConfig.get(CONFIG_HONO_RECORD_HANDLING_KEY_ORDERED_LANES))
+                .map(Integer::parseInt)
+                .orElse(0);
+    }
+
     @Override
     protected void onRecordHandlerSkippedForExpiredRecord(final KafkaConsumerRecord<String, Buffer> record) {
         final OffsetsQueueEntry queueEntry = setRecordReceived(record.offset(),
@@ -762,6 +827,54 @@ public class AsyncHandlingAutoCommitKafkaConsumer extends HonoKafkaConsumer {
         }
     }
 
+    /**
+     * A lane in which record handling tasks are executed one after the other.
+     * <p>
+     * A task is started once the result future of the previous task has been completed.
+     * Tasks of which the result future is already completed when being returned are executed
+     * in a loop, so that a long row of such tasks doesn't lead to deeply nested invocations.
+     */
+    static class KeyOrderedLane {
+        private final Queue<Supplier<Future<Void>>> pendingTasks = new ArrayDeque<>();
+        private boolean taskInProgress;
+
+        /**
+         * Executes a task after all previously submitted tasks have been completed.
+         *
+         * @param task The task to execute. The returned future indicates the completion of the task.
+         */
+        void execute(final Supplier<Future<Void>> task) {
+            synchronized (this) {
+                if (taskInProgress) {
+                    pendingTasks.add(task);
+                    return;
+                }
+                taskInProgress = true;
+            }
+            runTasks(task);
+        }
+
+        private void runTasks(final Supplier<Future<Void>> firstTask) {
+            Supplier<Future<Void>> task = firstTask;
+            while (task != null) {
+                final Future<Void> taskResult = task.get();
+                if (!taskResult.isComplete()) {
+                    taskResult.onComplete(ar -> runTasks(nextTask()));
+                    return;
+                }
+                task = nextTask();
+            }
+        }
+
+        private synchronized Supplier<Future<Void>> nextTask() {
+            final Supplier<Future<Void>> task = pendingTasks.poll();
+            if (task == null) {
+                taskInProgress = false;
+            }
+            return task;
+        }
+    }
+
     /**
      * A latch to wait for record result futures to be completed concerning a given set of partitions.
      */
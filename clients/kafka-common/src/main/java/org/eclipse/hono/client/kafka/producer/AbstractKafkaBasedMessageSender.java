@@ -43,7 +43,6 @@ import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.EncodeException;
-import io.vertx.core.json.Json;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.healthchecks.Status;
 import io.vertx.kafka.client.producer.KafkaHeader;
@@ -254,17 +253,21 @@ public abstract class AbstractKafkaBasedMessageSender implements MessagingClient
 
     /**
      * Encodes the given properties as a list of Kafka record headers.
+     * <p>
+     * The values are encoded using the binary encoding if configured, in which case a
+     * {@value KafkaRecordHelper#HEADER_ENCODING_VERSION} header is added to the list as well.
      *
      * @param properties The properties to encode.
      * @param span The span to log to if there are exceptions encoding the properties.
      * @return The created header list.
+     * @see MessagingKafkaProducerConfigProperties#isBinaryHeaderEncoding()
      */
-    private List<KafkaHeader> encodePropertiesAsKafkaHeaders(final Map<String, Object> properties, final Span span) {
-        final List<KafkaHeader> headers = new ArrayList<>();
+    protected final List<KafkaHeader> encodePropertiesAsKafkaHeaders(final Map<String, Object> properties, final Span span) {
+        final List<KafkaHeader> headers = new ArrayList<>(properties.size() + 2);
 
         properties.forEach((k, v) -> {
             try {
-                headers.add(KafkaRecordHelper.createKafkaHeader(k, v));
+                headers.add(createKafkaHeader(k, v));
             } catch (final EncodeException e) {
                 log.info("failed to serialize property with key [{}] to Kafka header", k);
                 span.log("failed to create Kafka header from property: " + k);
@@ -274,14 +277,41 @@ public abstract class AbstractKafkaBasedMessageSender implements MessagingClient
         if (!properties.containsKey(MessageHelper.SYS_PROPERTY_CREATION_TIME)) {
             // must match http://docs.oasis-open.org/amqp/core/v1.0/os/amqp-core-types-v1.0-os.html#type-timestamp
             // as defined in https://www.eclipse.org/hono/docs/api/telemetry/#forward-telemetry-data
-            headers.add(KafkaRecordHelper.createKafkaHeader(
-                    MessageHelper.SYS_PROPERTY_CREATION_TIME,
-                    Json.encode(Instant.now().toEpochMilli())));
+            if (config.isBinaryHeaderEncoding()) {
+                headers.add(KafkaRecordHelper.createBinaryKafkaHeader(
+                        MessageHelper.SYS_PROPERTY_CREATION_TIME,
+                        Instant.now()));
+            } else {
+                headers.add(KafkaRecordHelper.createKafkaHeader(
+                        MessageHelper.SYS_PROPERTY_CREATION_TIME,
+                        Instant.now().toEpochMilli()));
+            }
+        }
+        if (config.isBinaryHeaderEncoding() && !properties.containsKey(KafkaRecordHelper.HEADER_ENCODING_VERSION)) {
+            headers.add(KafkaRecordHelper.createEncodingVersionHeader());
         }
 
         return headers;
     }
 
+    /**
+     * Creates a Kafka header for the given key and value using the configured encoding.
+     *
+     * @param key The key of the header.
+     * @param value The value of the header.
+     * @return The encoded Kafka header.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws EncodeException if encoding the value to JSON fails.
+     * @see MessagingKafkaProducerConfigProperties#isBinaryHeaderEncoding()
+     */
+    protected final KafkaHeader createKafkaHeader(final String key, final Object value) {
+        if (config.isBinaryHeaderEncoding()) {
+            return KafkaRecordHelper.createBinaryKafkaHeader(key, value);
+        } else {
+            return KafkaRecordHelper.createKafkaHeader(key, value);
+        }
+    }
+
     /**
      * Creates a new <em>OpenTracing</em> child span to trace producing messages to Kafka.
      *
@@ -17,6 +17,7 @@ import java.util.Map;
 
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.ConfigValue;
+import io.smallrye.config.WithDefault;
 
 /**
  * Options for configuring Kafka producers.
@@ -38,4 +39,12 @@ public interface KafkaProducerOptions {
      */
     Map<String, ConfigValue> producerConfig();
 
+    /**
+     * Checks if the values of the headers of records created by Hono's messaging producers should be encoded
+     * using a compact binary encoding instead of JSON.
+     *
+     * @return {@code true} if the binary encoding should be used.
+     */
+    @WithDefault("false")
+    boolean binaryHeaderEncoding();
 }
@@ -37,6 +37,8 @@ import io.vertx.kafka.client.serialization.BufferSerializer;
 // When renaming or moving this class, please update it in the documentation
 public class MessagingKafkaProducerConfigProperties extends KafkaProducerConfigProperties {
 
+    private boolean binaryHeaderEncoding = false;
+
     /**
      * Creates an instance.
      */
@@ -53,6 +55,34 @@ public class MessagingKafkaProducerConfigProperties extends KafkaProducerConfigP
     public MessagingKafkaProducerConfigProperties(final CommonKafkaClientOptions commonOptions,
             final KafkaProducerOptions options) {
         super(StringSerializer.class, BufferSerializer.class, commonOptions, options);
+        this.binaryHeaderEncoding = options.binaryHeaderEncoding();
+    }
+
+    /**
+     * Checks if the values of the records' headers are encoded using a compact binary encoding instead of JSON.
+     * <p>
+     * The binary encoding reduces the CPU time required for encoding and decoding the headers. However, consumers
+     * need to support the encoding. Hono's clients support both encodings.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the binary encoding is used.
+     * @see org.eclipse.hono.client.kafka.KafkaRecordHelper#createBinaryKafkaHeader(String, Object)
+     */
+    public final boolean isBinaryHeaderEncoding() {
+        return binaryHeaderEncoding;
+    }
+
+    /**
+     * Sets whether the values of the records' headers should be encoded using a compact binary encoding
+     * instead of JSON.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param binaryHeaderEncoding {@code true} if the binary encoding should be used.
+     */
+    public final void setBinaryHeaderEncoding(final boolean binaryHeaderEncoding) {
+        this.binaryHeaderEncoding = binaryHeaderEncoding;
     }
 
     /**
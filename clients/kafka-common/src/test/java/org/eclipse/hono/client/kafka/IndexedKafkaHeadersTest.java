@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.client.kafka;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.QoS;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Verifies the behavior of {@link IndexedKafkaHeaders}.
+ */
+public class IndexedKafkaHeadersTest {
+
+    /**
+     * Verifies that the view returns the values of the first occurrences of JSON and binary encoded headers.
+     */
+    @Test
+    public void testGetHeaderValues() {
+
+        final Instant creationTime = Instant.ofEpochMilli(Instant.now().minusSeconds(10).toEpochMilli());
+        final IndexedKafkaHeaders headers = new IndexedKafkaHeaders(List.of(
+                KafkaRecordHelper.createEncodingVersionHeader(),
+                KafkaRecordHelper.createTenantIdHeader("tenant"),
+                KafkaRecordHelper.createDeviceIdHeader("device"),
+                KafkaRecordHelper.createDeviceIdHeader("other-device"),
+                KafkaRecordHelper.createKafkaHeader(MessageHelper.APP_PROPERTY_QOS, 0),
+                KafkaRecordHelper.createBinaryKafkaHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME, creationTime),
+                KafkaRecordHelper.createKafkaHeader(MessageHelper.SYS_HEADER_PROPERTY_TTL, 5000L),
+                KafkaRecordHelper.createResponseRequiredHeader(true),
+                KafkaRecordHelper.createOriginalPartitionHeader(3),
+                KafkaRecordHelper.createOriginalOffsetHeader(100L)));
+
+        assertThat(headers.getTenantId()).isEqualTo(Optional.of("tenant"));
+        assertThat(headers.getDeviceId()).isEqualTo(Optional.of("device"));
+        assertThat(headers.getQoS()).isEqualTo(Optional.of(QoS.AT_MOST_ONCE));
+        assertThat(headers.getCreationTime()).isEqualTo(Optional.of(creationTime));
+        assertThat(headers.getTimeToLive()).isEqualTo(Optional.of(Duration.ofSeconds(5)));
+        assertThat(headers.isTtlElapsed()).isTrue();
+        assertThat(headers.isResponseRequired()).isTrue();
+        assertThat(headers.getOriginalPartition()).isEqualTo(Optional.of(3));
+        assertThat(headers.getOriginalOffset()).isEqualTo(Optional.of(100L));
+        assertThat(headers.getSubject()).isEqualTo(Optional.empty());
+        assertThat(headers.contains(MessageHelper.SYS_PROPERTY_SUBJECT)).isFalse();
+        // a header value that cannot be decoded to the requested type
+        assertThat(headers.getHeaderValue(MessageHelper.APP_PROPERTY_TENANT_ID, Long.class))
+                .isEqualTo(Optional.empty());
+    }
+
+    /**
+     * Verifies that the view indexes the headers and decodes a header value only once.
+     */
+    @Test
+    public void testHeaderValueIsDecodedOnlyOnce() {
+
+        final KafkaHeader header = mock(KafkaHeader.class);
+        when(header.key()).thenReturn(MessageHelper.APP_PROPERTY_DEVICE_TTD);
+        when(header.value()).thenReturn(Buffer.buffer("60"));
+        final IndexedKafkaHeaders headers = new IndexedKafkaHeaders(List.of(header));
+
+        final Integer ttd = headers.getHeaderValue(MessageHelper.APP_PROPERTY_DEVICE_TTD, Integer.class).get();
+        assertThat(ttd).isEqualTo(60);
+        assertThat(headers.getHeaderValue(MessageHelper.APP_PROPERTY_DEVICE_TTD, Integer.class).get())
+                .isSameInstanceAs(ttd);
+        verify(header, times(1)).value();
+    }
+}
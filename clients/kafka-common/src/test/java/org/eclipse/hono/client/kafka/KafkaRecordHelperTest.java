@@ -202,4 +202,80 @@ public class KafkaRecordHelperTest {
         assertThat(KafkaRecordHelper.getHeaderValue(headers, KEY, String.class))
                 .isEqualTo(Optional.of(stringValue1));
     }
+
+    /**
+     * Verifies that values encoded using {@link KafkaRecordHelper#createBinaryKafkaHeader(String, Object)}
+     * can be decoded again.
+     */
+    @Test
+    public void testDecodeBinaryEncodedValues() {
+
+        final Instant creationTime = Instant.ofEpochMilli(Instant.now().toEpochMilli());
+        headers.add(KafkaRecordHelper.createEncodingVersionHeader());
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("string", "a-value"));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("int", -5));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("long", Long.MAX_VALUE));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("boolean", true));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("creation-time", creationTime));
+
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "string", String.class)).isEqualTo(Optional.of("a-value"));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "int", Integer.class)).isEqualTo(Optional.of(-5));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "int", Long.class)).isEqualTo(Optional.of(-5L));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "long", Long.class)).isEqualTo(Optional.of(Long.MAX_VALUE));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "long", Integer.class)).isEqualTo(Optional.empty());
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "boolean", Boolean.class)).isEqualTo(Optional.of(true));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "boolean", Integer.class)).isEqualTo(Optional.empty());
+        assertThat(KafkaRecordHelper.getCreationTime(headers)).isEqualTo(Optional.of(creationTime));
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "creation-time", Instant.class)).isEqualTo(Optional.of(creationTime));
+    }
+
+    /**
+     * Verifies that binary and JSON encoded header values can be mixed in the same record.
+     */
+    @Test
+    public void testDecodeMixedEncodings() {
+
+        headers.add(KafkaRecordHelper.createEncodingVersionHeader());
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("ttl", 5000L));
+        headers.add(KafkaRecordHelper.createKafkaHeader("creation-time", Instant.now().minusSeconds(6).toEpochMilli()));
+        headers.add(KafkaRecordHelper.createKafkaHeader(KafkaRecordHelper.HEADER_RESPONSE_REQUIRED, true));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("qos", 1));
+
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, KafkaRecordHelper.HEADER_ENCODING_VERSION, String.class))
+                .isEqualTo(Optional.of(KafkaRecordHelper.BINARY_ENCODING_VERSION));
+        assertThat(KafkaRecordHelper.isBinaryHeaderEncoding(headers)).isTrue();
+        assertThat(KafkaRecordHelper.isTtlElapsed(headers)).isTrue();
+        assertThat(KafkaRecordHelper.isResponseRequired(headers)).isTrue();
+        assertThat(KafkaRecordHelper.getQoS(headers)).isEqualTo(Optional.of(QoS.AT_LEAST_ONCE));
+    }
+
+    /**
+     * Verifies that values are not decoded as binary encoded values if the headers do not contain
+     * the encoding version header.
+     */
+    @Test
+    public void testBinaryEncodedValuesAreNotDecodedWithoutEncodingVersionHeader() {
+
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("int", 5));
+        headers.add(KafkaRecordHelper.createKafkaHeader("string", "\u0002value"));
+
+        assertThat(KafkaRecordHelper.isBinaryHeaderEncoding(headers)).isFalse();
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "int", Integer.class)).isEqualTo(Optional.empty());
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "string", String.class))
+                .isEqualTo(Optional.of("\u0002value"));
+    }
+
+    /**
+     * Verifies that values are not decoded as binary encoded values if the encoding version header
+     * indicates an unknown version.
+     */
+    @Test
+    public void testBinaryEncodedValuesAreNotDecodedForUnknownEncodingVersion() {
+
+        headers.add(KafkaRecordHelper.createKafkaHeader(KafkaRecordHelper.HEADER_ENCODING_VERSION, "2"));
+        headers.add(KafkaRecordHelper.createBinaryKafkaHeader("int", 5));
+
+        assertThat(KafkaRecordHelper.isBinaryHeaderEncoding(headers)).isFalse();
+        assertThat(KafkaRecordHelper.getHeaderValue(headers, "int", Integer.class)).isEqualTo(Optional.empty());
+    }
 }
@@ -20,6 +20,7 @@ import static com.google.common.truth.Truth.assertWithMessage;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -600,6 +601,84 @@ public class AsyncHandlingAutoCommitKafkaConsumerTest {
         });
     }
 
+    /**
+     * Verifies that the consumer, if configured to use key-ordered lanes, handles records with the same key
+     * one after the other and in the order of their offsets, and commits the offset of the last record
+     * once all records have been handled.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testConsumerHandlesRecordsInKeyOrderedLanes(final VertxTestContext ctx) {
+        final int numKeys = 5;
+        final int numRecords = 30;
+        final Map<String, List<Long>> handledOffsetsPerKey = new HashMap<>();
+        final Set<String> keysInProcessing = new HashSet<>();
+        final AtomicInteger maxRecordsInProcessing = new AtomicInteger();
+        final Promise<Void> allRecordsHandled = Promise.promise();
+        final AtomicInteger handledRecords = new AtomicInteger();
+
+        final Function<KafkaConsumerRecord<String, Buffer>, Future<Void>> handler = record -> {
+            final Promise<Void> result = Promise.promise();
+            synchronized (keysInProcessing) {
+                if (!keysInProcessing.add(record.key())) {
+                    ctx.failNow(new AssertionError("records with key " + record.key() + " handled in parallel"));
+                }
+                maxRecordsInProcessing.accumulateAndGet(keysInProcessing.size(), Math::max);
+                handledOffsetsPerKey.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(record.offset());
+            }
+            // complete records in an order different from the one they have been received in
+            vertx.setTimer(1 + (numRecords - record.offset()) % 7, tid -> {
+                synchronized (keysInProcessing) {
+                    keysInProcessing.remove(record.key());
+                }
+                result.complete();
+                if (handledRecords.incrementAndGet() == numRecords) {
+                    allRecordsHandled.complete();
+                }
+            });
+            return result.future();
+        };
+        final Map<String, String> consumerConfig = consumerConfigProperties.getConsumerConfig("test");
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        consumerConfig.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, "1000");
+        consumerConfig.put(AsyncHandlingAutoCommitKafkaConsumer.CONFIG_HONO_RECORD_HANDLING_KEY_ORDERED_LANES, "3");
+
+        consumer = new AsyncHandlingAutoCommitKafkaConsumer(vertx, Set.of(TOPIC), handler, consumerConfig);
+        consumer.setKafkaConsumerSupplier(() -> mockConsumer);
+        mockConsumer.updateBeginningOffsets(Map.of(TOPIC_PARTITION, 0L));
+        mockConsumer.updateEndOffsets(Map.of(TOPIC_PARTITION, 0L));
+        mockConsumer.updatePartitions(TOPIC_PARTITION, KafkaMockConsumer.DEFAULT_NODE);
+        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(List.of(TOPIC_PARTITION));
+
+        consumer.start().onComplete(ctx.succeeding(v -> {
+            mockConsumer.schedulePollTask(() -> {
+                LongStream.range(0, numRecords).forEach(offset -> mockConsumer.addRecord(
+                        new ConsumerRecord<>(TOPIC, PARTITION, offset, "key_" + (offset % numKeys), Buffer.buffer())));
+            });
+        }));
+        allRecordsHandled.future().onComplete(v -> {
+            ctx.verify(() -> {
+                assertThat(handledOffsetsPerKey).hasSize(numKeys);
+                handledOffsetsPerKey.values().forEach(offsets -> assertThat(offsets).isInOrder());
+                assertThat(maxRecordsInProcessing.get()).isAtMost(3);
+                assertThat(maxRecordsInProcessing.get()).isGreaterThan(1);
+            });
+            final AtomicInteger checkCount = new AtomicInteger(0);
+            vertx.setPeriodic(200, tid -> {
+                final Map<TopicPartition, OffsetAndMetadata> committed = mockConsumer.committed(Set.of(TOPIC_PARTITION));
+                final OffsetAndMetadata offsetAndMetadata = committed.get(TOPIC_PARTITION);
+                if (offsetAndMetadata != null && offsetAndMetadata.offset() == numRecords) {
+                    vertx.cancelTimer(tid);
+                    ctx.completeNow();
+                } else if (checkCount.incrementAndGet() >= 15) {
+                    vertx.cancelTimer(tid);
+                    ctx.failNow(new AssertionError("offset of last record should have been committed"));
+                }
+            });
+        });
+    }
+
     /**
      * Verifies that the consumer commits the initial partition offset on the first offset commit after
      * the partition got assigned to the consumer.
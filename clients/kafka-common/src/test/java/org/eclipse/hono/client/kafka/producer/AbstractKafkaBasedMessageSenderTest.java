@@ -26,6 +26,7 @@ import org.apache.kafka.common.errors.AuthorizationException;
 import org.apache.kafka.common.header.Headers;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
 import org.eclipse.hono.kafka.test.KafkaClientUnitTestHelper;
 import org.eclipse.hono.util.MessageHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -229,4 +230,45 @@ public class AbstractKafkaBasedMessageSenderTest {
                 ctx.completeNow();
             }));
     }
+
+    /**
+     * Verifies that the header values are encoded using the binary encoding if configured.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testThatHeadersAreBinaryEncodedIfConfigured(final VertxTestContext ctx) {
+
+        // GIVEN a sender configured to use the binary header encoding
+        config.setBinaryHeaderEncoding(true);
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MessageHelper.SYS_HEADER_PROPERTY_TTL, 5000L);
+        properties.put(MessageHelper.APP_PROPERTY_QOS, 1);
+
+        // WHEN sending a message
+        final var mockProducer = KafkaClientUnitTestHelper.newMockProducer(true);
+        final var factory = newProducerFactory(mockProducer);
+
+        newSender(factory).sendAndWaitForOutcome("topic", "tenant", "device", null, properties, NoopSpan.INSTANCE)
+            .onComplete(ctx.succeeding(t -> {
+                ctx.verify(() -> {
+                    final Headers headers = mockProducer.history().get(0).headers();
+                    // THEN the record contains the encoding version header
+                    assertThat(new String(headers.lastHeader(KafkaRecordHelper.HEADER_ENCODING_VERSION).value()))
+                            .isEqualTo(KafkaRecordHelper.BINARY_ENCODING_VERSION);
+                    // and the values are binary encoded
+                    assertThat(headers.lastHeader(MessageHelper.SYS_HEADER_PROPERTY_TTL).value()).hasLength(9);
+                    assertThat(KafkaRecordHelper.decode(
+                            Buffer.buffer(headers.lastHeader(MessageHelper.SYS_HEADER_PROPERTY_TTL).value()), Long.class, true))
+                        .isEqualTo(5000L);
+                    assertThat(KafkaRecordHelper.decode(
+                            Buffer.buffer(headers.lastHeader(MessageHelper.APP_PROPERTY_QOS).value()), Integer.class, true))
+                        .isEqualTo(1);
+                    assertThat(KafkaRecordHelper.decode(
+                            Buffer.buffer(headers.lastHeader(MessageHelper.SYS_PROPERTY_CREATION_TIME).value()), Long.class, true))
+                        .isNotNull();
+                });
+                ctx.completeNow();
+            }));
+    }
 }
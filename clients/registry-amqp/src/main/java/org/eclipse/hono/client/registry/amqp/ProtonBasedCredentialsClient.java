@@ -66,9 +66,8 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
     private static final Logger LOG = LoggerFactory.getLogger(ProtonBasedCredentialsClient.class);
     private static final String TAG_AUTH_ID = "auth_id";
     private static final String TAG_CREDENTIALS_TYPE = "credentials_type";
-    private static final String ATTRIBUTE_KEY_DEVICE_ID = "device-id";
-
     private final NotificationReceiver notificationReceiver;
+    private final SendMessageSampler requestSampler;
 
     /**
      * Creates a new client for a connection.
@@ -94,6 +93,7 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
                 Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
                 this::handleTenantTimeout);
         this.notificationReceiver = Objects.requireNonNull(notificationReceiver);
+        this.requestSampler = samplerFactory.create(CredentialsConstants.CREDENTIALS_ENDPOINT);
     }
 
     /**
@@ -206,8 +206,12 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
         span.setTag(TAG_CREDENTIALS_TYPE, type);
         span.setTag(TAG_AUTH_ID, authId);
 
-        final Future<CredentialsResult<CredentialsObject>> resultTracker = getResponseFromCache(responseCacheKey, span)
-                .recover(cacheMiss -> getOrCreateClient(tenantId)
+        final Future<CredentialsResult<CredentialsObject>> resultTracker = getResponseFromCacheOrService(
+                responseCacheKey,
+                span,
+                requestSampler,
+                tenantId,
+                requestSpan -> getOrCreateClient(tenantId)
                         .compose(client -> {
                             final JsonObject specification = CredentialsConstants
                                     .getSearchCriteria(type, authId)
@@ -223,12 +227,9 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
                                     specification.toBuffer(),
                                     RequestResponseApiConstants.CONTENT_TYPE_APPLICATION_JSON,
                                     this::getRequestResponseResult,
-                                    span);
+                                    requestSpan);
                         })
-                        .map(credentialsResult -> {
-                            addResultToCache(responseCacheKey, credentialsResult);
-                            return credentialsResult;
-                        }));
+                        .onSuccess(credentialsResult -> addResultToCache(responseCacheKey, credentialsResult)));
 
         return mapResultAndFinishSpan(resultTracker, result -> {
             switch (result.getStatus()) {
@@ -246,32 +247,26 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
     private void addResultToCache(final AnnotatedCacheKey<CacheKey> responseCacheKey,
             final CredentialsResult<CredentialsObject> credentialsResult) {
 
-        if (isCachingEnabled()) {
-            // add device ID to cache keys so that they can be found when removing them
-            if (credentialsResult.getPayload() != null) {
-                // payload will be null if credentials not found, in this case the result will not be cached
-                responseCacheKey.putAttribute(ATTRIBUTE_KEY_DEVICE_ID, credentialsResult.getPayload().getDeviceId());
-            }
-
-            addToCache(responseCacheKey, credentialsResult);
+        final String tenantId = responseCacheKey.getKey().tenantId;
+        if (credentialsResult.getPayload() != null) {
+            // index cache keys by device ID so that they can be found when removing them
+            addToCache(
+                    responseCacheKey,
+                    credentialsResult,
+                    getTenantIndexKey(tenantId),
+                    getDeviceIndexKey(tenantId, credentialsResult.getPayload().getDeviceId()));
+        } else {
+            // payload will be null if credentials not found, in this case the result will not be cached
+            addToCache(responseCacheKey, credentialsResult, getTenantIndexKey(tenantId));
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForTenantFromCache(final String tenantId) {
-        removeFromCacheByPattern(k -> ((AnnotatedCacheKey<CacheKey>) k).getKey().tenantId.equals(tenantId));
+        removeFromCacheByIndexKey(getTenantIndexKey(tenantId));
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForDeviceFromCache(final String tenantId, final String deviceId) {
-        removeFromCacheByPattern(key -> {
-            final AnnotatedCacheKey<CacheKey> annotatedCacheKey = (AnnotatedCacheKey<CacheKey>) key;
-            final boolean tenantMatches = annotatedCacheKey.getKey().tenantId.equals(tenantId);
-            final Boolean deviceMatches = annotatedCacheKey.getAttribute(ATTRIBUTE_KEY_DEVICE_ID)
-                    .map(id -> id.equals(deviceId))
-                    .orElse(false);
-            return tenantMatches && deviceMatches;
-        });
+        removeFromCacheByIndexKey(getDeviceIndexKey(tenantId, deviceId));
     }
 
     @Override
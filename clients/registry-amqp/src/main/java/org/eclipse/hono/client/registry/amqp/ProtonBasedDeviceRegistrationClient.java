@@ -68,6 +68,7 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
 
     private static final Logger LOG = LoggerFactory.getLogger(ProtonBasedDeviceRegistrationClient.class);
     private final NotificationReceiver notificationReceiver;
+    private final SendMessageSampler requestSampler;
 
     /**
      * Creates a new client for a connection.
@@ -93,6 +94,7 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
                 Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT,
                 this::handleTenantTimeout);
         this.notificationReceiver = Objects.requireNonNull(notificationReceiver);
+        this.requestSampler = samplerFactory.create(RegistrationConstants.REGISTRATION_ENDPOINT);
     }
 
     /**
@@ -173,8 +175,12 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
         TracingHelper.setDeviceTags(span, tenantId, deviceId);
         TracingHelper.TAG_GATEWAY_ID.set(span, gatewayId);
 
-        return getResponseFromCache(responseCacheKey, span)
-                .recover(t -> getOrCreateClient(tenantId)
+        return getResponseFromCacheOrService(
+                responseCacheKey,
+                span,
+                requestSampler,
+                tenantId,
+                requestSpan -> getOrCreateClient(tenantId)
                         .compose(client -> {
                             final Map<String, Object> properties = createDeviceIdProperties(deviceId);
                             if (gatewayId != null) {
@@ -186,12 +192,9 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
                                     null,
                                     RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
                                     this::getRequestResponseResult,
-                                    span);
+                                    requestSpan);
                         })
-                        .map(registrationResult -> {
-                            addToCache(responseCacheKey, registrationResult);
-                            return registrationResult;
-                        }))
+                        .onSuccess(registrationResult -> addResultToCache(responseCacheKey, registrationResult)))
                 .recover(t -> {
                     Tags.HTTP_STATUS.set(span, ServiceInvocationException.extractStatusCode(t));
                     TracingHelper.logError(span, t);
@@ -230,20 +233,34 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
                 .onComplete(o -> span.finish());
     }
 
-    @SuppressWarnings("unchecked")
+    private void addResultToCache(
+            final AnnotatedCacheKey<CacheKey> responseCacheKey,
+            final RegistrationResult registrationResult) {
+
+        final CacheKey cacheKey = responseCacheKey.getKey();
+        if (cacheKey.gatewayId == null || cacheKey.gatewayId.equals(cacheKey.deviceId)) {
+            addToCache(
+                    responseCacheKey,
+                    registrationResult,
+                    getTenantIndexKey(cacheKey.tenantId),
+                    getDeviceIndexKey(cacheKey.tenantId, cacheKey.deviceId));
+        } else {
+            // index the result by the gateway as well so that it gets removed if the gateway changes
+            addToCache(
+                    responseCacheKey,
+                    registrationResult,
+                    getTenantIndexKey(cacheKey.tenantId),
+                    getDeviceIndexKey(cacheKey.tenantId, cacheKey.deviceId),
+                    getDeviceIndexKey(cacheKey.tenantId, cacheKey.gatewayId));
+        }
+    }
+
     private void removeResultsForTenantFromCache(final String tenantId) {
-        removeFromCacheByPattern(k -> ((AnnotatedCacheKey<CacheKey>) k).getKey().tenantId.equals(tenantId));
+        removeFromCacheByIndexKey(getTenantIndexKey(tenantId));
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForDeviceFromCache(final String tenantId, final String deviceId) {
-        removeFromCacheByPattern(key -> {
-            final CacheKey cacheKey = ((AnnotatedCacheKey<CacheKey>) key).getKey();
-            final boolean tenantMatches = cacheKey.tenantId.equals(tenantId);
-            final boolean deviceOrGatewayMatches = cacheKey.deviceId.equals(deviceId)
-                    || Objects.equals(cacheKey.gatewayId, deviceId);
-            return tenantMatches && deviceOrGatewayMatches;
-        });
+        removeFromCacheByIndexKey(getDeviceIndexKey(tenantId, deviceId));
     }
 
     @Override
@@ -15,10 +15,7 @@
 package org.eclipse.hono.client.registry.amqp;
 
 import java.net.HttpURLConnection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Supplier;
 
 import javax.security.auth.x500.X500Principal;
@@ -53,7 +50,6 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.tag.StringTag;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
@@ -71,9 +67,8 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
 
     private static final Logger LOG = LoggerFactory.getLogger(ProtonBasedTenantClient.class);
     private static final StringTag TAG_SUBJECT_DN = new StringTag("subject_dn");
-    private static final String ATTRIBUTE_KEY_TENANT_ID = "tenant-id";
-    private final Map<Object, Future<TenantResult<TenantObject>>> pendingRequests = new HashMap<>();
     private final NotificationReceiver notificationReceiver;
+    private final SendMessageSampler requestSampler;
 
     /**
      * Creates a new client for a connection.
@@ -95,6 +90,7 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
                 new CachingClientFactory<>(connection.getVertx(), RequestResponseClient::isOpen),
                 responseCache);
         this.notificationReceiver = Objects.requireNonNull(notificationReceiver);
+        this.requestSampler = samplerFactory.create(TenantConstants.TENANT_ENDPOINT);
     }
 
     /**
@@ -177,6 +173,7 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
         span.setTag(MessageHelper.APP_PROPERTY_TENANT_ID, tenantId);
         return get(
                 responseCacheKey,
+                tenantId,
                 () -> new JsonObject().put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId),
                 span);
     }
@@ -195,25 +192,32 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
         TAG_SUBJECT_DN.set(span, subjectDnRfc2253);
         return get(
                 responseCacheKey,
+                null,
                 () -> new JsonObject().put(TenantConstants.FIELD_PAYLOAD_SUBJECT_DN, subjectDnRfc2253),
                 span);
     }
 
     private Future<TenantObject> get(
             final AnnotatedCacheKey<?> responseCacheKey,
+            final String tenantId,
             final Supplier<JsonObject> payloadSupplier,
             final Span currentSpan) {
 
-        final Future<TenantResult<TenantObject>> resultTracker = getResponseFromCache(responseCacheKey, currentSpan)
-                .recover(cacheMiss -> executeOrUsePendingRequestResult(
-                        responseCacheKey,
-                        () -> getOrCreateClient().compose(client -> client.createAndSendRequest(
-                                    TenantAction.get.toString(),
-                                    null,
-                                    payloadSupplier.get().toBuffer(),
-                                    RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
-                                    this::getRequestResponseResult,
-                                    currentSpan))));
+        final Future<TenantResult<TenantObject>> resultTracker = getResponseFromCacheOrService(
+                responseCacheKey,
+                currentSpan,
+                requestSampler,
+                tenantId,
+                requestSpan -> getOrCreateClient()
+                        .compose(client -> client.createAndSendRequest(
+                                TenantAction.get.toString(),
+                                null,
+                                payloadSupplier.get().toBuffer(),
+                                RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
+                                this::getRequestResponseResult,
+                                requestSpan))
+                        // make sure to put the response to the cache (if applicable)
+                        .onSuccess(tenantResult -> addResultToCache(responseCacheKey, tenantResult)));
         return mapResultAndFinishSpan(resultTracker, tenantResult -> {
             switch (tenantResult.getStatus()) {
             case HttpURLConnection.HTTP_OK:
@@ -226,45 +230,21 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
         }, currentSpan);
     }
 
-    private Future<TenantResult<TenantObject>> executeOrUsePendingRequestResult(
-            final AnnotatedCacheKey<?> responseCacheKey,
-            final Supplier<Future<TenantResult<TenantObject>>> serviceRequest) {
-
-        final Promise<TenantResult<TenantObject>> resultPromise = Promise.promise();
-        Optional.ofNullable(pendingRequests.putIfAbsent(responseCacheKey, resultPromise.future()))
-                .ifPresentOrElse(
-                        // pending request exists - complete the result promise with its result
-                        pendingRequest -> pendingRequest.onComplete(resultPromise),
-                        // otherwise execute the request
-                        () -> serviceRequest.get()
-                                // make sure to put the response to the cache (if applicable)
-                                .onSuccess(tenantResult -> addResultToCache(responseCacheKey, tenantResult))
-                                // and again remove the result promise so that a subsequent request will be executed again
-                                .onComplete(ar -> pendingRequests.remove(responseCacheKey))
-                                .onComplete(resultPromise));
-        return resultPromise.future();
-    }
-
     private void addResultToCache(final AnnotatedCacheKey<?> responseCacheKey,
             final TenantResult<TenantObject> tenantResult) {
 
-        if (isCachingEnabled()) {
-            // add tenant ID to all cache keys so that they can be found in a consistent way when removing them
-            if (tenantResult.getPayload() != null) {
-                // payload will be null if tenant not found, in this case the result will not be cached
-                responseCacheKey.putAttribute(ATTRIBUTE_KEY_TENANT_ID, tenantResult.getPayload().getTenantId());
-            }
-
+        if (tenantResult.getPayload() != null) {
+            // index all cache keys by tenant ID so that they can be found in a consistent way when removing them
+            addToCache(responseCacheKey, tenantResult, getTenantIndexKey(tenantResult.getPayload().getTenantId()));
+        } else {
+            // payload will be null if tenant not found, in this case the result will not be cached
             addToCache(responseCacheKey, tenantResult);
         }
     }
 
     private void removeResultFromCache(final String tenantId) {
         // this matches all entries for the tenant, regardless of the cache key
-        removeFromCacheByPattern(key -> ((AnnotatedCacheKey<?>) key)
-                .getAttribute(ATTRIBUTE_KEY_TENANT_ID)
-                .map(id -> id.equals(tenantId))
-                .orElse(false));
+        removeFromCacheByIndexKey(getTenantIndexKey(tenantId));
     }
 
     @Override
@@ -18,6 +18,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -561,22 +562,52 @@ class ProtonBasedCredentialsClientTest {
             final String authId) {
 
         final String credentialsType = CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD;
+        final CredentialsObject credentialsObject = new CredentialsObject(deviceId, authId, credentialsType);
+        when(cache.getIfPresent(any())).thenReturn(null);
 
-        final CredentialsResult<CredentialsObject> credentialsResult = CredentialsResult.from(HttpURLConnection.HTTP_OK,
-                new CredentialsObject(deviceId, authId, credentialsType));
+        final Future<CredentialsObject> result = client.get(tenantId, credentialsType, authId, new JsonObject(), null);
+        respondToLastRequest(JsonObject.mapFrom(credentialsObject));
 
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(credentialsResult);
+        return result.map(credentials -> {
+            final AnnotatedCacheKey<?> cacheKey = getLastKeyPutToCache();
+            cacheBackingMap.put(cacheKey, CredentialsResult.from(HttpURLConnection.HTTP_OK, credentialsObject));
+            return cacheKey;
+        });
+    }
 
-        return client.get(tenantId, credentialsType, authId, new JsonObject(), null)
-                .map(credentialsObject -> {
+    /**
+     * Responds to the last request that has been sent to the service.
+     *
+     * @param payload The payload of the response.
+     */
+    private void respondToLastRequest(final JsonObject payload) {
 
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheKey.putAttribute("device-id", deviceId);
-                    cacheBackingMap.put(cacheKey, credentialsResult);
+        final ArgumentCaptor<Message> request = ArgumentCaptor.forClass(Message.class);
+        verify(sender, atLeastOnce()).send(request.capture(), VertxMockSupport.anyHandler());
+        final ArgumentCaptor<ProtonMessageHandler> responseHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(connection, atLeastOnce()).createReceiver(
+                anyString(),
+                any(ProtonQoS.class),
+                responseHandler.capture(),
+                VertxMockSupport.anyHandler());
 
-                    return cacheKey;
-                });
+        final Message response = ProtonHelper.message();
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        MessageHelper.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        response.setCorrelationId(request.getValue().getMessageId());
+        MessageHelper.setJsonPayload(response, payload);
+        responseHandler.getValue().handle(mock(ProtonDelivery.class), response);
+    }
+
+    /**
+     * Gets the key that a response has most recently been put to the cache with.
+     *
+     * @return The key.
+     */
+    private AnnotatedCacheKey<?> getLastKeyPutToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any());
+        return responseCacheKey.getValue();
     }
 
 }
@@ -19,6 +19,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -52,6 +53,7 @@ import org.eclipse.hono.test.TracingMockSupport;
 import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationAssertion;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,6 +65,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -233,6 +236,54 @@ class ProtonBasedDeviceRegistrationClientTest {
         AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection).handle(delivery, response);
     }
 
+    /**
+     * Verifies that concurrent requests for the same registration information are coalesced
+     * into a single request to the Device Registration service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationCoalescesConcurrentRequests(final VertxTestContext ctx) {
+
+        final JsonObject registrationAssertion = newRegistrationAssertionResult("device");
+        final SendMessageSampler sampler = mock(SendMessageSampler.class);
+        when(sampler.start(any())).thenReturn(SendMessageSampler.noop().start("tenant"));
+
+        // GIVEN a client with an empty cache
+        client = new ProtonBasedDeviceRegistrationClient(
+                connection,
+                messageType -> sampler,
+                notificationReceiver,
+                cache);
+        when(cache.getIfPresent(any())).thenReturn(null);
+
+        // WHEN getting the same registration information twice before the service has responded
+        final Future<RegistrationAssertion> firstResult = client.assertRegistration("tenant", "device", null, span.context());
+        final Future<RegistrationAssertion> secondResult = client.assertRegistration("tenant", "device", null, span.context());
+
+        // THEN only a single request has been sent to the service
+        final Message request = AmqpClientUnitTestHelper.assertMessageHasBeenSent(sender);
+        verify(sampler).requestIssued("tenant");
+        verify(sampler).requestCoalesced("tenant");
+
+        CompositeFuture.all(firstResult, secondResult).onComplete(ctx.succeeding(ok -> {
+            ctx.verify(() -> {
+                // and both invocations have succeeded with the service's response
+                assertThat(firstResult.result().getDeviceId()).isEqualTo("device");
+                assertThat(secondResult.result().getDeviceId()).isEqualTo("device");
+            });
+            ctx.completeNow();
+        }));
+
+        final Message response = ProtonHelper.message();
+        response.setCorrelationId(request.getMessageId());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        MessageHelper.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        MessageHelper.setPayload(response, MessageHelper.CONTENT_TYPE_APPLICATION_JSON, registrationAssertion.toBuffer());
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection).handle(delivery, response);
+    }
+
     /**
      * Verifies that registration information is taken from cache.
      *
@@ -451,19 +502,51 @@ class ProtonBasedDeviceRegistrationClientTest {
             final String gatewayId) {
 
         final JsonObject registrationAssertion = newRegistrationAssertionResult(deviceId);
-        final RegistrationResult registrationResult = RegistrationResult.from(HttpURLConnection.HTTP_OK,
-                registrationAssertion);
-        when(cache.getIfPresent(any())).thenReturn(registrationResult);
+        when(cache.getIfPresent(any())).thenReturn(null);
 
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(registrationResult);
+        final Future<RegistrationAssertion> result = client.assertRegistration(tenantId, deviceId, gatewayId, null);
+        respondToLastRequest(registrationAssertion);
 
-        return client.assertRegistration(tenantId, deviceId, gatewayId, null)
-                .map(assertion -> {
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheBackingMap.put(cacheKey, registrationResult);
-                    return cacheKey;
-                });
+        return result.map(assertion -> {
+            final AnnotatedCacheKey<?> cacheKey = getLastKeyPutToCache();
+            cacheBackingMap.put(cacheKey, RegistrationResult.from(HttpURLConnection.HTTP_OK, registrationAssertion));
+            return cacheKey;
+        });
+    }
+
+    /**
+     * Responds to the last request that has been sent to the service.
+     *
+     * @param payload The payload of the response.
+     */
+    private void respondToLastRequest(final JsonObject payload) {
+
+        final ArgumentCaptor<Message> request = ArgumentCaptor.forClass(Message.class);
+        verify(sender, atLeastOnce()).send(request.capture(), VertxMockSupport.anyHandler());
+        final ArgumentCaptor<ProtonMessageHandler> responseHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(connection, atLeastOnce()).createReceiver(
+                anyString(),
+                any(ProtonQoS.class),
+                responseHandler.capture(),
+                VertxMockSupport.anyHandler());
+
+        final Message response = ProtonHelper.message();
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        MessageHelper.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        response.setCorrelationId(request.getValue().getMessageId());
+        MessageHelper.setJsonPayload(response, payload);
+        responseHandler.getValue().handle(mock(ProtonDelivery.class), response);
+    }
+
+    /**
+     * Gets the key that a response has most recently been put to the cache with.
+     *
+     * @return The key.
+     */
+    private AnnotatedCacheKey<?> getLastKeyPutToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any());
+        return responseCacheKey.getValue();
     }
 
 }
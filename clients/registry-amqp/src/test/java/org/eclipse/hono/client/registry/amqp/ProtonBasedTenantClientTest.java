@@ -19,6 +19,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -528,20 +529,52 @@ class ProtonBasedTenantClientTest {
 
     private Future<AnnotatedCacheKey<?>> addResultToCache(final String tenantId) {
 
-        final TenantResult<TenantObject> tenantResult = TenantResult.from(HttpURLConnection.HTTP_OK,
-                new TenantObject(tenantId, false));
+        final TenantObject tenantObject = new TenantObject(tenantId, false);
+        when(cache.getIfPresent(any())).thenReturn(null);
 
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(tenantResult);
+        final Future<TenantObject> result = client.get(tenantId, null);
+        respondToLastRequest(JsonObject.mapFrom(tenantObject));
+
+        return result.map(tenant -> {
+            final AnnotatedCacheKey<?> cacheKey = getLastKeyPutToCache();
+            cacheBackingMap.put(cacheKey, TenantResult.from(HttpURLConnection.HTTP_OK, tenantObject));
+            return cacheKey;
+        });
+    }
+
+    /**
+     * Responds to the last request that has been sent to the service.
+     *
+     * @param payload The payload of the response.
+     */
+    private void respondToLastRequest(final JsonObject payload) {
 
-        return client.get(tenantId, null)
-                .map(tenantObject -> {
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheKey.putAttribute("tenant-id", tenantId);
-                    cacheBackingMap.put(cacheKey, tenantResult);
-                    return cacheKey;
-                });
+        final ArgumentCaptor<Message> request = ArgumentCaptor.forClass(Message.class);
+        verify(sender, atLeastOnce()).send(request.capture(), VertxMockSupport.anyHandler());
+        final ArgumentCaptor<ProtonMessageHandler> responseHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(connection, atLeastOnce()).createReceiver(
+                anyString(),
+                any(ProtonQoS.class),
+                responseHandler.capture(),
+                VertxMockSupport.anyHandler());
 
+        final Message response = ProtonHelper.message();
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        MessageHelper.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        response.setCorrelationId(request.getValue().getMessageId());
+        MessageHelper.setJsonPayload(response, payload);
+        responseHandler.getValue().handle(mock(ProtonDelivery.class), response);
+    }
+
+    /**
+     * Gets the key that a response has most recently been put to the cache with.
+     *
+     * @return The key.
+     */
+    private AnnotatedCacheKey<?> getLastKeyPutToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any());
+        return responseCacheKey.getValue();
     }
 
 }
@@ -13,9 +13,12 @@
 
 package org.eclipse.hono.auth;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -25,6 +28,9 @@ import io.jsonwebtoken.Claims;
 
 /**
  * A map backed implementation of authorities on resources and operations.
+ * <p>
+ * For checking authorities, the map is compiled into a tree of resource path segments
+ * so that the checks require neither formatting of strings nor hashing of entire resource paths.
  *
  */
 public final class AuthoritiesImpl implements Authorities {
@@ -41,8 +47,12 @@ public final class AuthoritiesImpl implements Authorities {
     private static final Logger LOG = LoggerFactory.getLogger(AuthoritiesImpl.class);
     private static final String TEMPLATE_OP = PREFIX_OPERATION + "%s:%s";
     private static final String TEMPLATE_RESOURCE = PREFIX_RESOURCE + "%s";
+    private static final String WILDCARD = "*";
+    private static final int ALL_ACTIVITIES = (1 << Activity.values().length) - 1;
     // holds mapping resources -> activities
     private final Map<String, String> authorities = new HashMap<>();
+    // the authorities indexed by resource path segments, created on demand
+    private volatile Node index;
 
     /**
      * Creates authorities from claims from a JWT.
@@ -102,6 +112,7 @@ public final class AuthoritiesImpl implements Authorities {
      */
     public AuthoritiesImpl addOperation(final String endpoint, final String tenant, final String operation) {
         authorities.put(getOperationKey(endpoint, tenant, operation), String.valueOf(Activity.EXECUTE.getCode()));
+        index = null;
         return this;
     }
 
@@ -130,6 +141,7 @@ public final class AuthoritiesImpl implements Authorities {
             b.append(a.getCode());
         }
         authorities.put(getResourceKey(endpoint, tenant), b.toString());
+        index = null;
         return this;
     }
 
@@ -147,23 +159,31 @@ public final class AuthoritiesImpl implements Authorities {
                 LOG.trace("adding authority [key: {}, activities: {}]", entry.getKey(), value);
                 authorities.put(entry.getKey(), value);
             });
+        index = null;
         return this;
     }
 
     @Override
     public boolean isAuthorized(final ResourceIdentifier resource, final Activity intent) {
 
+        final Node root = getIndex();
+        final int intentMask = 1 << intent.ordinal();
+        final Node endpoint = root.getChild(resource.getEndpoint());
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.toString()), intent);
+            allowed = isAuthorized(getNode(endpoint, resource), intentMask);
         }
-        if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint() + "/" + resource.getTenantId()), intent) ||
-                    isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint() + "/*"), intent);
+        if (!allowed && resource.getTenantId() != null && endpoint != null) {
+            allowed = isAuthorized(endpoint.getChild(resource.getTenantId()), intentMask) ||
+                    isAuthorized(endpoint.getChild(WILDCARD), intentMask);
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(TEMPLATE_RESOURCE, resource.getEndpoint()), intent) ||
-                    isAuthorized(String.format(TEMPLATE_RESOURCE, "*"), intent);
+            allowed = isAuthorized(endpoint, intentMask) ||
+                    isAuthorized(root.getChild(WILDCARD), intentMask);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}found authority matching intent [resource: {}, intent: {}]",
+                    allowed ? "" : "no ", resource, intent.name());
         }
         return allowed;
     }
@@ -171,22 +191,23 @@ public final class AuthoritiesImpl implements Authorities {
     @Override
     public boolean isAuthorized(final ResourceIdentifier resource, final String operation) {
 
+        final Node root = getIndex();
+        final Node endpoint = root.getChild(resource.getEndpoint());
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.toString(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.toString(), "*"), Activity.EXECUTE);
+            allowed = isAuthorized(getNode(endpoint, resource), operation);
         }
-        if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/" + resource.getTenantId(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/" + resource.getTenantId(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint() + "/*", "*"), Activity.EXECUTE);
+        if (!allowed && resource.getTenantId() != null && endpoint != null) {
+            allowed = isAuthorized(endpoint.getChild(resource.getTenantId()), operation) ||
+                    isAuthorized(endpoint.getChild(WILDCARD), operation);
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, resource.getEndpoint(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, "*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(TEMPLATE_OP, "*", "*"), Activity.EXECUTE);
+            allowed = isAuthorized(endpoint, operation) ||
+                    isAuthorized(root.getChild(WILDCARD), operation);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}found authority matching operation [resource: {}, operation: {}]",
+                    allowed ? "" : "no ", resource, operation);
         }
         return allowed;
     }
@@ -197,16 +218,115 @@ public final class AuthoritiesImpl implements Authorities {
         return result;
     }
 
-    boolean isAuthorized(final String key, final Activity intent) {
-        boolean result = false;
-        final String grantedActivities = authorities.get(key);
-        if (grantedActivities == null) {
-            LOG.trace("no claim for key [{}]", key);
-        } else {
-            result = grantedActivities.contains(String.valueOf(intent.getCode())) ||
-                    grantedActivities.equals("*");
-            LOG.trace("found claim [key: {}, activities: {}] {}matching intent [{}]", key, grantedActivities, result ? "" : "not ", intent.name());
+    private static boolean isAuthorized(final Node node, final int intentMask) {
+        return node != null && (node.activities & intentMask) != 0;
+    }
+
+    private static boolean isAuthorized(final Node node, final String operation) {
+        return node != null && (node.isExecutable(operation) || node.isExecutable(WILDCARD));
+    }
+
+    /**
+     * Gets the node for a resource's full path.
+     *
+     * @param endpoint The node for the resource's endpoint.
+     * @param resource The resource.
+     * @return The node or {@code null} if no authorities have been granted for the path.
+     */
+    private static Node getNode(final Node endpoint, final ResourceIdentifier resource) {
+        Node node = endpoint;
+        for (int i = 1; i < resource.length() && node != null; i++) {
+            node = node.getChild(resource.elementAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Gets the index of the authorities.
+     * <p>
+     * The index is created from the authorities on first access after the authorities have been modified.
+     *
+     * @return The root node of the index.
+     */
+    private Node getIndex() {
+        Node result = index;
+        if (result == null) {
+            result = createIndex(authorities);
+            index = result;
         }
         return result;
     }
+
+    private static Node createIndex(final Map<String, String> authorities) {
+        final Node root = new Node();
+        authorities.forEach((key, grantedActivities) -> {
+            if (key.startsWith(PREFIX_RESOURCE)) {
+                root.getOrAddNode(key.substring(PREFIX_RESOURCE.length())).activities |= getActivityMask(grantedActivities);
+            } else if (key.startsWith(PREFIX_OPERATION)) {
+                final int separatorIdx = key.lastIndexOf(':');
+                if (separatorIdx >= PREFIX_OPERATION.length()
+                        && (getActivityMask(grantedActivities) & (1 << Activity.EXECUTE.ordinal())) != 0) {
+                    root.getOrAddNode(key.substring(PREFIX_OPERATION.length(), separatorIdx))
+                        .addExecutableOperation(key.substring(separatorIdx + 1));
+                }
+            }
+        });
+        return root;
+    }
+
+    private static int getActivityMask(final String grantedActivities) {
+        if (WILDCARD.equals(grantedActivities)) {
+            return ALL_ACTIVITIES;
+        }
+        int mask = 0;
+        for (final Activity activity : Activity.values()) {
+            if (grantedActivities.indexOf(activity.getCode()) >= 0) {
+                mask |= 1 << activity.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * A node in the index of authorities.
+     * <p>
+     * Each node represents a segment of a resource path. A node contains the activities that
+     * have been granted on the path that ends with the node's segment and the operations
+     * on that path that may be executed.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private Set<String> executableOperations = Collections.emptySet();
+        private int activities;
+
+        /**
+         * Gets the child node for a path segment.
+         *
+         * @param segment The segment (may be {@code null} to indicate an empty segment).
+         * @return The child node or {@code null} if no authorities have been granted for the segment.
+         */
+        Node getChild(final String segment) {
+            return children.get(segment == null ? "" : segment);
+        }
+
+        Node getOrAddNode(final String path) {
+            Node node = this;
+            for (final String segment : path.split("/", -1)) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            return node;
+        }
+
+        void addExecutableOperation(final String operation) {
+            if (executableOperations.isEmpty()) {
+                executableOperations = new HashSet<>();
+            }
+            executableOperations.add(operation);
+        }
+
+        boolean isExecutable(final String operation) {
+            return executableOperations.contains(operation);
+        }
+    }
 }
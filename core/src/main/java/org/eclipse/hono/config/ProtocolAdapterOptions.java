@@ -101,6 +101,62 @@ public interface ProtocolAdapterOptions {
     @WithDefault("PT0S")
     Duration tenantIdleTimeout();
 
+    /**
+     * Gets the duration for which a successful verification of a password presented by a device is cached.
+     * <p>
+     * The default value of this property is {@link Duration#ZERO}, which disables caching of verified passwords.
+     *
+     * @return The duration.
+     */
+    @WithDefault("PT0S")
+    Duration verifiedCredentialsCacheTimeout();
+
+    /**
+     * Gets the maximum number of successful password verifications to cache.
+     *
+     * @return The number of verifications.
+     */
+    @WithDefault("10000")
+    int verifiedCredentialsCacheMaxSize();
+
+    /**
+     * Gets the number of threads of the dedicated thread pool that is used for verifying passwords
+     * presented by devices.
+     * <p>
+     * The default value of this property is 0, which means that passwords are verified using
+     * vert.x's (shared) worker thread pool.
+     *
+     * @return The number of threads.
+     */
+    @WithDefault("0")
+    int passwordHashingThreads();
+
+    /**
+     * Gets the maximum number of password verifications waiting for execution on the dedicated thread pool.
+     *
+     * @return The number of verifications.
+     */
+    @WithDefault("1000")
+    int passwordHashingQueueSize();
+
+    /**
+     * Gets the duration for which a successful validation of a device's client certificate chain is cached.
+     * <p>
+     * The value {@link Duration#ZERO} disables caching of validation results.
+     *
+     * @return The duration.
+     */
+    @WithDefault("PT10M")
+    Duration certificateValidationCacheTimeout();
+
+    /**
+     * Gets the maximum number of successful client certificate validations to cache.
+     *
+     * @return The number of validations.
+     */
+    @WithDefault("10000")
+    int certificateValidationCacheMaxSize();
+
     /**
      * Gets the configured mapper endpoints.
      *
@@ -29,12 +29,39 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
      * disables automatic tenant timeout.
      */
     public static final Duration DEFAULT_TENANT_IDLE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default duration for which a successful verification of a device's password is cached.
+     * The default value disables caching of verified passwords.
+     */
+    public static final Duration DEFAULT_VERIFIED_CREDENTIALS_CACHE_TIMEOUT = Duration.ZERO;
+    /**
+     * The default maximum number of successful password verifications to cache.
+     */
+    public static final int DEFAULT_VERIFIED_CREDENTIALS_CACHE_MAX_SIZE = 10_000;
+    /**
+     * The default maximum number of password hashing tasks waiting for execution.
+     */
+    public static final int DEFAULT_PASSWORD_HASHING_QUEUE_SIZE = 1000;
+    /**
+     * The default duration for which a successful validation of a device's client certificate is cached.
+     */
+    public static final Duration DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT = Duration.ofMinutes(10);
+    /**
+     * The default maximum number of successful client certificate validations to cache.
+     */
+    public static final int DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE = 10_000;
 
     private boolean authenticationRequired = true;
     private boolean jmsVendorPropsEnabled = false;
     private boolean defaultsEnabled = true;
     private int maxConnections = 0;
     private Duration tenantIdleTimeout = DEFAULT_TENANT_IDLE_TIMEOUT;
+    private Duration verifiedCredentialsCacheTimeout = DEFAULT_VERIFIED_CREDENTIALS_CACHE_TIMEOUT;
+    private int verifiedCredentialsCacheMaxSize = DEFAULT_VERIFIED_CREDENTIALS_CACHE_MAX_SIZE;
+    private int passwordHashingThreads = 0;
+    private int passwordHashingQueueSize = DEFAULT_PASSWORD_HASHING_QUEUE_SIZE;
+    private Duration certificateValidationCacheTimeout = DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT;
+    private int certificateValidationCacheMaxSize = DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE;
     private Map<String, MapperEndpoint> mapperEndpoints = new HashMap<>();
 
     /**
@@ -58,6 +85,12 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
             .forEach(entry -> mapperEndpoints.put(entry.getKey(), new MapperEndpoint(entry.getValue())));
         this.maxConnections = options.maxConnections();
         this.tenantIdleTimeout = options.tenantIdleTimeout();
+        setVerifiedCredentialsCacheTimeout(options.verifiedCredentialsCacheTimeout());
+        setVerifiedCredentialsCacheMaxSize(options.verifiedCredentialsCacheMaxSize());
+        setPasswordHashingThreads(options.passwordHashingThreads());
+        setPasswordHashingQueueSize(options.passwordHashingQueueSize());
+        setCertificateValidationCacheTimeout(options.certificateValidationCacheTimeout());
+        setCertificateValidationCacheMaxSize(options.certificateValidationCacheMaxSize());
     }
 
     /**
@@ -232,6 +265,195 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
         this.tenantIdleTimeout = Objects.requireNonNull(tenantIdleTimeout);
     }
 
+    /**
+     * Gets the duration for which a successful verification of a password presented by a device is cached.
+     * <p>
+     * A device that presents the same password again within this period of time is authenticated
+     * without verifying the password against the (expensive to compute) hash on record.
+     * Note that the cached verification is bound to the secret that the password has been verified against,
+     * i.e. the cached verification is not used anymore once the device's credentials have been changed.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_VERIFIED_CREDENTIALS_CACHE_TIMEOUT}, which
+     * disables caching of verified passwords.
+     *
+     * @return The duration.
+     */
+    public final Duration getVerifiedCredentialsCacheTimeout() {
+        return verifiedCredentialsCacheTimeout;
+    }
+
+    /**
+     * Sets the duration for which a successful verification of a password presented by a device is cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_VERIFIED_CREDENTIALS_CACHE_TIMEOUT}, which
+     * disables caching of verified passwords.
+     *
+     * @param timeout The duration.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setVerifiedCredentialsCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.verifiedCredentialsCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of successful password verifications to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_VERIFIED_CREDENTIALS_CACHE_MAX_SIZE}.
+     *
+     * @return The number of verifications.
+     */
+    public final int getVerifiedCredentialsCacheMaxSize() {
+        return verifiedCredentialsCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of successful password verifications to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_VERIFIED_CREDENTIALS_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The number of verifications.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setVerifiedCredentialsCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        }
+        this.verifiedCredentialsCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Checks if successful verifications of passwords presented by devices should be cached.
+     *
+     * @return {@code true} if the verified credentials cache timeout is positive.
+     */
+    public final boolean isVerifiedCredentialsCacheEnabled() {
+        return !verifiedCredentialsCacheTimeout.isZero();
+    }
+
+    /**
+     * Gets the number of threads of the dedicated thread pool that is used for verifying passwords
+     * presented by devices.
+     * <p>
+     * The default value of this property is 0, which means that passwords are verified using
+     * vert.x's (shared) worker thread pool.
+     *
+     * @return The number of threads.
+     */
+    public final int getPasswordHashingThreads() {
+        return passwordHashingThreads;
+    }
+
+    /**
+     * Sets the number of threads of the dedicated thread pool that is used for verifying passwords
+     * presented by devices.
+     * <p>
+     * The default value of this property is 0, which means that passwords are verified using
+     * vert.x's (shared) worker thread pool.
+     *
+     * @param threads The number of threads.
+     * @throws IllegalArgumentException if threads is negative.
+     */
+    public final void setPasswordHashingThreads(final int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("number of threads must not be negative");
+        }
+        this.passwordHashingThreads = threads;
+    }
+
+    /**
+     * Gets the maximum number of password verifications waiting for execution on the dedicated thread pool.
+     * <p>
+     * Authentication attempts that would exceed this number are rejected immediately.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_HASHING_QUEUE_SIZE}.
+     *
+     * @return The number of verifications.
+     */
+    public final int getPasswordHashingQueueSize() {
+        return passwordHashingQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of password verifications waiting for execution on the dedicated thread pool.
+     * <p>
+     * Authentication attempts that would exceed this number are rejected immediately.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_HASHING_QUEUE_SIZE}.
+     *
+     * @param queueSize The number of verifications.
+     * @throws IllegalArgumentException if queue size is &lt; 1.
+     */
+    public final void setPasswordHashingQueueSize(final int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queue size must be > 0");
+        }
+        this.passwordHashingQueueSize = queueSize;
+    }
+
+    /**
+     * Gets the duration for which a successful validation of a device's client certificate chain is cached.
+     * <p>
+     * A cached validation result is never used beyond the end of the validity period of any of the
+     * certificates in the chain. The result is also not used anymore once the trust anchors configured
+     * for the device's tenant have been changed.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT}.
+     *
+     * @return The duration.
+     */
+    public final Duration getCertificateValidationCacheTimeout() {
+        return certificateValidationCacheTimeout;
+    }
+
+    /**
+     * Sets the duration for which a successful validation of a device's client certificate chain is cached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_TIMEOUT}.
+     * Setting this property to {@link Duration#ZERO} disables caching of validation results.
+     *
+     * @param timeout The duration.
+     * @throws NullPointerException if timeout is {@code null}.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public final void setCertificateValidationCacheTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.certificateValidationCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of successful client certificate validations to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE}.
+     *
+     * @return The number of validations.
+     */
+    public final int getCertificateValidationCacheMaxSize() {
+        return certificateValidationCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of successful client certificate validations to cache.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CERTIFICATE_VALIDATION_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The number of validations.
+     * @throws IllegalArgumentException if max size is &lt; 1.
+     */
+    public final void setCertificateValidationCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        }
+        this.certificateValidationCacheMaxSize = maxSize;
+    }
+
     /**
      * Sets the configured mappers for this adapter
      * <p>
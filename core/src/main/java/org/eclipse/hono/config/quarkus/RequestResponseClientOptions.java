@@ -61,4 +61,22 @@ public interface RequestResponseClientOptions {
      */
     @WithDefault("600")
     long responseCacheDefaultTimeout();
+
+    /**
+     * Gets the fraction of a cached response's lifetime after which the response
+     * is refreshed in the background.
+     *
+     * @return The fraction of the lifetime, a value in the range [0, 1).
+     */
+    @WithDefault("0")
+    double responseCacheRefreshAheadFactor();
+
+    /**
+     * Gets the period of time that a cached response may still be used after it has
+     * expired, if the service cannot be reached.
+     *
+     * @return The grace period in seconds.
+     */
+    @WithDefault("0")
+    long responseCacheStaleGracePeriod();
 }
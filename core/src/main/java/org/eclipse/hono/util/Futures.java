@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -95,6 +95,26 @@ public final class Futures {
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
     public static <T> Future<T> executeBlocking(final Vertx vertx, final BlockingCode<T> blocking) {
+        return executeBlocking(vertx, blocking, true);
+    }
+
+    /**
+     * Use {@link Vertx#executeBlocking(Handler, boolean, Handler)} with Futures.
+     *
+     * @param <T> The type of the result.
+     * @param vertx The vertx context.
+     * @param blocking The blocking code.
+     * @param ordered {@code true} if the code should be executed after any other blocking code that has
+     *                been submitted from the same context has completed. If {@code false}, the code may be
+     *                executed in parallel to other blocking code of the context.
+     * @return The future, reporting the result.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static <T> Future<T> executeBlocking(
+            final Vertx vertx,
+            final BlockingCode<T> blocking,
+            final boolean ordered) {
+
         Objects.requireNonNull(vertx);
         Objects.requireNonNull(blocking);
 
@@ -106,7 +126,7 @@ public final class Futures {
             } catch (Throwable e) {
                 promise.fail(e);
             }
-        }, result);
+        }, ordered, result);
 
         return result.future();
     }
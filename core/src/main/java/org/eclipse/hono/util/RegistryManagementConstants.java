@@ -95,11 +95,26 @@ public final class RegistryManagementConstants extends RequestResponseApiConstan
      * The name of the field that contains the total number of objects in the result set of a search operation.
      */
     public static final String FIELD_RESULT_SET_SIZE = "total";
+    /**
+     * The name of the field that contains the token for retrieving the next page of the result set
+     * of a search operation.
+     */
+    public static final String FIELD_RESULT_SET_CONTINUATION_TOKEN = "continuationToken";
     /**
      * The name of the field that contains sort direction used by a search operation to sort the result set.
      */
     public static final String FIELD_SORT_DIRECTION = "direction";
 
+    /**
+     * The name of the query parameter that contains the token for continuing a search operation
+     * after the last object of a previously retrieved page.
+     */
+    public static final String PARAM_CONTINUATION_TOKEN = "continuationToken";
+    /**
+     * The name of the query parameter that indicates if the total number of objects in the result set
+     * of a search operation may be estimated.
+     */
+    public static final String PARAM_ESTIMATE_TOTAL = "estimateTotal";
     /**
      * The name of the query parameter that contains the filter JSON object for a search operation.
      */
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.util;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * A hashed wheel timer for large numbers of short-lived timeouts on a vert.x context.
+ * <p>
+ * Scheduling a timeout using {@link Vertx#setTimer(long, Handler)} creates a new timer in the underlying
+ * Netty event loop and registers it in a map that is shared by all event loops. This is fine for a moderate
+ * number of timers but becomes expensive if a timer is set for every message being exchanged with a
+ * large number of devices, e.g. for waiting for the acknowledgement of a command.
+ * <p>
+ * This class instead maintains a wheel of buckets of timeouts for a particular vert.x context. A single
+ * periodic vert.x timer advances the wheel while there are any pending timeouts. Scheduling and cancelling
+ * a timeout are O(1) operations that require the allocation of a single (small) object only.
+ * The downside is that a timeout may expire up to one tick duration later than requested.
+ * <p>
+ * Timeouts are expired on the context that the wheel belongs to. Timeouts can be scheduled and cancelled
+ * from any thread, however, doing so from the context's event loop thread is most efficient.
+ */
+public final class TimeoutWheel {
+
+    /**
+     * The duration of a tick of the wheel in milliseconds.
+     */
+    public static final long DEFAULT_TICK_DURATION_MILLIS = 100;
+    /**
+     * The number of buckets of the wheel.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimeoutWheel.class);
+    private static final String CONTEXT_KEY = TimeoutWheel.class.getName();
+
+    private final Context context;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final long tickDurationMillis;
+    private final long tickDurationNanos;
+    private final long startTime;
+    private volatile Thread eventLoopThread;
+    // the following fields are only accessed on the event loop thread
+    private long processedTick;
+    private int pendingTimeouts;
+    private long timerId = -1;
+    private boolean ticking;
+
+    /**
+     * Creates a new wheel for a context.
+     *
+     * @param context The context to expire timeouts on.
+     * @param tickDurationMillis The duration of a tick of the wheel in milliseconds.
+     * @param wheelSize The number of buckets of the wheel. The number will be rounded up to the next power of two.
+     * @throws NullPointerException if context is {@code null}.
+     * @throws IllegalArgumentException if tick duration or wheel size are &lt; 1.
+     */
+    TimeoutWheel(final Context context, final long tickDurationMillis, final int wheelSize) {
+
+        this.context = Objects.requireNonNull(context);
+        if (tickDurationMillis < 1) {
+            throw new IllegalArgumentException("tick duration must be > 0");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("wheel size must be > 0");
+        }
+        final int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.tickDurationMillis = tickDurationMillis;
+        this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationMillis);
+        this.startTime = System.nanoTime();
+
+        if (context.isEventLoopContext()) {
+            if (Vertx.currentContext() == context) {
+                eventLoopThread = Thread.currentThread();
+            } else {
+                context.runOnContext(go -> eventLoopThread = Thread.currentThread());
+            }
+        }
+    }
+
+    /**
+     * Gets the wheel for a vert.x context.
+     * <p>
+     * The wheel is created on first access and is then shared by all components running on the context.
+     *
+     * @param context The context.
+     * @return The wheel.
+     * @throws NullPointerException if context is {@code null}.
+     */
+    public static TimeoutWheel get(final Context context) {
+        Objects.requireNonNull(context);
+
+        TimeoutWheel wheel = context.get(CONTEXT_KEY);
+        if (wheel == null) {
+            synchronized (context) {
+                wheel = context.get(CONTEXT_KEY);
+                if (wheel == null) {
+                    wheel = new TimeoutWheel(context, DEFAULT_TICK_DURATION_MILLIS, DEFAULT_WHEEL_SIZE);
+                    context.put(CONTEXT_KEY, wheel);
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Gets the wheel for the current vert.x context.
+     *
+     * @param vertx The vert.x instance to get the current context from.
+     * @return The wheel.
+     * @throws NullPointerException if vertx is {@code null}.
+     * @see Vertx#getOrCreateContext()
+     */
+    public static TimeoutWheel get(final Vertx vertx) {
+        Objects.requireNonNull(vertx);
+        return get(vertx.getOrCreateContext());
+    }
+
+    /**
+     * Schedules a timeout.
+     *
+     * @param delayMillis The number of milliseconds after which the timeout should expire.
+     * @param handler The handler to invoke on this wheel's context when the timeout expires.
+     * @return The scheduled timeout.
+     * @throws NullPointerException if handler is {@code null}.
+     * @throws IllegalArgumentException if delay is &lt; 1.
+     */
+    public Timeout schedule(final long delayMillis, final Handler<Void> handler) {
+        Objects.requireNonNull(handler);
+        if (delayMillis < 1) {
+            throw new IllegalArgumentException("delay must be > 0");
+        }
+
+        final long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        // round up so that the timeout never expires before the requested delay has passed
+        final Timeout timeout = new Timeout(this, handler, (deadline + tickDurationNanos - 1) / tickDurationNanos);
+        if (isOnEventLoop()) {
+            add(timeout);
+        } else {
+            context.runOnContext(go -> add(timeout));
+        }
+        return timeout;
+    }
+
+    /**
+     * Gets the number of timeouts that have neither expired nor been removed from the wheel after
+     * having been cancelled.
+     * <p>
+     * This method is intended for testing purposes only and must be invoked on the wheel's context.
+     *
+     * @return The number of timeouts.
+     */
+    int getPendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    private boolean isOnEventLoop() {
+        return Thread.currentThread() == eventLoopThread;
+    }
+
+    private void add(final Timeout timeout) {
+        if (timeout.state != Timeout.STATE_PENDING) {
+            // cancelled before having been added
+            return;
+        }
+        if (timeout.deadlineTick <= processedTick) {
+            timeout.deadlineTick = processedTick + 1;
+        }
+        final int idx = (int) (timeout.deadlineTick & mask);
+        final Timeout head = buckets[idx];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[idx] = timeout;
+        timeout.bucket = idx;
+        pendingTimeouts++;
+        if (!ticking) {
+            startTicking();
+        }
+    }
+
+    private void remove(final Timeout timeout) {
+        if (timeout.bucket < 0) {
+            return;
+        }
+        if (timeout.prev == null) {
+            buckets[timeout.bucket] = timeout.next;
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+        pendingTimeouts--;
+    }
+
+    private void onCancelled(final Timeout timeout) {
+        if (isOnEventLoop()) {
+            remove(timeout);
+        }
+        // otherwise the timeout will be removed once its bucket is processed
+    }
+
+    private void startTicking() {
+        ticking = true;
+        if (Vertx.currentContext() == context) {
+            timerId = context.owner().setPeriodic(tickDurationMillis, this::onTick);
+        } else {
+            // make sure that the periodic timer runs on this wheel's context
+            context.runOnContext(go -> {
+                if (ticking && timerId == -1) {
+                    timerId = context.owner().setPeriodic(tickDurationMillis, this::onTick);
+                }
+            });
+        }
+    }
+
+    private void onTick(final Long id) {
+
+        final long previousTick = processedTick;
+        final long currentTick = (System.nanoTime() - startTime) / tickDurationNanos;
+        if (currentTick <= previousTick) {
+            return;
+        }
+        processedTick = currentTick;
+
+        Timeout expired = null;
+        final long ticksToProcess = Math.min(currentTick - previousTick, buckets.length);
+        for (long tick = previousTick + 1; tick <= previousTick + ticksToProcess; tick++) {
+            expired = collectExpiredTimeouts((int) (tick & mask), currentTick, expired);
+        }
+
+        if (pendingTimeouts == 0) {
+            context.owner().cancelTimer(timerId);
+            timerId = -1;
+            ticking = false;
+        }
+
+        // invoke handlers only after all buckets have been processed because the handlers
+        // might schedule or cancel other timeouts
+        while (expired != null) {
+            final Timeout timeout = expired;
+            expired = timeout.next;
+            timeout.next = null;
+            timeout.expire();
+        }
+    }
+
+    private Timeout collectExpiredTimeouts(final int bucket, final long currentTick, final Timeout expired) {
+
+        Timeout result = expired;
+        Timeout timeout = buckets[bucket];
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            if (timeout.state != Timeout.STATE_PENDING) {
+                // has been cancelled on another thread
+                remove(timeout);
+            } else if (timeout.deadlineTick <= currentTick) {
+                remove(timeout);
+                timeout.next = result;
+                result = timeout;
+            }
+            timeout = next;
+        }
+        return result;
+    }
+
+    /**
+     * A timeout that has been scheduled on a {@link TimeoutWheel}.
+     */
+    public static final class Timeout {
+
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater
+                .newUpdater(Timeout.class, "state");
+
+        private final TimeoutWheel wheel;
+        private final Handler<Void> handler;
+        private volatile int state = STATE_PENDING;
+        // the following fields are only accessed on the wheel's event loop thread
+        private long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private int bucket = -1;
+
+        private Timeout(final TimeoutWheel wheel, final Handler<Void> handler, final long deadlineTick) {
+            this.wheel = wheel;
+            this.handler = handler;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels this timeout.
+         *
+         * @return {@code true} if the timeout has been cancelled or {@code false} if it
+         *         has already expired or has already been cancelled before.
+         */
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)) {
+                wheel.onCancelled(this);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Checks if this timeout has expired.
+         *
+         * @return {@code true} if the handler has been invoked.
+         */
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        /**
+         * Checks if this timeout has been cancelled.
+         *
+         * @return {@code true} if the timeout has been cancelled.
+         */
+        public boolean isCancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        private void expire() {
+            if (STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_EXPIRED)) {
+                try {
+                    handler.handle(null);
+                } catch (final RuntimeException e) {
+                    LOG.warn("error invoking timeout handler", e);
+                }
+            }
+        }
+    }
+}
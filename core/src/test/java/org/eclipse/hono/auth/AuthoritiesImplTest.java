@@ -57,4 +57,46 @@ public class AuthoritiesImplTest {
         assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("other-endpoint/tenant"), "get")).isFalse();
         assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("endpoint/tenant"), "get")).isTrue();
     }
+
+    /**
+     * Verifies that authorities granted on a resource's full path, its tenant or its endpoint
+     * are considered while authorities granted on other resources are not.
+     */
+    @Test
+    public void testIsAuthorizedConsidersAllPathLevels() {
+
+        final AuthoritiesImpl authorities = new AuthoritiesImpl()
+                .addResource("telemetry/tenant/device", Activity.WRITE)
+                .addResource("event", "tenant", Activity.READ, Activity.WRITE)
+                .addResource("command", Activity.READ)
+                .addOperation("registration/tenant/device", "assert");
+
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant/device"), Activity.WRITE)).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant/device"), Activity.READ)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant/other-device"), Activity.WRITE)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.WRITE)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("event/tenant/device"), Activity.WRITE)).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("event/other-tenant"), Activity.WRITE)).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("command/tenant/device"), Activity.READ)).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("registration/tenant/device"), "assert")).isTrue();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("registration/tenant/device"), "get")).isFalse();
+        assertThat(authorities.isAuthorized(ResourceIdentifier.fromString("registration/tenant"), "assert")).isFalse();
+    }
+
+    /**
+     * Verifies that authorities that are added after authorities have already been checked
+     * are considered in subsequent checks.
+     */
+    @Test
+    public void testIsAuthorizedConsidersAddedAuthorities() {
+
+        final AuthoritiesImpl authorities = new AuthoritiesImpl()
+                .addResource("telemetry", "*", Activity.WRITE);
+        final ResourceIdentifier resource = ResourceIdentifier.fromString("event/tenant");
+        assertThat(authorities.isAuthorized(resource, Activity.WRITE)).isFalse();
+
+        authorities.addAll(new AuthoritiesImpl().addResource("*", Activity.WRITE));
+        assertThat(authorities.isAuthorized(resource, Activity.WRITE)).isTrue();
+        assertThat(authorities.isAuthorized(resource, Activity.READ)).isFalse();
+    }
 }
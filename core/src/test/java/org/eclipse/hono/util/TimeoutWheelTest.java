@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link TimeoutWheel}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class TimeoutWheelTest {
+
+    /**
+     * Verifies that the same wheel is returned for the same context.
+     *
+     * @param vertx The vert.x instance.
+     */
+    @Test
+    public void testGetReturnsSameWheelForContext(final Vertx vertx) {
+
+        final Context context = vertx.getOrCreateContext();
+        final TimeoutWheel wheel = TimeoutWheel.get(context);
+        assertThat(TimeoutWheel.get(context)).isSameInstanceAs(wheel);
+        assertThat(TimeoutWheel.get(vertx)).isSameInstanceAs(wheel);
+    }
+
+    /**
+     * Verifies that timeouts expire on the wheel's context not before their delay has passed
+     * and that cancelled timeouts do not expire.
+     *
+     * @param vertx The vert.x instance.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testScheduledTimeoutsExpireOnContext(final Vertx vertx, final VertxTestContext ctx) {
+
+        final Context context = vertx.getOrCreateContext();
+        final Checkpoint expired = ctx.checkpoint(2);
+        context.runOnContext(go -> {
+            final TimeoutWheel wheel = new TimeoutWheel(context, 10, 4);
+            final long start = System.nanoTime();
+            // scheduled to expire after more than one rotation of the wheel
+            wheel.schedule(70, v -> {
+                ctx.verify(() -> {
+                    assertThat(Vertx.currentContext()).isSameInstanceAs(context);
+                    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(70);
+                });
+                expired.flag();
+            });
+            final TimeoutWheel.Timeout timeout = wheel.schedule(20, v -> {
+                ctx.verify(() -> {
+                    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(20);
+                    assertThat(wheel.getPendingTimeouts()).isEqualTo(1);
+                });
+                expired.flag();
+            });
+            final TimeoutWheel.Timeout cancelledTimeout = wheel.schedule(20, v -> {
+                ctx.failNow(new IllegalStateException("cancelled timeout should not expire"));
+            });
+            ctx.verify(() -> {
+                assertThat(wheel.getPendingTimeouts()).isEqualTo(3);
+                assertThat(cancelledTimeout.cancel()).isTrue();
+                assertThat(cancelledTimeout.cancel()).isFalse();
+                assertThat(cancelledTimeout.isCancelled()).isTrue();
+                assertThat(wheel.getPendingTimeouts()).isEqualTo(2);
+                assertThat(timeout.isExpired()).isFalse();
+            });
+        });
+    }
+
+    /**
+     * Verifies that timeouts can be scheduled and cancelled from a thread other than
+     * the wheel's event loop thread.
+     *
+     * @param vertx The vert.x instance.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testScheduleAndCancelFromOtherThread(final Vertx vertx, final VertxTestContext ctx) {
+
+        final Context context = vertx.getOrCreateContext();
+        final TimeoutWheel wheel = new TimeoutWheel(context, 10, 8);
+        final AtomicInteger expiredTimeouts = new AtomicInteger();
+
+        final TimeoutWheel.Timeout cancelledTimeout = wheel.schedule(30, v -> expiredTimeouts.incrementAndGet());
+        wheel.schedule(30, v -> {
+            ctx.verify(() -> {
+                assertThat(Vertx.currentContext()).isSameInstanceAs(context);
+                assertThat(cancelledTimeout.isExpired()).isFalse();
+                assertThat(wheel.getPendingTimeouts()).isEqualTo(0);
+            });
+            expiredTimeouts.incrementAndGet();
+            // give the cancelled timeout a chance to (wrongly) expire
+            vertx.setTimer(50, tid -> {
+                ctx.verify(() -> assertThat(expiredTimeouts.get()).isEqualTo(1));
+                ctx.completeNow();
+            });
+        });
+        assertThat(cancelledTimeout.cancel()).isTrue();
+    }
+}
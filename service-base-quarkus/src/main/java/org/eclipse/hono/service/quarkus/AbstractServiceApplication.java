@@ -136,10 +136,21 @@ public abstract class AbstractServiceApplication implements ComponentNameProvide
         // do nothing
     }
 
+    /**
+     * Invoked during shut down after vert.x has been closed.
+     * <p>
+     * Subclasses should override this method in order to release
+     * resources that are not managed by vert.x.
+     */
+    protected void doStop() {
+        // do nothing
+    }
+
     /**
      * Stops this component.
      * <p>
-     * This implementation stops the health check server.
+     * This implementation stops the health check server, closes vert.x
+     * and then invokes {@link #doStop()}.
      *
      * @param ev The event indicating shutdown.
      */
@@ -158,5 +169,6 @@ public abstract class AbstractServiceApplication implements ComponentNameProvide
                 });
             });
         shutdown.join();
+        doStop();
     }
 }
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth;
+
+import java.net.HttpURLConnection;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.util.Futures.BlockingCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+/**
+ * An executor for computing and verifying password hashes.
+ * <p>
+ * Computing password hashes using algorithms like bcrypt is CPU intensive by design.
+ * This executor runs such tasks on a dedicated, fixed size thread pool with a bounded queue so that
+ * a large number of concurrent authentication attempts, e.g. when many devices re-connect
+ * at the same time, does not starve other blocking code running on vert.x's worker pool.
+ * A task that is submitted while the queue is full is rejected immediately with a
+ * <em>503: Service Unavailable</em> error instead of being queued indefinitely.
+ * <p>
+ * The executor reports the following metrics:
+ * <ul>
+ * <li>{@value #METER_QUEUE_SIZE} - the number of tasks waiting for execution,</li>
+ * <li>{@value #METER_WAIT_TIME} - the time that tasks have been waiting for execution,</li>
+ * <li>{@value #METER_DURATION} - the time it took to execute tasks and</li>
+ * <li>{@value #METER_REJECTED} - the number of tasks that have been rejected because the queue was full.</li>
+ * </ul>
+ */
+public final class PasswordHashingExecutor {
+
+    /**
+     * The name of the gauge reporting the number of tasks waiting for execution.
+     */
+    public static final String METER_QUEUE_SIZE = "hono.password.hashing.queue.size";
+    /**
+     * The name of the timer reporting the time that tasks have been waiting for execution.
+     */
+    public static final String METER_WAIT_TIME = "hono.password.hashing.wait";
+    /**
+     * The name of the timer reporting the time it took to execute tasks.
+     */
+    public static final String METER_DURATION = "hono.password.hashing.duration";
+    /**
+     * The name of the counter reporting the number of rejected tasks.
+     */
+    public static final String METER_REJECTED = "hono.password.hashing.rejected";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTime;
+    private final Timer duration;
+    private final Counter rejected;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param threads The number of threads to use for executing tasks.
+     * @param queueSize The maximum number of tasks waiting for execution.
+     * @param meterRegistry The registry to report metrics to.
+     * @throws NullPointerException if registry is {@code null}.
+     * @throws IllegalArgumentException if threads or queue size are &lt; 1.
+     */
+    public PasswordHashingExecutor(final int threads, final int queueSize, final MeterRegistry meterRegistry) {
+
+        Objects.requireNonNull(meterRegistry);
+        if (threads < 1) {
+            throw new IllegalArgumentException("number of threads must be > 0");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queue size must be > 0");
+        }
+
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "password-hashing-" + THREAD_COUNT.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder(METER_QUEUE_SIZE, executor, e -> e.getQueue().size())
+            .register(meterRegistry);
+        this.waitTime = Timer.builder(METER_WAIT_TIME).register(meterRegistry);
+        this.duration = Timer.builder(METER_DURATION).register(meterRegistry);
+        this.rejected = Counter.builder(METER_REJECTED).register(meterRegistry);
+        LOG.info("using dedicated executor for password hashing [threads: {}, queue size: {}]", threads, queueSize);
+    }
+
+    /**
+     * Executes a task on this executor's thread pool.
+     * <p>
+     * If this method is invoked on a vert.x context, the returned future is completed on that context.
+     *
+     * @param <T> The type of the task's result.
+     * @param task The task to execute.
+     * @return A future indicating the outcome of the task.
+     *         The future will be failed with a {@link ServerErrorException} with status code
+     *         503 if the task has been rejected
+     *         because the maximum number of tasks are already waiting for execution.
+     *         Otherwise, the future will be completed with the task's result or failed with
+     *         the exception thrown by the task.
+     * @throws NullPointerException if task is {@code null}.
+     */
+    public <T> Future<T> execute(final BlockingCode<T> task) {
+
+        Objects.requireNonNull(task);
+
+        final Context context = Vertx.currentContext();
+        final Promise<T> result = Promise.promise();
+        final long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                final long started = System.nanoTime();
+                waitTime.record(started - submitted, TimeUnit.NANOSECONDS);
+                T value = null;
+                Throwable error = null;
+                try {
+                    value = task.run();
+                } catch (final Throwable t) {
+                    error = t;
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+                complete(context, result, value, error);
+            });
+        } catch (final RejectedExecutionException e) {
+            rejected.increment();
+            LOG.debug("rejecting password hashing task, queue is full");
+            result.fail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE, "server busy"));
+        }
+        return result.future();
+    }
+
+    private static <T> void complete(
+            final Context context,
+            final Promise<T> result,
+            final T value,
+            final Throwable error) {
+
+        if (context == null) {
+            completePromise(result, value, error);
+        } else {
+            context.runOnContext(go -> completePromise(result, value, error));
+        }
+    }
+
+    private static <T> void completePromise(final Promise<T> result, final T value, final Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else {
+            result.fail(error);
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting for execution.
+     *
+     * @return The number of tasks.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Shuts down this executor.
+     * <p>
+     * Tasks that have already been submitted are still executed but no new tasks are accepted.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -42,6 +42,10 @@ public final class Caches {
      * set in the value's {@linkplain org.eclipse.hono.util.CacheDirective#getMaxAge() cache directive}.
      * The cache size will be according to the given configuration's minimum and maximum
      * response cache size properties.
+     * <p>
+     * If the configuration defines a {@linkplain RequestResponseClientConfigProperties#getResponseCacheStaleGracePeriod()
+     * stale grace period}, values are kept in the cache for that period of time beyond their maximum age.
+     * It is the cache user's responsibility to not use such stale values unless the service cannot be reached.
      *
      * @param <V> The type of values that the cache supports.
      * @param config The configuration to use for the cache.
@@ -59,12 +63,15 @@ public final class Caches {
                 .maximumSize(Math.max(config.getResponseCacheMinSize(), config.getResponseCacheMaxSize()))
                 .expireAfter(new Expiry<Object, V>() {
 
+                    private final long staleGracePeriod = Duration.ofSeconds(config.getResponseCacheStaleGracePeriod()).toNanos();
+
                     private long getMaxAge(final CacheDirective directive) {
                         return Optional.ofNullable(directive)
                             .map(d -> {
                                 return Duration.ofSeconds(Math.min(d.getMaxAge(), config.getResponseCacheDefaultTimeout())).toNanos();
                             })
-                            .orElse(Duration.ofSeconds(config.getResponseCacheDefaultTimeout()).toNanos());
+                            .orElse(Duration.ofSeconds(config.getResponseCacheDefaultTimeout()).toNanos())
+                            + staleGracePeriod;
                     }
 
                     @Override
@@ -108,6 +108,48 @@ public interface CommandRouterService {
      */
     Future<CommandRouterResult> unregisterCommandConsumer(String tenantId, String deviceId, String adapterInstanceId, Span span);
 
+    /**
+     * Registers a protocol adapter instance as the consumer of command &amp; control messages
+     * for multiple devices of a tenant.
+     * <p>
+     * This is useful for registering all devices connected via a gateway at once, e.g. after the
+     * gateway has reconnected to the protocol adapter.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id.
+     * @param lifespan The lifespan of the mapping entries. Using a negative duration or {@code null} here is
+     *                 interpreted as an unlimited lifespan. The guaranteed granularity taken into account
+     *                 here is seconds.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         The <em>status</em> will be <em>204 No Content</em> if the operation completed successfully.
+     * @throws NullPointerException if any of the parameters except lifespan is {@code null}.
+     */
+    Future<CommandRouterResult> registerCommandConsumer(String tenantId, List<String> deviceIds,
+            String adapterInstanceId, Duration lifespan, Span span);
+
+    /**
+     * Unregisters a command consumer for multiple devices of a tenant.
+     * <p>
+     * A device's registration entry is only deleted if the device is currently mapped to the given
+     * adapter instance. Devices that are not mapped to the given adapter instance are skipped.
+     *
+     * @param tenantId The tenant id.
+     * @param deviceIds The device ids.
+     * @param adapterInstanceId The protocol adapter instance id that the entries to be removed have to contain.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         The <em>status</em> will be <em>204 No Content</em> if the operation completed successfully.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<CommandRouterResult> unregisterCommandConsumer(String tenantId, List<String> deviceIds,
+            String adapterInstanceId, Span span);
+
     /**
      * Adds tenants for which command routing should be enabled.
      * <p>
@@ -190,28 +190,36 @@ public class DelegatingCommandRouterAmqpEndpoint<S extends CommandRouterService>
                 getClass().getSimpleName()
         ).start();
 
-        final Future<Message> resultFuture;
-        if (tenantId == null || deviceId == null || adapterInstanceId == null) {
-            TracingHelper.logError(span, "missing tenant, device and/or adapter instance id");
+        final Future<CommandRouterResult> resultFuture;
+        if (tenantId == null || adapterInstanceId == null) {
+            TracingHelper.logError(span, "missing tenant and/or adapter instance id");
             resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
         } else {
             final Duration lifespan = lifespanSecondsOrNull != null ? Duration.ofSeconds(lifespanSecondsOrNull) : Duration.ofSeconds(-1);
             TracingHelper.TAG_TENANT_ID.set(span, tenantId);
-            TracingHelper.TAG_DEVICE_ID.set(span, deviceId);
             span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
             span.setTag(MessageHelper.APP_PROPERTY_LIFESPAN, lifespan.getSeconds());
-            logger.debug("register command consumer [tenant-id: {}, device-id: {}, adapter-instance-id {}, lifespan: {}s]",
-                    tenantId, deviceId, adapterInstanceId, lifespan.getSeconds());
-
-            resultFuture = getService().registerCommandConsumer(tenantId, deviceId, adapterInstanceId, lifespan, span)
-                    .map(res -> CommandRouterConstants.getAmqpReply(
-                            CommandRouterConstants.COMMAND_ROUTER_ENDPOINT,
-                            tenantId,
-                            request,
-                            res)
-                    );
+
+            if (deviceId != null) {
+                TracingHelper.TAG_DEVICE_ID.set(span, deviceId);
+                logger.debug("register command consumer [tenant-id: {}, device-id: {}, adapter-instance-id {}, lifespan: {}s]",
+                        tenantId, deviceId, adapterInstanceId, lifespan.getSeconds());
+                resultFuture = getService().registerCommandConsumer(tenantId, deviceId, adapterInstanceId, lifespan, span);
+            } else {
+                resultFuture = parseDeviceIdentifiers(request)
+                        .compose(deviceIds -> {
+                            logger.debug("register command consumer for {} devices [tenant-id: {}, adapter-instance-id {}, lifespan: {}s]",
+                                    deviceIds.size(), tenantId, adapterInstanceId, lifespan.getSeconds());
+                            span.log(Map.of("no_of_entries", deviceIds.size()));
+                            return getService().registerCommandConsumer(tenantId, deviceIds, adapterInstanceId, lifespan, span);
+                        });
+            }
         }
-        return finishSpanOnFutureCompletion(span, resultFuture);
+        return finishSpanOnFutureCompletion(span, resultFuture.map(res -> CommandRouterConstants.getAmqpReply(
+                CommandRouterConstants.COMMAND_ROUTER_ENDPOINT,
+                tenantId,
+                request,
+                res)));
     }
 
     /**
@@ -236,26 +244,61 @@ public class DelegatingCommandRouterAmqpEndpoint<S extends CommandRouterService>
                 getClass().getSimpleName()
         ).start();
 
-        final Future<Message> resultFuture;
-        if (tenantId == null || deviceId == null || adapterInstanceId == null) {
-            TracingHelper.logError(span, "missing tenant, device and/or adapter instance id");
+        final Future<CommandRouterResult> resultFuture;
+        if (tenantId == null || adapterInstanceId == null) {
+            TracingHelper.logError(span, "missing tenant and/or adapter instance id");
             resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
         } else {
             TracingHelper.TAG_TENANT_ID.set(span, tenantId);
-            TracingHelper.TAG_DEVICE_ID.set(span, deviceId);
             span.setTag(MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, adapterInstanceId);
-            logger.debug("unregister command consumer [tenant-id: {}, device-id: {}, adapter-instance-id {}]",
-                    tenantId, deviceId, adapterInstanceId);
-
-            resultFuture = getService().unregisterCommandConsumer(tenantId, deviceId, adapterInstanceId, span)
-                    .map(res -> CommandRouterConstants.getAmqpReply(
-                            CommandRouterConstants.COMMAND_ROUTER_ENDPOINT,
-                            tenantId,
-                            request,
-                            res)
-                    );
+
+            if (deviceId != null) {
+                TracingHelper.TAG_DEVICE_ID.set(span, deviceId);
+                logger.debug("unregister command consumer [tenant-id: {}, device-id: {}, adapter-instance-id {}]",
+                        tenantId, deviceId, adapterInstanceId);
+                resultFuture = getService().unregisterCommandConsumer(tenantId, deviceId, adapterInstanceId, span);
+            } else {
+                resultFuture = parseDeviceIdentifiers(request)
+                        .compose(deviceIds -> {
+                            logger.debug("unregister command consumer for {} devices [tenant-id: {}, adapter-instance-id {}]",
+                                    deviceIds.size(), tenantId, adapterInstanceId);
+                            span.log(Map.of("no_of_entries", deviceIds.size()));
+                            return getService().unregisterCommandConsumer(tenantId, deviceIds, adapterInstanceId, span);
+                        });
+            }
         }
-        return finishSpanOnFutureCompletion(span, resultFuture);
+        return finishSpanOnFutureCompletion(span, resultFuture.map(res -> CommandRouterConstants.getAmqpReply(
+                CommandRouterConstants.COMMAND_ROUTER_ENDPOINT,
+                tenantId,
+                request,
+                res)));
+    }
+
+    private Future<List<String>> parseDeviceIdentifiers(final Message request) {
+        final Buffer payload = MessageHelper.getPayload(request);
+        if (payload == null || payload.length() == 0) {
+            return Future.failedFuture(new ClientErrorException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "either device_id application property or alternatively a JSON payload must be set"));
+        }
+        final Promise<List<String>> result = Promise.promise();
+        try {
+            final JsonArray array = payload.toJsonArray();
+            if (array.stream().allMatch(id -> id instanceof String && !((String) id).isEmpty())) {
+                result.complete(array.stream()
+                        .map(String.class::cast)
+                        .collect(Collectors.toList()));
+            } else {
+                result.fail(new ClientErrorException(
+                        HttpURLConnection.HTTP_BAD_REQUEST,
+                        "payload must only contain non-empty strings as device identifiers"));
+            }
+        } catch (final DecodeException e) {
+            result.fail(new ClientErrorException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "payload must contain JSON array of device identifiers if device_id application property is not set"));
+        }
+        return result.future();
     }
 
     /**
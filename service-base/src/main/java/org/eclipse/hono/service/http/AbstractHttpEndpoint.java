@@ -79,6 +79,19 @@ public abstract class AbstractHttpEndpoint<T extends ServiceConfigProperties> ex
             throw new IllegalArgumentException("value is not an integer");
         }
     };
+    /**
+     * A function that tries to parse a string into a boolean. Throws an
+     * {@code IllegalArgumentException} if the string is neither {@code true}
+     * nor {@code false} (ignoring case).
+     */
+    protected static final Function<String, Boolean> CONVERTER_BOOLEAN = s -> {
+        if (Boolean.TRUE.toString().equalsIgnoreCase(s)) {
+            return Boolean.TRUE;
+        } else if (Boolean.FALSE.toString().equalsIgnoreCase(s)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("value is not a boolean");
+    };
 
     /**
      * The configuration properties for this endpoint.
@@ -36,6 +36,7 @@ import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.AuthenticationHandler;
 import io.vertx.ext.web.handler.BodyHandler;
 
@@ -192,7 +193,8 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
      * <li>a handler and failure handler that creates tracing data for all server requests,</li>
      * <li>a default failure handler,</li>
      * <li>a handler limiting the body size of requests to the maximum payload size set in the <em>config</em>
-     * properties.</li>
+     * properties. Requests for which {@link #isRequestBodyReadByEndpoint(RoutingContext)} returns {@code true}
+     * are paused instead.</li>
      * </ul>
      *
      * @return The newly created router (never {@code null}).
@@ -209,13 +211,39 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         matchAllRoute.failureHandler(new DefaultFailureHandler());
         // 3. BodyHandler with request size limit
         log.info("limiting size of inbound request body to {} bytes", getConfig().getMaxPayloadSize());
-        matchAllRoute.handler(BodyHandler.create().setUploadsDirectory(DEFAULT_UPLOADS_DIRECTORY)
-                .setBodyLimit(getConfig().getMaxPayloadSize()));
+        final BodyHandler bodyHandler = BodyHandler.create().setUploadsDirectory(DEFAULT_UPLOADS_DIRECTORY)
+                .setBodyLimit(getConfig().getMaxPayloadSize());
+        matchAllRoute.handler(ctx -> {
+            if (isRequestBodyReadByEndpoint(ctx)) {
+                // make sure that no data gets lost until the endpoint starts reading the body
+                ctx.request().pause();
+                ctx.next();
+            } else {
+                bodyHandler.handle(ctx);
+            }
+        });
         //4. AuthHandler
         addAuthHandler(router);
         return router;
     }
 
+    /**
+     * Checks if the body of a request is read by the endpoint handling the request.
+     * <p>
+     * The body of such a request is not read into memory by the handler added in {@link #createRouter()},
+     * which is why the maximum payload size set in the <em>config</em> properties does not apply to it.
+     * Instead, the request is paused and the endpoint is responsible for resuming it. This is useful for
+     * endpoints that process large request bodies in a streaming fashion.
+     * <p>
+     * This default implementation returns {@code false}.
+     *
+     * @param ctx The routing context of the request.
+     * @return {@code true} if the body is read by the endpoint.
+     */
+    protected boolean isRequestBodyReadByEndpoint(final RoutingContext ctx) {
+        return false;
+    }
+
     private TracingHandler createTracingHandler() {
         final Map<String, String> customTags = new HashMap<>();
         customTags.put(Tags.COMPONENT.getKey(), getClass().getSimpleName());
@@ -97,6 +97,15 @@ public class MicrometerBasedMetrics implements Metrics, SendMessageSampler.Facto
      * The name of the meter for timed out messages.
      */
     public static final String METER_DOWNSTREAM_TIMEOUT = "hono.downstream.timeout";
+    /**
+     * The name of the meter for requests that have been sent because no response was cached
+     * and no identical request was pending.
+     */
+    public static final String METER_DOWNSTREAM_REQUESTS_ISSUED = "hono.downstream.requests.issued";
+    /**
+     * The name of the meter for requests that have been coalesced with an identical pending request.
+     */
+    public static final String METER_DOWNSTREAM_REQUESTS_COALESCED = "hono.downstream.requests.coalesced";
 
     private static final long DEFAULT_TENANT_IDLE_TIMEOUT = ProtocolAdapterProperties.DEFAULT_TENANT_IDLE_TIMEOUT
             .toMillis();
@@ -440,6 +449,8 @@ public class MicrometerBasedMetrics implements Metrics, SendMessageSampler.Facto
         registry.find(METER_DOWNSTREAM_FULL).tags(tenantTag).meters().forEach(registry::remove);
         registry.find(METER_DOWNSTREAM_SENT).tags(tenantTag).meters().forEach(registry::remove);
         registry.find(METER_DOWNSTREAM_TIMEOUT).tags(tenantTag).meters().forEach(registry::remove);
+        registry.find(METER_DOWNSTREAM_REQUESTS_ISSUED).tags(tenantTag).meters().forEach(registry::remove);
+        registry.find(METER_DOWNSTREAM_REQUESTS_COALESCED).tags(tenantTag).meters().forEach(registry::remove);
 
         vertx.eventBus().publish(Constants.EVENT_BUS_ADDRESS_TENANT_TIMED_OUT, tenantId);
     }
@@ -524,6 +535,26 @@ public class MicrometerBasedMetrics implements Metrics, SendMessageSampler.Facto
                 registry.counter(METER_DOWNSTREAM_FULL, tags).increment();
 
             }
+
+            @Override
+            public void requestIssued(final String tenantId) {
+
+                final Tags tags = Tags.of(
+                        Tag.of(MetricsTags.TAG_TYPE, messageType),
+                        MetricsTags.getTenantTag(tenantId));
+                registry.counter(METER_DOWNSTREAM_REQUESTS_ISSUED, tags).increment();
+
+            }
+
+            @Override
+            public void requestCoalesced(final String tenantId) {
+
+                final Tags tags = Tags.of(
+                        Tag.of(MetricsTags.TAG_TYPE, messageType),
+                        MetricsTags.getTenantTag(tenantId));
+                registry.counter(METER_DOWNSTREAM_REQUESTS_COALESCED, tags).increment();
+
+            }
         };
     }
 }
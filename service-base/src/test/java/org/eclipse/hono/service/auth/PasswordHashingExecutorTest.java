@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link PasswordHashingExecutor}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class PasswordHashingExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, meterRegistry);
+    }
+
+    /**
+     * Shuts down the executor.
+     */
+    @AfterEach
+    public void shutDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Verifies that the executor completes the returned future with the task's result
+     * and records the task's wait time and duration.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testExecuteReturnsResultOfTask(final VertxTestContext ctx) {
+
+        executor.execute(() -> "hash").onComplete(ctx.succeeding(result -> {
+            ctx.verify(() -> {
+                assertThat(result).isEqualTo("hash");
+                assertThat(meterRegistry.get(PasswordHashingExecutor.METER_WAIT_TIME).timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get(PasswordHashingExecutor.METER_DURATION).timer().count()).isEqualTo(1);
+            });
+            ctx.completeNow();
+        }));
+    }
+
+    /**
+     * Verifies that the executor fails the returned future with the exception thrown by the task.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testExecuteFailsForFailingTask(final VertxTestContext ctx) {
+
+        executor.execute(() -> {
+            throw new IllegalStateException("invalid hash");
+        }).onComplete(ctx.failing(t -> {
+            ctx.verify(() -> assertThat(t).isInstanceOf(IllegalStateException.class));
+            ctx.completeNow();
+        }));
+    }
+
+    /**
+     * Verifies that the executor rejects a task with a 503 error if the queue is full.
+     *
+     * @param ctx The vert.x test context.
+     * @throws InterruptedException if the test is interrupted while waiting for the blocking task.
+     */
+    @Test
+    public void testExecuteRejectsTaskIfQueueIsFull(final VertxTestContext ctx) throws InterruptedException {
+
+        final CountDownLatch taskStarted = new CountDownLatch(1);
+        final CountDownLatch releaseTask = new CountDownLatch(1);
+
+        // GIVEN an executor whose only thread is busy
+        final Future<Void> blockingTask = executor.execute(() -> {
+            taskStarted.countDown();
+            releaseTask.await();
+            return null;
+        });
+        assertThat(taskStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        // and whose queue is full
+        final Future<Void> queuedTask = executor.execute(() -> null);
+        assertThat(executor.getQueueSize()).isEqualTo(1);
+        assertThat(meterRegistry.get(PasswordHashingExecutor.METER_QUEUE_SIZE).gauge().value()).isEqualTo(1.0);
+
+        // WHEN another task is submitted
+        executor.execute(() -> null).onComplete(ctx.failing(t -> {
+            ctx.verify(() -> {
+                // THEN the task is rejected
+                assertThat(t).isInstanceOf(ServerErrorException.class);
+                assertThat(((ServerErrorException) t).getErrorCode()).isEqualTo(HttpURLConnection.HTTP_UNAVAILABLE);
+                assertThat(meterRegistry.get(PasswordHashingExecutor.METER_REJECTED).counter().count()).isEqualTo(1.0);
+            });
+            releaseTask.countDown();
+            // while the other tasks are still being executed
+            blockingTask.compose(ok -> queuedTask).onComplete(ctx.succeedingThenComplete());
+        }));
+    }
+}
@@ -16,18 +16,23 @@ package org.eclipse.hono.service.commandrouter;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
+import java.time.Duration;
 import java.util.List;
 
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.util.CommandRouterConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -89,6 +94,102 @@ class DelegatingCommandRouterAmqpEndpointTest {
         assertThat(endpoint.passesFormalVerification(resourceId, request)).isTrue();
     }
 
+    @Test
+    void testProcessRegisterCommandConsumerAcceptsDeviceIdentifiersInPayload(final VertxTestContext ctx) {
+        when(service.registerCommandConsumer(anyString(), anyList(), anyString(), any(Duration.class), any())).thenReturn(
+                Future.succeededFuture(CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
+        final Message request = getCommandConsumerRequestMessage(
+                CommandRouterConstants.CommandRouterAction.REGISTER_COMMAND_CONSUMER);
+        MessageHelper.addProperty(request, MessageHelper.APP_PROPERTY_LIFESPAN, 60);
+        endpoint.processRegisterCommandConsumer(
+                request,
+                ResourceIdentifier.from(CommandRouterConstants.COMMAND_ROUTER_ENDPOINT, "tenant", null),
+                NoopSpan.INSTANCE.context())
+            .onComplete(ctx.succeeding(response -> {
+                ctx.verify(() -> {
+                    verify(service).registerCommandConsumer(
+                            eq("tenant"),
+                            eq(List.of("device1", "device2")),
+                            eq("adapterInstance"),
+                            eq(Duration.ofSeconds(60)),
+                            any());
+                    assertThat(MessageHelper.getStatus(response)).isEqualTo(HttpURLConnection.HTTP_NO_CONTENT);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    @Test
+    void testProcessUnregisterCommandConsumerAcceptsDeviceIdentifiersInPayload(final VertxTestContext ctx) {
+        when(service.unregisterCommandConsumer(anyString(), anyList(), anyString(), any())).thenReturn(
+                Future.succeededFuture(CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT)));
+        final Message request = getCommandConsumerRequestMessage(
+                CommandRouterConstants.CommandRouterAction.UNREGISTER_COMMAND_CONSUMER);
+        endpoint.processUnregisterCommandConsumer(
+                request,
+                ResourceIdentifier.from(CommandRouterConstants.COMMAND_ROUTER_ENDPOINT, "tenant", null),
+                NoopSpan.INSTANCE.context())
+            .onComplete(ctx.succeeding(response -> {
+                ctx.verify(() -> {
+                    verify(service).unregisterCommandConsumer(
+                            eq("tenant"),
+                            eq(List.of("device1", "device2")),
+                            eq("adapterInstance"),
+                            any());
+                    assertThat(MessageHelper.getStatus(response)).isEqualTo(HttpURLConnection.HTTP_NO_CONTENT);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    @Test
+    void testProcessRegisterCommandConsumerFailsForMissingDeviceIdentifiers(final VertxTestContext ctx) {
+        final Message request = getCommandConsumerRequestMessage(
+                CommandRouterConstants.CommandRouterAction.REGISTER_COMMAND_CONSUMER);
+        request.setBody(null);
+        endpoint.processRegisterCommandConsumer(
+                request,
+                ResourceIdentifier.from(CommandRouterConstants.COMMAND_ROUTER_ENDPOINT, "tenant", null),
+                NoopSpan.INSTANCE.context())
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> {
+                    assertThat(ServiceInvocationException.extractStatusCode(t)).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+                    verify(service, never()).registerCommandConsumer(anyString(), anyList(), anyString(), any(), any());
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    @Test
+    void testProcessUnregisterCommandConsumerFailsForInvalidDeviceIdentifiers(final VertxTestContext ctx) {
+        final Message request = getCommandConsumerRequestMessage(
+                CommandRouterConstants.CommandRouterAction.UNREGISTER_COMMAND_CONSUMER);
+        final JsonArray deviceIds = new JsonArray().add("device1").add(5).add("");
+        request.setBody(new Data(new Binary(deviceIds.toBuffer().getBytes())));
+        endpoint.processUnregisterCommandConsumer(
+                request,
+                ResourceIdentifier.from(CommandRouterConstants.COMMAND_ROUTER_ENDPOINT, "tenant", null),
+                NoopSpan.INSTANCE.context())
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> {
+                    assertThat(ServiceInvocationException.extractStatusCode(t)).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+                    verify(service, never()).unregisterCommandConsumer(anyString(), anyList(), anyString(), any());
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private Message getCommandConsumerRequestMessage(final CommandRouterConstants.CommandRouterAction action) {
+        final JsonArray deviceIds = new JsonArray(List.of("device1", "device2"));
+        final Message request = ProtonHelper.message();
+        request.setSubject(action.getSubject());
+        request.setMessageId("abc");
+        request.setReplyTo("reply/to/me");
+        MessageHelper.addProperty(request, MessageHelper.APP_PROPERTY_ADAPTER_INSTANCE_ID, "adapterInstance");
+        request.setBody(new Data(new Binary(deviceIds.toBuffer().getBytes())));
+        return request;
+    }
+
     private Message getEnableCommandRoutingRequestMessage() {
         final JsonArray tenants = new JsonArray(List.of("tenant1", "tenant2"));
         final Message request = ProtonHelper.message();
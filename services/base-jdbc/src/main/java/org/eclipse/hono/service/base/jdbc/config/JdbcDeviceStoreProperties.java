@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 public class JdbcDeviceStoreProperties {
 
     private JdbcProperties adapter;
+    private JdbcProperties readReplica;
+    private boolean readReplicaFallback = true;
     private JdbcProperties management;
 
     public JdbcProperties getAdapter() {
@@ -33,6 +35,50 @@ public class JdbcDeviceStoreProperties {
         this.adapter = adapter;
     }
 
+    /**
+     * Gets the properties of the read replica to use for the protocol adapter facing reads.
+     *
+     * @return The properties or {@code null} if the reads are done using the adapter database.
+     */
+    public JdbcProperties getReadReplica() {
+        return readReplica;
+    }
+
+    /**
+     * Sets the properties of the read replica to use for the protocol adapter facing reads.
+     * <p>
+     * The read replica needs to be of the same database type as the adapter database and
+     * needs to use the same table names. Its table name property is therefore ignored.
+     *
+     * @param readReplica The properties or {@code null} if the reads should be done using the
+     *                    adapter database.
+     */
+    public void setReadReplica(final JdbcProperties readReplica) {
+        this.readReplica = readReplica;
+    }
+
+    /**
+     * Checks if reads fall back to the adapter database if the read replica cannot be read from.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @return {@code true} if reads fall back to the adapter database.
+     */
+    public boolean isReadReplicaFallback() {
+        return readReplicaFallback;
+    }
+
+    /**
+     * Sets whether reads fall back to the adapter database if the read replica cannot be read from.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @param readReplicaFallback {@code true} if reads should fall back to the adapter database.
+     */
+    public void setReadReplicaFallback(final boolean readReplicaFallback) {
+        this.readReplicaFallback = readReplicaFallback;
+    }
+
     public JdbcProperties getManagement() {
         return management;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -37,6 +37,7 @@ public class JdbcProperties {
     private String username;
     private String password;
     private Integer maximumPoolSize;
+    private Integer acquireRetryAttempts;
 
     private String tableName;
 
@@ -75,6 +76,13 @@ public class JdbcProperties {
         return maximumPoolSize;
     }
 
+    public void setAcquireRetryAttempts(final Integer acquireRetryAttempts) {
+        this.acquireRetryAttempts = acquireRetryAttempts;
+    }
+    public Integer getAcquireRetryAttempts() {
+        return acquireRetryAttempts;
+    }
+
     public String getTableName() {
         return tableName;
     }
@@ -102,6 +110,9 @@ public class JdbcProperties {
         if (dataSourceProperties.getMaximumPoolSize() != null) {
             config.put("max_pool_size", dataSourceProperties.getMaximumPoolSize());
         }
+        if (dataSourceProperties.getAcquireRetryAttempts() != null) {
+            config.put("acquire_retry_attempts", dataSourceProperties.getAcquireRetryAttempts());
+        }
 
         log.info("Creating new SQL client: {} - table: {}", config, dataSourceProperties.getTableName());
 
@@ -72,9 +72,24 @@ public abstract class AbstractStore implements HealthCheckProvider, AutoCloseabl
 
     @Override
     public void registerReadinessChecks(final HealthCheckHandler readinessHandler) {
-        readinessHandler.register("sql", Duration.ofSeconds(10).toMillis(), p -> {
+        registerConnectionCheck(readinessHandler, "sql", this.client);
+    }
+
+    /**
+     * Registers a check which succeeds if the database can be queried using a client.
+     *
+     * @param readinessHandler The health check handler to register the check with.
+     * @param name The name of the check.
+     * @param client The SQL client to check.
+     */
+    protected final void registerConnectionCheck(
+            final HealthCheckHandler readinessHandler,
+            final String name,
+            final SQLClient client) {
+
+        readinessHandler.register(name, Duration.ofSeconds(10).toMillis(), p -> {
             this.checkSql
-                    .query(this.client)
+                    .query(client)
                     .onComplete(ar -> {
                         if (ar.succeeded()) {
                             p.tryComplete(Status.OK());
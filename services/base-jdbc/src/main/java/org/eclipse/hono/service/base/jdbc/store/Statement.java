@@ -40,6 +40,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.ResultSet;
+import io.vertx.ext.sql.SQLConnection;
 import io.vertx.ext.sql.SQLOperations;
 import io.vertx.ext.sql.UpdateResult;
 
@@ -48,7 +49,7 @@ import io.vertx.ext.sql.UpdateResult;
  */
 public final class Statement {
 
-    private static final Pattern DEFAULT_PATTERN = Pattern.compile("(?<pre>^|[^\\:]):(?<name>[a-zA-Z_]+)");
+    private static final Pattern DEFAULT_PATTERN = Pattern.compile("(?<pre>^|[^\\:]):(?<name>[a-zA-Z_][a-zA-Z0-9_]*)");
 
     private static final Object NOT_FOUND_MARKER = new Object();
 
@@ -156,6 +157,30 @@ public final class Statement {
     }
 
 
+    /**
+     * Create a new statement by appending SQL to this statement.
+     * <p>
+     * The appended SQL is parsed for named parameters, in the same way as {@link #statement(String, Object...)}
+     * does. However, it is not processed by {@link String#format(String, Object...)}.
+     * <p>
+     * This may be used for adding conditions or clauses to a configured statement, which depend on
+     * the parameters of a request.
+     *
+     * @param sql The SQL to append.
+     * @return The new statement.
+     * @throws NullPointerException if the SQL is {@code null}.
+     */
+    public Statement append(final String sql) {
+        Objects.requireNonNull(sql);
+
+        final Statement suffix = parse(sql);
+        final List<Map.Entry<String, Integer>> mappings = new ArrayList<>(this.mappings);
+        for (final Map.Entry<String, Integer> entry : suffix.mappings) {
+            mappings.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue() + this.mappings.size()));
+        }
+        return new Statement(this.sql + suffix.sql, mappings);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -180,9 +205,12 @@ public final class Statement {
             return null;
         }
 
-        final String sqlFormatted = String.format(sql, values);
+        return parse(String.format(sql, values));
+    }
+
+    private static Statement parse(final String sql) {
 
-        final Matcher m = DEFAULT_PATTERN.matcher(sqlFormatted);
+        final Matcher m = DEFAULT_PATTERN.matcher(sql);
 
         int idx = 0;
         final StringBuilder sb = new StringBuilder();
@@ -301,6 +329,49 @@ public final class Statement {
             });
         }
 
+        /**
+         * Execute multiple expanded statements as a single batch update.
+         * <p>
+         * All statements must have been expanded from the same SQL statement. The batch
+         * is traced using the span of the first statement.
+         *
+         * @param connection The connection to work on.
+         * @param statements The statements to execute.
+         * @return A future tracking the number of rows updated by each statement.
+         * @throws NullPointerException if any of the parameters are {@code null}.
+         * @throws IllegalArgumentException if the statements have not been expanded from the same SQL statement.
+         */
+        public static Future<List<Integer>> batchUpdate(
+                final SQLConnection connection,
+                final List<ExpandedStatement> statements) {
+
+            Objects.requireNonNull(connection);
+            Objects.requireNonNull(statements);
+
+            if (statements.isEmpty()) {
+                return Future.succeededFuture(List.of());
+            }
+
+            final ExpandedStatement first = statements.get(0);
+            final List<JsonArray> parameters = new ArrayList<>(statements.size());
+            for (final ExpandedStatement statement : statements) {
+                if (!first.sql.equals(statement.sql)) {
+                    throw new IllegalArgumentException("batch must consist of a single SQL statement");
+                }
+                parameters.add(statement.getParametersAsJson());
+            }
+
+            final Span sqlSpan = first.startSqlSpan();
+            if (sqlSpan != null) {
+                sqlSpan.setTag("batch_size", statements.size());
+            }
+            final Promise<List<Integer>> result = Promise.promise();
+            connection.batchWithParams(first.sql, parameters, result);
+            return SQL.finishSpan(result.future(), sqlSpan, (r, log) -> {
+                log.put("rows", r.stream().mapToInt(Integer::intValue).sum());
+            });
+        }
+
     }
 
 }
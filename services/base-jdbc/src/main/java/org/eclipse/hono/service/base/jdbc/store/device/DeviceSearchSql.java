@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.base.jdbc.store.device;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.eclipse.hono.service.management.Filter;
+import org.eclipse.hono.service.management.Sort;
+import org.eclipse.hono.util.RegistryManagementConstants;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.pointer.JsonPointer;
+
+/**
+ * Creates the SQL fragments for searching devices in a PostgreSQL database.
+ * <p>
+ * The fragments operate on the {@code device_id} column and the {@code data} column, which contains the
+ * device registration information as a JSONB document. The named parameters used by the fragments are
+ * put into the map of parameters provided by the caller.
+ * <p>
+ * Devices are always ordered by their identifier last, so that the order of devices is total. This allows
+ * for continuing a search after the last device of a page by means of a <em>seek condition</em>,
+ * instead of skipping all devices of the preceding pages.
+ */
+final class DeviceSearchSql {
+
+    private static final JsonPointer FIELD_ID = JsonPointer.from("/" + RegistryManagementConstants.FIELD_ID);
+    private static final Pattern ARRAY_INDEX = Pattern.compile("\\d+");
+    private static final String DEVICE_ID = "device_id";
+
+    private DeviceSearchSql() {
+    }
+
+    /**
+     * Creates the conditions for the given filters.
+     * <p>
+     * An exact match of a (non-array) field is expressed as a JSONB containment condition, which can be served
+     * by a GIN index on the {@code data} column. String values containing the wildcard characters {@code *}
+     * and {@code ?} are matched using {@code LIKE}.
+     *
+     * @param filters The filters.
+     * @param params The map to put the named parameters to.
+     * @return The conditions, each prefixed with {@code AND}, or an empty string if there are no filters.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    static String filterConditions(final List<Filter> filters, final Map<String, Object> params) {
+        Objects.requireNonNull(filters);
+        Objects.requireNonNull(params);
+
+        final StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < filters.size(); i++) {
+            final Filter filter = filters.get(i);
+            final String name = "filter_" + i;
+            final Object value = filter.getValue();
+            final boolean wildcard = value instanceof String && containsWildcards((String) value);
+
+            sql.append(" AND ");
+            if (FIELD_ID.equals(filter.getField())) {
+                if (wildcard) {
+                    sql.append("device_id LIKE :").append(name).append(" ESCAPE '\\'");
+                    params.put(name, toLikePattern((String) value));
+                } else {
+                    sql.append("device_id = :").append(name);
+                    params.put(name, String.valueOf(value));
+                }
+            } else if (wildcard) {
+                sql.append("data #>> :").append(name).append("_path::text[] LIKE :").append(name).append(" ESCAPE '\\'");
+                params.put(name + "_path", toPathLiteral(filter.getField()));
+                params.put(name, toLikePattern((String) value));
+            } else if (containsArrayIndex(filter.getField())) {
+                sql.append("data #> :").append(name).append("_path::text[] = :").append(name).append("::jsonb");
+                params.put(name + "_path", toPathLiteral(filter.getField()));
+                params.put(name, Json.encode(value));
+            } else {
+                sql.append("data @> :").append(name).append("::jsonb");
+                params.put(name, toContainmentDocument(filter.getField(), value));
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Creates the {@code ORDER BY} clause for the given sort options.
+     *
+     * @param sortOptions The sort options.
+     * @param params The map to put the named parameters to.
+     * @return The clause, including a leading space.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    static String orderBy(final List<Sort> sortOptions, final Map<String, Object> params) {
+        Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(params);
+
+        final List<String> keys = sortKeys(sortOptions, params);
+        final List<Boolean> ascending = sortDirections(sortOptions);
+        final StringBuilder sql = new StringBuilder(" ORDER BY ");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(keys.get(i)).append(ascending.get(i) ? " ASC" : " DESC");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Creates the seek condition for continuing a search after the given device.
+     * <p>
+     * The condition matches all devices that are ordered after the given device according to the sort options.
+     *
+     * @param sortOptions The sort options.
+     * @param boundary The last device of the preceding page.
+     * @param params The map to put the named parameters to.
+     * @return The condition, prefixed with {@code AND}.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    static String seekCondition(final List<Sort> sortOptions, final PageBoundary boundary, final Map<String, Object> params) {
+        Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(boundary);
+        Objects.requireNonNull(params);
+
+        final List<String> keys = sortKeys(sortOptions, params);
+        final List<Boolean> ascending = sortDirections(sortOptions);
+        final List<String> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            final String name = "boundary_" + i;
+            if (DEVICE_ID.equals(keys.get(i))) {
+                values.add(":" + name);
+                params.put(name, boundary.getDeviceId());
+            } else {
+                values.add(":" + name + "::jsonb");
+                params.put(name, boundary.getSortValues().get(i));
+            }
+        }
+
+        final StringBuilder sql = new StringBuilder(" AND (");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(");
+            for (int j = 0; j < i; j++) {
+                sql.append(keys.get(j)).append(" = ").append(values.get(j)).append(" AND ");
+            }
+            sql.append(keys.get(i)).append(ascending.get(i) ? " > " : " < ").append(values.get(i));
+            sql.append(")");
+        }
+        sql.append(")");
+        return sql.toString();
+    }
+
+    /**
+     * Creates the boundary for continuing a search after a device.
+     *
+     * @param sortOptions The sort options of the search.
+     * @param deviceId The identifier of the device.
+     * @param data The registration information of the device.
+     * @return The boundary.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    static PageBoundary boundary(final List<Sort> sortOptions, final String deviceId, final JsonObject data) {
+        Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(data);
+
+        final List<String> sortValues = new ArrayList<>(sortOptions.size());
+        for (final Sort sortOption : sortOptions) {
+            if (FIELD_ID.equals(sortOption.getField())) {
+                break;
+            }
+            sortValues.add(Json.encode(sortOption.getField().queryJson(data)));
+        }
+        return new PageBoundary(deviceId, sortValues);
+    }
+
+    /**
+     * Gets the sort keys, ending with the device identifier.
+     * <p>
+     * Sort options following a sort option on the device identifier are ignored, because the device
+     * identifier is unique within a tenant.
+     */
+    private static List<String> sortKeys(final List<Sort> sortOptions, final Map<String, Object> params) {
+        final List<String> keys = new ArrayList<>(sortOptions.size() + 1);
+        for (int i = 0; i < sortOptions.size(); i++) {
+            final Sort sortOption = sortOptions.get(i);
+            if (FIELD_ID.equals(sortOption.getField())) {
+                keys.add(DEVICE_ID);
+                return keys;
+            }
+            final String name = "sort_" + i;
+            // missing fields are mapped to a JSON null, which is ordered before all other values
+            keys.add("COALESCE(data #> :" + name + "::text[], 'null'::jsonb)");
+            params.put(name, toPathLiteral(sortOption.getField()));
+        }
+        keys.add(DEVICE_ID);
+        return keys;
+    }
+
+    private static List<Boolean> sortDirections(final List<Sort> sortOptions) {
+        final List<Boolean> ascending = new ArrayList<>(sortOptions.size() + 1);
+        for (final Sort sortOption : sortOptions) {
+            ascending.add(sortOption.isAscending());
+            if (FIELD_ID.equals(sortOption.getField())) {
+                return ascending;
+            }
+        }
+        ascending.add(Boolean.TRUE);
+        return ascending;
+    }
+
+    private static boolean containsWildcards(final String value) {
+        return value.indexOf('*') >= 0 || value.indexOf('?') >= 0;
+    }
+
+    private static boolean containsArrayIndex(final JsonPointer field) {
+        return getTokens(field).stream().anyMatch(token -> ARRAY_INDEX.matcher(token).matches());
+    }
+
+    /**
+     * Converts a search value containing wildcards to a pattern to be used with {@code LIKE ... ESCAPE '\'}.
+     *
+     * @param value The search value.
+     * @return The pattern.
+     */
+    static String toLikePattern(final String value) {
+        final StringBuilder pattern = new StringBuilder(value.length());
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+            case '*':
+                pattern.append('%');
+                break;
+            case '?':
+                pattern.append('_');
+                break;
+            case '%':
+            case '_':
+            case '\\':
+                pattern.append('\\').append(c);
+                break;
+            default:
+                pattern.append(c);
+            }
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * Converts a JSON pointer to a PostgreSQL text array literal, to be used with the {@code #>} operator.
+     *
+     * @param field The JSON pointer.
+     * @return The array literal.
+     */
+    static String toPathLiteral(final JsonPointer field) {
+        final StringBuilder literal = new StringBuilder("{");
+        final List<String> tokens = getTokens(field);
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append('"')
+                .append(tokens.get(i).replace("\\", "\\\\").replace("\"", "\\\""))
+                .append('"');
+        }
+        return literal.append('}').toString();
+    }
+
+    /**
+     * Creates the JSON document that a device's registration information needs to contain
+     * for matching a filter.
+     *
+     * @param field The field to match.
+     * @param value The value to match.
+     * @return The encoded JSON document.
+     */
+    static String toContainmentDocument(final JsonPointer field, final Object value) {
+        final List<String> tokens = getTokens(field);
+        Object document = value;
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            document = new JsonObject().put(tokens.get(i), document);
+        }
+        return Json.encode(document);
+    }
+
+    private static List<String> getTokens(final JsonPointer field) {
+        final List<String> tokens = new ArrayList<>();
+        final String pointer = field.toString();
+        if (pointer.isEmpty()) {
+            return tokens;
+        }
+        for (final String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    /**
+     * Creates the key for the boundaries of the pages of a search.
+     *
+     * @param tenantId The tenant to search devices of.
+     * @param pageSize The size of the pages.
+     * @param totalCount The number of matching devices.
+     * @param filters The filters of the search.
+     * @param sortOptions The sort options of the search.
+     * @return The key.
+     */
+    static List<Object> boundariesKey(
+            final String tenantId,
+            final int pageSize,
+            final int totalCount,
+            final List<Filter> filters,
+            final List<Sort> sortOptions) {
+
+        final JsonArray criteria = new JsonArray();
+        filters.forEach(filter -> criteria.add(new JsonArray()
+                .add(filter.getField().toString())
+                .add(filter.getOperator().name())
+                .add(filter.getValue())));
+        sortOptions.forEach(sortOption -> criteria.add(new JsonArray()
+                .add(sortOption.getField().toString())
+                .add(sortOption.getDirection().name())));
+        return List.of(tenantId, pageSize, totalCount, criteria.encode());
+    }
+
+    /**
+     * The last device of a page of a search.
+     */
+    static final class PageBoundary {
+
+        private final String deviceId;
+        private final List<String> sortValues;
+
+        PageBoundary(final String deviceId, final List<String> sortValues) {
+            this.deviceId = Objects.requireNonNull(deviceId);
+            this.sortValues = List.copyOf(sortValues);
+        }
+
+        String getDeviceId() {
+            return deviceId;
+        }
+
+        /**
+         * Gets the JSON encoded values of the device's fields that the search is sorted by.
+         *
+         * @return The values.
+         */
+        List<String> getSortValues() {
+            return sortValues;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -23,6 +23,7 @@ import org.eclipse.hono.service.base.jdbc.store.SQL;
 
 import io.opentracing.Tracer;
 import io.vertx.core.Vertx;
+import io.vertx.ext.sql.SQLClient;
 
 /**
  * Helper class for device registry stores.
@@ -123,7 +124,8 @@ public final class DeviceStores {
             return new TableManagementStore(
                     JdbcProperties.dataSource(vertx, properties),
                     tracer,
-                    Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups));
+                    Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups),
+                    SQL.getDatabaseDialect(properties.getUrl()));
 
         }
     }
@@ -147,13 +149,70 @@ public final class DeviceStores {
 
         final var properties = extractor.apply(deviceProperties);
 
-        final var prefix = Optional.ofNullable(properties.getTableName());
-        final var credentials = prefix.map(s -> s + "_credentials");
-        final var registrations = prefix.map(s -> s + "_registrations");
-        final var groups = prefix.map(s -> s + "_groups");
+        return factory.createTable(
+                vertx,
+                tracer,
+                properties,
+                tableName(properties, "_credentials"),
+                tableName(properties, "_registrations"),
+                tableName(properties, "_groups"));
+
+    }
 
-        return factory.createTable(vertx, tracer, properties, credentials, registrations, groups);
+    /**
+     * Create a new adapter store for the device registry.
+     * <p>
+     * The store uses the adapter properties for connecting to the primary database. If a read replica
+     * is configured, the store reads devices, credentials and group members from the read replica,
+     * falling back to the primary database if configured. If falling back is enabled and the number
+     * of acquire retry attempts is not set for the read replica, a single attempt is made to acquire a
+     * connection to the read replica so that reads fall back to the primary database without delay.
+     *
+     * @param vertx The vertx instance to use.
+     * @param tracer The tracer to use.
+     * @param deviceProperties The configuration properties.
+     *
+     * @return The new store.
+     * @throws IOException if any IO error occurs when reading the SQL statement configuration.
+     * @throws IllegalArgumentException if the read replica is of another database type than the
+     *         primary database.
+     */
+    public static TableAdapterStore adapterStore(final Vertx vertx, final Tracer tracer, final JdbcDeviceStoreProperties deviceProperties) throws IOException {
+
+        final var properties = deviceProperties.getAdapter();
+        final var readReplica = deviceProperties.getReadReplica();
+
+        if (readReplica == null) {
+            return store(vertx, tracer, deviceProperties, JdbcDeviceStoreProperties::getAdapter, adapterStoreFactory());
+        }
+
+        final var dialect = SQL.getDatabaseDialect(properties.getUrl());
+        if (!dialect.equals(SQL.getDatabaseDialect(readReplica.getUrl()))) {
+            throw new IllegalArgumentException("read replica must be of the same database type as the primary database");
+        }
+        if (deviceProperties.isReadReplicaFallback() && readReplica.getAcquireRetryAttempts() == null) {
+            readReplica.setAcquireRetryAttempts(1);
+        }
+
+        final SQLClient client = JdbcProperties.dataSource(vertx, properties);
+        final SQLClient readReplicaClient = JdbcProperties.dataSource(vertx, readReplica);
+
+        return new TableAdapterStore(
+                client,
+                readReplicaClient,
+                deviceProperties.isReadReplicaFallback(),
+                tracer,
+                Configurations.tableConfiguration(
+                        properties.getUrl(),
+                        tableName(properties, "_credentials"),
+                        tableName(properties, "_registrations"),
+                        tableName(properties, "_groups")),
+                dialect);
+
+    }
 
+    private static Optional<String> tableName(final JdbcProperties properties, final String suffix) {
+        return Optional.ofNullable(properties.getTableName()).map(s -> s + suffix);
     }
 
 }
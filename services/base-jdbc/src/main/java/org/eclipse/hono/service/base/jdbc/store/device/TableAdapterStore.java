@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,12 +13,14 @@
 
 package org.eclipse.hono.service.base.jdbc.store.device;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.hono.deviceregistry.service.credentials.CredentialKey;
@@ -35,22 +37,40 @@ import org.slf4j.LoggerFactory;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
+import io.opentracing.log.Fields;
 import io.vertx.core.Future;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLClient;
+import io.vertx.ext.sql.SQLOperations;
 
 /**
  * A data store for devices and credentials, based on a table data model.
+ * <p>
+ * The store can be configured with a separate SQL client for a read replica of the database. In this case
+ * the devices, credentials and group members are read from the read replica. If reading from the read replica
+ * fails, the read is optionally retried using the primary client. The store then keeps on reading from the
+ * primary client for {@link #READ_REPLICA_RETRY_INTERVAL} before it tries the read replica again.
  */
 public class TableAdapterStore extends AbstractDeviceStore {
 
+    /**
+     * The period of time during which reads are done using the primary client after
+     * reading from the read replica has failed.
+     */
+    public static final Duration READ_REPLICA_RETRY_INTERVAL = Duration.ofSeconds(10);
+
     private static final Logger log = LoggerFactory.getLogger(TableAdapterStore.class);
 
     private final Statement findCredentialsStatement;
     private final Statement resolveGroupsStatement;
     private final String dialect;
+    private final SQLClient readReplicaClient;
+    private final boolean readReplicaFallback;
+
+    private volatile long readReplicaUnavailableUntil = System.nanoTime();
 
     /**
      * Create a new instance.
@@ -61,8 +81,33 @@ public class TableAdapterStore extends AbstractDeviceStore {
      * @param dialect Database type, from the JDBC URL scheme
      */
     public TableAdapterStore(final SQLClient client, final Tracer tracer, final StatementConfiguration cfg, final String dialect) {
+        this(client, null, false, tracer, cfg, dialect);
+    }
+
+    /**
+     * Create a new instance which reads from a read replica.
+     *
+     * @param client The SQL client to use for the primary database.
+     * @param readReplicaClient The SQL client to use for reading from the read replica or {@code null}
+     *                          if all reads should be done using the primary client.
+     * @param readReplicaFallback {@code true} if a read should be retried using the primary client if
+     *                            reading from the read replica fails.
+     * @param tracer The tracer to use.
+     * @param cfg The SQL statement configuration.
+     * @param dialect Database type, from the JDBC URL scheme
+     */
+    public TableAdapterStore(
+            final SQLClient client,
+            final SQLClient readReplicaClient,
+            final boolean readReplicaFallback,
+            final Tracer tracer,
+            final StatementConfiguration cfg,
+            final String dialect) {
+
         super(client, tracer, cfg);
         this.dialect = dialect;
+        this.readReplicaClient = readReplicaClient;
+        this.readReplicaFallback = readReplicaFallback;
         cfg.dump(log);
 
         this.findCredentialsStatement = cfg
@@ -80,6 +125,67 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
     }
 
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            if (this.readReplicaClient != null) {
+                this.readReplicaClient.close();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation also checks the connection to the read replica unless
+     * reads fall back to the primary database.
+     */
+    @Override
+    public void registerReadinessChecks(final HealthCheckHandler readinessHandler) {
+        super.registerReadinessChecks(readinessHandler);
+        if (this.readReplicaClient != null && !this.readReplicaFallback) {
+            registerConnectionCheck(readinessHandler, "sql-read-replica", this.readReplicaClient);
+        }
+    }
+
+    /**
+     * Executes a read operation using the read replica, if configured.
+     * <p>
+     * If the read fails and falling back to the primary database is enabled, the read is
+     * retried using the primary client.
+     *
+     * @param <T> The type of the outcome of the read operation.
+     * @param operation The read operation to execute using the SQL operations it is given.
+     * @param span The span to contribute to.
+     * @return A future tracking the outcome of the read operation.
+     */
+    private <T> Future<T> readFromReplica(final Function<SQLOperations, Future<T>> operation, final Span span) {
+
+        if (this.readReplicaClient == null) {
+            return operation.apply(this.client);
+        }
+
+        if (this.readReplicaFallback && System.nanoTime() - this.readReplicaUnavailableUntil < 0) {
+            span.log("read replica is unavailable, reading from primary database");
+            return operation.apply(this.client);
+        }
+
+        return operation.apply(this.readReplicaClient)
+                .recover(t -> {
+                    if (!this.readReplicaFallback) {
+                        return Future.failedFuture(t);
+                    }
+                    log.debug("failed to read from read replica, reading from primary database", t);
+                    span.log(Map.of(
+                            Fields.EVENT, "failed to read from read replica, reading from primary database",
+                            Fields.ERROR_OBJECT, t));
+                    this.readReplicaUnavailableUntil = System.nanoTime() + READ_REPLICA_RETRY_INTERVAL.toNanos();
+                    return operation.apply(this.client);
+                });
+    }
+
 
     /**
      * Read a device using {@link #readDevice(io.vertx.ext.sql.SQLOperations, DeviceKey, Span)} and the
@@ -119,7 +225,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
                 .withTag(TracingHelper.TAG_DEVICE_ID, key.getDeviceId())
                 .start();
 
-        return readDevice(this.client, key, span)
+        return readFromReplica(operations -> readDevice(operations, key, span), span)
 
                 .<Optional<DeviceReadResult>>flatMap(r -> {
                     final var entries = r.getRows(true);
@@ -163,9 +269,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
         });
 
         log.debug("findCredentials - statement: {}", expanded);
-        return expanded
-                .trace(this.tracer, span.context())
-                .query(this.client)
+        return readFromReplica(operations -> expanded.trace(this.tracer, span.context()).query(operations), span)
                 .<Optional<CredentialsReadResult>>flatMap(r -> {
                     final var entries = r.getRows(true);
                     span.log(Map.of(
@@ -225,10 +329,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
         log.debug("resolveGroupMembers - statement: {}", expanded);
 
-        return expanded
-
-                .trace(this.tracer, span.context())
-                .query(this.client)
+        return readFromReplica(operations -> expanded.trace(this.tracer, span.context()).query(operations), span)
 
                 .flatMap(r -> {
 
@@ -14,7 +14,10 @@
 package org.eclipse.hono.service.base.jdbc.store.device;
 
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +25,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -34,14 +40,22 @@ import org.eclipse.hono.service.base.jdbc.store.SQL;
 import org.eclipse.hono.service.base.jdbc.store.Statement;
 import org.eclipse.hono.service.base.jdbc.store.StatementConfiguration;
 import org.eclipse.hono.service.base.jdbc.store.model.JdbcBasedDeviceDto;
+import org.eclipse.hono.service.management.Filter;
+import org.eclipse.hono.service.management.SearchResult;
+import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.credentials.CommonCredential;
 import org.eclipse.hono.service.management.credentials.CredentialsDto;
 import org.eclipse.hono.service.management.device.Device;
+import org.eclipse.hono.service.management.device.DeviceWithId;
 import org.eclipse.hono.service.management.tenant.Tenant;
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.RegistryManagementConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
@@ -63,6 +77,9 @@ public class TableManagementStore extends AbstractDeviceStore {
 
     private static final Logger log = LoggerFactory.getLogger(TableManagementStore.class);
 
+    private static final int MAX_CACHED_SEARCHES = 1000;
+    private static final Duration SEARCH_BOUNDARIES_MAX_AGE = Duration.ofMinutes(1);
+
     private final Statement createStatement;
     private final Statement createMemberOfStatement;
     private final Statement deleteAllMemberOfStatement;
@@ -78,8 +95,28 @@ public class TableManagementStore extends AbstractDeviceStore {
     private final Statement insertCredentialEntryStatement;
     private final Statement deleteAllCredentialsStatement;
     private final Statement updateDeviceVersionStatement;
+    private final Statement setDeviceVersionStatement;
 
     private final Statement countDevicesOfTenantStatement;
+    private final Statement searchDevicesStatement;
+
+    private final String dialect;
+    /**
+     * The last devices of the pages of recent searches, by search criteria and page index.
+     * <p>
+     * The entries of a tenant are invalidated whenever a device of the tenant is created, updated or
+     * deleted by means of this store, including operations that have failed, e.g. because of a timeout
+     * that occurred after the transaction had been committed. Changes made by other registry instances
+     * sharing the same database cannot be detected, though. The cache is therefore best-effort only:
+     * entries are keyed by the total number of devices matching the criteria, which is why creating or
+     * deleting devices elsewhere results in the entries not being used anymore, and entries are evicted
+     * {@link #SEARCH_BOUNDARIES_MAX_AGE} after they have been created at the latest.
+     */
+    private final Cache<List<Object>, ConcurrentNavigableMap<Integer, DeviceSearchSql.PageBoundary>> searchBoundaries = CacheBuilder
+            .newBuilder()
+            .maximumSize(MAX_CACHED_SEARCHES)
+            .expireAfterWrite(SEARCH_BOUNDARIES_MAX_AGE)
+            .build();
 
     /**
      * Create a new instance.
@@ -87,9 +124,11 @@ public class TableManagementStore extends AbstractDeviceStore {
      * @param client The SQL client ot use.
      * @param tracer The tracer to use.
      * @param cfg The SQL statement configuration.
+     * @param dialect Database type, from the JDBC URL scheme
      */
-    public TableManagementStore(final SQLClient client, final Tracer tracer, final StatementConfiguration cfg) {
+    public TableManagementStore(final SQLClient client, final Tracer tracer, final StatementConfiguration cfg, final String dialect) {
         super(client, tracer, cfg);
+        this.dialect = dialect;
         cfg.dump(log);
 
         this.createStatement = cfg
@@ -178,11 +217,23 @@ public class TableManagementStore extends AbstractDeviceStore {
                         "next_version",
                         "expected_version");
 
+        this.setDeviceVersionStatement = cfg
+                .getRequiredStatement("setDeviceVersion")
+                .validateParameters(
+                        "tenant_id",
+                        "device_id",
+                        "next_version");
+
         this.countDevicesOfTenantStatement = cfg
                 .getRequiredStatement("countDevicesOfTenant")
                 .validateParameters(
                         "tenant_id");
 
+        this.searchDevicesStatement = cfg
+                .getRequiredStatement("searchDevices")
+                .validateParameters(
+                        "tenant_id");
+
     }
 
     /**
@@ -268,6 +319,85 @@ public class TableManagementStore extends AbstractDeviceStore {
                 })
 
                 .map(new Versioned<Void>(deviceDto.getVersion(), null))
+                .onComplete(x -> invalidateSearchBoundaries(key.getTenantId()))
+                .onComplete(x -> span.finish());
+
+    }
+
+    /**
+     * Creates multiple devices of a tenant.
+     * <p>
+     * This method executes the {@code create} and {@code createMemberOf} statements as batch updates
+     * within a single transaction, providing the same named parameters as
+     * {@link #createDevice(DeviceKey, Device, Tenant, int, SpanContext)}.
+     * <p>
+     * Either all devices are created or none of them. In particular, the transaction fails if any of the
+     * devices already exists or if creating all devices would exceed the tenant's device limit.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param devices The data of the devices to create, keyed by device identifier.
+     * @param tenant The configuration of the tenant that the devices belong to.
+     * @param globalDevicesPerTenantLimit The globally defined maximum number of devices per tenant. A value
+     *                                    &lt;= 0 will be interpreted as no limit being defined.
+     * @param spanContext The span to contribute to.
+     * @return A future, tracking the outcome of the operation.
+     */
+    public Future<Void> createDevices(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Tenant tenant,
+            final int globalDevicesPerTenantLimit,
+            final SpanContext spanContext) {
+
+        final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "create devices", getClass().getSimpleName())
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
+                .withTag("num_devices", devices.size())
+                .start();
+
+        final List<Statement.ExpandedStatement> createStatements = new ArrayList<>(devices.size());
+        final List<Statement.ExpandedStatement> createMemberOfStatements = new ArrayList<>();
+
+        devices.forEach((deviceId, device) -> {
+            final JdbcBasedDeviceDto deviceDto = JdbcBasedDeviceDto.forCreation(
+                    DeviceKey.from(tenantId, deviceId),
+                    device,
+                    DeviceRegistryUtils.getUniqueIdentifier());
+            createStatements.add(this.createStatement
+                    .expand(params -> {
+                        params.put("tenant_id", deviceDto.getTenantId());
+                        params.put("device_id", deviceDto.getDeviceId());
+                        params.put("version", deviceDto.getVersion());
+                        params.put("data", deviceDto.getDeviceJson());
+                        params.put("created", Timestamp.from(deviceDto.getCreationTime()));
+                        params.put("auto_provisioned", deviceDto.isAutoProvisioned());
+                    })
+                    .trace(this.tracer, span.context()));
+            new HashSet<>(device.getMemberOf()).forEach(groupId -> createMemberOfStatements.add(this.createMemberOfStatement
+                    .expand(params -> {
+                        params.put("tenant_id", tenantId);
+                        params.put("device_id", deviceId);
+                        params.put("group_id", groupId);
+                    })
+                    .trace(this.tracer, span.context())));
+        });
+
+        return SQL
+
+                .runTransactionally(this.client, this.tracer, span.context(), (connection, context) ->
+
+                    getDeviceCount(tenantId, span.context())
+                            // the limit must not be exceeded by the last of the devices
+                            .compose(currentDeviceCount -> tenant.checkDeviceLimitReached(
+                                    tenantId,
+                                    currentDeviceCount + devices.size() - 1,
+                                    globalDevicesPerTenantLimit))
+                            .compose(ok -> Statement.ExpandedStatement.batchUpdate(connection, createStatements)
+                                    .recover(SQL::translateException))
+                            .compose(ok -> Statement.ExpandedStatement.batchUpdate(connection, createMemberOfStatements)
+                                    .recover(SQL::translateException)))
+
+                .<Void>mapEmpty()
+                .onComplete(x -> invalidateSearchBoundaries(tenantId))
                 .onComplete(x -> span.finish());
 
     }
@@ -446,6 +576,7 @@ public class TableManagementStore extends AbstractDeviceStore {
                 )
 
                 .map(x -> new Versioned<Void>(deviceDto.getVersion(), null))
+                .onComplete(x -> invalidateSearchBoundaries(key.getTenantId()))
                 .onComplete(x -> span.finish());
 
     }
@@ -541,6 +672,7 @@ public class TableManagementStore extends AbstractDeviceStore {
                 result, span,
                 resourceVersion,
                 checkSpan -> readDevice(this.client, key, checkSpan))
+                .onComplete(x -> invalidateSearchBoundaries(key.getTenantId()))
                 .onComplete(x -> span.finish());
 
     }
@@ -567,6 +699,7 @@ public class TableManagementStore extends AbstractDeviceStore {
         return expanded
                 .trace(this.tracer, span.context())
                 .update(this.client)
+                .onComplete(x -> invalidateSearchBoundaries(tenantId))
                 .onComplete(x -> span.finish());
 
     }
@@ -611,6 +744,180 @@ public class TableManagementStore extends AbstractDeviceStore {
 
     }
 
+    /**
+     * Finds devices of a tenant matching search criteria.
+     * <p>
+     * For PostgreSQL, the filters are evaluated against the JSONB document of the {@code data} column and the
+     * devices are ordered and paged by the database. The last device of each page is kept in memory for a
+     * short period of time, so that a request for a subsequent page can continue after the nearest preceding
+     * page by means of a seek condition, instead of skipping all devices of the preceding pages.
+     * Devices that have been updated by another registry instance during that period of time may
+     * therefore be missing from, or show up twice in, subsequent pages.
+     * <p>
+     * For all other databases, all devices of the tenant are read and the filters, sort options and paging
+     * are applied in memory. This is intended to be used for development and testing only.
+     *
+     * @param tenantId The tenant to search devices of.
+     * @param pageSize The maximum number of devices to include in the result.
+     * @param pageOffset The index of the page to return, starting with 0.
+     * @param filters The filters to apply.
+     * @param sortOptions The options for sorting the devices.
+     * @param spanContext The span to contribute to.
+     * @return A future tracking the outcome of the operation. The future will be failed with an
+     *         {@link EntityNotFoundException} if no devices are matching the criteria or if the
+     *         page does not contain any devices.
+     * @throws NullPointerException if any of the parameters other than span context is {@code null}.
+     * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is &lt; 0.
+     */
+    public Future<SearchResult<DeviceWithId>> findDevices(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final SpanContext spanContext) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(filters);
+        Objects.requireNonNull(sortOptions);
+
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("page size must be a positive integer");
+        }
+        if (pageOffset < 0) {
+            throw new IllegalArgumentException("page offset must not be negative");
+        }
+
+        final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "find devices", getClass().getSimpleName())
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
+                .start();
+
+        final Future<SearchResult<DeviceWithId>> result;
+        if (SQL.DIALECT_POSTGRESQL.equals(this.dialect)) {
+            result = findDevicesInDatabase(tenantId, pageSize, pageOffset, filters, sortOptions, span);
+        } else {
+            result = findDevicesInMemory(tenantId, pageSize, pageOffset, filters, sortOptions, span);
+        }
+        return result
+                .onFailure(t -> TracingHelper.logError(span, "error finding devices", t))
+                .onComplete(x -> span.finish());
+    }
+
+    private Future<SearchResult<DeviceWithId>> findDevicesInDatabase(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Span span) {
+
+        final Map<String, Object> filterParams = new HashMap<>();
+        filterParams.put("tenant_id", tenantId);
+        final String filterConditions = DeviceSearchSql.filterConditions(filters, filterParams);
+
+        final var countStatement = this.countDevicesOfTenantStatement
+                .append(filterConditions)
+                .expand(filterParams);
+
+        log.debug("count - statement: {}", countStatement);
+
+        return countStatement
+                .trace(this.tracer, span.context())
+                .query(this.client)
+                .compose(r -> {
+                    final int total = r.getRows(true).get(0).getInteger("DEVICECOUNT");
+                    if (total <= pageOffset * pageSize) {
+                        return Future.failedFuture(new EntityNotFoundException());
+                    }
+
+                    final List<Object> boundariesKey = DeviceSearchSql.boundariesKey(tenantId, pageSize, total, filters, sortOptions);
+                    final var boundaries = this.searchBoundaries.asMap()
+                            .computeIfAbsent(boundariesKey, k -> new ConcurrentSkipListMap<>());
+                    final var boundary = boundaries.floorEntry(pageOffset - 1);
+
+                    final Map<String, Object> params = new HashMap<>(filterParams);
+                    final StringBuilder sql = new StringBuilder(filterConditions);
+                    final int skippedPages;
+                    if (boundary == null) {
+                        skippedPages = pageOffset;
+                    } else {
+                        sql.append(DeviceSearchSql.seekCondition(sortOptions, boundary.getValue(), params));
+                        skippedPages = pageOffset - boundary.getKey() - 1;
+                    }
+                    sql.append(DeviceSearchSql.orderBy(sortOptions, params));
+                    sql.append(" LIMIT :page_size OFFSET :skipped_devices");
+                    params.put("page_size", pageSize);
+                    params.put("skipped_devices", skippedPages * pageSize);
+                    span.log(Map.of("skipped_devices", skippedPages * pageSize));
+
+                    final var expanded = this.searchDevicesStatement.append(sql.toString()).expand(params);
+
+                    log.debug("search - statement: {}", expanded);
+
+                    return expanded
+                            .trace(this.tracer, span.context())
+                            .query(this.client)
+                            .map(rs -> {
+                                final List<DeviceWithId> devices = new ArrayList<>();
+                                JsonObject data = null;
+                                String deviceId = null;
+                                for (final JsonObject row : rs.getRows(true)) {
+                                    deviceId = row.getString("device_id");
+                                    data = new JsonObject(row.getString("data"));
+                                    devices.add(DeviceWithId.from(deviceId, data.mapTo(Device.class)));
+                                }
+                                if (devices.size() == pageSize) {
+                                    boundaries.put(pageOffset, DeviceSearchSql.boundary(sortOptions, deviceId, data));
+                                }
+                                return new SearchResult<>(total, devices);
+                            });
+                });
+    }
+
+    private Future<SearchResult<DeviceWithId>> findDevicesInMemory(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Span span) {
+
+        final var expanded = this.searchDevicesStatement.expand(params -> {
+            params.put("tenant_id", tenantId);
+        });
+
+        log.debug("search - statement: {}", expanded);
+
+        return expanded
+                .trace(this.tracer, span.context())
+                .query(this.client)
+                .compose(r -> {
+                    final Predicate<JsonObject> filterPredicate = DeviceRegistryUtils.getJsonBasedSearchPredicate(filters);
+                    final List<JsonObject> matchingDevices = r.getRows(true).stream()
+                            .map(row -> new JsonObject(row.getString("data"))
+                                    .put(RegistryManagementConstants.FIELD_ID, row.getString("device_id")))
+                            .filter(filterPredicate)
+                            .sorted(DeviceRegistryUtils.getJsonBasedSearchComparator(sortOptions)
+                                    .thenComparing(device -> device.getString(RegistryManagementConstants.FIELD_ID)))
+                            .collect(Collectors.toList());
+
+                    final int startIdxIncl = pageOffset * pageSize;
+                    if (matchingDevices.size() <= startIdxIncl) {
+                        return Future.failedFuture(new EntityNotFoundException());
+                    }
+                    final List<DeviceWithId> devices = matchingDevices
+                            .subList(startIdxIncl, Math.min(startIdxIncl + pageSize, matchingDevices.size()))
+                            .stream()
+                            .map(device -> device.mapTo(DeviceWithId.class))
+                            .collect(Collectors.toList());
+                    return Future.succeededFuture(new SearchResult<>(matchingDevices.size(), devices));
+                });
+    }
+
+    private void invalidateSearchBoundaries(final String tenantId) {
+        this.searchBoundaries.asMap().keySet().removeIf(key -> tenantId.equals(key.get(0)));
+    }
+
     /**
      * Set all credentials for a device.
      * <p>
@@ -728,6 +1035,107 @@ public class TableManagementStore extends AbstractDeviceStore {
 
     }
 
+    /**
+     * Set all credentials of multiple devices of a tenant.
+     * <p>
+     * This method executes the {@code setDeviceVersion}, {@code deleteAllCredentials} and
+     * {@code insertCredentialEntry} statements as batch updates within a single transaction.
+     * The resource versions of the devices on record are ignored.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param credentials The credentials to set, keyed by device identifier. The credentials must not
+     *                    require merging with the credentials on record.
+     * @param spanContext The span to contribute to.
+     * @return A future, tracking the outcome of the operation. The future will be succeeded with the
+     *         identifiers of the devices that do not exist. The credentials of all other devices have
+     *         been set. The future will be failed with an {@link IllegalArgumentException} if any of
+     *         the credentials require merging.
+     */
+    public Future<Set<String>> setCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final SpanContext spanContext) {
+
+        final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "set credentials of devices", getClass().getSimpleName())
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
+                .withTag("num_devices", credentials.size())
+                .start();
+
+        final List<String> deviceIds = new ArrayList<>(credentials.size());
+        final List<CredentialsDto> updatedCredentials = new ArrayList<>(credentials.size());
+        final List<Statement.ExpandedStatement> versionStatements = new ArrayList<>(credentials.size());
+
+        for (final Map.Entry<String, List<CommonCredential>> entry : credentials.entrySet()) {
+            final String deviceId = entry.getKey();
+            final String nextVersion = UUID.randomUUID().toString();
+            final var updatedCredentialsDto = CredentialsDto.forUpdate(tenantId, deviceId, entry.getValue(), nextVersion);
+            if (updatedCredentialsDto.requiresMerging()) {
+                span.finish();
+                return Future.failedFuture(new IllegalArgumentException("credentials require merging"));
+            }
+            updatedCredentialsDto.createMissingSecretIds();
+            deviceIds.add(deviceId);
+            updatedCredentials.add(updatedCredentialsDto);
+            versionStatements.add(this.setDeviceVersionStatement
+                    .expand(map -> {
+                        map.put("tenant_id", tenantId);
+                        map.put("device_id", deviceId);
+                        map.put("next_version", nextVersion);
+                    })
+                    .trace(this.tracer, span.context()));
+        }
+
+        return SQL.runTransactionally(this.client, this.tracer, span.context(), (connection, context) ->
+
+                // update the versions first, this also locks the devices
+                Statement.ExpandedStatement.batchUpdate(connection, versionStatements)
+                    .compose(updateCounts -> {
+
+                        final Set<String> missingDevices = new HashSet<>();
+                        final List<Statement.ExpandedStatement> deleteStatements = new ArrayList<>();
+                        final List<Statement.ExpandedStatement> insertStatements = new ArrayList<>();
+
+                        for (int i = 0; i < deviceIds.size(); i++) {
+                            final String deviceId = deviceIds.get(i);
+                            if (updateCounts.get(i) == 0) {
+                                missingDevices.add(deviceId);
+                                continue;
+                            }
+                            deleteStatements.add(this.deleteAllCredentialsStatement
+                                    .expand(map -> {
+                                        map.put("tenant_id", tenantId);
+                                        map.put("device_id", deviceId);
+                                    })
+                                    .trace(this.tracer, span.context()));
+                            updatedCredentials.get(i).getData().stream()
+                                    .map(JsonObject::mapFrom)
+                                    .filter(c -> c.containsKey("type") && c.containsKey("auth-id"))
+                                    .forEach(c -> insertStatements.add(this.insertCredentialEntryStatement
+                                            .expand(map -> {
+                                                map.put("tenant_id", tenantId);
+                                                map.put("device_id", deviceId);
+                                                map.put("type", c.getString("type"));
+                                                map.put("auth_id", c.getString("auth-id"));
+                                                map.put("data", c.toString());
+                                            })
+                                            .trace(this.tracer, span.context())));
+                        }
+
+                        return Statement.ExpandedStatement.batchUpdate(connection, deleteStatements)
+                                .compose(ok -> Statement.ExpandedStatement.batchUpdate(connection, insertStatements))
+                                .recover(SQL::translateException)
+                                .map(ok -> missingDevices);
+                    }))
+
+                .onSuccess(missingDevices -> {
+                    if (!missingDevices.isEmpty()) {
+                        TracingHelper.logError(span, "Entity not found");
+                    }
+                })
+                .onComplete(x -> span.finish());
+
+    }
+
     private Future<CredentialsDto> getCredentialsDto(
             final DeviceKey key,
             final SQLConnection connection,
@@ -53,6 +53,8 @@ CREATE TABLE IF NOT EXISTS device_states
 -- create indexes for non-primary key access paths
 
 CREATE INDEX IF NOT EXISTS idx_device_registrations_tenant ON device_registrations (TENANT_ID);
+-- supports searching devices by the content of their registration information
+CREATE INDEX IF NOT EXISTS idx_device_registrations_data ON device_registrations USING GIN (DATA jsonb_path_ops);
 
 CREATE INDEX IF NOT EXISTS idx_device_credentials_tenant ON device_credentials (TENANT_ID);
 CREATE INDEX IF NOT EXISTS idx_device_credentials_tenant_and_device ON device_credentials (TENANT_ID, DEVICE_ID);
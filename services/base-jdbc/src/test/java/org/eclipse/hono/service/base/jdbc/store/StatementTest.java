@@ -14,6 +14,7 @@
 package org.eclipse.hono.service.base.jdbc.store;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -79,6 +80,39 @@ public class StatementTest {
         statement.validateParameters("data", "device_id", "next_version", "tenant_id");
     }
 
+    /**
+     * Test that named parameters may contain digits.
+     */
+    @Test
+    public void testParameterNamesWithDigits() {
+        final var expanded = Statement.statement("SELECT foo FROM bar WHERE baz=:f0 AND qux=:f10_1")
+                .validateParameters("f0", "f10_1")
+                .expand(params -> {
+                    params.put("f0", "a");
+                    params.put("f10_1", "b");
+                });
+
+        assertEquals("SELECT foo FROM bar WHERE baz=? AND qux=?", expanded.getSql());
+        assertArrayEquals(new Object[] {"a", "b"}, expanded.getParameters());
+    }
+
+    /**
+     * Test that appending SQL to a statement keeps the positions of all named parameters.
+     */
+    @Test
+    public void testAppend() {
+        final var expanded = Statement.statement("SELECT foo FROM %s WHERE baz=:baz", "bar")
+                .append(" AND data @> :doc::jsonb AND qux LIKE :baz")
+                .validateParameters("baz", "doc")
+                .expand(params -> {
+                    params.put("baz", "a");
+                    params.put("doc", "{}");
+                });
+
+        assertEquals("SELECT foo FROM bar WHERE baz=? AND data @> ?::jsonb AND qux LIKE ?", expanded.getSql());
+        assertArrayEquals(new Object[] {"a", "{}", "a"}, expanded.getParameters());
+    }
+
     /**
      * Test that we didn't break basic YAML with out override method.
      */
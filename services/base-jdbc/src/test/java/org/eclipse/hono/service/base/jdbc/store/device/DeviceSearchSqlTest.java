@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.base.jdbc.store.device;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.hono.service.management.Filter;
+import org.eclipse.hono.service.management.Sort;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.pointer.JsonPointer;
+
+/**
+ * Testing {@link DeviceSearchSql}.
+ */
+public class DeviceSearchSqlTest {
+
+    /**
+     * Test that filters are mapped to the device ID column, containment checks, path comparisons and patterns.
+     */
+    @Test
+    public void testFilterConditions() {
+        final Map<String, Object> params = new HashMap<>();
+        final String sql = DeviceSearchSql.filterConditions(List.of(
+                new Filter("/id", "test*-?"),
+                new Filter("/enabled", true),
+                new Filter("/via/0", "gw-1"),
+                new Filter("/ext/id", "a_b*")),
+                params);
+
+        assertEquals(" AND device_id LIKE :filter_0 ESCAPE '\\'"
+                + " AND data @> :filter_1::jsonb"
+                + " AND data #> :filter_2_path::text[] = :filter_2::jsonb"
+                + " AND data #>> :filter_3_path::text[] LIKE :filter_3 ESCAPE '\\'", sql);
+        assertEquals("test%-_", params.get("filter_0"));
+        assertEquals("{\"enabled\":true}", params.get("filter_1"));
+        assertEquals("{\"via\",\"0\"}", params.get("filter_2_path"));
+        assertEquals("\"gw-1\"", params.get("filter_2"));
+        assertEquals("{\"ext\",\"id\"}", params.get("filter_3_path"));
+        assertEquals("a\\_b%", params.get("filter_3"));
+    }
+
+    /**
+     * Test that special characters are escaped in patterns and paths.
+     */
+    @Test
+    public void testEscaping() {
+        assertEquals("100\\%\\\\%", DeviceSearchSql.toLikePattern("100%\\*"));
+        assertEquals("{\"a/b\",\"c\\\"d\"}", DeviceSearchSql.toPathLiteral(JsonPointer.from("/a~1b/c\"d")));
+        assertEquals("{\"ext\":{\"a/b\":1}}", DeviceSearchSql.toContainmentDocument(JsonPointer.from("/ext/a~1b"), 1));
+    }
+
+    /**
+     * Test that devices are always ordered by their identifier last.
+     */
+    @Test
+    public void testOrderByEndsWithDeviceId() {
+        final Sort sort = new Sort("/ext/name");
+        sort.setDirection(Sort.Direction.DESC);
+
+        final Map<String, Object> params = new HashMap<>();
+        assertEquals(" ORDER BY COALESCE(data #> :sort_0::text[], 'null'::jsonb) DESC, device_id ASC",
+                DeviceSearchSql.orderBy(List.of(sort), params));
+        assertEquals("{\"ext\",\"name\"}", params.get("sort_0"));
+
+        assertEquals(" ORDER BY device_id ASC", DeviceSearchSql.orderBy(List.of(), new HashMap<>()));
+    }
+
+    /**
+     * Test that the seek condition matches the devices following the boundary in sort order.
+     */
+    @Test
+    public void testSeekCondition() {
+        final Sort sort = new Sort("/ext/name");
+        sort.setDirection(Sort.Direction.DESC);
+        final var boundary = DeviceSearchSql.boundary(
+                List.of(sort),
+                "device-1",
+                new JsonObject().put("ext", new JsonObject().put("name", "foo")));
+
+        final Map<String, Object> params = new HashMap<>();
+        final String sql = DeviceSearchSql.seekCondition(List.of(sort), boundary, params);
+
+        final String key = "COALESCE(data #> :sort_0::text[], 'null'::jsonb)";
+        assertEquals(" AND ((" + key + " < :boundary_0::jsonb)"
+                + " OR (" + key + " = :boundary_0::jsonb AND device_id > :boundary_1))", sql);
+        assertEquals("\"foo\"", params.get("boundary_0"));
+        assertEquals("device-1", params.get("boundary_1"));
+    }
+
+    /**
+     * Test that sort options following the device identifier are ignored.
+     */
+    @Test
+    public void testSortOptionsAfterDeviceIdAreIgnored() {
+        final Sort byId = new Sort("/id");
+        byId.setDirection(Sort.Direction.DESC);
+        final List<Sort> sortOptions = List.of(byId, new Sort("/ext/name"));
+        final var boundary = DeviceSearchSql.boundary(sortOptions, "device-1", new JsonObject());
+
+        final Map<String, Object> params = new HashMap<>();
+        assertEquals(" ORDER BY device_id DESC", DeviceSearchSql.orderBy(sortOptions, params));
+        assertEquals(" AND ((device_id < :boundary_0))", DeviceSearchSql.seekCondition(sortOptions, boundary, params));
+        assertEquals(Map.of("boundary_0", "device-1"), params);
+    }
+
+    /**
+     * Test that the boundaries of different searches are kept apart.
+     */
+    @Test
+    public void testBoundariesKey() {
+        final List<Object> key = DeviceSearchSql.boundariesKey("tenant", 10, 42, List.of(new Filter("/enabled", true)), List.of());
+        assertEquals(key, DeviceSearchSql.boundariesKey("tenant", 10, 42, List.of(new Filter("/enabled", true)), List.of()));
+        assertEquals(new JsonArray().add(new JsonArray().add("/enabled").add("eq").add(true)).encode(), key.get(3));
+    }
+}
@@ -13,6 +13,9 @@
 
 package org.eclipse.hono.commandrouter;
 
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
 import org.eclipse.hono.service.metric.Metrics;
 import org.eclipse.hono.service.metric.NoopBasedMetrics;
 
@@ -28,6 +31,28 @@ public interface CommandRouterMetrics extends Metrics {
 
         private Noop() {
         }
+
+        @Override
+        public void reportCommandRoutingReenablementProgress(
+                final int pendingDelta,
+                final int inProcessDelta,
+                final int processed) {
+            // do nothing
+        }
+
+        @Override
+        public void registerCommandQueueGauges(
+                final String tenantId,
+                final int partition,
+                final IntSupplier queueSize,
+                final LongSupplier headOfLineBlockingTime) {
+            // do nothing
+        }
+
+        @Override
+        public void unregisterCommandQueueGauges(final String tenantId, final int partition) {
+            // do nothing
+        }
     }
 
     /**
@@ -35,5 +60,43 @@ public interface CommandRouterMetrics extends Metrics {
      */
     CommandRouterMetrics NOOP = new Noop();
 
-    // empty for now
+    /**
+     * Reports the progress of re-enabling command routing for tenants.
+     * <p>
+     * The values are reported as changes to the number of tenants in the respective state so that
+     * the progress of multiple service instances can be aggregated.
+     *
+     * @param pendingDelta The change in the number of tenants waiting to be processed.
+     * @param inProcessDelta The change in the number of tenants being processed.
+     * @param processed The number of tenants that have been processed (successfully or not).
+     */
+    void reportCommandRoutingReenablementProgress(int pendingDelta, int inProcessDelta, int processed);
+
+    /**
+     * Registers gauges for the queue of commands that have been received from a partition of
+     * a tenant's command topic and that are currently being processed.
+     *
+     * @param tenantId The tenant that the commands belong to.
+     * @param partition The partition of the tenant's command topic.
+     * @param queueSize The supplier of the number of commands in the queue.
+     * @param headOfLineBlockingTime The supplier of the time (milliseconds) that commands which are
+     *                               ready to be sent have been waiting for the command at the head
+     *                               of the queue to be processed.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void registerCommandQueueGauges(
+            String tenantId,
+            int partition,
+            IntSupplier queueSize,
+            LongSupplier headOfLineBlockingTime);
+
+    /**
+     * Removes the gauges registered by means of
+     * {@link #registerCommandQueueGauges(String, int, IntSupplier, LongSupplier)}.
+     *
+     * @param tenantId The tenant that the commands belong to.
+     * @param partition The partition of the tenant's command topic.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    void unregisterCommandQueueGauges(String tenantId, int partition);
 }
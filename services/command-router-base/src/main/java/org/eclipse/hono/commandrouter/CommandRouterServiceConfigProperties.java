@@ -17,7 +17,13 @@ package org.eclipse.hono.commandrouter;
  */
 public class CommandRouterServiceConfigProperties {
 
+    /**
+     * The default maximum number of tenants for which command routing is re-enabled concurrently.
+     */
+    public static final int DEFAULT_COMMAND_ROUTING_REENABLEMENT_CONCURRENCY = 10;
+
     private boolean kubernetesBasedAdapterInstanceStatusServiceEnabled = true;
+    private int commandRoutingReenablementConcurrency = DEFAULT_COMMAND_ROUTING_REENABLEMENT_CONCURRENCY;
 
     /**
      * Creates new properties using default values.
@@ -33,6 +39,7 @@ public class CommandRouterServiceConfigProperties {
      */
     public CommandRouterServiceConfigProperties(final CommandRouterServiceOptions options) {
         setKubernetesBasedAdapterInstanceStatusServiceEnabled(options.kubernetesBasedAdapterInstanceStatusServiceEnabled());
+        setCommandRoutingReenablementConcurrency(options.commandRoutingReenablementConcurrency());
     }
 
     /**
@@ -59,4 +66,38 @@ public class CommandRouterServiceConfigProperties {
         this.kubernetesBasedAdapterInstanceStatusServiceEnabled = kubernetesBasedAdapterInstanceStatusServiceEnabled;
         return this;
     }
+
+    /**
+     * Gets the maximum number of tenants for which command routing is re-enabled concurrently.
+     * <p>
+     * Command routing is re-enabled for all tenants that protocol adapters have been
+     * connected to when the Command Router gets restarted.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_COMMAND_ROUTING_REENABLEMENT_CONCURRENCY}.
+     *
+     * @return The number of tenants.
+     */
+    public final int getCommandRoutingReenablementConcurrency() {
+        return commandRoutingReenablementConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of tenants for which command routing is re-enabled concurrently.
+     * <p>
+     * Command routing is re-enabled for all tenants that protocol adapters have been
+     * connected to when the Command Router gets restarted.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_COMMAND_ROUTING_REENABLEMENT_CONCURRENCY}.
+     *
+     * @param concurrency The number of tenants.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if concurrency is &lt; 1.
+     */
+    public final CommandRouterServiceConfigProperties setCommandRoutingReenablementConcurrency(final int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be > 0");
+        }
+        this.commandRoutingReenablementConcurrency = concurrency;
+        return this;
+    }
 }
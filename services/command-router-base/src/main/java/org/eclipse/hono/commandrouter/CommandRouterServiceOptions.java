@@ -31,4 +31,12 @@ public interface CommandRouterServiceOptions {
      */
     @WithDefault("true")
     boolean kubernetesBasedAdapterInstanceStatusServiceEnabled();
+
+    /**
+     * Gets the maximum number of tenants for which command routing is re-enabled concurrently.
+     *
+     * @return The number of tenants.
+     */
+    @WithDefault("10")
+    int commandRoutingReenablementConcurrency();
 }
@@ -13,9 +13,22 @@
 
 package org.eclipse.hono.commandrouter;
 
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
 import io.vertx.core.Vertx;
 
 /**
@@ -23,6 +36,35 @@ import io.vertx.core.Vertx;
  */
 public class MicrometerBasedCommandRouterMetrics extends MicrometerBasedMetrics implements CommandRouterMetrics {
 
+    /**
+     * The name of the gauge reporting the number of tenants waiting for command routing to be re-enabled.
+     */
+    public static final String METER_COMMAND_ROUTING_REENABLEMENT_PENDING = "hono.command.routing.reenablement.pending";
+    /**
+     * The name of the gauge reporting the number of tenants for which command routing is being re-enabled.
+     */
+    public static final String METER_COMMAND_ROUTING_REENABLEMENT_IN_PROCESS = "hono.command.routing.reenablement.inprocess";
+    /**
+     * The name of the counter reporting the number of tenants for which re-enabling command routing has been finished.
+     */
+    public static final String METER_COMMAND_ROUTING_REENABLEMENT_PROCESSED = "hono.command.routing.reenablement.processed";
+    /**
+     * The name of the gauge reporting the number of commands being processed per partition of a tenant's command topic.
+     */
+    public static final String METER_COMMAND_QUEUE_SIZE = "hono.commands.queue.size";
+    /**
+     * The name of the gauge reporting the head-of-line blocking time per partition of a tenant's command topic.
+     */
+    public static final String METER_COMMAND_QUEUE_BLOCKED = "hono.commands.queue.blocked";
+    /**
+     * The name of the tag containing the partition of a tenant's command topic.
+     */
+    public static final String TAG_PARTITION = "partition";
+
+    private final AtomicInteger reenablementPending;
+    private final AtomicInteger reenablementInProcess;
+    private final Counter reenablementProcessed;
+
     /**
      * Create a new metrics instance for the Command Router service.
      *
@@ -33,5 +75,59 @@ public class MicrometerBasedCommandRouterMetrics extends MicrometerBasedMetrics
      */
     public MicrometerBasedCommandRouterMetrics(final MeterRegistry registry, final Vertx vertx) {
         super(registry, vertx);
+        this.reenablementPending = registry.gauge(METER_COMMAND_ROUTING_REENABLEMENT_PENDING, new AtomicInteger());
+        this.reenablementInProcess = registry.gauge(METER_COMMAND_ROUTING_REENABLEMENT_IN_PROCESS, new AtomicInteger());
+        this.reenablementProcessed = registry.counter(METER_COMMAND_ROUTING_REENABLEMENT_PROCESSED);
+    }
+
+    @Override
+    public void reportCommandRoutingReenablementProgress(
+            final int pendingDelta,
+            final int inProcessDelta,
+            final int processed) {
+
+        reenablementPending.addAndGet(pendingDelta);
+        reenablementInProcess.addAndGet(inProcessDelta);
+        if (processed > 0) {
+            reenablementProcessed.increment(processed);
+        }
+    }
+
+    @Override
+    public void registerCommandQueueGauges(
+            final String tenantId,
+            final int partition,
+            final IntSupplier queueSize,
+            final LongSupplier headOfLineBlockingTime) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(queueSize);
+        Objects.requireNonNull(headOfLineBlockingTime);
+
+        final Tags tags = getCommandQueueTags(tenantId, partition);
+        Gauge.builder(METER_COMMAND_QUEUE_SIZE, queueSize, IntSupplier::getAsInt)
+            .tags(tags)
+            .strongReference(true)
+            .register(registry);
+        TimeGauge.builder(METER_COMMAND_QUEUE_BLOCKED, headOfLineBlockingTime, TimeUnit.MILLISECONDS, LongSupplier::getAsLong)
+            .tags(tags)
+            .strongReference(true)
+            .register(registry);
+    }
+
+    @Override
+    public void unregisterCommandQueueGauges(final String tenantId, final int partition) {
+
+        Objects.requireNonNull(tenantId);
+
+        final Tags tags = getCommandQueueTags(tenantId, partition);
+        Optional.ofNullable(registry.find(METER_COMMAND_QUEUE_SIZE).tags(tags).gauge())
+            .ifPresent(registry::remove);
+        Optional.ofNullable(registry.find(METER_COMMAND_QUEUE_BLOCKED).tags(tags).timeGauge())
+            .ifPresent(registry::remove);
+    }
+
+    private static Tags getCommandQueueTags(final String tenantId, final int partition) {
+        return Tags.of(MetricsTags.getTenantTag(tenantId), Tag.of(TAG_PARTITION, String.valueOf(partition)));
     }
 }
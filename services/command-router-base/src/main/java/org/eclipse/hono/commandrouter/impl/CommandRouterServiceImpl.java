@@ -16,14 +16,11 @@ package org.eclipse.hono.commandrouter.impl;
 import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.hono.client.ServerErrorException;
@@ -34,6 +31,8 @@ import org.eclipse.hono.client.util.MessagingClientProvider;
 import org.eclipse.hono.client.util.ServiceClient;
 import org.eclipse.hono.commandrouter.AdapterInstanceStatusService;
 import org.eclipse.hono.commandrouter.CommandConsumerFactory;
+import org.eclipse.hono.commandrouter.CommandRouterMetrics;
+import org.eclipse.hono.commandrouter.CommandRouterServiceConfigProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.deviceconnection.infinispan.client.DeviceConnectionInfo;
 import org.eclipse.hono.service.HealthCheckProvider;
@@ -42,7 +41,6 @@ import org.eclipse.hono.service.commandrouter.CommandRouterService;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.Lifecycle;
 import org.eclipse.hono.util.MessagingType;
-import org.eclipse.hono.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,49 +64,55 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
     private static final Logger LOG = LoggerFactory.getLogger(CommandRouterServiceImpl.class);
 
     private final ServiceConfigProperties config;
+    private final CommandRouterServiceConfigProperties commandRouterConfig;
     private final DeviceRegistrationClient registrationClient;
     private final TenantClient tenantClient;
     private final DeviceConnectionInfo deviceConnectionInfo;
     private final MessagingClientProvider<CommandConsumerFactory> commandConsumerFactoryProvider;
     private final AdapterInstanceStatusService adapterInstanceStatusService;
+    private final CommandRouterMetrics metrics;
     private final Tracer tracer;
-    private final Deque<Pair<String, Integer>> tenantsToEnable = new LinkedList<>();
-    private final Set<String> reenabledTenants = new HashSet<>();
-    private final Set<String> tenantsInProcess = new HashSet<>();
     private final AtomicBoolean running = new AtomicBoolean();
 
     /**
      * Vert.x context that this service has been started in.
      */
     private Context context;
+    private CommandRoutingReenablementScheduler reenablementScheduler;
 
     /**
      * Creates a new CommandRouterServiceImpl.
      *
      * @param config The command router's AMQP server configuration.
+     * @param commandRouterConfig The command router's service configuration.
      * @param registrationClient The device registration client.
      * @param tenantClient The tenant client.
      * @param deviceConnectionInfo The client for accessing device connection data.
      * @param commandConsumerFactoryProvider The factory provider to use for creating clients to receive commands.
      * @param adapterInstanceStatusService The service providing info about the status of adapter instances.
+     * @param metrics The component to use for reporting metrics.
      * @param tracer The Open Tracing tracer to use for tracking processing of requests.
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
     public CommandRouterServiceImpl(
             final ServiceConfigProperties config,
+            final CommandRouterServiceConfigProperties commandRouterConfig,
             final DeviceRegistrationClient registrationClient,
             final TenantClient tenantClient,
             final DeviceConnectionInfo deviceConnectionInfo,
             final MessagingClientProvider<CommandConsumerFactory> commandConsumerFactoryProvider,
             final AdapterInstanceStatusService adapterInstanceStatusService,
+            final CommandRouterMetrics metrics,
             final Tracer tracer) {
 
         this.config = Objects.requireNonNull(config);
+        this.commandRouterConfig = Objects.requireNonNull(commandRouterConfig);
         this.registrationClient = Objects.requireNonNull(registrationClient);
         this.tenantClient = Objects.requireNonNull(tenantClient);
         this.deviceConnectionInfo = Objects.requireNonNull(deviceConnectionInfo);
         this.commandConsumerFactoryProvider = Objects.requireNonNull(commandConsumerFactoryProvider);
         this.adapterInstanceStatusService = Objects.requireNonNull(adapterInstanceStatusService);
+        this.metrics = Objects.requireNonNull(metrics);
         this.tracer = Objects.requireNonNull(tracer);
     }
 
@@ -136,6 +140,11 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
         }
 
         if (running.compareAndSet(false, true)) {
+            reenablementScheduler = new CommandRoutingReenablementScheduler(
+                    context,
+                    commandRouterConfig.getCommandRoutingReenablementConcurrency(),
+                    this::activateCommandRouting,
+                    metrics);
             registrationClient.start();
             tenantClient.start();
             if (deviceConnectionInfo instanceof Lifecycle) {
@@ -162,7 +171,7 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
             }
             results.add(commandConsumerFactoryProvider.stop());
             results.add(adapterInstanceStatusService.stop());
-            tenantsToEnable.clear();
+            reenablementScheduler.stop();
             return CompositeFuture.join(results)
                     .onFailure(t -> {
                         LOG.info("error while stopping command router", t);
@@ -196,6 +205,34 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
             final String deviceId, final String adapterInstanceId, final Duration lifespan,
             final Span span) {
 
+        return createCommandConsumer(tenantId, span)
+                .compose(v -> deviceConnectionInfo
+                        .setCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, getSanitizedLifespan(lifespan), span)
+                        .onFailure(thr -> {
+                            LOG.info("error setting command handling adapter instance [tenant: {}, device: {}]", tenantId, deviceId, thr);
+                        }))
+                .map(v -> CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT))
+                .otherwise(t -> CommandRouterResult.from(ServiceInvocationException.extractStatusCode(t)));
+    }
+
+    @Override
+    public Future<CommandRouterResult> registerCommandConsumer(final String tenantId,
+            final List<String> deviceIds, final String adapterInstanceId, final Duration lifespan,
+            final Span span) {
+
+        return createCommandConsumer(tenantId, span)
+                .compose(v -> deviceConnectionInfo
+                        .setCommandHandlingAdapterInstances(tenantId, new HashSet<>(deviceIds), adapterInstanceId,
+                                getSanitizedLifespan(lifespan), span)
+                        .onFailure(thr -> {
+                            LOG.info("error setting command handling adapter instance for {} devices [tenant: {}]",
+                                    deviceIds.size(), tenantId, thr);
+                        }))
+                .map(v -> CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT))
+                .otherwise(t -> CommandRouterResult.from(ServiceInvocationException.extractStatusCode(t)));
+    }
+
+    private Future<Void> createCommandConsumer(final String tenantId, final Span span) {
         return tenantClient.get(tenantId, span.context())
                 .compose(tenantObject -> {
                     final CommandConsumerFactory primaryFactory = commandConsumerFactoryProvider.getClient(tenantObject);
@@ -219,14 +256,7 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
                     // the reverse case of an AMQP-configured tenant while Kafka is available is handled implicitly
                     // because of the Kafka wildcard topic subscription (no auto-creation triggered in that case)
                     return primaryConsumerFuture;
-                })
-                .compose(v -> deviceConnectionInfo
-                        .setCommandHandlingAdapterInstance(tenantId, deviceId, adapterInstanceId, getSanitizedLifespan(lifespan), span)
-                        .onFailure(thr -> {
-                            LOG.info("error setting command handling adapter instance [tenant: {}, device: {}]", tenantId, deviceId, thr);
-                        }))
-                .map(v -> CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT))
-                .otherwise(t -> CommandRouterResult.from(ServiceInvocationException.extractStatusCode(t)));
+                });
     }
 
     private Duration getSanitizedLifespan(final Duration lifespan) {
@@ -251,6 +281,20 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
                 .otherwise(t -> CommandRouterResult.from(ServiceInvocationException.extractStatusCode(t)));
     }
 
+    @Override
+    public Future<CommandRouterResult> unregisterCommandConsumer(final String tenantId, final List<String> deviceIds,
+            final String adapterInstanceId, final Span span) {
+
+        return deviceConnectionInfo
+                .removeCommandHandlingAdapterInstances(tenantId, new HashSet<>(deviceIds), adapterInstanceId, span)
+                .onFailure(thr -> {
+                    LOG.info("error removing command handling adapter instance for {} devices [tenant: {}]",
+                            deviceIds.size(), tenantId, thr);
+                })
+                .map(v -> CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT))
+                .otherwise(t -> CommandRouterResult.from(ServiceInvocationException.extractStatusCode(t)));
+    }
+
     @Override
     public Future<CommandRouterResult> enableCommandRouting(final List<String> tenantIds, final Span span) {
 
@@ -259,95 +303,45 @@ public class CommandRouterServiceImpl implements CommandRouterService, HealthChe
         }
 
         Objects.requireNonNull(tenantIds);
-        final boolean isProcessingRequired = tenantsToEnable.isEmpty();
-        tenantIds.stream()
-            .filter(s -> !reenabledTenants.contains(s))
-            .filter(s -> !tenantsInProcess.contains(s))
-            .filter(s -> tenantsToEnable.stream()
-                .allMatch(entry -> !entry.one().equals(s)))
-            .forEach(s -> tenantsToEnable.addLast(Pair.of(s, 1)));
-
-        if (isProcessingRequired) {
-            LOG.debug("triggering re-enabling of command routing");
-            processTenantQueue(span.context());
-        }
+        reenablementScheduler.submit(tenantIds, span.context());
         return Future.succeededFuture(CommandRouterResult.from(HttpURLConnection.HTTP_NO_CONTENT));
     }
 
-    private void processTenantQueue(final SpanContext tracingContext) {
-
-        final var attempt = tenantsToEnable.pollFirst();
-        if (attempt == null) {
-            // at this point there might still be pending (re-try) tasks on the event loop,
-            // thus we need to wait for those to have finished before declaring victory
-            if (tenantsInProcess.isEmpty()) {
-                reenabledTenants.clear();
-                LOG.debug("finished re-enabling of command routing");
-            }
-        } else {
-            tenantsInProcess.add(attempt.one());
-            final long delay = calculateDelayMillis(attempt.two());
-            if (delay <= 0) {
-                context.runOnContext(go -> activateCommandRouting(attempt, tracingContext));
-            } else {
-                context.owner().setTimer(delay, tid -> activateCommandRouting(attempt, tracingContext));
-            }
-        }
-    }
-
-    private long calculateDelayMillis(final int attemptNo) {
-        if (attemptNo == 1) {
-            // run first attempt immediately
-            return 0L;
-        } else if (attemptNo > 6) {
-            // cap delay at 10secs
-            return 10000L;
-        } else {
-            // wait for 2^attemptNo times 100 millis before retrying
-            return (1 << attemptNo) * 100L;
-        }
-    }
-
-    private void activateCommandRouting(
-            final Pair<String, Integer> attempt,
+    private Future<Void> activateCommandRouting(
+            final String tenantId,
+            final int attemptNo,
             final SpanContext tracingContext) {
 
         if (!running.get()) {
             // component has been stopped, no need to create command consumer in this case
-            tenantsInProcess.remove(attempt.one());
-            return;
+            return Future.succeededFuture();
         }
 
         final Span span = tracer.buildSpan("re-enable command routing for tenant")
                 .addReference(References.FOLLOWS_FROM, tracingContext)
-                .withTag(TracingHelper.TAG_TENANT_ID, attempt.one())
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
                 .start();
         final var logEntries = new HashMap<String, Object>(2);
-        logEntries.put("attempt#", attempt.two());
-        tenantClient.get(attempt.one(), span.context())
+        logEntries.put("attempt#", attemptNo);
+        return tenantClient.get(tenantId, span.context())
             .map(tenantObject -> commandConsumerFactoryProvider.getClient(tenantObject))
-            .map(factory -> factory.createCommandConsumer(attempt.one(), span.context()))
+            .compose(factory -> factory.createCommandConsumer(tenantId, span.context()))
             .onSuccess(ok -> {
                 logEntries.put(Fields.MESSAGE, "successfully created command consumer");
                 span.log(logEntries);
-                reenabledTenants.add(attempt.one());
             })
             .onFailure(t -> {
                 logEntries.put(Fields.MESSAGE, "failed to create command consumer");
                 logEntries.put(Fields.ERROR_OBJECT, t);
                 TracingHelper.logError(span, logEntries);
                 if (t instanceof ServerErrorException) {
-                    // add to end of queue in order to retry at a later time
-                    LOG.info("failed to create command consumer [attempt#: {}]", attempt.two(), t);
+                    // will be retried at a later time
+                    LOG.info("failed to create command consumer [attempt#: {}]", attemptNo, t);
                     span.log("marking tenant for later re-try to create command consumer");
-                    tenantsToEnable.addLast(Pair.of(attempt.one(), attempt.two() + 1));
                 }
             })
-            .onComplete(r -> {
-                span.finish();
-                tenantsInProcess.remove(attempt.one());
-                processTenantQueue(tracingContext);
-            });
+            .onComplete(r -> span.finish())
+            .mapEmpty();
     }
 
     @Override
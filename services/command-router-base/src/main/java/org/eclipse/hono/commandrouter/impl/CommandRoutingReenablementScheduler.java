@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.commandrouter.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.commandrouter.CommandRouterMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+
+/**
+ * A scheduler for re-enabling command routing for tenants.
+ * <p>
+ * Tenants are processed in the order in which they have been submitted, with at most a configurable
+ * number of tenants being processed concurrently. Submitting a tenant that is already waiting to be processed,
+ * is being processed or has already been processed successfully (since the scheduler has last become idle)
+ * has no effect.
+ * <p>
+ * If processing of a tenant fails with a {@link ServerErrorException}, it is retried after a delay that grows
+ * exponentially with the number of failed attempts. A tenant waiting for its next attempt does not occupy
+ * any of the processing slots, i.e. other tenants are processed in the meantime.
+ * <p>
+ * The scheduler reports the number of tenants waiting to be processed, being processed and having been processed
+ * by means of {@link CommandRouterMetrics#reportCommandRoutingReenablementProgress(int, int, int)}.
+ * <p>
+ * All methods of this class must be invoked on the vert.x context that the scheduler has been created for.
+ */
+final class CommandRoutingReenablementScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandRoutingReenablementScheduler.class);
+
+    private final Context context;
+    private final int maxConcurrency;
+    private final ReenablementTask task;
+    private final CommandRouterMetrics metrics;
+    /**
+     * The tenants waiting to be processed, in the order of their submission.
+     */
+    private final Map<String, Attempt> pendingAttempts = new LinkedHashMap<>();
+    /**
+     * The tenants waiting for the next attempt after a failed attempt, mapped to the ID of the retry timer.
+     */
+    private final Map<String, Long> retryTimers = new HashMap<>();
+    private final Set<String> tenantsInProcess = new HashSet<>();
+    private final Set<String> reenabledTenants = new HashSet<>();
+    private boolean stopped = false;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param context The vert.x context to run on.
+     * @param maxConcurrency The maximum number of tenants to process concurrently.
+     * @param task The task to run for processing a tenant.
+     * @param metrics The metrics to report the progress to.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if max concurrency is &lt; 1.
+     */
+    CommandRoutingReenablementScheduler(
+            final Context context,
+            final int maxConcurrency,
+            final ReenablementTask task,
+            final CommandRouterMetrics metrics) {
+
+        this.context = Objects.requireNonNull(context);
+        this.task = Objects.requireNonNull(task);
+        this.metrics = Objects.requireNonNull(metrics);
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("max concurrency must be > 0");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Submits tenants for which command routing should be re-enabled.
+     *
+     * @param tenantIds The identifiers of the tenants.
+     * @param tracingContext The tracing context to use as the reference for the spans created
+     *                       for processing the tenants.
+     * @throws NullPointerException if tenant IDs is {@code null}.
+     */
+    void submit(final List<String> tenantIds, final SpanContext tracingContext) {
+        Objects.requireNonNull(tenantIds);
+
+        if (stopped) {
+            return;
+        }
+        int added = 0;
+        for (final String tenantId : tenantIds) {
+            if (!reenabledTenants.contains(tenantId)
+                    && !tenantsInProcess.contains(tenantId)
+                    && !retryTimers.containsKey(tenantId)
+                    && !pendingAttempts.containsKey(tenantId)) {
+                pendingAttempts.put(tenantId, new Attempt(tenantId, 1, tracingContext));
+                added++;
+            }
+        }
+        if (added > 0) {
+            LOG.debug("triggering re-enabling of command routing for {} tenants", added);
+            metrics.reportCommandRoutingReenablementProgress(added, 0, 0);
+            dispatch();
+        }
+    }
+
+    /**
+     * Stops this scheduler.
+     * <p>
+     * All tenants waiting to be processed are discarded and no further tenants are being processed.
+     */
+    void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        retryTimers.values().forEach(timerId -> context.owner().cancelTimer(timerId));
+        metrics.reportCommandRoutingReenablementProgress(
+                -(pendingAttempts.size() + retryTimers.size()),
+                -tenantsInProcess.size(),
+                0);
+        pendingAttempts.clear();
+        retryTimers.clear();
+        tenantsInProcess.clear();
+        reenabledTenants.clear();
+    }
+
+    /**
+     * Gets the number of tenants that are waiting to be processed.
+     *
+     * @return The number of tenants, including the ones waiting for another attempt.
+     */
+    int getPendingTenants() {
+        return pendingAttempts.size() + retryTimers.size();
+    }
+
+    /**
+     * Gets the number of tenants that are being processed.
+     *
+     * @return The number of tenants.
+     */
+    int getTenantsInProcess() {
+        return tenantsInProcess.size();
+    }
+
+    private void dispatch() {
+        final Iterator<Attempt> pending = pendingAttempts.values().iterator();
+        while (tenantsInProcess.size() < maxConcurrency && pending.hasNext()) {
+            final Attempt attempt = pending.next();
+            pending.remove();
+            tenantsInProcess.add(attempt.tenantId);
+            metrics.reportCommandRoutingReenablementProgress(-1, 1, 0);
+            context.runOnContext(go -> process(attempt));
+        }
+        if (pendingAttempts.isEmpty() && retryTimers.isEmpty() && tenantsInProcess.isEmpty()) {
+            reenabledTenants.clear();
+            LOG.debug("finished re-enabling of command routing");
+        }
+    }
+
+    private void process(final Attempt attempt) {
+        if (stopped) {
+            return;
+        }
+        Future<Void> result;
+        try {
+            result = task.run(attempt.tenantId, attempt.number, attempt.tracingContext);
+        } catch (final RuntimeException e) {
+            result = Future.failedFuture(e);
+        }
+        result.onComplete(ar -> {
+            if (stopped) {
+                return;
+            }
+            tenantsInProcess.remove(attempt.tenantId);
+            if (ar.succeeded()) {
+                reenabledTenants.add(attempt.tenantId);
+                metrics.reportCommandRoutingReenablementProgress(0, -1, 1);
+            } else if (ar.cause() instanceof ServerErrorException) {
+                scheduleRetry(attempt.next());
+            } else {
+                metrics.reportCommandRoutingReenablementProgress(0, -1, 1);
+            }
+            dispatch();
+        });
+    }
+
+    private void scheduleRetry(final Attempt attempt) {
+        final long delay = calculateDelayMillis(attempt.number);
+        LOG.debug("scheduling attempt #{} to re-enable command routing for tenant [{}] in {}ms",
+                attempt.number, attempt.tenantId, delay);
+        metrics.reportCommandRoutingReenablementProgress(1, -1, 0);
+        final long timerId = context.owner().setTimer(delay, tid -> {
+            if (retryTimers.remove(attempt.tenantId) != null) {
+                pendingAttempts.put(attempt.tenantId, attempt);
+                dispatch();
+            }
+        });
+        retryTimers.put(attempt.tenantId, timerId);
+    }
+
+    private static long calculateDelayMillis(final int attemptNo) {
+        if (attemptNo > 6) {
+            // cap delay at 10secs
+            return 10000L;
+        } else {
+            // wait for 2^attemptNo times 100 millis before retrying
+            return (1 << attemptNo) * 100L;
+        }
+    }
+
+    /**
+     * A task for re-enabling command routing for a tenant.
+     */
+    @FunctionalInterface
+    interface ReenablementTask {
+
+        /**
+         * Re-enables command routing for a tenant.
+         *
+         * @param tenantId The tenant identifier.
+         * @param attemptNo The number of the attempt, starting with 1.
+         * @param tracingContext The tracing context that the tenant has been submitted with.
+         * @return A future indicating the outcome of the operation. The future will be failed with a
+         *         {@link ServerErrorException} if the attempt should be retried later.
+         */
+        Future<Void> run(String tenantId, int attemptNo, SpanContext tracingContext);
+    }
+
+    /**
+     * An attempt to re-enable command routing for a tenant.
+     */
+    private static final class Attempt {
+
+        private final String tenantId;
+        private final int number;
+        private final SpanContext tracingContext;
+
+        Attempt(final String tenantId, final int number, final SpanContext tracingContext) {
+            this.tenantId = tenantId;
+            this.number = number;
+            this.tracingContext = tracingContext;
+        }
+
+        Attempt next() {
+            return new Attempt(tenantId, number + 1, tracingContext);
+        }
+    }
+}
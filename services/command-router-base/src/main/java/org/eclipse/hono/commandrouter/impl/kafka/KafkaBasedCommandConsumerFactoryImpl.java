@@ -163,7 +163,7 @@ public class KafkaBasedCommandConsumerFactoryImpl implements CommandConsumerFact
         if (context == null) {
             return Future.failedFuture(new IllegalStateException("factory must be started in a Vert.x context"));
         }
-        final KafkaCommandProcessingQueue commandQueue = new KafkaCommandProcessingQueue(context);
+        final KafkaCommandProcessingQueue commandQueue = new KafkaCommandProcessingQueue(context, metrics);
         commandHandler = new KafkaBasedMappingAndDelegatingCommandHandler(vertx, tenantClient, commandQueue,
                 commandTargetMapper, internalCommandSender, kafkaBasedCommandResponseSender, metrics, tracer);
 
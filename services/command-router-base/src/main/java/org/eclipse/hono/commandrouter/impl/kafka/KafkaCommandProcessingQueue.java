@@ -13,10 +13,9 @@
 
 package org.eclipse.hono.commandrouter.impl.kafka;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -28,8 +27,9 @@ import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.command.CommandAlreadyProcessedException;
 import org.eclipse.hono.client.command.CommandToBeReprocessedException;
 import org.eclipse.hono.client.command.kafka.KafkaBasedCommandContext;
+import org.eclipse.hono.client.kafka.HonoTopic;
+import org.eclipse.hono.commandrouter.CommandRouterMetrics;
 import org.eclipse.hono.tracing.TracingHelper;
-import org.eclipse.hono.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,14 +54,17 @@ public class KafkaCommandProcessingQueue {
      */
     private final Map<TopicPartition, TopicPartitionCommandQueue> commandQueues = new HashMap<>();
     private final Context vertxContext;
+    private final CommandRouterMetrics metrics;
 
     /**
      * Creates a new KafkaCommandProcessingQueue.
      * @param vertxContext The vert.x context to run tasks on asynchronously.
-     * @throws NullPointerException if vertxContext is {@code null}.
+     * @param metrics The component to use for reporting the state of the queues.
+     * @throws NullPointerException if any of the parameters is {@code null}.
      */
-    public KafkaCommandProcessingQueue(final Context vertxContext) {
+    public KafkaCommandProcessingQueue(final Context vertxContext, final CommandRouterMetrics metrics) {
         this.vertxContext = Objects.requireNonNull(vertxContext);
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     /**
@@ -75,10 +78,20 @@ public class KafkaCommandProcessingQueue {
         final KafkaConsumerRecord<String, Buffer> record = commandContext.getCommand().getRecord();
         final TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
         final TopicPartitionCommandQueue commandQueue = commandQueues
-                .computeIfAbsent(topicPartition, k -> new TopicPartitionCommandQueue());
+                .computeIfAbsent(topicPartition, this::createCommandQueue);
         commandQueue.add(commandContext);
     }
 
+    private TopicPartitionCommandQueue createCommandQueue(final TopicPartition topicPartition) {
+        final TopicPartitionCommandQueue commandQueue = new TopicPartitionCommandQueue(topicPartition);
+        metrics.registerCommandQueueGauges(
+                commandQueue.getTenantId(),
+                topicPartition.partition(),
+                commandQueue::getSize,
+                commandQueue::getHeadOfLineBlockingTime);
+        return commandQueue;
+    }
+
     /**
      * Removes the command represented by the given command context.
      * <p>
@@ -159,6 +172,9 @@ public class KafkaCommandProcessingQueue {
                             commandQueueEntry.getKey(), commandQueueEntry.getValue().getSize());
                     commandQueueEntry.getValue().markAsUnusedAndClear();
                 }
+                metrics.unregisterCommandQueueGauges(
+                        commandQueueEntry.getValue().getTenantId(),
+                        commandQueueEntry.getKey().partition());
                 commandQueuesIterator.remove();
             }
         }
@@ -169,12 +185,54 @@ public class KafkaCommandProcessingQueue {
      * the "SendCommandAction" provided via {@link #applySendCommandAction(KafkaBasedCommandContext, Supplier)}
      * is invoked on command objects in the same order that the commands got added
      * to the queue.
+     * <p>
+     * The commands are kept in a ring buffer in the order in which they have been added, along with
+     * an index of the buffer's entries by record offset. Adding a command, looking up or removing a command
+     * as well as taking the next command from the head of the queue are therefore constant time operations.
+     * Removing a command from the middle of the queue only marks the corresponding entry as removed. Such
+     * entries are skipped once they reach the head of the queue.
      */
     class TopicPartitionCommandQueue {
 
-        private static final String KEY_COMMAND_SEND_ACTION_SUPPLIER_AND_RESULT_PROMISE = "commandSendActionSupplierAndResultPromise";
+        private static final int INITIAL_CAPACITY = 16;
 
-        private final Deque<KafkaBasedCommandContext> queue = new LinkedList<>();
+        private final String tenantId;
+        private final Map<Long, Entry> entriesByOffset = new HashMap<>();
+        private Entry[] ringBuffer = new Entry[INITIAL_CAPACITY];
+        /**
+         * The index of the oldest entry in the ring buffer.
+         */
+        private int head = 0;
+        /**
+         * The number of entries in the ring buffer, including entries that have been marked as removed.
+         */
+        private int usedSlots = 0;
+        /**
+         * The number of entries whose command is ready to be sent but is waiting for the command at the head.
+         */
+        private int readyEntries = 0;
+        private volatile int size = 0;
+        private volatile long blockedSince = 0;
+
+        /**
+         * Creates a new queue.
+         *
+         * @param topicPartition The partition that the commands are received from.
+         */
+        TopicPartitionCommandQueue(final TopicPartition topicPartition) {
+            this.tenantId = Optional.ofNullable(HonoTopic.fromString(topicPartition.topic()))
+                    .map(HonoTopic::getTenantId)
+                    .orElse(topicPartition.topic());
+        }
+
+        /**
+         * Gets the tenant that the commands in this queue belong to.
+         *
+         * @return The tenant identifier.
+         */
+        String getTenantId() {
+            return tenantId;
+        }
 
         /**
          * Adds the given command to the queue.
@@ -184,7 +242,21 @@ public class KafkaCommandProcessingQueue {
          */
         public void add(final KafkaBasedCommandContext commandContext) {
             Objects.requireNonNull(commandContext);
-            queue.add(commandContext);
+            final Entry entry = new Entry(commandContext);
+            final Entry replacedEntry = entriesByOffset.put(entry.offset, entry);
+            if (replacedEntry != null) {
+                // same record received again, e.g. after a partition got re-assigned
+                markAsRemoved(replacedEntry);
+                if (replacedEntry.isReadyToBeSent()) {
+                    failReplacedEntry(replacedEntry);
+                } // in the else case let the applySendCommandAction() method release the command eventually
+            }
+            if (usedSlots == ringBuffer.length) {
+                growRingBuffer();
+            }
+            ringBuffer[(head + usedSlots) & (ringBuffer.length - 1)] = entry;
+            usedSlots++;
+            size = entriesByOffset.size();
         }
 
         /**
@@ -200,7 +272,11 @@ public class KafkaCommandProcessingQueue {
          */
         public boolean remove(final KafkaBasedCommandContext commandContext) {
             Objects.requireNonNull(commandContext);
-            if (queue.remove(commandContext)) {
+            final Entry entry = getEntry(commandContext);
+            if (entry != null) {
+                entriesByOffset.remove(entry.offset);
+                markAsRemoved(entry);
+                size = entriesByOffset.size();
                 sendNextCommandInQueueIfPossible();
                 return true;
             }
@@ -212,34 +288,59 @@ public class KafkaCommandProcessingQueue {
          * @return {@code true} if this queue is empty.
          */
         public boolean isEmpty() {
-            return queue.isEmpty();
+            return entriesByOffset.isEmpty();
         }
 
         /**
          * Gets the size of this queue.
+         * <p>
+         * This method may be invoked from any thread.
+         *
          * @return The queue size.
          */
         public int getSize() {
-            return queue.size();
+            return size;
+        }
+
+        /**
+         * Gets the time that commands which are ready to be sent have been waiting for
+         * the command at the head of the queue to be processed.
+         * <p>
+         * This method may be invoked from any thread.
+         *
+         * @return The time in milliseconds or 0 if no command is waiting.
+         */
+        public long getHeadOfLineBlockingTime() {
+            final long since = blockedSince;
+            return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since);
         }
 
         /**
          * Releases any contained commands waiting to be sent and clears the queue.
          */
         public void markAsUnusedAndClear() {
-            final LinkedList<KafkaBasedCommandContext> queueCopy = new LinkedList<>(queue);
-            queue.clear();
-            queueCopy.forEach(commandContext -> {
-                final var actionAppliedPair = getSendActionSupplierAndResultPromise(commandContext);
-                if (actionAppliedPair != null) {
+            final Entry[] entries = new Entry[usedSlots];
+            for (int i = 0; i < usedSlots; i++) {
+                entries[i] = ringBuffer[(head + i) & (ringBuffer.length - 1)];
+            }
+            Arrays.fill(ringBuffer, null);
+            head = 0;
+            usedSlots = 0;
+            readyEntries = 0;
+            entriesByOffset.clear();
+            size = 0;
+            blockedSince = 0;
+            for (final Entry entry : entries) {
+                if (!entry.removed && entry.isReadyToBeSent()) {
                     // command is ready to be sent but waiting for the processing of an earlier entry
+                    final KafkaBasedCommandContext commandContext = entry.commandContext;
                     LOG.info("command won't be sent - its partition isn't being handled anymore [{}]", commandContext.getCommand());
                     TracingHelper.logError(commandContext.getTracingSpan(), "command won't be sent - its partition isn't being handled anymore");
                     final ServerErrorException error = new CommandToBeReprocessedException();
                     commandContext.release(error);
-                    actionAppliedPair.two().fail(error);
+                    entry.resultPromise.fail(error);
                 } // in the else case let the applySendCommandAction() method release the command eventually
-            });
+            }
         }
 
         /**
@@ -259,10 +360,13 @@ public class KafkaCommandProcessingQueue {
             Objects.requireNonNull(sendActionSupplier);
 
             final Promise<Void> resultPromise = Promise.promise();
-            if (commandContext.equals(queue.peek())) {
+            final Entry headEntry = peekHead();
+            final Entry entry = getEntry(commandContext);
+            if (entry != null && entry == headEntry) {
                 // the usual case - first command added to the queue is the first command to send to the protocol adapter
-                sendGivenCommandAndNextInQueueIfPossible(queue.remove(), sendActionSupplier, resultPromise, true);
-            } else if (!queue.contains(commandContext)) {
+                pollHead();
+                sendGivenCommandAndNextInQueueIfPossible(commandContext, sendActionSupplier, resultPromise, true);
+            } else if (entry == null) {
                 // might happen if the invoking the sendAction takes place after the partition got unassigned and then reassigned again
                 // or if processing the command has timed out and it was removed from the queue
                 final ServerErrorException error;
@@ -281,13 +385,17 @@ public class KafkaCommandProcessingQueue {
                 // that means determining its target adapter instance has finished sooner (maybe because of fewer data-grid requests)
                 // compared to a command that was received earlier
                 LOG.debug("sending of command with offset {} gets delayed; waiting for processing of offset {} [queue size: {}; delayed {}]",
-                        getRecordOffset(commandContext), getRecordOffset(queue.peek()), queue.size(), commandContext.getCommand());
+                        entry.offset, headEntry.offset, size, commandContext.getCommand());
                 commandContext.getTracingSpan()
                         .log(String.format("waiting for an earlier command with offset %d to be processed first [queue size: %d]",
-                                getRecordOffset(queue.peek()), queue.size()));
+                                headEntry.offset, size));
                 commandContext.getTracingSpan().setTag("processing_delayed", true);
-                commandContext.put(KEY_COMMAND_SEND_ACTION_SUPPLIER_AND_RESULT_PROMISE, Pair
-                        .of(sendActionSupplier, resultPromise));
+                entry.sendActionSupplier = sendActionSupplier;
+                entry.resultPromise = resultPromise;
+                readyEntries++;
+                if (blockedSince == 0) {
+                    blockedSince = System.currentTimeMillis();
+                }
             }
             return resultPromise.future();
         }
@@ -302,7 +410,7 @@ public class KafkaCommandProcessingQueue {
             final Future<Void> sendActionFuture = sendActionSupplier.get();
             sendActionFuture.onComplete(sendActionCompletedPromise);
 
-            if (!queue.isEmpty()) {
+            if (!isEmpty()) {
                 if (sendActionFuture.isComplete() && completedPromiseJustCreated) {
                     // send action directly finished the result future (without any vert.x decoupling) and the completedPromise can't have any handlers yet;
                     // trigger next-command handling asynchronously, so that a sendActionFuture handler can first be set and run, before handling next commands
@@ -314,22 +422,113 @@ public class KafkaCommandProcessingQueue {
         }
 
         private void sendNextCommandInQueueIfPossible() {
-            Optional.ofNullable(queue.peek())
-                    // sendActionSupplierAndResultPromise not null means command is ready to be sent
-                    .map(this::getSendActionSupplierAndResultPromise)
-                    .ifPresent(pair -> sendGivenCommandAndNextInQueueIfPossible(queue.remove(), pair.one(), pair.two(), false));
+            final Entry headEntry = peekHead();
+            // send action supplier not null means command is ready to be sent
+            if (headEntry != null && headEntry.isReadyToBeSent()) {
+                pollHead();
+                sendGivenCommandAndNextInQueueIfPossible(
+                        headEntry.commandContext,
+                        headEntry.sendActionSupplier,
+                        headEntry.resultPromise,
+                        false);
+            }
         }
 
-        private Pair<Supplier<Future<Void>>, Promise<Void>> getSendActionSupplierAndResultPromise(
-                final KafkaBasedCommandContext context) {
-            return context.get(KEY_COMMAND_SEND_ACTION_SUPPLIER_AND_RESULT_PROMISE);
+        private Entry getEntry(final KafkaBasedCommandContext commandContext) {
+            final Entry entry = entriesByOffset.get(commandContext.getCommand().getRecord().offset());
+            return entry != null && entry.commandContext.equals(commandContext) ? entry : null;
         }
 
-        private long getRecordOffset(final KafkaBasedCommandContext context) {
-            if (context == null) {
-                return -1;
+        private void failReplacedEntry(final Entry entry) {
+            final KafkaBasedCommandContext commandContext = entry.commandContext;
+            final ServerErrorException error;
+            if (commandContext.isCompleted()) {
+                LOG.debug("command won't be sent - already processed and received again [{}]", commandContext.getCommand());
+                error = new CommandAlreadyProcessedException();
+            } else {
+                LOG.info("command won't be sent - same command record has been received again [{}]", commandContext.getCommand());
+                TracingHelper.logError(commandContext.getTracingSpan(), "command won't be sent - same command record has been received again");
+                error = new CommandToBeReprocessedException();
+                commandContext.release(error);
             }
-            return context.getCommand().getRecord().offset();
+            entry.resultPromise.fail(error);
+        }
+
+        private void markAsRemoved(final Entry entry) {
+            entry.removed = true;
+            if (entry.isReadyToBeSent() && --readyEntries == 0) {
+                blockedSince = 0;
+            }
+        }
+
+        /**
+         * Gets the entry at the head of the queue, skipping entries that have been marked as removed.
+         *
+         * @return The entry or {@code null} if the queue is empty.
+         */
+        private Entry peekHead() {
+            if (usedSlots > 0 && ringBuffer[head].removed) {
+                while (usedSlots > 0 && ringBuffer[head].removed) {
+                    ringBuffer[head] = null;
+                    head = (head + 1) & (ringBuffer.length - 1);
+                    usedSlots--;
+                }
+                headChanged();
+            }
+            return usedSlots > 0 ? ringBuffer[head] : null;
+        }
+
+        /**
+         * Removes the entry at the head of the queue.
+         * <p>
+         * Must only be invoked after {@link #peekHead()} has returned a non-null entry.
+         */
+        private void pollHead() {
+            final Entry entry = ringBuffer[head];
+            ringBuffer[head] = null;
+            head = (head + 1) & (ringBuffer.length - 1);
+            usedSlots--;
+            entriesByOffset.remove(entry.offset);
+            size = entriesByOffset.size();
+            if (entry.isReadyToBeSent()) {
+                readyEntries--;
+            }
+            headChanged();
+        }
+
+        private void headChanged() {
+            // the new head (if any) is now blocking the entries that are ready to be sent
+            blockedSince = readyEntries > 0 ? System.currentTimeMillis() : 0;
+        }
+
+        private void growRingBuffer() {
+            final Entry[] newRingBuffer = new Entry[ringBuffer.length << 1];
+            for (int i = 0; i < usedSlots; i++) {
+                newRingBuffer[i] = ringBuffer[(head + i) & (ringBuffer.length - 1)];
+            }
+            ringBuffer = newRingBuffer;
+            head = 0;
+        }
+    }
+
+    /**
+     * An entry of a {@link TopicPartitionCommandQueue}.
+     */
+    private static final class Entry {
+
+        private final KafkaBasedCommandContext commandContext;
+        private final long offset;
+        private Supplier<Future<Void>> sendActionSupplier;
+        private Promise<Void> resultPromise;
+        private boolean removed = false;
+
+        Entry(final KafkaBasedCommandContext commandContext) {
+            this.commandContext = commandContext;
+            this.offset = commandContext.getCommand().getRecord().offset();
+        }
+
+        boolean isReadyToBeSent() {
+            return sendActionSupplier != null;
         }
     }
 }
@@ -15,21 +15,26 @@ package org.eclipse.hono.commandrouter.impl;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
+import java.time.Duration;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.registry.DeviceRegistrationClient;
@@ -37,6 +42,8 @@ import org.eclipse.hono.client.registry.TenantClient;
 import org.eclipse.hono.client.util.MessagingClientProvider;
 import org.eclipse.hono.commandrouter.AdapterInstanceStatusService;
 import org.eclipse.hono.commandrouter.CommandConsumerFactory;
+import org.eclipse.hono.commandrouter.CommandRouterMetrics;
+import org.eclipse.hono.commandrouter.CommandRouterServiceConfigProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.deviceconnection.infinispan.client.DeviceConnectionInfo;
 import org.eclipse.hono.test.VertxMockSupport;
@@ -53,6 +60,7 @@ import io.opentracing.noop.NoopTracerFactory;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -70,20 +78,22 @@ public class CommandRouterServiceImplTest {
     private Context context;
     private Vertx vertx;
     private TenantClient tenantClient;
+    private DeviceRegistrationClient registrationClient;
+    private DeviceConnectionInfo deviceConnectionInfo;
 
     /**
      * Sets up the fixture.
      */
     @BeforeEach
     void setUp() {
-        final var registrationClient = mock(DeviceRegistrationClient.class);
+        registrationClient = mock(DeviceRegistrationClient.class);
         when(registrationClient.stop()).thenReturn(Future.succeededFuture());
         tenantClient = mock(TenantClient.class);
         when(tenantClient.stop()).thenReturn(Future.succeededFuture());
         when(tenantClient.get(anyString(), any())).thenAnswer(invocation -> {
             return Future.succeededFuture(TenantObject.from(invocation.getArgument(0)));
         });
-        final var deviceConnectionInfo = mock(DeviceConnectionInfo.class);
+        deviceConnectionInfo = mock(DeviceConnectionInfo.class);
         when(deviceConnectionInfo.setCommandHandlingAdapterInstance(anyString(), anyString(), anyString(), any(), any()))
                 .thenReturn(Future.succeededFuture());
         amqpCommandConsumerFactory = mock(CommandConsumerFactory.class);
@@ -96,16 +106,28 @@ public class CommandRouterServiceImplTest {
         vertx = mock(Vertx.class);
         context = VertxMockSupport.mockContext(vertx);
         when(context.owner()).thenReturn(vertx);
-        service = new CommandRouterServiceImpl(
+        service = createService(1, CommandRouterMetrics.NOOP);
+    }
+
+    private CommandRouterServiceImpl createService(
+            final int reenablementConcurrency,
+            final CommandRouterMetrics metrics) {
+
+        final var commandRouterConfig = new CommandRouterServiceConfigProperties()
+                .setCommandRoutingReenablementConcurrency(reenablementConcurrency);
+        final var commandRouterService = new CommandRouterServiceImpl(
                 new ServiceConfigProperties(),
+                commandRouterConfig,
                 registrationClient,
                 tenantClient,
                 deviceConnectionInfo,
                 commandConsumerFactoryProvider,
                 AdapterInstanceStatusService.UNKNOWN_STATUS_PROVIDING_SERVICE,
+                metrics,
                 NoopTracerFactory.create());
-        service.setContext(context);
-        service.start();
+        commandRouterService.setContext(context);
+        commandRouterService.start();
+        return commandRouterService;
     }
 
     /**
@@ -146,6 +168,36 @@ public class CommandRouterServiceImplTest {
                 }));
     }
 
+    /**
+     * Verifies that registering a command consumer for multiple devices creates the tenant's
+     * command consumer once and sets the adapter instance for all devices in a single operation.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testRegisterCommandConsumerForMultipleDevices(final VertxTestContext ctx) {
+        when(deviceConnectionInfo.setCommandHandlingAdapterInstances(anyString(), anySet(), anyString(), any(), any()))
+                .thenReturn(Future.succeededFuture());
+
+        service.registerCommandConsumer("tenant", List.of("device1", "device2"), "adapterInstanceId",
+                Duration.ofSeconds(60), NoopSpan.INSTANCE)
+                .onComplete(ctx.succeeding(res -> {
+                    ctx.verify(() -> {
+                        verify(amqpCommandConsumerFactory).createCommandConsumer(eq("tenant"), any());
+                        verify(deviceConnectionInfo).setCommandHandlingAdapterInstances(
+                                eq("tenant"),
+                                eq(Set.of("device1", "device2")),
+                                eq("adapterInstanceId"),
+                                eq(Duration.ofSeconds(60)),
+                                any());
+                        verify(deviceConnectionInfo, never()).setCommandHandlingAdapterInstance(
+                                anyString(), anyString(), anyString(), any(), any());
+                        assertThat(res.getStatus()).isEqualTo(HttpURLConnection.HTTP_NO_CONTENT);
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      * Verifies that command routing is enabled for a given set of tenant IDs.
      */
@@ -236,70 +288,81 @@ public class CommandRouterServiceImplTest {
         verify(context).runOnContext(VertxMockSupport.anyHandler());
         assertThat(eventLoop).hasSize(1);
 
-        // WHEN running the next task on the event loop
-        eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with a
-        // delay corresponding to the number of unsuccessful attempts that have been made
-        verify(vertx).setTimer(eq(400L), VertxMockSupport.anyHandler());
-        assertThat(eventLoop).hasSize(1);
+        for (final long expectedDelay : List.of(400L, 800L, 1600L, 3200L, 6400L, 10000L)) {
+            // WHEN running the next task on the event loop
+            eventLoop.pollFirst().handle(null);
+            // THEN no command consumer has been created yet
+            verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
+            // AND a timer for retrying the attempt has been set with a
+            // delay corresponding to the number of unsuccessful attempts that have been made
+            verify(vertx).setTimer(eq(expectedDelay), VertxMockSupport.anyHandler());
+            assertThat(eventLoop).hasSize(1);
+
+            // WHEN adding the same tenant again in between re-tries
+            service.enableCommandRouting(firstTenants, NoopSpan.INSTANCE);
+            // THEN no additional task has been scheduled
+            assertThat(eventLoop).hasSize(1);
+
+            // WHEN the timer fires
+            eventLoop.pollFirst().handle(null);
+            // THEN a new task for processing the tenant has been scheduled
+            assertThat(eventLoop).hasSize(1);
+        }
 
         // WHEN running the next task on the event loop
         eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with the
-        // delay corresponding to the number of unsuccessful attempts that have been made
-        verify(vertx).setTimer(eq(800L), VertxMockSupport.anyHandler());
-        assertThat(eventLoop).hasSize(1);
-
-        // WHEN running the next task on the event loop
-        eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with a
-        // delay corresponding to the number of unsuccessful attempts that have been made
-        verify(vertx).setTimer(eq(1600L), VertxMockSupport.anyHandler());
-        assertThat(eventLoop).hasSize(1);
+        // THEN a command consumer has been created for the tenant
+        verify(amqpCommandConsumerFactory).createCommandConsumer(eq("tenant1"), any());
+        // AND no new task for retrying the attempt has been added to the event loop
+        assertThat(eventLoop).hasSize(0);
+    }
 
-        // WHEN adding the same tenant again in between re-tries
-        service.enableCommandRouting(firstTenants, NoopSpan.INSTANCE);
-        // THEN no additional task has been scheduled
-        assertThat(eventLoop).hasSize(1);
+    /**
+     * Verifies that command routing is re-enabled for multiple tenants concurrently,
+     * with the number of tenants being processed at the same time being limited to the
+     * configured maximum.
+     */
+    @Test
+    public void testEnableCommandRoutingLimitsConcurrency() {
 
-        // WHEN running the next task on the event loop
+        final Deque<Handler<Void>> eventLoop = new LinkedList<>();
+        doAnswer(invocation -> {
+            eventLoop.addLast(invocation.getArgument(0));
+            return null;
+        }).when(context).runOnContext(VertxMockSupport.anyHandler());
+        final Map<String, Promise<Void>> consumerCreations = new HashMap<>();
+        when(amqpCommandConsumerFactory.createCommandConsumer(anyString(), any())).thenAnswer(invocation -> {
+            final Promise<Void> result = Promise.promise();
+            consumerCreations.put(invocation.getArgument(0), result);
+            return result.future();
+        });
+        final CommandRouterMetrics metrics = mock(CommandRouterMetrics.class);
+        final var commandRouterService = createService(2, metrics);
+
+        // WHEN submitting a list of tenants containing duplicates
+        commandRouterService.enableCommandRouting(List.of("tenant1", "tenant2", "tenant1", "tenant3"), NoopSpan.INSTANCE);
+        // THEN each tenant is marked as pending only once
+        verify(metrics).reportCommandRoutingReenablementProgress(3, 0, 0);
+        // AND tasks for processing the first two tenants have been scheduled
+        assertThat(eventLoop).hasSize(2);
+        verify(metrics, times(2)).reportCommandRoutingReenablementProgress(-1, 1, 0);
+
+        // WHEN running the scheduled tasks
         eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with a
-        // delay corresponding to the number of unsuccessful attempts that have been made
-        verify(vertx).setTimer(eq(3200L), VertxMockSupport.anyHandler());
-        assertThat(eventLoop).hasSize(1);
-
-        // WHEN running the next task on the event loop
         eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with a
-        // delay corresponding to the number of unsuccessful attempts that have been made
-        verify(vertx).setTimer(eq(6400L), VertxMockSupport.anyHandler());
-        assertThat(eventLoop).hasSize(1);
+        // THEN command consumers are being created for the first two tenants
+        assertThat(consumerCreations.keySet()).containsExactly("tenant1", "tenant2");
+        // AND processing of the third tenant has not been started yet
+        assertThat(eventLoop).isEmpty();
 
-        // WHEN running the next task on the event loop
-        eventLoop.pollFirst().handle(null);
-        // THEN no command consumer has been created yet
-        verify(amqpCommandConsumerFactory, never()).createCommandConsumer(anyString(), any());
-        // AND a new task for retrying the attempt has been scheduled with maximum delay
-        verify(vertx).setTimer(eq(10000L), VertxMockSupport.anyHandler());
+        // WHEN creation of the first tenant's command consumer completes
+        consumerCreations.get("tenant1").complete();
+        // THEN the first tenant is reported as processed
+        verify(metrics).reportCommandRoutingReenablementProgress(0, -1, 1);
+        // AND a task for processing the third tenant has been scheduled
         assertThat(eventLoop).hasSize(1);
-
-        // WHEN running the next task on the event loop
         eventLoop.pollFirst().handle(null);
-        // THEN a command consumer has been created for the tenant
-        verify(amqpCommandConsumerFactory).createCommandConsumer(eq("tenant1"), any());
-        // AND no new task for retrying the attempt has been added to the event loop
-        assertThat(eventLoop).hasSize(0);
+        assertThat(consumerCreations.keySet()).containsExactly("tenant1", "tenant2", "tenant3");
     }
 
     /**
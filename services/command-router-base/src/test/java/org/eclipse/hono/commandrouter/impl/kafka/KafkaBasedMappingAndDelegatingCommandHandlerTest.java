@@ -109,9 +109,9 @@ public class KafkaBasedMappingAndDelegatingCommandHandlerTest {
 
         vertx = mock(Vertx.class);
         final Context context = VertxMockSupport.mockContext(vertx);
-        final KafkaCommandProcessingQueue commandQueue = new KafkaCommandProcessingQueue(context);
         final CommandRouterMetrics metrics = mock(CommandRouterMetrics.class);
         when(metrics.startTimer()).thenReturn(Timer.start());
+        final KafkaCommandProcessingQueue commandQueue = new KafkaCommandProcessingQueue(context, metrics);
         final Tracer tracer = TracingMockSupport.mockTracer(TracingMockSupport.mockSpan());
         cmdHandler = new KafkaBasedMappingAndDelegatingCommandHandler(vertx, tenantClient, commandQueue, commandTargetMapper,
                 internalCommandSender, kafkaBasedCommandResponseSender, metrics, tracer);
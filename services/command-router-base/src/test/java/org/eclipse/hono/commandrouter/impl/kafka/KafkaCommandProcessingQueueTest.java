@@ -12,7 +12,9 @@
  *******************************************************************************/
 package org.eclipse.hono.commandrouter.impl.kafka;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -22,6 +24,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -32,14 +36,17 @@ import org.eclipse.hono.client.command.kafka.KafkaBasedCommand;
 import org.eclipse.hono.client.command.kafka.KafkaBasedCommandContext;
 import org.eclipse.hono.client.kafka.HonoTopic;
 import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.commandrouter.CommandRouterMetrics;
 import org.eclipse.hono.util.Constants;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 
 import io.opentracing.Span;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.junit5.Timeout;
@@ -68,7 +75,7 @@ public class KafkaCommandProcessingQueueTest {
     void testSendActionIsInvokedInOrder(final Vertx vertx, final VertxTestContext ctx) {
         final Context vertxContext = vertx.getOrCreateContext();
         vertxContext.runOnContext(v -> {
-            final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(vertxContext);
+            final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(vertxContext, CommandRouterMetrics.NOOP);
             // GIVEN a number of test commands
             final LinkedList<KafkaBasedCommandContext> commandContexts = IntStream.range(0, 5)
                     .mapToObj(this::getTestCommandContext)
@@ -106,7 +113,8 @@ public class KafkaCommandProcessingQueueTest {
      */
     @Test
     void testQueueEntriesDiscardedOnPartitionRevoked() {
-        final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(mock(Context.class));
+        final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(mock(Context.class),
+                CommandRouterMetrics.NOOP);
         // GIVEN a number of test commands, received via partition 0
         final LinkedList<KafkaBasedCommandContext> commandContexts = IntStream.range(0, 3)
                 .mapToObj(this::getTestCommandContext)
@@ -137,6 +145,113 @@ public class KafkaCommandProcessingQueueTest {
         assertThat(result0.cause()).isInstanceOf(CommandToBeReprocessedException.class);
     }
 
+    /**
+     * Verifies that removing a command that is not at the head of the queue does not affect the order in
+     * which the remaining commands are sent and that the state of the queue is reported by means of gauges.
+     */
+    @Test
+    void testRemoveCommandInMiddleOfQueue() throws InterruptedException {
+        final CommandRouterMetrics metrics = mock(CommandRouterMetrics.class);
+        final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(mock(Context.class),
+                metrics);
+        // GIVEN a number of test commands, exceeding the initial capacity of the queue
+        final List<KafkaBasedCommandContext> commandContexts = IntStream.range(0, 20)
+                .mapToObj(this::getTestCommandContext)
+                .collect(Collectors.toList());
+        // ... added to the queue in order
+        commandContexts.forEach(kafkaCommandProcessingQueue::add);
+        final ArgumentCaptor<IntSupplier> queueSize = ArgumentCaptor.forClass(IntSupplier.class);
+        final ArgumentCaptor<LongSupplier> blockingTime = ArgumentCaptor.forClass(LongSupplier.class);
+        verify(metrics).registerCommandQueueGauges(
+                eq(Constants.DEFAULT_TENANT), eq(0), queueSize.capture(), blockingTime.capture());
+        assertThat(queueSize.getValue().getAsInt()).isEqualTo(20);
+        assertThat(blockingTime.getValue().getAsLong()).isEqualTo(0L);
+
+        // WHEN applying the sendAction for all commands but the first two in reverse order
+        final long blockedNotBefore = System.currentTimeMillis();
+        final List<KafkaBasedCommandContext> sendActionInvoked = new ArrayList<>();
+        final List<Future<Void>> results = new ArrayList<>();
+        for (int i = commandContexts.size() - 1; i >= 2; i--) {
+            final KafkaBasedCommandContext context = commandContexts.get(i);
+            results.add(kafkaCommandProcessingQueue.applySendCommandAction(context, () -> {
+                sendActionInvoked.add(context);
+                return Future.succeededFuture();
+            }));
+        }
+        // THEN no command has been sent yet
+        assertThat(sendActionInvoked).isEmpty();
+        // and the time that the commands have been blocked by the command at the head of the queue is reported
+        Thread.sleep(20);
+        final long headOfLineBlockingTime = blockingTime.getValue().getAsLong();
+        assertThat(headOfLineBlockingTime).isAtLeast(20L);
+        assertThat(headOfLineBlockingTime).isAtMost(System.currentTimeMillis() - blockedNotBefore);
+
+        // WHEN removing the second command, e.g. because its processing has failed
+        assertThat(kafkaCommandProcessingQueue.remove(commandContexts.get(1))).isTrue();
+        assertThat(kafkaCommandProcessingQueue.remove(commandContexts.get(1))).isFalse();
+        // THEN still no command has been sent
+        assertThat(sendActionInvoked).isEmpty();
+        assertThat(queueSize.getValue().getAsInt()).isEqualTo(19);
+
+        // WHEN removing the first command
+        assertThat(kafkaCommandProcessingQueue.remove(commandContexts.get(0))).isTrue();
+        // THEN all remaining commands have been sent in the original order
+        assertThat(sendActionInvoked).isEqualTo(commandContexts.subList(2, commandContexts.size()));
+        assertThat(results.stream().allMatch(Future::succeeded)).isTrue();
+        assertThat(queueSize.getValue().getAsInt()).isEqualTo(0);
+        assertThat(blockingTime.getValue().getAsLong()).isEqualTo(0L);
+
+        // AND the gauges get removed once the partition is not handled anymore
+        kafkaCommandProcessingQueue.setRevokedPartitions(Set.of(new TopicPartition(topic, 0)));
+        verify(metrics).unregisterCommandQueueGauges(eq(Constants.DEFAULT_TENANT), eq(0));
+    }
+
+    /**
+     * Verifies that the result of the sendAction of a command that is waiting to be sent gets failed when
+     * the same command record is added to the queue again and that only the command added last gets sent.
+     */
+    @Test
+    void testAddCommandAgainFailsResultOfWaitingCommand() {
+        final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(mock(Context.class),
+                CommandRouterMetrics.NOOP);
+        // GIVEN two test commands added to the queue in order
+        final KafkaBasedCommandContext commandContext0 = getTestCommandContext(0);
+        final KafkaBasedCommandContext commandContext1 = getTestCommandContext(1);
+        kafkaCommandProcessingQueue.add(commandContext0);
+        kafkaCommandProcessingQueue.add(commandContext1);
+
+        // ... with the second command waiting to be sent
+        final List<KafkaBasedCommandContext> sendActionInvoked = new ArrayList<>();
+        final Future<Void> result1 = kafkaCommandProcessingQueue.applySendCommandAction(commandContext1, () -> {
+            sendActionInvoked.add(commandContext1);
+            return Future.succeededFuture();
+        });
+        assertThat(result1.isComplete()).isFalse();
+
+        // WHEN the record of the second command is received and added again
+        final KafkaBasedCommandContext commandContext1Again = getTestCommandContext(1);
+        kafkaCommandProcessingQueue.add(commandContext1Again);
+
+        // THEN the result of the sendAction of the replaced command is failed
+        assertThat(result1.failed()).isTrue();
+        assertThat(result1.cause()).isInstanceOf(CommandToBeReprocessedException.class);
+
+        // and applying the sendAction for the remaining commands sends them in order, without the replaced command
+        final Future<Void> result1Again = kafkaCommandProcessingQueue.applySendCommandAction(commandContext1Again, () -> {
+            sendActionInvoked.add(commandContext1Again);
+            return Future.succeededFuture();
+        });
+        final Promise<Void> sendAction0Result = Promise.promise();
+        final Future<Void> result0 = kafkaCommandProcessingQueue.applySendCommandAction(commandContext0, () -> {
+            sendActionInvoked.add(commandContext0);
+            return sendAction0Result.future();
+        });
+        sendAction0Result.complete();
+        assertThat(sendActionInvoked).containsExactly(commandContext0, commandContext1Again).inOrder();
+        assertThat(result0.succeeded()).isTrue();
+        assertThat(result1Again.succeeded()).isTrue();
+    }
+
     @SuppressWarnings("unchecked")
     private KafkaBasedCommandContext getTestCommandContext(final int offset) {
         final String deviceId = "deviceId";
@@ -45,6 +45,8 @@ import org.eclipse.hono.commandrouter.AdapterInstanceStatusService;
 import org.eclipse.hono.commandrouter.CommandConsumerFactory;
 import org.eclipse.hono.commandrouter.CommandRouterAmqpServer;
 import org.eclipse.hono.commandrouter.CommandRouterMetrics;
+import org.eclipse.hono.commandrouter.CommandRouterServiceConfigProperties;
+import org.eclipse.hono.commandrouter.CommandRouterServiceOptions;
 import org.eclipse.hono.commandrouter.CommandTargetMapper;
 import org.eclipse.hono.commandrouter.impl.CommandRouterServiceImpl;
 import org.eclipse.hono.commandrouter.impl.amqp.ProtonBasedCommandConsumerFactoryImpl;
@@ -130,6 +132,7 @@ public class Application extends AbstractServiceApplication {
     CommandRouterMetrics metrics;
 
     private ServiceConfigProperties amqpServerProperties;
+    private CommandRouterServiceConfigProperties commandRouterServiceConfig;
     private ClientConfigProperties commandConsumerFactoryConfig;
     private RequestResponseClientConfigProperties deviceRegistrationClientConfig;
     private RequestResponseClientConfigProperties tenantClientConfig;
@@ -151,6 +154,11 @@ public class Application extends AbstractServiceApplication {
         this.amqpServerProperties = new ServiceConfigProperties(options);
     }
 
+    @Inject
+    void setCommandRouterServiceOptions(final CommandRouterServiceOptions options) {
+        this.commandRouterServiceConfig = new CommandRouterServiceConfigProperties(options);
+    }
+
     @Inject
     void setCommandClientOptions(
             @ConfigMapping(prefix = "hono.command")
@@ -284,11 +292,13 @@ public class Application extends AbstractServiceApplication {
         final CommandTargetMapper commandTargetMapper = CommandTargetMapper.create(registrationClient, deviceConnectionInfo, tracer);
         return new CommandRouterServiceImpl(
                 amqpServerProperties,
+                commandRouterServiceConfig,
                 registrationClient,
                 tenantClient,
                 deviceConnectionInfo,
                 commandConsumerFactoryProvider(tenantClient, commandTargetMapper),
                 adapterInstanceStatusService,
+                metrics,
                 tracer);
     }
 
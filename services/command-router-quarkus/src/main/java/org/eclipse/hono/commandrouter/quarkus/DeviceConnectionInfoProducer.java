@@ -26,7 +26,7 @@ import javax.inject.Singleton;
 import org.eclipse.hono.commandrouter.AdapterInstanceStatusService;
 import org.eclipse.hono.commandrouter.CommandRouterServiceOptions;
 import org.eclipse.hono.commandrouter.impl.KubernetesBasedAdapterInstanceStatusService;
-import org.eclipse.hono.deviceconnection.infinispan.client.BasicCache;
+import org.eclipse.hono.deviceconnection.infinispan.client.Cache;
 import org.eclipse.hono.deviceconnection.infinispan.client.CacheBasedDeviceConnectionInfo;
 import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheConfig;
 import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheOptions;
@@ -35,6 +35,7 @@ import org.eclipse.hono.deviceconnection.infinispan.client.EmbeddedCache;
 import org.eclipse.hono.deviceconnection.infinispan.client.HotrodCache;
 import org.eclipse.hono.deviceconnection.infinispan.client.InfinispanRemoteConfigurationOptions;
 import org.eclipse.hono.deviceconnection.infinispan.client.InfinispanRemoteConfigurationProperties;
+import org.eclipse.hono.deviceconnection.infinispan.client.NearCache;
 import org.eclipse.hono.util.Strings;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
@@ -64,14 +65,14 @@ public class DeviceConnectionInfoProducer {
 
     @Produces
     DeviceConnectionInfo deviceConnectionInfo(
-            final BasicCache<String, String> cache,
+            final Cache<String, String> cache,
             final Tracer tracer,
             final AdapterInstanceStatusService adapterInstanceStatusService) {
         return new CacheBasedDeviceConnectionInfo(cache, tracer, adapterInstanceStatusService);
     }
 
     @Produces
-    BasicCache<String, String> cache(
+    Cache<String, String> cache(
             final Vertx vertx,
             @ConfigMapping(prefix = "hono.commandRouter.cache.common")
             final CommonCacheOptions commonCacheOptions,
@@ -88,9 +89,8 @@ public class DeviceConnectionInfoProducer {
                     commonCacheConfig.getCacheName());
         } else {
             LOG.info("configuring remote cache");
-            return HotrodCache.from(
-                    vertx,
-                    infinispanCacheConfig,
+            return NearCache.from(
+                    HotrodCache.from(vertx, infinispanCacheConfig, commonCacheConfig),
                     commonCacheConfig);
         }
     }
@@ -53,7 +53,7 @@ import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.ServerConfig;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.config.VertxProperties;
-import org.eclipse.hono.deviceconnection.infinispan.client.BasicCache;
+import org.eclipse.hono.deviceconnection.infinispan.client.Cache;
 import org.eclipse.hono.deviceconnection.infinispan.client.CacheBasedDeviceConnectionInfo;
 import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheConfig;
 import org.eclipse.hono.notification.NoOpNotificationReceiver;
@@ -286,11 +286,13 @@ public class ApplicationConfig {
         }
         return new CommandRouterServiceImpl(
                 amqpServerProperties(),
+                commandRouterServiceConfigProperties(),
                 registrationClient,
                 tenantClient,
                 deviceConnectionInfo,
                 commandConsumerFactoryProvider,
                 adapterInstanceStatusService,
+                metrics,
                 getTracer());
     }
 
@@ -320,7 +322,7 @@ public class ApplicationConfig {
      * @return The service implementation.
      */
     @Bean
-    public CacheBasedDeviceConnectionInfo deviceConnectionInfo(final BasicCache<String, String> cache,
+    public CacheBasedDeviceConnectionInfo deviceConnectionInfo(final Cache<String, String> cache,
             final Tracer tracer, final AdapterInstanceStatusService adapterInstanceStatusService) {
         return new CacheBasedDeviceConnectionInfo(cache, tracer, adapterInstanceStatusService);
     }
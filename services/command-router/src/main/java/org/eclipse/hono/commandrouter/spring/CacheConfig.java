@@ -17,11 +17,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
-import org.eclipse.hono.deviceconnection.infinispan.client.BasicCache;
+import org.eclipse.hono.deviceconnection.infinispan.client.Cache;
 import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheConfig;
 import org.eclipse.hono.deviceconnection.infinispan.client.EmbeddedCache;
 import org.eclipse.hono.deviceconnection.infinispan.client.HotrodCache;
 import org.eclipse.hono.deviceconnection.infinispan.client.InfinispanRemoteConfigurationProperties;
+import org.eclipse.hono.deviceconnection.infinispan.client.NearCache;
 import org.eclipse.hono.util.Strings;
 import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
 import org.infinispan.configuration.parsing.ParserRegistry;
@@ -67,7 +68,7 @@ public class CacheConfig {
      * @return The cache.
      */
     @Bean
-    public BasicCache<String, String> cache(final Vertx vertx, final CommonCacheConfig commonCacheConfig) {
+    public Cache<String, String> cache(final Vertx vertx, final CommonCacheConfig commonCacheConfig) {
 
         LOG.info("Common Cache Config: {}", commonCacheConfig);
 
@@ -79,9 +80,8 @@ public class CacheConfig {
                     commonCacheConfig.getCacheName());
         } else {
             LOG.info("configuring remote cache");
-            return HotrodCache.from(
-                    vertx,
-                    remoteCacheProperties(),
+            return NearCache.from(
+                    HotrodCache.from(vertx, remoteCacheProperties(), commonCacheConfig),
                     commonCacheConfig);
         }
     }
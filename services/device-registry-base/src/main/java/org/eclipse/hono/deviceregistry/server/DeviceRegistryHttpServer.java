@@ -14,19 +14,31 @@
 package org.eclipse.hono.deviceregistry.server;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.notification.NoOpNotificationSender;
 import org.eclipse.hono.notification.NotificationSender;
 import org.eclipse.hono.service.http.HttpServiceBase;
+import org.eclipse.hono.service.management.device.DelegatingDeviceManagementHttpEndpoint;
+import org.eclipse.hono.util.RegistryManagementConstants;
 
 import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.MIMEHeader;
+import io.vertx.ext.web.RoutingContext;
 
 /**
  * Default REST server for Hono's example device registry.
  */
 public class DeviceRegistryHttpServer extends HttpServiceBase<ServiceConfigProperties> {
 
+    private static final Pattern DEVICES_OF_TENANT_PATH = Pattern.compile(String.format(
+            "/%s/%s/[^/]+/?",
+            RegistryManagementConstants.API_VERSION,
+            RegistryManagementConstants.DEVICES_HTTP_ENDPOINT));
+
     private NotificationSender notificationSender = new NoOpNotificationSender();
 
     /**
@@ -43,6 +55,22 @@ public class DeviceRegistryHttpServer extends HttpServiceBase<ServiceConfigPrope
         this.notificationSender = Objects.requireNonNull(notificationSender);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The body of requests for importing devices is read by the device management endpoint
+     * line by line.
+     */
+    @Override
+    protected boolean isRequestBodyReadByEndpoint(final RoutingContext ctx) {
+        return HttpMethod.POST.equals(ctx.request().method())
+                && Optional.ofNullable(ctx.parsedHeaders().contentType())
+                    .map(MIMEHeader::value)
+                    .map(DelegatingDeviceManagementHttpEndpoint.CONTENT_TYPE_NDJSON::equalsIgnoreCase)
+                    .orElse(false)
+                && DEVICES_OF_TENANT_PATH.matcher(ctx.request().path()).matches();
+    }
+
     @Override
     protected Future<Void> preStartServers() {
         return notificationSender.start();
@@ -15,8 +15,11 @@ package org.eclipse.hono.deviceregistry.service.credentials;
 
 import java.net.HttpURLConnection;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +34,7 @@ import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
 import org.eclipse.hono.notification.NoOpNotificationSender;
 import org.eclipse.hono.notification.NotificationSender;
 import org.eclipse.hono.notification.deviceregistry.CredentialsChangeNotification;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.management.OperationResult;
 import org.eclipse.hono.service.management.credentials.CommonCredential;
 import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
@@ -40,6 +44,7 @@ import org.eclipse.hono.util.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import io.opentracing.Span;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
@@ -58,6 +63,7 @@ public abstract class AbstractCredentialsManagementService implements Credential
     private final HonoPasswordEncoder passwordEncoder;
     private final int maxBcryptCostFactor;
     private final Set<String> hashAlgorithmsWhitelist;
+    private PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Creates a service for the given Vertx and password encoder instances.
@@ -94,6 +100,19 @@ public abstract class AbstractCredentialsManagementService implements Credential
         this.tenantInformationService = Objects.requireNonNull(tenantInformationService);
     }
 
+    /**
+     * Sets the executor to use for encoding passwords.
+     * <p>
+     * If not set, passwords are encoded using vert.x's worker pool.
+     *
+     * @param passwordHashingExecutor The executor.
+     * @throws NullPointerException if executor is {@code null};
+     */
+    @Autowired(required = false)
+    public void setPasswordHashingExecutor(final PasswordHashingExecutor passwordHashingExecutor) {
+        this.passwordHashingExecutor = Objects.requireNonNull(passwordHashingExecutor);
+    }
+
     /**
      * Sets the client to publish notifications about changes on credentials.
      *
@@ -134,6 +153,53 @@ public abstract class AbstractCredentialsManagementService implements Credential
             Optional<String> resourceVersion,
             Span span);
 
+    /**
+     * Updates or creates the credentials of multiple devices of a tenant.
+     * <p>
+     * This method is invoked by {@link #updateCredentials(String, Map, Span)} after all parameter checks
+     * have succeeded and the passwords contained in the credentials have been encoded.
+     * <p>
+     * This default implementation updates the credentials of one device after the other by means of
+     * {@link #processUpdateCredentials(DeviceKey, List, Optional, Span)}. Subclasses should override
+     * this method if the underlying data store supports updating the credentials of multiple devices
+     * more efficiently.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param credentials The credentials to set, keyed by the identifier of the device that they belong to.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a map containing the identifiers of the devices whose credentials
+     *         could not be updated along with the corresponding error. Otherwise, the future will be failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code as specified
+     *         in the Device Registry Management API.
+     */
+    protected Future<Map<String, Throwable>> processUpdateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        Future<Void> result = Future.succeededFuture();
+        for (final Map.Entry<String, List<CommonCredential>> entry : credentials.entrySet()) {
+            result = result.compose(ok -> processUpdateCredentials(
+                        DeviceKey.from(tenantId, entry.getKey()),
+                        entry.getValue(),
+                        Optional.empty(),
+                        span)
+                    .otherwise(t -> {
+                        failures.put(entry.getKey(), t);
+                        return null;
+                    })
+                    .mapEmpty());
+        }
+        return result.map(ok -> failures);
+    }
+
     /**
      * Gets all credentials registered for a device.
      *
@@ -169,7 +235,7 @@ public abstract class AbstractCredentialsManagementService implements Credential
         return this.tenantInformationService
                 .getTenant(tenantId, span)
                 .compose(tenant -> tenant.checkCredentialsLimitExceeded(tenantId, credentials))
-                .compose(ok -> verifyAndEncodePasswords(credentials))
+                .compose(ok -> verifyAndEncodePasswords(credentials, true))
                 .compose(encodedCredentials -> processUpdateCredentials(
                         DeviceKey.from(tenantId, deviceId),
                         encodedCredentials,
@@ -180,6 +246,69 @@ public abstract class AbstractCredentialsManagementService implements Credential
                 .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method verifies the credentials of each device and encodes the contained passwords. The passwords
+     * of different devices are encoded in parallel. The credentials of all devices that have been verified
+     * successfully are then passed to {@link #processUpdateCredentials(String, Map, Span)}.
+     */
+    @Override
+    public final Future<Map<String, Throwable>> updateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(credentials);
+        Objects.requireNonNull(span);
+
+        if (credentials.isEmpty()) {
+            return Future.succeededFuture(Map.of());
+        }
+
+        return this.tenantInformationService
+                .getTenant(tenantId, span)
+                .compose(tenant -> {
+                    final Map<String, Future<List<CommonCredential>>> verifiedCredentials = new LinkedHashMap<>();
+                    credentials.forEach((deviceId, deviceCredentials) -> verifiedCredentials.put(
+                            deviceId,
+                            tenant.checkCredentialsLimitExceeded(tenantId, deviceCredentials)
+                                .compose(ok -> verifyAndEncodePasswords(deviceCredentials, false))));
+                    @SuppressWarnings("rawtypes")
+                    final List<Future> verifications = new ArrayList<>(verifiedCredentials.values());
+                    return CompositeFuture.join(verifications)
+                            .otherwiseEmpty()
+                            .compose(ok -> {
+                                final Map<String, Throwable> failures = new LinkedHashMap<>();
+                                final Map<String, List<CommonCredential>> encodedCredentials = new LinkedHashMap<>();
+                                verifiedCredentials.forEach((deviceId, verification) -> {
+                                    if (verification.succeeded()) {
+                                        encodedCredentials.put(deviceId, verification.result());
+                                    } else {
+                                        failures.put(deviceId, verification.cause());
+                                    }
+                                });
+                                return processUpdateCredentials(tenantId, encodedCredentials, span)
+                                        .map(updateFailures -> {
+                                            encodedCredentials.keySet().stream()
+                                                .filter(deviceId -> !updateFailures.containsKey(deviceId))
+                                                .forEach(deviceId -> notificationSender.publish(
+                                                        new CredentialsChangeNotification(tenantId, deviceId, Instant.now())));
+                                            failures.putAll(updateFailures);
+                                            final Map<String, Throwable> mappedFailures = new LinkedHashMap<>();
+                                            credentials.keySet().stream()
+                                                .filter(failures::containsKey)
+                                                .forEach(deviceId -> mappedFailures.put(
+                                                        deviceId,
+                                                        DeviceRegistryUtils.mapError(failures.get(deviceId), tenantId).cause()));
+                                            return mappedFailures;
+                                        });
+                            });
+                })
+                .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
+    }
+
     @Override
     public final Future<OperationResult<List<CommonCredential>>> readCredentials(
             final String tenantId,
@@ -211,14 +340,19 @@ public abstract class AbstractCredentialsManagementService implements Credential
                 .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
     }
 
-    private Future<List<CommonCredential>> verifyAndEncodePasswords(final List<CommonCredential> credentials) {
+    private Future<List<CommonCredential>> verifyAndEncodePasswords(
+            final List<CommonCredential> credentials,
+            final boolean ordered) {
 
         return DeviceRegistryUtils.assertTypeAndAuthIdUniqueness(credentials)
                 .compose(ok -> {
                     // Check if we need to encode passwords
                     if (isEncodingOfSecretsRequired(credentials)) {
                         // ... yes, encode passwords asynchronously
-                        return Futures.executeBlocking(this.vertx, () -> checkCredentials(credentials));
+                        if (passwordHashingExecutor != null) {
+                            return passwordHashingExecutor.execute(() -> checkCredentials(credentials));
+                        }
+                        return Futures.executeBlocking(this.vertx, () -> checkCredentials(credentials), ordered);
                     } else {
                         try {
                             // ... no, so don't fork off a worker task, but inline work
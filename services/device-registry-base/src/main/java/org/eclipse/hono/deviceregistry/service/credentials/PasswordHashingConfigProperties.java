@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry.service.credentials;
+
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration properties for the thread pool that a device registry uses for encoding passwords.
+ */
+public class PasswordHashingConfigProperties {
+
+    /**
+     * The default maximum number of passwords waiting to be encoded.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    /**
+     * Gets the number of threads used for encoding passwords.
+     * <p>
+     * The default value of this property is the number of processors available to the JVM.
+     *
+     * @return The number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads used for encoding passwords.
+     * <p>
+     * The default value of this property is the number of processors available to the JVM.
+     *
+     * @param threads The number of threads.
+     * @throws IllegalArgumentException if threads is &lt; 1.
+     */
+    public void setThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("number of threads must be > 0");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the maximum number of passwords waiting to be encoded.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_QUEUE_SIZE}.
+     *
+     * @return The number of passwords.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the maximum number of passwords waiting to be encoded.
+     * <p>
+     * Requests that require passwords to be encoded while the queue is full are
+     * rejected with a <em>503: Service Unavailable</em> error.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_QUEUE_SIZE}.
+     *
+     * @param queueSize The number of passwords.
+     * @throws IllegalArgumentException if queue size is &lt; 1.
+     */
+    public void setQueueSize(final int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queue size must be > 0");
+        }
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Creates an executor for encoding passwords based on these properties.
+     *
+     * @param meterRegistry The registry to report the executor's metrics to.
+     * @return The executor.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    public PasswordHashingExecutor newExecutor(final MeterRegistry meterRegistry) {
+        return new PasswordHashingExecutor(threads, queueSize, meterRegistry);
+    }
+}
@@ -14,16 +14,19 @@ package org.eclipse.hono.deviceregistry.service.device;
 
 import java.net.HttpURLConnection;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.deviceregistry.service.tenant.NoopTenantInformationService;
 import org.eclipse.hono.deviceregistry.service.tenant.TenantInformationService;
+import org.eclipse.hono.deviceregistry.service.tenant.TenantKey;
 import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
 import org.eclipse.hono.notification.NoOpNotificationSender;
 import org.eclipse.hono.notification.NotificationSender;
@@ -104,6 +107,51 @@ public abstract class AbstractDeviceManagementService implements DeviceManagemen
      */
     protected abstract Future<OperationResult<Id>> processCreateDevice(DeviceKey key, Device device, Span span);
 
+    /**
+     * Creates multiple devices of a tenant.
+     * <p>
+     * This method is invoked by {@link #createDevices(String, Map, Span)} after all parameter checks
+     * have succeeded.
+     * <p>
+     * This default implementation creates the devices one after the other by means of
+     * {@link #processCreateDevice(DeviceKey, Device, Span)}. Subclasses should override this method
+     * if the underlying data store supports creating multiple devices more efficiently.
+     *
+     * @param tenantKey The key of the tenant that the devices belong to.
+     * @param devices The registration information of the devices to create, keyed by device identifier.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a map containing the identifiers of the devices that could not
+     *         be created along with the corresponding error. Otherwise, the future will be failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code as specified
+     *         in the Device Registry Management API.
+     */
+    protected Future<Map<String, Throwable>> processCreateDevices(
+            final TenantKey tenantKey,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        Future<Void> result = Future.succeededFuture();
+        for (final Map.Entry<String, Device> entry : devices.entrySet()) {
+            result = result.compose(ok -> processCreateDevice(
+                        DeviceKey.from(tenantKey, entry.getKey()),
+                        entry.getValue(),
+                        span)
+                    .otherwise(t -> {
+                        failures.put(entry.getKey(), t);
+                        return null;
+                    })
+                    .mapEmpty());
+        }
+        return result.map(ok -> failures);
+    }
+
     /**
      * Gets device registration data for a key.
      * <p>
@@ -246,6 +294,54 @@ public abstract class AbstractDeviceManagementService implements DeviceManagemen
                 "this implementation does not support the search devices operation"));
     }
 
+    /**
+     * Finds devices for search criteria, optionally continuing a preceding search.
+     * <p>
+     * This method is invoked by {@link #searchDevices(String, int, int, List, List, Optional, boolean, Span)}
+     * after all parameter checks have succeeded.
+     * <p>
+     * This default implementation returns a future failed with a {@link ClientErrorException} having a
+     * {@link HttpURLConnection#HTTP_BAD_REQUEST} status code if a continuation token is given. Otherwise, it
+     * invokes {@link #processSearchDevices(String, int, int, List, List, Span)}.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. If a
+     *                   continuation token is given, the offset is relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token for continuing a preceding search.
+     * @param estimateTotal {@code true} if the total number of matching devices may be estimated.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a result containing the matching devices. Otherwise, the future will
+     *         be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code
+     *         as specified in the Device Registry Management API.
+     */
+    protected Future<OperationResult<SearchResult<DeviceWithId>>> processSearchDevices(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
+        if (continuationToken.isPresent()) {
+            return Future.failedFuture(new ClientErrorException(
+                    tenantId,
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "this implementation does not support continuation tokens"));
+        }
+        return processSearchDevices(tenantId, pageSize, pageOffset, filters, sortOptions, span);
+    }
+
     /**
      * Generates a unique device identifier for a given tenant. A default implementation generates a random UUID value.
      *
@@ -285,6 +381,51 @@ public abstract class AbstractDeviceManagementService implements DeviceManagemen
                 .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method verifies that the tenant exists and then invokes
+     * {@link #processCreateDevices(TenantKey, Map, Span)}.
+     */
+    @Override
+    public final Future<Map<String, Throwable>> createDevices(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(span);
+
+        if (devices.isEmpty()) {
+            return Future.succeededFuture(Map.of());
+        }
+
+        return this.tenantInformationService
+                .tenantExists(tenantId, span)
+                .compose(result -> result.isError()
+                        ? Future.failedFuture(ServiceInvocationException.create(
+                                tenantId,
+                                result.getStatus(),
+                                "tenant does not exist",
+                                null))
+                        : processCreateDevices(result.getPayload(), devices, span))
+                .map(failures -> {
+                    final Map<String, Throwable> mappedFailures = new LinkedHashMap<>();
+                    failures.forEach((deviceId, error) -> mappedFailures.put(
+                            deviceId,
+                            DeviceRegistryUtils.mapError(error, tenantId).cause()));
+                    devices.forEach((deviceId, device) -> {
+                        if (!failures.containsKey(deviceId)) {
+                            notificationSender.publish(new DeviceChangeNotification(LifecycleChange.CREATE,
+                                    tenantId, deviceId, Instant.now(), device.isEnabled()));
+                        }
+                    });
+                    return mappedFailures;
+                })
+                .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
+    }
+
     @Override
     public final Future<OperationResult<Device>> readDevice(final String tenantId, final String deviceId, final Span span) {
 
@@ -413,9 +554,27 @@ public abstract class AbstractDeviceManagementService implements DeviceManagemen
             final List<Sort> sortOptions,
             final Span span) {
 
+        return searchDevices(tenantId, pageSize, pageOffset, filters, sortOptions, Optional.empty(), false, span);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Future<OperationResult<SearchResult<DeviceWithId>>> searchDevices(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
         Objects.requireNonNull(span);
 
         if (pageSize <= 0) {
@@ -433,7 +592,8 @@ public abstract class AbstractDeviceManagementService implements DeviceManagemen
                                 result.getStatus(),
                                 "tenant does not exist",
                                 null))
-                        : processSearchDevices(tenantId, pageSize, pageOffset, filters, sortOptions, span))
+                        : processSearchDevices(tenantId, pageSize, pageOffset, filters, sortOptions,
+                                continuationToken, estimateTotal, span))
                 .recover(t -> DeviceRegistryUtils.mapError(t, tenantId));
     }
 }
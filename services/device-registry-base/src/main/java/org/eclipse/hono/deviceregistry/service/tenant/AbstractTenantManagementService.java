@@ -169,6 +169,51 @@ public abstract class AbstractTenantManagementService implements TenantManagemen
                 "this implementation does not support the search tenamts operation"));
     }
 
+    /**
+     * Finds tenants with optional filters, paging and sorting options, optionally continuing a preceding search.
+     * <p>
+     * This method is invoked by {@link #searchTenants(int, int, List, List, Optional, boolean, Span)} after all
+     * parameter checks have succeeded.
+     * <p>
+     * This default implementation returns a future failed with a {@link ClientErrorException} having a
+     * {@link HttpURLConnection#HTTP_BAD_REQUEST} status code if a continuation token is given. Otherwise, it
+     * invokes {@link #processSearchTenants(int, int, List, List, Span)}.
+     *
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. If a
+     *                   continuation token is given, the offset is relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token for continuing a preceding search.
+     * @param estimateTotal {@code true} if the total number of matching tenants may be estimated.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a result containing the matching tenants. Otherwise, the future will
+     *         be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code
+     *         as specified in the Device Registry Management API.
+     */
+    protected Future<OperationResult<SearchResult<TenantWithId>>> processSearchTenants(
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
+        if (continuationToken.isPresent()) {
+            return Future.failedFuture(new ClientErrorException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "this implementation does not support continuation tokens"));
+        }
+        return processSearchTenants(pageSize, pageOffset, filters, sortOptions, span);
+    }
+
     /**
      * Deletes a tenant.
      * <p>
@@ -297,8 +342,25 @@ public abstract class AbstractTenantManagementService implements TenantManagemen
             final List<Sort> sortOptions,
             final Span span) {
 
+        return searchTenants(pageSize, pageOffset, filters, sortOptions, Optional.empty(), false, span);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Future<OperationResult<SearchResult<TenantWithId>>> searchTenants(
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
         Objects.requireNonNull(span);
 
         if (pageSize <= 0) {
@@ -308,7 +370,7 @@ public abstract class AbstractTenantManagementService implements TenantManagemen
             throw new IllegalArgumentException("page offset must not be negative");
         }
 
-        return processSearchTenants(pageSize, pageOffset, filters, sortOptions, span)
+        return processSearchTenants(pageSize, pageOffset, filters, sortOptions, continuationToken, estimateTotal, span)
                 .recover(t -> DeviceRegistryUtils.mapError(t, null));
     }
 
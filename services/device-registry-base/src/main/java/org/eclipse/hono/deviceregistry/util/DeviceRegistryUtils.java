@@ -19,17 +19,21 @@ import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.hono.auth.HonoPasswordEncoder;
 import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.service.management.Filter;
+import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.credentials.CommonCredential;
 import org.eclipse.hono.service.management.credentials.PasswordCredential;
 import org.eclipse.hono.service.management.credentials.PasswordSecret;
@@ -374,4 +378,107 @@ public final class DeviceRegistryUtils {
                 })
                 .collect(Collectors.joining("", "^", "$"));
     }
+
+    /**
+     * Creates a predicate for JSON objects that matches objects that fulfill all of the given filters.
+     * <p>
+     * String values of filters may contain the wildcard characters supported by
+     * {@link #getRegexExpressionForSearchOperation(String)}.
+     *
+     * @param filters The filters.
+     * @return The predicate.
+     * @throws NullPointerException if filters is {@code null}.
+     */
+    public static Predicate<JsonObject> getJsonBasedSearchPredicate(final List<Filter> filters) {
+        Objects.requireNonNull(filters);
+        final Predicate<JsonObject> result = filters.stream()
+                .map(filter -> {
+                    final Predicate<JsonObject> predicate = deviceWithId -> {
+                        final Object value = filter.getField().queryJson(JsonObject.mapFrom(deviceWithId));
+
+                        if (value != null) {
+                            switch (filter.getOperator()) {
+                            case eq:
+                                if (filter.getValue() instanceof String && value instanceof String) {
+                                    return ((String) value).matches(
+                                            getRegexExpressionForSearchOperation((String) filter.getValue()));
+                                }
+                                return value.equals(filter.getValue());
+                            default:
+                                return true;
+                            }
+                        } else {
+                            return false;
+                        }
+                    };
+                    return predicate;
+                })
+                .reduce(x -> true, Predicate::and);
+        return result;
+    }
+
+    /**
+     * Creates a comparator for JSON objects that orders objects according to the given sort options.
+     * <p>
+     * Objects that do not contain a field are ordered before objects that do.
+     *
+     * @param sortOptions The sort options.
+     * @return The comparator.
+     * @throws NullPointerException if sort options is {@code null}.
+     */
+    public static Comparator<JsonObject> getJsonBasedSearchComparator(final List<Sort> sortOptions) {
+        Objects.requireNonNull(sortOptions);
+
+        return new Comparator<>() {
+            @Override
+            public int compare(final JsonObject d1, final JsonObject d2) {
+
+                int result = 0;
+                for (final Sort sortOption : sortOptions) {
+                    result = compare(d1, d2, sortOption);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return result;
+            }
+
+            private int compare(final JsonObject a, final JsonObject b, final Sort sortOption) {
+
+                final Object objA = sortOption.getField().queryJson(a);
+                final Object objB = sortOption.getField().queryJson(b);
+
+                if (objA == null && objB != null) {
+                    return -1;
+                } else if (objA == null && objB == null) {
+                    return 0;
+                } else if (objA != null && objB == null) {
+                    return 1;
+                } else {
+                    if (objA.getClass().equals(objB.getClass())) {
+                        if (objA instanceof String) {
+                            return compareValues((String) objA, (String) objB, sortOption);
+                        } else if (objA instanceof Integer) {
+                            return compareValues((Integer) objA, (Integer) objB, sortOption);
+                        } else if (objA instanceof Double) {
+                            return compareValues((Double) objA, (Double) objB, sortOption);
+                        } else if (objA instanceof Float) {
+                            return compareValues((Float) objA, (Float) objB, sortOption);
+                        } else if (objA instanceof Boolean) {
+                            return compareValues((Boolean) objA, (Boolean) objB, sortOption);
+                        }
+                    }
+                    return 0;
+                }
+            }
+
+            private <T extends Comparable<? super T>> int compareValues(final T a, final T b, final Sort sortOption) {
+                if (sortOption.isAscending()) {
+                    return a.compareTo(b);
+                } else {
+                    return b.compareTo(a);
+                }
+            }
+        };
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -18,6 +18,7 @@ import java.util.Objects;
 
 import org.eclipse.hono.util.RegistryManagementConstants;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -34,6 +35,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public final class SearchResult<T> {
     private final int total;
     private final List<T> result;
+    private final String continuationToken;
 
     /**
      * Creates an instance of {@link SearchResult}.
@@ -42,13 +44,30 @@ public final class SearchResult<T> {
      * @param result The list of devices with their identifiers.
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
+    public SearchResult(final int total, final List<T> result) {
+        this(total, result, null);
+    }
+
+    /**
+     * Creates an instance of {@link SearchResult}.
+     *
+     * @param total The total number of objects in the result set, regardless of the pageSize set in query.
+     * @param result The list of devices with their identifiers.
+     * @param continuationToken The token for retrieving the page following this result or {@code null}
+     *                          if there are no more objects in the result set or if the search operation
+     *                          does not support continuation tokens.
+     * @throws NullPointerException if result is {@code null}.
+     */
+    @JsonCreator
     public SearchResult(
             @JsonProperty(value = RegistryManagementConstants.FIELD_RESULT_SET_SIZE) final int total,
-            @JsonProperty(value = RegistryManagementConstants.FIELD_RESULT_SET_PAGE) final List<T> result) {
+            @JsonProperty(value = RegistryManagementConstants.FIELD_RESULT_SET_PAGE) final List<T> result,
+            @JsonProperty(value = RegistryManagementConstants.FIELD_RESULT_SET_CONTINUATION_TOKEN) final String continuationToken) {
         Objects.requireNonNull(result);
 
         this.total = total;
         this.result = Collections.unmodifiableList(result);
+        this.continuationToken = continuationToken;
     }
 
     /**
@@ -68,4 +87,14 @@ public final class SearchResult<T> {
     public List<T> getResult() {
         return result;
     }
+
+    /**
+     * Gets the token for retrieving the page following this result.
+     *
+     * @return The token or {@code null} if there are no more objects in the result set or if the
+     *         search operation does not support continuation tokens.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
 }
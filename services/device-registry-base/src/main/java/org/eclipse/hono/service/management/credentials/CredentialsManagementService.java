@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -12,7 +12,10 @@
  *******************************************************************************/
 package org.eclipse.hono.service.management.credentials;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.hono.service.management.OperationResult;
@@ -60,6 +63,57 @@ public interface CredentialsManagementService {
             Optional<String> resourceVersion,
             Span span);
 
+    /**
+     * Updates or creates the credentials of multiple devices of a tenant.
+     * <p>
+     * The credentials of the devices are updated independently of each other, i.e. credentials that cannot
+     * be updated do not prevent the credentials of the other devices from being updated. The resource versions
+     * of the credentials on record are ignored.
+     * <p>
+     * This default implementation updates the credentials of one device after the other by means of
+     * {@link #updateCredentials(String, String, List, Optional, Span)}. Implementations are encouraged to
+     * override this method in order to update the credentials in batches.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param credentials The credentials to set, keyed by the identifier of the device that they belong to.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a map containing the identifiers of the devices whose credentials
+     *         could not be updated along with a {@link org.eclipse.hono.client.ServiceInvocationException}
+     *         containing an error code as specified in the Device Registry Management API for the corresponding
+     *         update operation. The credentials of all other devices have been updated successfully. The future
+     *         will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} if none of the
+     *         credentials could be updated because of a reason that applies to all devices, e.g. if the tenant
+     *         does not exist.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    default Future<Map<String, Throwable>> updateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(credentials);
+        Objects.requireNonNull(span);
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        Future<Void> result = Future.succeededFuture();
+        for (final Map.Entry<String, List<CommonCredential>> entry : credentials.entrySet()) {
+            result = result.compose(ok -> updateCredentials(tenantId, entry.getKey(), entry.getValue(), Optional.empty(), span)
+                    .otherwise(t -> {
+                        failures.put(entry.getKey(), t);
+                        return null;
+                    })
+                    .mapEmpty());
+        }
+        return result.map(ok -> failures);
+    }
+
     /**
      * Gets all credentials registered for a device.
      *
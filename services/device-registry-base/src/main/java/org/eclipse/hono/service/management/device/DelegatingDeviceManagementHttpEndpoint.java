@@ -14,30 +14,48 @@
 package org.eclipse.hono.service.management.device;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.http.TracingHandler;
 import org.eclipse.hono.service.management.AbstractDelegatingRegistryHttpEndpoint;
 import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Id;
 import org.eclipse.hono.service.management.Sort;
+import org.eclipse.hono.service.management.credentials.CommonCredential;
+import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.RegistryManagementConstants;
 
 import io.opentracing.Span;
+import io.opentracing.log.Fields;
+import io.opentracing.tag.Tags;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -49,16 +67,55 @@ import io.vertx.ext.web.handler.BodyHandler;
  * <a href="https://www.eclipse.org/hono/docs/api/management/">Device Registry Management API</a>.
  * It receives HTTP requests representing operation invocations and executes the matching service
  * implementation methods. The outcome is then returned to the peer in the HTTP response.
+ * <p>
+ * In addition, the endpoint supports importing multiple devices along with their credentials by means of
+ * a POST request to the tenant's devices resource having content type {@value #CONTENT_TYPE_NDJSON}.
+ * Each line of the request body contains a JSON object with the device identifier ({@value #FIELD_IMPORT_ID}),
+ * the registration information ({@value #FIELD_IMPORT_DEVICE}) and the credentials
+ * ({@value #FIELD_IMPORT_CREDENTIALS}) of a device. The request body is processed as a stream and the devices
+ * are created in batches of {@value #IMPORT_BATCH_SIZE}. The response body contains a JSON object for each line
+ * of the request body, indicating the outcome of importing the device.
  *
  * @param <S> The type of service this endpoint delegates to.
  */
 public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementService> extends AbstractDelegatingRegistryHttpEndpoint<S, ServiceConfigProperties> {
 
+    /**
+     * The content type of a request for importing devices and of the corresponding response.
+     */
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    /**
+     * The name of the field containing the identifier of the device to import.
+     */
+    public static final String FIELD_IMPORT_ID = RegistryManagementConstants.FIELD_ID;
+    /**
+     * The name of the field containing the registration information of the device to import.
+     */
+    public static final String FIELD_IMPORT_DEVICE = "device";
+    /**
+     * The name of the field containing the credentials of the device to import.
+     */
+    public static final String FIELD_IMPORT_CREDENTIALS = "credentials";
+    /**
+     * The name of the field containing the number of the request body line that an import result refers to.
+     */
+    public static final String FIELD_IMPORT_LINE = "line";
+    /**
+     * The name of the field containing the HTTP status code of an import result.
+     */
+    public static final String FIELD_IMPORT_STATUS = "status";
+    /**
+     * The name of the field containing the error message of an import result.
+     */
+    public static final String FIELD_IMPORT_ERROR = "error";
+
     static final int DEFAULT_PAGE_OFFSET = 0;
     static final int DEFAULT_PAGE_SIZE = 30;
     static final int MAX_PAGE_SIZE = 200;
     static final int MIN_PAGE_OFFSET = 0;
     static final int MIN_PAGE_SIZE = 0;
+    static final int IMPORT_BATCH_SIZE = 100;
+
 
     private static final String SPAN_NAME_CREATE_DEVICE = "create Device from management API";
     private static final String SPAN_NAME_GET_DEVICE = "get Device from management API";
@@ -66,11 +123,14 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
     private static final String SPAN_NAME_UPDATE_DEVICE = "update Device from management API";
     private static final String SPAN_NAME_REMOVE_DEVICE = "remove Device from management API";
     private static final String SPAN_NAME_REMOVE_DEVICES_OF_TENANT = "remove all of Tenant's Devices from management API";
+    private static final String SPAN_NAME_IMPORT_DEVICES = "import Devices from management API";
 
     private static final String DEVICE_MANAGEMENT_ENDPOINT_NAME = String.format("%s/%s",
                     RegistryManagementConstants.API_VERSION,
                     RegistryManagementConstants.DEVICES_HTTP_ENDPOINT);
 
+    private final CredentialsManagementService credentialsService;
+
     /**
      * Creates an endpoint for a service instance.
      *
@@ -79,7 +139,24 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
      * @throws NullPointerException if any of the parameters are {@code null};
      */
     public DelegatingDeviceManagementHttpEndpoint(final Vertx vertx, final S service) {
+        this(vertx, service, null);
+    }
+
+    /**
+     * Creates an endpoint for a service instance that also supports importing the credentials of devices.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param service The service to delegate to.
+     * @param credentialsService The service to delegate to for setting the credentials of imported devices
+     *                           or {@code null} if importing credentials is not supported.
+     * @throws NullPointerException if vert.x or service are {@code null};
+     */
+    public DelegatingDeviceManagementHttpEndpoint(
+            final Vertx vertx,
+            final S service,
+            final CredentialsManagementService credentialsService) {
         super(vertx, service);
+        this.credentialsService = credentialsService;
     }
 
     @Override
@@ -101,6 +178,11 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
         final BodyHandler bodyHandler = BodyHandler.create();
         bodyHandler.setBodyLimit(config.getMaxPayloadSize());
 
+        // IMPORT devices
+        router.post(pathWithTenant)
+                .consumes(CONTENT_TYPE_NDJSON)
+                .handler(this::doImportDevices);
+
         // CREATE device with auto-generated deviceID
         router.post(pathWithTenant)
                 .handler(bodyHandler)
@@ -186,8 +268,18 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
                 RegistryManagementConstants.PARAM_FILTER_JSON, Filter.class);
         final Future<List<Sort>> sortOptions = decodeJsonFromRequestParameter(ctx,
                 RegistryManagementConstants.PARAM_SORT_JSON, Sort.class);
+        final Future<String> continuationToken = getRequestParameter(
+                ctx,
+                RegistryManagementConstants.PARAM_CONTINUATION_TOKEN,
+                value -> value == null || !value.isEmpty());
+        final Future<Boolean> estimateTotal = getRequestParameter(
+                ctx,
+                RegistryManagementConstants.PARAM_ESTIMATE_TOTAL,
+                Boolean.FALSE,
+                CONVERTER_BOOLEAN,
+                value -> true);
 
-        CompositeFuture.all(pageSize, pageOffset, filters, sortOptions)
+        CompositeFuture.all(pageSize, pageOffset, filters, sortOptions, continuationToken, estimateTotal)
                 .onSuccess(ok -> TracingHelper.TAG_TENANT_ID.set(span, tenantId))
                 .compose(ok -> getService().searchDevices(
                         tenantId,
@@ -195,6 +287,8 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
                         pageOffset.result(),
                         filters.result(),
                         sortOptions.result(),
+                        Optional.ofNullable(continuationToken.result()),
+                        estimateTotal.result(),
                         span))
                 .onSuccess(operationResult -> writeResponse(ctx, operationResult, span))
                 .onFailure(t -> failRequest(ctx, t, span))
@@ -302,6 +396,29 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
             .onComplete(s -> span.finish());
     }
 
+    private void doImportDevices(final RoutingContext ctx) {
+
+        final Span span = TracingHelper.buildServerChildSpan(
+                tracer,
+                TracingHandler.serverSpanContext(ctx),
+                SPAN_NAME_IMPORT_DEVICES,
+                getClass().getSimpleName()
+        ).start();
+
+        // the request body is read by the import
+        ctx.request().pause();
+        getRequestParameter(ctx, PARAM_TENANT_ID, getPredicate(config.getTenantIdPattern(), false))
+            .onSuccess(tenantId -> {
+                TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+                logger.debug("importing devices [tenant: {}]", tenantId);
+                new DeviceImport(ctx, tenantId, span).start();
+            })
+            .onFailure(t -> {
+                failRequest(ctx, t, span);
+                span.finish();
+            });
+    }
+
     /**
      * Gets the device from the request body.
      *
@@ -335,4 +452,307 @@ public class DelegatingDeviceManagementHttpEndpoint<S extends DeviceManagementSe
         return result.future();
     }
 
+    /**
+     * A line of a request for importing devices.
+     */
+    private static final class ImportLine {
+
+        private final int number;
+        private String deviceId;
+        private Device device;
+        private List<CommonCredential> credentials = List.of();
+        private Throwable error;
+
+        ImportLine(final int number) {
+            this.number = number;
+        }
+
+        JsonObject toResult() {
+            final JsonObject result = new JsonObject().put(FIELD_IMPORT_LINE, number);
+            Optional.ofNullable(deviceId).ifPresent(id -> result.put(FIELD_IMPORT_ID, id));
+            if (error == null) {
+                result.put(FIELD_IMPORT_STATUS, HttpURLConnection.HTTP_CREATED);
+            } else {
+                result.put(FIELD_IMPORT_STATUS, ServiceInvocationException.extractStatusCode(error));
+                result.put(FIELD_IMPORT_ERROR, error.getMessage());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Imports the devices contained in the body of a request.
+     * <p>
+     * The request body is parsed line by line. The reading of the request body is paused while a batch
+     * of devices is being imported or while the response cannot take any more data.
+     */
+    private final class DeviceImport {
+
+        private final RoutingContext ctx;
+        private final HttpServerRequest request;
+        private final HttpServerResponse response;
+        private final String tenantId;
+        private final Span span;
+        private final Predicate<String> deviceIdPredicate = getPredicate(config.getDeviceIdPattern(), false);
+        private final Queue<ImportLine> pendingLines = new LinkedList<>();
+        private int lineNumber = 0;
+        private int importedDevices = 0;
+        private int failedDevices = 0;
+        private boolean ended = false;
+        private boolean processing = false;
+        private boolean finished = false;
+        private Throwable streamError;
+
+        DeviceImport(final RoutingContext ctx, final String tenantId, final Span span) {
+            this.ctx = ctx;
+            this.request = ctx.request();
+            this.response = ctx.response();
+            this.tenantId = tenantId;
+            this.span = span;
+        }
+
+        void start() {
+            final RecordParser parser = RecordParser.newDelimited("\n", this::handleLine);
+            parser.maxRecordSize(config.getMaxPayloadSize());
+            parser.exceptionHandler(t -> handleStreamError(newLineTooLongException(t)));
+            if (request.isEnded()) {
+                // the body has already been read, e.g. by a BodyHandler
+                Optional.ofNullable(ctx.getBody()).ifPresent(parser::handle);
+                handleEnd(parser);
+                return;
+            }
+            request.handler(parser);
+            request.exceptionHandler(this::handleStreamError);
+            request.endHandler(v -> handleEnd(parser));
+            request.resume();
+        }
+
+        private void handleEnd(final RecordParser parser) {
+            if (streamError == null) {
+                // process the last line if it is not terminated by a line feed
+                parser.handle(Buffer.buffer("\n"));
+            }
+            ended = true;
+            processNextBatch();
+        }
+
+        private ClientErrorException newLineTooLongException(final Throwable cause) {
+            return new ClientErrorException(
+                    tenantId,
+                    HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    String.format("line %d exceeds max size of %d bytes", lineNumber + 1, config.getMaxPayloadSize()),
+                    cause);
+        }
+
+        private void handleLine(final Buffer line) {
+
+            if (streamError != null) {
+                return;
+            }
+            if (line.length() > config.getMaxPayloadSize()) {
+                // the parser only detects lines exceeding the max size if they span multiple chunks
+                handleStreamError(newLineTooLongException(null));
+                return;
+            }
+            lineNumber++;
+            if (line.length() == 0 || line.toString().isBlank()) {
+                return;
+            }
+            final ImportLine importLine = new ImportLine(lineNumber);
+            try {
+                final JsonObject json = new JsonObject(line);
+                final Object id = json.getValue(FIELD_IMPORT_ID);
+                if (id instanceof String) {
+                    importLine.deviceId = (String) id;
+                }
+                if (importLine.deviceId == null || !deviceIdPredicate.test(importLine.deviceId)) {
+                    throw new ClientErrorException(tenantId, HttpURLConnection.HTTP_BAD_REQUEST,
+                            "line does not contain a valid device identifier");
+                }
+                importLine.device = Optional.ofNullable(json.getJsonObject(FIELD_IMPORT_DEVICE))
+                        .map(device -> device.mapTo(Device.class))
+                        .orElseGet(Device::new);
+                importLine.credentials = Optional.ofNullable(json.getJsonArray(FIELD_IMPORT_CREDENTIALS))
+                        .map(JsonArray::stream)
+                        .map(credentials -> credentials
+                                .filter(JsonObject.class::isInstance)
+                                .map(JsonObject.class::cast)
+                                .map(credential -> credential.mapTo(CommonCredential.class))
+                                .collect(Collectors.toList()))
+                        .orElse(List.of());
+                if (!importLine.credentials.isEmpty() && credentialsService == null) {
+                    importLine.error = new ServerErrorException(
+                            tenantId,
+                            HttpURLConnection.HTTP_NOT_IMPLEMENTED,
+                            "this implementation does not support importing credentials");
+                }
+            } catch (final ServiceInvocationException e) {
+                importLine.error = e;
+            } catch (final DecodeException | IllegalArgumentException | ClassCastException e) {
+                importLine.error = new ClientErrorException(tenantId, HttpURLConnection.HTTP_BAD_REQUEST,
+                        "line does not contain a valid device", e);
+            }
+            pendingLines.add(importLine);
+            if (pendingLines.size() >= IMPORT_BATCH_SIZE) {
+                request.pause();
+                processNextBatch();
+            }
+        }
+
+        private void handleStreamError(final Throwable error) {
+            if (streamError == null) {
+                streamError = error;
+                request.pause();
+                processNextBatch();
+            }
+        }
+
+        private void processNextBatch() {
+
+            if (processing || finished) {
+                return;
+            }
+            if (response.writeQueueFull()) {
+                request.pause();
+                response.drainHandler(v -> processNextBatch());
+                return;
+            }
+            if (streamError == null && !ended && pendingLines.size() < IMPORT_BATCH_SIZE) {
+                request.resume();
+                return;
+            }
+            if (pendingLines.isEmpty()) {
+                // the lines preceding a stream error have been imported as well
+                finish();
+                return;
+            }
+
+            final List<ImportLine> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            while (batch.size() < IMPORT_BATCH_SIZE && !pendingLines.isEmpty()) {
+                batch.add(pendingLines.poll());
+            }
+            processing = true;
+            importBatch(batch)
+                .onComplete(ar -> {
+                    processing = false;
+                    writeResults(batch);
+                    processNextBatch();
+                });
+        }
+
+        private Future<Void> importBatch(final List<ImportLine> batch) {
+
+            final Map<String, ImportLine> linesToImport = new LinkedHashMap<>();
+            for (final ImportLine line : batch) {
+                if (line.error != null) {
+                    continue;
+                }
+                if (linesToImport.containsKey(line.deviceId)) {
+                    line.error = new ClientErrorException(tenantId, HttpURLConnection.HTTP_CONFLICT,
+                            "device identifier is already used by a preceding line");
+                } else {
+                    linesToImport.put(line.deviceId, line);
+                }
+            }
+            if (linesToImport.isEmpty()) {
+                return Future.succeededFuture();
+            }
+
+            final Map<String, Device> devices = new LinkedHashMap<>();
+            linesToImport.forEach((deviceId, line) -> devices.put(deviceId, line.device));
+
+            return getService().createDevices(tenantId, devices, span)
+                .compose(deviceFailures -> {
+                    deviceFailures.forEach((deviceId, error) -> linesToImport.get(deviceId).error = error);
+                    final Map<String, List<CommonCredential>> credentials = new LinkedHashMap<>();
+                    linesToImport.forEach((deviceId, line) -> {
+                        if (line.error == null && !line.credentials.isEmpty()) {
+                            credentials.put(deviceId, line.credentials);
+                        }
+                    });
+                    if (credentials.isEmpty()) {
+                        return Future.succeededFuture();
+                    }
+                    return credentialsService.updateCredentials(tenantId, credentials, span)
+                        .compose(credentialsFailures -> {
+                            credentialsFailures.forEach((deviceId, error) -> linesToImport.get(deviceId).error = error);
+                            return removeDevices(credentialsFailures.keySet());
+                        });
+                })
+                .otherwise(t -> {
+                    linesToImport.values().stream()
+                        .filter(line -> line.error == null)
+                        .forEach(line -> line.error = t);
+                    return null;
+                })
+                .mapEmpty();
+        }
+
+        /**
+         * Removes devices whose credentials could not be imported so that the import of a
+         * line either succeeds or fails as a whole.
+         */
+        private Future<Void> removeDevices(final Set<String> deviceIds) {
+            @SuppressWarnings("rawtypes")
+            final List<Future> removals = deviceIds.stream()
+                    .map(deviceId -> getService().deleteDevice(tenantId, deviceId, Optional.empty(), span)
+                            .onFailure(t -> logger.info("failed to remove device after credentials import failed "
+                                    + "[tenant: {}, device-id: {}]", tenantId, deviceId, t)))
+                    .collect(Collectors.toList());
+            return CompositeFuture.join(removals).otherwiseEmpty().mapEmpty();
+        }
+
+        private void writeResults(final List<ImportLine> batch) {
+
+            final Buffer results = Buffer.buffer();
+            for (final ImportLine line : batch) {
+                if (line.error == null) {
+                    importedDevices++;
+                } else {
+                    failedDevices++;
+                }
+                results.appendBuffer(line.toResult().toBuffer()).appendString("\n");
+            }
+            write(results);
+        }
+
+        private void write(final Buffer data) {
+            if (!response.headWritten()) {
+                response.setStatusCode(HttpURLConnection.HTTP_OK);
+                response.setChunked(true);
+                response.putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE_NDJSON);
+            }
+            response.write(data);
+        }
+
+        private void finish() {
+
+            finished = true;
+            span.log(Map.of(
+                    Fields.EVENT, "finished import of devices",
+                    "imported", importedDevices,
+                    "failed", failedDevices));
+            logger.debug("finished import of devices [tenant: {}, imported: {}, failed: {}]",
+                    tenantId, importedDevices, failedDevices);
+
+            if (streamError != null && !response.headWritten()) {
+                failRequest(ctx, streamError, span);
+            } else {
+                if (streamError != null) {
+                    TracingHelper.logError(span, "error reading request body", streamError);
+                    write(new JsonObject()
+                            .put(FIELD_IMPORT_LINE, lineNumber + 1)
+                            .put(FIELD_IMPORT_STATUS, ServiceInvocationException.extractStatusCode(streamError))
+                            .put(FIELD_IMPORT_ERROR, streamError.getMessage())
+                            .toBuffer()
+                            .appendString("\n"));
+                } else if (!response.headWritten()) {
+                    write(Buffer.buffer());
+                }
+                Tags.HTTP_STATUS.set(span, response.getStatusCode());
+                response.end();
+            }
+            span.finish();
+        }
+    }
 }
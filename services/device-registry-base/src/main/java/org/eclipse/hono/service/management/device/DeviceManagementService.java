@@ -14,9 +14,13 @@
 package org.eclipse.hono.service.management.device;
 
 import java.net.HttpURLConnection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Id;
@@ -60,6 +64,55 @@ public interface DeviceManagementService {
      */
     Future<OperationResult<Id>> createDevice(String tenantId, Optional<String> deviceId, Device device, Span span);
 
+    /**
+     * Creates multiple devices of a tenant.
+     * <p>
+     * The devices are created independently of each other, i.e. a device that cannot be created does not
+     * prevent the other devices from being created.
+     * <p>
+     * This default implementation creates the devices one after the other by means of
+     * {@link #createDevice(String, Optional, Device, Span)}. Implementations are encouraged to override
+     * this method in order to create the devices in batches.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param devices The registration information of the devices to create, keyed by device identifier.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a map containing the identifiers of the devices that could
+     *         not be created along with a {@link org.eclipse.hono.client.ServiceInvocationException} containing
+     *         an error code as specified in the Device Registry Management API for the corresponding create
+     *         operation. All other devices have been created successfully. The future will be failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException} if none of the devices could be created
+     *         because of a reason that applies to all devices, e.g. if the tenant does not exist.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    default Future<Map<String, Throwable>> createDevices(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(span);
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        Future<Void> result = Future.succeededFuture();
+        for (final Map.Entry<String, Device> entry : devices.entrySet()) {
+            result = result.compose(ok -> createDevice(tenantId, Optional.of(entry.getKey()), entry.getValue(), span)
+                    .otherwise(t -> {
+                        failures.put(entry.getKey(), t);
+                        return null;
+                    })
+                    .mapEmpty());
+        }
+        return result.map(ok -> failures);
+    }
+
     /**
      * Gets device registration data for a device identifier.
      *
@@ -126,6 +179,62 @@ public interface DeviceManagementService {
                 "this implementation does not support the search devices operation"));
     }
 
+    /**
+     * Finds devices for search criteria, optionally continuing a preceding search.
+     * <p>
+     * A continuation token is contained in the result of a search if the implementation supports continuing
+     * a search after the last device of the result. Continuing a search by means of such a token does not require
+     * the implementation to skip all devices of the preceding pages.
+     * <p>
+     * This default implementation returns a future failed with a {@link ClientErrorException} having a
+     * {@link HttpURLConnection#HTTP_BAD_REQUEST} status code if a continuation token is given. Otherwise, it
+     * invokes {@link #searchDevices(String, int, int, List, List, Span)}, i.e. the total number of matching
+     * devices is never estimated.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. This allows to
+     *                   retrieve the whole result set page by page. If a continuation token is given, the offset
+     *                   is relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token contained in the result of a preceding search with the same filters
+     *                          and sort options for continuing after the last device of that result.
+     * @param estimateTotal {@code true} if the total number of matching devices may be estimated.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a result containing the matching devices. Otherwise, the future will
+     *         be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code
+     *         as specified in the Device Registry Management API.
+     * @throws NullPointerException if any of filters, sort options, continuation token or tracing span are {@code null}.
+     * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is &lt; 0.
+     * @see <a href="https://www.eclipse.org/hono/docs/api/management/#/devices/searchDevicesForTenant"> Device Registry
+     *      Management API - Search Devices</a>
+     */
+    default Future<OperationResult<SearchResult<DeviceWithId>>> searchDevices(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
+        if (continuationToken.isPresent()) {
+            return Future.failedFuture(new ClientErrorException(
+                    tenantId,
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "this implementation does not support continuation tokens"));
+        }
+        return searchDevices(tenantId, pageSize, pageOffset, filters, sortOptions, span);
+    }
+
     /**
      * Updates device registration data.
      *
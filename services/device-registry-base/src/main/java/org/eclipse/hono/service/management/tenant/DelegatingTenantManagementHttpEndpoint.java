@@ -252,13 +252,25 @@ public class DelegatingTenantManagementHttpEndpoint<S extends TenantManagementSe
                 RegistryManagementConstants.PARAM_FILTER_JSON, Filter.class);
         final Future<List<Sort>> sortOptions = decodeJsonFromRequestParameter(ctx,
                 RegistryManagementConstants.PARAM_SORT_JSON, Sort.class);
+        final Future<String> continuationToken = getRequestParameter(
+                ctx,
+                RegistryManagementConstants.PARAM_CONTINUATION_TOKEN,
+                value -> value == null || !value.isEmpty());
+        final Future<Boolean> estimateTotal = getRequestParameter(
+                ctx,
+                RegistryManagementConstants.PARAM_ESTIMATE_TOTAL,
+                Boolean.FALSE,
+                CONVERTER_BOOLEAN,
+                value -> true);
 
-        CompositeFuture.all(pageSize, pageOffset, filters, sortOptions)
+        CompositeFuture.all(pageSize, pageOffset, filters, sortOptions, continuationToken, estimateTotal)
                 .compose(ok -> getService().searchTenants(
                         pageSize.result(),
                         pageOffset.result(),
                         filters.result(),
                         sortOptions.result(),
+                        Optional.ofNullable(continuationToken.result()),
+                        estimateTotal.result(),
                         span))
                 .onSuccess(operationResult -> writeResponse(ctx, operationResult, span))
                 .onFailure(t -> failRequest(ctx, t, span))
@@ -17,6 +17,7 @@ import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Optional;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Id;
@@ -121,6 +122,59 @@ public interface TenantManagementService {
                 "this implementation does not support the search tenamts operation"));
     }
 
+    /**
+     * Finds tenants for search criteria, optionally continuing a preceding search.
+     * <p>
+     * A continuation token is contained in the result of a search if the implementation supports continuing
+     * a search after the last tenant of the result. Continuing a search by means of such a token does not require
+     * the implementation to skip all tenants of the preceding pages.
+     * <p>
+     * This default implementation returns a future failed with a {@link ClientErrorException} having a
+     * {@link HttpURLConnection#HTTP_BAD_REQUEST} status code if a continuation token is given. Otherwise, it
+     * invokes {@link #searchTenants(int, int, List, List, Span)}, i.e. the total number of matching
+     * tenants is never estimated.
+     *
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. This allows to
+     *                   retrieve the whole result set page by page. If a continuation token is given, the offset
+     *                   is relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token contained in the result of a preceding search with the same filters
+     *                          and sort options for continuing after the last tenant of that result.
+     * @param estimateTotal {@code true} if the total number of matching tenants may be estimated.
+     * @param span The active OpenTracing span to use for tracking this operation.
+     *             <p>
+     *             Implementations <em>must not</em> invoke the {@link Span#finish()} nor the {@link Span#finish(long)}
+     *             methods. However,implementations may log (error) events on this span, set tags and use this span
+     *             as the parent for additional spans created as part of this method's execution.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a result containing the matching tenants. Otherwise, the future will
+     *         be failed with a {@link org.eclipse.hono.client.ServiceInvocationException} containing an error code
+     *         as specified in the Device Registry Management API.
+     * @throws NullPointerException if any of filters, sort options, continuation token or tracing span are {@code null}.
+     * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is &lt; 0.
+     * @see <a href="https://www.eclipse.org/hono/docs/api/management/#/tenants/searchTenants"> Device Registry
+     *      Management API - Search Tenants</a>
+     */
+    default Future<OperationResult<SearchResult<TenantWithId>>> searchTenants(
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Span span) {
+
+        if (continuationToken.isPresent()) {
+            return Future.failedFuture(new ClientErrorException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "this implementation does not support continuation tokens"));
+        }
+        return searchTenants(pageSize, pageOffset, filters, sortOptions, span);
+    }
+
     /**
      * Updates configuration information of a tenant.
      *
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceregistry.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.service.management.device.DelegatingDeviceManagementHttpEndpoint;
+import org.eclipse.hono.service.management.device.Device;
+import org.eclipse.hono.service.management.device.DeviceManagementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.opentracing.Span;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link DeviceRegistryHttpServer}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class DeviceRegistryHttpServerTest {
+
+    private static final int MAX_PAYLOAD_SIZE = 256;
+
+    private DeviceManagementService service;
+    private DeviceRegistryHttpServer server;
+    private HttpClient client;
+
+    /**
+     * Starts a server exposing the device management endpoint.
+     *
+     * @param vertx The vert.x instance to run on.
+     * @param ctx The vert.x test context.
+     */
+    @BeforeEach
+    public void setUp(final Vertx vertx, final VertxTestContext ctx) {
+
+        service = mock(DeviceManagementService.class);
+        final ServiceConfigProperties config = new ServiceConfigProperties();
+        config.setInsecurePort(0);
+        config.setMaxPayloadSize(MAX_PAYLOAD_SIZE);
+        final var endpoint = new DelegatingDeviceManagementHttpEndpoint<>(vertx, service);
+        endpoint.setConfiguration(config);
+
+        server = new DeviceRegistryHttpServer();
+        server.setConfig(config);
+        server.addEndpoint(endpoint);
+        client = vertx.createHttpClient();
+        vertx.deployVerticle(server).onComplete(ctx.succeedingThenComplete());
+    }
+
+    /**
+     * Closes the client.
+     */
+    @AfterEach
+    public void closeClient() {
+        Optional.ofNullable(client).ifPresent(HttpClient::close);
+    }
+
+    private Future<HttpClientResponse> post(final String uri, final String contentType, final Buffer body) {
+        return client.request(HttpMethod.POST, server.getInsecurePort(), "localhost", uri)
+                .compose(request -> request
+                        .putHeader(HttpHeaders.CONTENT_TYPE, contentType)
+                        .send(body));
+    }
+
+    /**
+     * Verifies that the body of a request for importing devices is not subject to the
+     * maximum payload size and is read by the device management endpoint.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testImportDevicesSucceedsForBodyExceedingMaxPayloadSize(final VertxTestContext ctx) {
+
+        when(service.createDevices(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of()));
+        final int numberOfDevices = 20;
+        final Buffer body = Buffer.buffer();
+        for (int i = 0; i < numberOfDevices; i++) {
+            body.appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-" + i).encode())
+                .appendString("\n");
+        }
+        assertThat(body.length()).isGreaterThan(MAX_PAYLOAD_SIZE);
+
+        post("/v1/devices/mytenant", DelegatingDeviceManagementHttpEndpoint.CONTENT_TYPE_NDJSON, body)
+            .compose(response -> {
+                ctx.verify(() -> assertThat(response.statusCode()).isEqualTo(HttpURLConnection.HTTP_OK));
+                return response.body();
+            })
+            .onComplete(ctx.succeeding(responseBody -> {
+                ctx.verify(() -> {
+                    final List<JsonObject> results = responseBody.toString().lines()
+                            .map(JsonObject::new)
+                            .collect(Collectors.toList());
+                    assertThat(results).hasSize(numberOfDevices);
+                    results.forEach(result -> assertThat(result.getInteger(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_STATUS))
+                            .isEqualTo(HttpURLConnection.HTTP_CREATED));
+                    verify(service).createDevices(
+                            eq("mytenant"),
+                            argThat((Map<String, Device> devices) -> devices.size() == numberOfDevices),
+                            any(Span.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the body of a request for creating a device is still subject to the
+     * maximum payload size.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCreateDeviceFailsForBodyExceedingMaxPayloadSize(final VertxTestContext ctx) {
+
+        final Buffer body = new JsonObject()
+                .put("ext", new JsonObject().put("comment", "x".repeat(MAX_PAYLOAD_SIZE)))
+                .toBuffer();
+
+        post("/v1/devices/mytenant/device-1", "application/json", body)
+            .onComplete(ctx.succeeding(response -> {
+                ctx.verify(() -> {
+                    assertThat(response.statusCode()).isEqualTo(HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+                    verify(service, never()).createDevice(anyString(), any(Optional.class), any(Device.class), any(Span.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+}
@@ -15,10 +15,13 @@
 package org.eclipse.hono.service.management.device;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -28,16 +31,23 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.http.DefaultFailureHandler;
 import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Filter.Operator;
 import org.eclipse.hono.service.management.Id;
 import org.eclipse.hono.service.management.OperationResult;
+import org.eclipse.hono.service.management.Result;
 import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.Sort.Direction;
+import org.eclipse.hono.service.management.credentials.CommonCredential;
+import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
 import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.RegistryManagementConstants;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +65,7 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.impl.HttpServerRequestInternal;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 
@@ -66,6 +77,7 @@ import io.vertx.ext.web.Router;
 public class DelegatingDeviceManagementHttpEndpointTest {
 
     private DeviceManagementService service;
+    private CredentialsManagementService credentialsService;
     private Router router;
     private MultiMap requestParams;
     private MultiMap requestHeaders;
@@ -91,9 +103,12 @@ public class DelegatingDeviceManagementHttpEndpointTest {
                 anyInt(),
                 any(List.class),
                 any(List.class),
+                any(Optional.class),
+                anyBoolean(),
                 any(Span.class)))
             .thenReturn(Future.succeededFuture(OperationResult.empty(HttpURLConnection.HTTP_OK)));
-        final var endpoint = new DelegatingDeviceManagementHttpEndpoint<>(vertx, service);
+        credentialsService = mock(CredentialsManagementService.class);
+        final var endpoint = new DelegatingDeviceManagementHttpEndpoint<>(vertx, service, credentialsService);
         endpoint.setConfiguration(new ServiceConfigProperties());
         endpoint.addRoutes(router);
         requestBody = Buffer.buffer();
@@ -300,6 +315,8 @@ public class DelegatingDeviceManagementHttpEndpointTest {
                 eq(DelegatingDeviceManagementHttpEndpoint.DEFAULT_PAGE_OFFSET),
                 argThat(List::isEmpty),
                 argThat(List::isEmpty),
+                eq(Optional.empty()),
+                eq(false),
                 any(Span.class));
     }
 
@@ -317,6 +334,8 @@ public class DelegatingDeviceManagementHttpEndpointTest {
                 "{\"field\":\"/manufacturer\",\"value\":\"ACME*\"}");
         requestParams.add(RegistryManagementConstants.PARAM_SORT_JSON,
                 "{\"field\":\"/manufacturer\",\"direction\":\"desc\"}");
+        requestParams.add(RegistryManagementConstants.PARAM_CONTINUATION_TOKEN, "token");
+        requestParams.add(RegistryManagementConstants.PARAM_ESTIMATE_TOTAL, "true");
 
         final HttpServerRequest request = newRequest(
                 HttpMethod.GET,
@@ -351,6 +370,8 @@ public class DelegatingDeviceManagementHttpEndpointTest {
                                 Direction.DESC == sortOption.getDirection();
                     }
                 }),
+                eq(Optional.of("token")),
+                eq(true),
                 any(Span.class));
     }
 
@@ -398,6 +419,28 @@ public class DelegatingDeviceManagementHttpEndpointTest {
         testSearchDevicesFailsForMalformedSearchCriteria(requestParams);
     }
 
+    /**
+     * Verifies that the endpoint returns a 400 status code if the request contains
+     * an estimate total query parameter that cannot be parsed into a boolean.
+     */
+    @Test
+    public void testSearchDevicesFailsForMalformedEstimateTotalParam() {
+
+        requestParams.add(RegistryManagementConstants.PARAM_ESTIMATE_TOTAL, "maybe");
+        testSearchDevicesFailsForMalformedSearchCriteria(requestParams);
+    }
+
+    /**
+     * Verifies that the endpoint returns a 400 status code if the request contains
+     * an empty continuation token query parameter.
+     */
+    @Test
+    public void testSearchDevicesFailsForEmptyContinuationTokenParam() {
+
+        requestParams.add(RegistryManagementConstants.PARAM_CONTINUATION_TOKEN, "");
+        testSearchDevicesFailsForMalformedSearchCriteria(requestParams);
+    }
+
     @SuppressWarnings("unchecked")
     private void testSearchDevicesFailsForMalformedSearchCriteria(final MultiMap params) {
 
@@ -419,6 +462,8 @@ public class DelegatingDeviceManagementHttpEndpointTest {
                 anyInt(),
                 any(List.class),
                 any(List.class),
+                any(Optional.class),
+                anyBoolean(),
                 any(Span.class));
     }
 
@@ -450,6 +495,176 @@ public class DelegatingDeviceManagementHttpEndpointTest {
     }
 
 
+    /**
+     * Verifies that the endpoint imports the devices contained in an NDJSON request body
+     * and reports the outcome for each line.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testImportDevicesReportsOutcomePerLine() {
+
+        final JsonArray credentials = newCredentials("device-1");
+        requestBody = Buffer.buffer()
+                .appendString(new JsonObject()
+                        .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-1")
+                        .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_DEVICE, new JsonObject().put("enabled", false))
+                        .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_CREDENTIALS, credentials)
+                        .encode())
+                .appendString("\n{\"id\": \n")
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "%265woo_%24").encode())
+                .appendString("\n\n")
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-2").encode())
+                .appendString("\n")
+                // last line is not terminated by a line feed
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-1").encode());
+        requestHeaders.add(HttpHeaders.CONTENT_TYPE, DelegatingDeviceManagementHttpEndpoint.CONTENT_TYPE_NDJSON);
+
+        when(service.createDevices(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of()));
+        when(credentialsService.updateCredentials(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of()));
+
+        final HttpServerResponse response = newResponse();
+        final HttpServerRequest request = newRequest(
+                HttpMethod.POST,
+                "/v1/devices/mytenant",
+                requestHeaders,
+                requestParams,
+                response);
+
+        router.handle(request);
+
+        verify(response, atLeastOnce()).setStatusCode(HttpURLConnection.HTTP_OK);
+        final List<JsonObject> results = getImportResults(response);
+        assertThat(results).hasSize(5);
+        assertImportResult(results.get(0), 1, HttpURLConnection.HTTP_CREATED);
+        assertImportResult(results.get(1), 2, HttpURLConnection.HTTP_BAD_REQUEST);
+        assertImportResult(results.get(2), 3, HttpURLConnection.HTTP_BAD_REQUEST);
+        assertImportResult(results.get(3), 5, HttpURLConnection.HTTP_CREATED);
+        assertImportResult(results.get(4), 6, HttpURLConnection.HTTP_CONFLICT);
+
+        final ArgumentCaptor<Map<String, Device>> devices = ArgumentCaptor.forClass(Map.class);
+        verify(service).createDevices(eq("mytenant"), devices.capture(), any(Span.class));
+        assertThat(devices.getValue().keySet()).containsExactly("device-1", "device-2").inOrder();
+        assertThat(devices.getValue().get("device-1").isEnabled()).isFalse();
+        final ArgumentCaptor<Map<String, List<CommonCredential>>> importedCredentials = ArgumentCaptor.forClass(Map.class);
+        verify(credentialsService).updateCredentials(eq("mytenant"), importedCredentials.capture(), any(Span.class));
+        assertThat(importedCredentials.getValue().keySet()).containsExactly("device-1");
+    }
+
+    /**
+     * Verifies that the endpoint imports the lines preceding a line that exceeds the
+     * maximum payload size and then reports the oversized line as the last result.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testImportDevicesImportsLinesPrecedingOversizedLine() {
+
+        final String tooLong = "x".repeat(new ServiceConfigProperties().getMaxPayloadSize());
+        requestBody = Buffer.buffer()
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-1").encode())
+                .appendString("\n")
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-2").encode())
+                .appendString("\n")
+                .appendString(new JsonObject()
+                        .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-3")
+                        .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_DEVICE, new JsonObject()
+                                .put(RegistryManagementConstants.FIELD_EXT, new JsonObject().put("comment", tooLong)))
+                        .encode())
+                .appendString("\n")
+                .appendString(new JsonObject().put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-4").encode())
+                .appendString("\n");
+        requestHeaders.add(HttpHeaders.CONTENT_TYPE, DelegatingDeviceManagementHttpEndpoint.CONTENT_TYPE_NDJSON);
+
+        when(service.createDevices(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of()));
+
+        final HttpServerResponse response = newResponse();
+        final HttpServerRequest request = newRequest(
+                HttpMethod.POST,
+                "/v1/devices/mytenant",
+                requestHeaders,
+                requestParams,
+                response);
+
+        router.handle(request);
+
+        final List<JsonObject> results = getImportResults(response);
+        assertThat(results).hasSize(3);
+        assertImportResult(results.get(0), 1, HttpURLConnection.HTTP_CREATED);
+        assertImportResult(results.get(1), 2, HttpURLConnection.HTTP_CREATED);
+        assertImportResult(results.get(2), 3, HttpURLConnection.HTTP_ENTITY_TOO_LARGE);
+        verify(response).end();
+
+        final ArgumentCaptor<Map<String, Device>> devices = ArgumentCaptor.forClass(Map.class);
+        verify(service).createDevices(eq("mytenant"), devices.capture(), any(Span.class));
+        assertThat(devices.getValue().keySet()).containsExactly("device-1", "device-2").inOrder();
+    }
+
+    /**
+     * Verifies that the endpoint removes an imported device again if its credentials
+     * cannot be set.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testImportDevicesRemovesDeviceIfCredentialsCannotBeSet() {
+
+        final JsonArray credentials = newCredentials("device-1");
+        requestBody = new JsonObject()
+                .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_ID, "device-1")
+                .put(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_CREDENTIALS, credentials)
+                .toBuffer()
+                .appendString("\n");
+        requestHeaders.add(HttpHeaders.CONTENT_TYPE, DelegatingDeviceManagementHttpEndpoint.CONTENT_TYPE_NDJSON);
+
+        when(service.createDevices(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of()));
+        when(service.deleteDevice(anyString(), anyString(), any(Optional.class), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Result.from(HttpURLConnection.HTTP_NO_CONTENT)));
+        when(credentialsService.updateCredentials(anyString(), anyMap(), any(Span.class)))
+            .thenReturn(Future.succeededFuture(Map.of(
+                    "device-1",
+                    new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST, "invalid secret"))));
+
+        final HttpServerResponse response = newResponse();
+        final HttpServerRequest request = newRequest(
+                HttpMethod.POST,
+                "/v1/devices/mytenant",
+                requestHeaders,
+                requestParams,
+                response);
+
+        router.handle(request);
+
+        final List<JsonObject> results = getImportResults(response);
+        assertThat(results).hasSize(1);
+        assertImportResult(results.get(0), 1, HttpURLConnection.HTTP_BAD_REQUEST);
+        verify(service).deleteDevice(eq("mytenant"), eq("device-1"), any(Optional.class), any(Span.class));
+    }
+
+    private static JsonArray newCredentials(final String authId) {
+        return new JsonArray().add(new JsonObject()
+                .put(RegistryManagementConstants.FIELD_TYPE, RegistryManagementConstants.SECRETS_TYPE_HASHED_PASSWORD)
+                .put(RegistryManagementConstants.FIELD_AUTH_ID, authId)
+                .put(RegistryManagementConstants.FIELD_SECRETS, new JsonArray()
+                        .add(new JsonObject().put(RegistryManagementConstants.FIELD_SECRETS_PWD_PLAIN, "secret"))));
+    }
+
+    private static List<JsonObject> getImportResults(final HttpServerResponse response) {
+        final ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+        verify(response, atLeastOnce()).write(body.capture());
+        return body.getAllValues().stream()
+                .map(Buffer::toString)
+                .flatMap(String::lines)
+                .map(JsonObject::new)
+                .collect(Collectors.toList());
+    }
+
+    private static void assertImportResult(final JsonObject result, final int line, final int status) {
+        assertThat(result.getInteger(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_LINE)).isEqualTo(line);
+        assertThat(result.getInteger(DelegatingDeviceManagementHttpEndpoint.FIELD_IMPORT_STATUS)).isEqualTo(status);
+    }
+
     private HttpServerRequest newRequest(
             final HttpMethod method,
             final String relativeURI,
@@ -464,7 +679,8 @@ public class DelegatingDeviceManagementHttpEndpointTest {
         when(request.uri()).thenReturn(relativeURI);
         when(request.path()).thenReturn(relativeURI);
         when(request.headers()).thenReturn(requestHeaders);
-        when(request.getHeader(HttpHeaders.CONTENT_TYPE)).thenReturn("application/json");
+        when(request.getHeader(HttpHeaders.CONTENT_TYPE)).thenReturn(
+                Optional.ofNullable(requestHeaders.get(HttpHeaders.CONTENT_TYPE)).orElse("application/json"));
         when(request.params()).thenReturn(requestParams);
         when(request.response()).thenReturn(response);
         when(request.handler(VertxMockSupport.anyHandler())).thenAnswer(invocation -> {
@@ -486,6 +702,12 @@ public class DelegatingDeviceManagementHttpEndpointTest {
         when(response.putHeader(any(CharSequence.class), any(CharSequence.class))).thenReturn(response);
         final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
         when(response.headers()).thenReturn(headers);
+        final AtomicBoolean headWritten = new AtomicBoolean(false);
+        when(response.headWritten()).thenAnswer(invocation -> headWritten.get());
+        when(response.write(any(Buffer.class))).thenAnswer(invocation -> {
+            headWritten.set(true);
+            return Future.succeededFuture();
+        });
         return response;
     }
 }
@@ -25,12 +25,19 @@ public abstract class AbstractFileBasedRegistryConfigProperties {
      * operations may be cached for.
      */
     public static final int DEFAULT_MAX_AGE_SECONDS = 180;
+    /**
+     * The default number of journal records after which the journal is compacted.
+     */
+    public static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 10_000;
 
     private String filename = getDefaultFileName();
     private boolean saveToFile = false;
     private boolean modificationEnabled = true;
     private boolean startEmpty = false;
     private int cacheMaxAge = DEFAULT_MAX_AGE_SECONDS;
+    private boolean journalEnabled = false;
+    private int journalCompactionThreshold = DEFAULT_JOURNAL_COMPACTION_THRESHOLD;
+    private boolean loadInParallel = false;
 
     /**
      * Gets the path to the file that the registry should be persisted to periodically.
@@ -164,4 +171,85 @@ public abstract class AbstractFileBasedRegistryConfigProperties {
     public final void setStartEmpty(final boolean flag) {
         this.startEmpty = flag;
     }
+
+    /**
+     * Checks whether changes to the registry content should be appended to a journal
+     * instead of rewriting the whole file.
+     * <p>
+     * If set to {@code true} and the content of the registry is persisted to the file system,
+     * each change is appended to a journal file named after the registry's file with a
+     * {@value FileBasedRegistryJournal#FILE_SUFFIX} suffix. The registry's file is then only
+     * rewritten when the journal is compacted.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if changes should be appended to a journal.
+     */
+    public final boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    /**
+     * Sets whether changes to the registry content should be appended to a journal
+     * instead of rewriting the whole file.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param flag {@code true} if changes should be appended to a journal.
+     */
+    public final void setJournalEnabled(final boolean flag) {
+        this.journalEnabled = flag;
+    }
+
+    /**
+     * Gets the number of records that the journal may contain before it is compacted
+     * into the registry's file.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_JOURNAL_COMPACTION_THRESHOLD}.
+     *
+     * @return The number of records.
+     */
+    public final int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    /**
+     * Sets the number of records that the journal may contain before it is compacted
+     * into the registry's file.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_JOURNAL_COMPACTION_THRESHOLD}.
+     *
+     * @param threshold The number of records.
+     * @throws IllegalArgumentException if threshold is &lt; 1.
+     */
+    public final void setJournalCompactionThreshold(final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("compaction threshold must be > 0");
+        }
+        this.journalCompactionThreshold = threshold;
+    }
+
+    /**
+     * Checks whether the registry's file may be loaded in parallel to the files of other
+     * file based registry services during startup.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the file may be loaded in parallel.
+     */
+    public final boolean isLoadInParallel() {
+        return loadInParallel;
+    }
+
+    /**
+     * Sets whether the registry's file may be loaded in parallel to the files of other
+     * file based registry services during startup.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param flag {@code true} if the file may be loaded in parallel.
+     */
+    public final void setLoadInParallel(final boolean flag) {
+        this.loadInParallel = flag;
+    }
 }
@@ -16,14 +16,15 @@ package org.eclipse.hono.deviceregistry.file;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -54,7 +55,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -82,10 +82,13 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
     private final Map<String, Map<String, JsonArray>> credentials = new ConcurrentHashMap<>();
     // <tenantId, <deviceId, version>>
     private final Map<String, Map<String, String>> versions = new ConcurrentHashMap<>();
+    // <tenantId, <authId, <type, enabled credentials with enabled secrets only>>>
+    private final Map<String, Map<String, Map<String, List<JsonObject>>>> lookupIndex = new ConcurrentHashMap<>();
 
     private AtomicBoolean running = new AtomicBoolean(false);
     private AtomicBoolean dirty = new AtomicBoolean(false);
     private FileBasedCredentialsConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     /**
      * Creates a new service instance.
@@ -139,6 +142,7 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
             } else {
                 checkFileExists(getConfig().isSaveToFile())
                     .compose(ok -> loadCredentials())
+                    .compose(ok -> openJournal())
                     .onSuccess(ok -> {
                         if (getConfig().isSaveToFile()) {
                             LOG.info("saving credentials to file every 3 seconds");
@@ -166,11 +170,9 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
             LOG.info("Either filename is null or empty start is set, won't load any credentials");
             return Future.succeededFuture();
         } else {
-            final Promise<Buffer> readResult = Promise.promise();
-            LOG.debug("trying to load credentials from file {}", getConfig().getFilename());
-            vertx.fileSystem().readFile(getConfig().getFilename(), readResult);
-            return readResult.future()
-                    .compose(this::addAll)
+            return new FileBasedRegistryLoader(vertx, getConfig().getFilename(), getConfig().isLoadInParallel())
+                    .loadPerTenant("credentials", ARRAY_CREDENTIALS, this::addCredentials)
+                    .<Void>mapEmpty()
                     .recover(t -> {
                         LOG.debug("cannot load credentials from file [{}]: {}", getConfig().getFilename(),
                                 t.getMessage());
@@ -179,44 +181,71 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
         }
     }
 
-    private Future<Void> addAll(final Buffer credentials) {
-        final Promise<Void> result = Promise.promise();
-        try {
-            int credentialsCount = 0;
-            final JsonArray allObjects = credentials.toJsonArray();
-            LOG.debug("trying to load credentials for {} tenants", allObjects.size());
-            for (final Object obj : allObjects) {
-                if (JsonObject.class.isInstance(obj)) {
-                    credentialsCount += addCredentialsForTenant((JsonObject) obj);
-                }
-            }
-            LOG.info("successfully loaded {} credentials from file [{}]", credentialsCount, getConfig().getFilename());
-            result.complete();
-        } catch (final DecodeException e) {
-            LOG.warn("cannot read malformed JSON from credentials file [{}]", getConfig().getFilename());
-            result.fail(e);
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
         }
-        return result.future();
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(),
+                getConfig().getJournalCompactionThreshold());
+        final Future<Integer> replayed = getConfig().isStartEmpty()
+                ? Future.succeededFuture(0)
+                : journal.replay(this::applyJournalRecord);
+        return replayed
+                .compose(count -> journal.open().map(count))
+                .compose(count -> {
+                    if (count > 0 || getConfig().isStartEmpty()) {
+                        // make sure that the journal only contains changes made from now on
+                        return journal.compact(credentialsSnapshot());
+                    } else {
+                        return Future.succeededFuture();
+                    }
+                })
+                .onSuccess(ok -> LOG.info("appending changes to credentials to journal file [{}{}]",
+                        getConfig().getFilename(), FileBasedRegistryJournal.FILE_SUFFIX));
     }
 
-    int addCredentialsForTenant(final JsonObject tenant) {
-        int count = 0;
-        final String tenantId = tenant.getString(FIELD_TENANT);
-        final ConcurrentMap<String, JsonArray> credentialsMap = new ConcurrentHashMap<>();
-        for (final Object credentialsObj : tenant.getJsonArray(ARRAY_CREDENTIALS)) {
-            final JsonObject credentials = (JsonObject) credentialsObj;
-            final JsonArray authIdCredentials;
-            if (credentialsMap.containsKey(credentials.getString(CredentialsConstants.FIELD_AUTH_ID))) {
-                authIdCredentials = credentialsMap.get(credentials.getString(CredentialsConstants.FIELD_AUTH_ID));
-            } else {
-                authIdCredentials = new JsonArray();
-            }
-            authIdCredentials.add(credentials);
-            credentialsMap.put(credentials.getString(CredentialsConstants.FIELD_AUTH_ID), authIdCredentials);
-            count++;
+    private void applyJournalRecord(final JsonObject record) {
+        final String tenantId = record.getString(FIELD_TENANT);
+        switch (record.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            removeAllForDevice(tenantId, record.getString(Constants.JSON_FIELD_DEVICE_ID), NoopSpan.INSTANCE);
+            final Map<String, JsonArray> newCredentials = new HashMap<>();
+            record.getJsonArray(ARRAY_CREDENTIALS).stream()
+                .map(JsonObject.class::cast)
+                .forEach(credentials -> newCredentials
+                        .computeIfAbsent(credentials.getString(CredentialsConstants.FIELD_AUTH_ID), id -> new JsonArray())
+                        .add(credentials));
+            getCredentialsForTenant(tenantId).putAll(newCredentials);
+            newCredentials.keySet().forEach(authId -> updateLookupIndex(tenantId, authId));
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            removeAllForDevice(tenantId, record.getString(Constants.JSON_FIELD_DEVICE_ID), NoopSpan.INSTANCE);
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            credentials.clear();
+            lookupIndex.clear();
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported journal operation");
+        }
+    }
+
+    /**
+     * Adds credentials of a tenant's device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param credentials The credentials to add.
+     */
+    void addCredentials(final String tenantId, final JsonObject credentials) {
+
+        final String authId = credentials.getString(CredentialsConstants.FIELD_AUTH_ID);
+        if (authId == null) {
+            LOG.debug("auth-id field missing, skipping credentials [tenant: {}]", tenantId);
+            return;
         }
-        credentials.put(tenantId, credentialsMap);
-        return count;
+        getCredentialsForAuthId(getCredentialsForTenant(tenantId), authId).add(credentials);
+        updateLookupIndex(tenantId, authId);
     }
 
     @Override
@@ -224,7 +253,11 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
 
         final Promise<Void> stopPromise = Promise.promise();
         if (running.compareAndSet(true, false)) {
-            saveToFile().onComplete(stopPromise);
+            saveToFile()
+                .compose(ok -> Optional.ofNullable(journal)
+                        .map(FileBasedRegistryJournal::close)
+                        .orElseGet(Future::succeededFuture))
+                .onComplete(stopPromise);
         } else {
             stopPromise.complete();
         }
@@ -235,21 +268,13 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
 
         if (!getConfig().isSaveToFile()) {
             return Future.succeededFuture();
+        } else if (journal != null) {
+            return journal.flush(this::credentialsSnapshot);
         } else if (dirty.get()) {
             return checkFileExists(true).compose(s -> {
                 final AtomicInteger idCount = new AtomicInteger();
-                final JsonArray tenants = new JsonArray();
-                for (final Entry<String, Map<String, JsonArray>> entry : credentials.entrySet()) {
-                    final JsonArray credentialsArray = new JsonArray();
-                    for (final JsonArray singleAuthIdCredentials : entry.getValue().values()) {
-                        credentialsArray.addAll(singleAuthIdCredentials.copy());
-                        idCount.incrementAndGet();
-                    }
-                    tenants.add(
-                            new JsonObject()
-                                    .put(FIELD_TENANT, entry.getKey())
-                                    .put(ARRAY_CREDENTIALS, credentialsArray));
-                }
+                credentials.values().forEach(credentialsForTenant -> idCount.addAndGet(credentialsForTenant.size()));
+                final JsonArray tenants = credentialsAsJson();
                 final Promise<Void> writeHandler = Promise.promise();
                 vertx.fileSystem().writeFile(
                         getConfig().getFilename(),
@@ -270,6 +295,71 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
         }
     }
 
+    /**
+     * Creates a snapshot of the credentials for compacting the journal.
+     * <p>
+     * Only the arrays are copied because they are changed in place whereas the credentials
+     * objects are replaced instead of being changed.
+     *
+     * @return The snapshot.
+     */
+    private FileBasedRegistryJournal.Snapshot credentialsSnapshot() {
+        final Map<String, List<Object>> view = new HashMap<>(credentials.size());
+        credentials.forEach((tenantId, credentialsOfTenant) -> {
+            final List<Object> credentialsList = new ArrayList<>();
+            credentialsOfTenant.values().forEach(singleAuthIdCredentials -> credentialsList.addAll(singleAuthIdCredentials.getList()));
+            view.put(tenantId, credentialsList);
+        });
+        return () -> {
+            final JsonArray tenants = new JsonArray();
+            view.forEach((tenantId, credentialsList) -> tenants.add(new JsonObject()
+                    .put(FIELD_TENANT, tenantId)
+                    .put(ARRAY_CREDENTIALS, new JsonArray(credentialsList))));
+            return Buffer.buffer(tenants.encode(), StandardCharsets.UTF_8.name());
+        };
+    }
+
+    private JsonArray credentialsAsJson() {
+        final JsonArray tenants = new JsonArray();
+        for (final Entry<String, Map<String, JsonArray>> entry : credentials.entrySet()) {
+            final JsonArray credentialsArray = new JsonArray();
+            for (final JsonArray singleAuthIdCredentials : entry.getValue().values()) {
+                credentialsArray.addAll(singleAuthIdCredentials.copy());
+            }
+            tenants.add(
+                    new JsonObject()
+                            .put(FIELD_TENANT, entry.getKey())
+                            .put(ARRAY_CREDENTIALS, credentialsArray));
+        }
+        return tenants;
+    }
+
+    /**
+     * Appends the new state of a device's credentials to the journal (if enabled).
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The identifier of the device.
+     * @param newCredentials The credentials that have been set for the device, grouped by auth-id.
+     */
+    private void credentialsChanged(final String tenantId, final String deviceId, final Map<String, JsonArray> newCredentials) {
+
+        if (journal == null) {
+            return;
+        }
+        final JsonObject record;
+        if (newCredentials.isEmpty()) {
+            record = FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_REMOVE);
+        } else {
+            final JsonArray credentialsArray = new JsonArray();
+            newCredentials.values().forEach(singleAuthIdCredentials -> credentialsArray.addAll(singleAuthIdCredentials.copy()));
+            record = FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                    .put(ARRAY_CREDENTIALS, credentialsArray);
+        }
+        journal.append(record
+                .put(FIELD_TENANT, tenantId)
+                .put(Constants.JSON_FIELD_DEVICE_ID, deviceId));
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -287,6 +377,9 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
      * The result object will include a <em>max-age</em> cache directive for
      * hashed password and X.509 credential types. Otherwise, a <em>no-cache</em>
      * directive will be included.
+     * <p>
+     * The credentials contained in the result object are shared with other invocations
+     * of this method and must therefore not be modified.
      */
     @Override
     public Future<CredentialsResult<JsonObject>> get(
@@ -305,7 +398,7 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
             return Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND));
         } else {
             return Future.succeededFuture(
-                    CredentialsResult.from(HttpURLConnection.HTTP_OK, data.copy(), getCacheDirective(type)));
+                    CredentialsResult.from(HttpURLConnection.HTTP_OK, data, getCacheDirective(type)));
         }
     }
 
@@ -367,7 +460,7 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
      * @param authId The authentication identifier to look up credentials for.
      * @param type The type of credentials to look up.
      * @param span The active OpenTracing span for this operation.
-     * @return The credentials object of the given type or {@code null} if no matching credentials exist.
+     * @return The (shared) credentials object of the given type or {@code null} if no matching credentials exist.
      */
     private JsonObject getSingleCredentials(
             final String tenantId,
@@ -380,49 +473,23 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
         Objects.requireNonNull(authId);
         Objects.requireNonNull(type);
 
-        final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
+        final Map<String, Map<String, List<JsonObject>>> credentialsForTenant = lookupIndex.get(tenantId);
         if (credentialsForTenant == null) {
             TracingHelper.logError(span, "no credentials found for tenant");
             return null;
         }
 
-        final JsonArray authIdCredentials = credentialsForTenant.get(authId);
+        final Map<String, List<JsonObject>> authIdCredentials = credentialsForTenant.get(authId);
         if (authIdCredentials == null) {
             TracingHelper.logError(span, "no credentials found for auth-id");
             return null;
         }
 
-        for (final Object authIdCredentialEntry : authIdCredentials) {
-
-            final JsonObject authIdCredential = (JsonObject) authIdCredentialEntry;
-
-            if (!type.equals(authIdCredential.getString(CredentialsConstants.FIELD_TYPE))) {
-                // credentials type doesn't match ... continue search
-                continue;
-            }
-
-            if (Boolean.FALSE.equals(authIdCredential.getBoolean(CredentialsConstants.FIELD_ENABLED, true))) {
-                // do not report disabled
-                continue;
+        for (final JsonObject authIdCredential : authIdCredentials.getOrDefault(type, List.of())) {
+            if (DeviceRegistryUtils.matchesWithClientContext(authIdCredential, clientContext)) {
+                // return the first entry that matches
+                return authIdCredential;
             }
-
-            if (!DeviceRegistryUtils.matchesWithClientContext(authIdCredential, clientContext)) {
-                continue;
-            }
-
-            // copy
-            final var authIdCredentialCopy = authIdCredential.copy();
-            final JsonArray secrets = authIdCredentialCopy.getJsonArray(CredentialsConstants.FIELD_SECRETS, new JsonArray())
-                    .stream()
-                    .filter(JsonObject.class::isInstance)
-                    .map(JsonObject.class::cast)
-                    .filter(secret -> secret.getBoolean(CredentialsConstants.FIELD_ENABLED, true))
-                    .collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
-
-            authIdCredentialCopy.put(CredentialsConstants.FIELD_SECRETS, secrets);
-
-            // return the first entry that matches
-            return authIdCredentialCopy;
         }
 
         // we ended up with no match
@@ -561,6 +628,8 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
         Optional.ofNullable(currentVersion).ifPresent(ver -> removeAllForDevice(tenantId, deviceId, span));
         // now add the new/updated credentials to the store
         credentialsForTenant.putAll(newCredentials);
+        newCredentials.keySet().forEach(authId -> updateLookupIndex(tenantId, authId));
+        credentialsChanged(tenantId, deviceId, newCredentials);
 
         // and change the resource version
         final String newVersion = DeviceRegistryUtils.getUniqueIdentifier();
@@ -572,6 +641,28 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
                 Optional.of(newVersion)));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation updates the in-memory credentials of all devices in a single pass.
+     */
+    @Override
+    protected Future<Map<String, Throwable>> processUpdateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        // updating the credentials of a single device completes synchronously
+        credentials.forEach((deviceId, deviceCredentials) -> processUpdateCredentials(
+                DeviceKey.from(tenantId, deviceId),
+                deviceCredentials,
+                Optional.empty(),
+                span)
+            .onFailure(t -> failures.put(deviceId, t)));
+        return Future.succeededFuture(failures);
+    }
+
     private boolean hasUniqueSecretIds(final JsonObject credentialObject) {
         final JsonArray secrets = credentialObject.getJsonArray(RegistryManagementConstants.FIELD_SECRETS, new JsonArray());
         final long distinctIds = secrets.stream()
@@ -664,6 +755,7 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
         if (config.isModificationEnabled()) {
             setResourceVersion(tenantId, deviceId, null);
             removeAllForDevice(tenantId, deviceId, span);
+            credentialsChanged(tenantId, deviceId, Map.of());
             result.complete(Result.from(HttpURLConnection.HTTP_NO_CONTENT));
         } else {
             TracingHelper.logError(span, "modification is disabled for the Credentials service");
@@ -685,9 +777,10 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
 
         final Map<String, JsonArray> credentialsForTenant = getCredentialsForTenant(tenantId);
 
-        for (final JsonArray versionedCredentials : credentialsForTenant.values()) {
+        for (final Entry<String, JsonArray> entry : credentialsForTenant.entrySet()) {
 
-            for (final Iterator<Object> i = versionedCredentials.iterator(); i.hasNext();) {
+            boolean removed = false;
+            for (final Iterator<Object> i = entry.getValue().iterator(); i.hasNext();) {
 
                 final Object o = i.next();
 
@@ -700,12 +793,63 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
                 if (deviceId.equals(currentDeviceId)) {
                     // remove credentials from credentials set
                     i.remove();
+                    removed = true;
                     dirty.set(true);
                 }
             }
+            if (removed) {
+                updateLookupIndex(tenantId, entry.getKey());
+            }
         }
     }
 
+    /**
+     * Rebuilds the objects returned by lookups of an auth-id's credentials.
+     * <p>
+     * The objects only contain enabled credentials with enabled secrets. They are created once
+     * when the credentials are changed so that they can be returned from lookups without
+     * any further filtering or copying.
+     *
+     * @param tenantId The tenant that the auth-id belongs to.
+     * @param authId The auth-id.
+     */
+    private void updateLookupIndex(final String tenantId, final String authId) {
+
+        final JsonArray authIdCredentials = Optional.ofNullable(credentials.get(tenantId))
+                .map(credentialsForTenant -> credentialsForTenant.get(authId))
+                .orElse(null);
+        final Map<String, Map<String, List<JsonObject>>> indexForTenant = lookupIndex
+                .computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+
+        if (authIdCredentials == null || authIdCredentials.isEmpty()) {
+            indexForTenant.remove(authId);
+            return;
+        }
+
+        final Map<String, List<JsonObject>> credentialsPerType = new HashMap<>();
+        authIdCredentials.stream()
+            .filter(JsonObject.class::isInstance)
+            .map(JsonObject.class::cast)
+            .filter(credential -> credential.getString(CredentialsConstants.FIELD_TYPE) != null)
+            .filter(credential -> credential.getBoolean(CredentialsConstants.FIELD_ENABLED, true))
+            .forEach(credential -> {
+                final JsonObject credentialCopy = credential.copy();
+                final JsonArray secrets = credentialCopy.getJsonArray(CredentialsConstants.FIELD_SECRETS, new JsonArray())
+                        .stream()
+                        .filter(JsonObject.class::isInstance)
+                        .map(JsonObject.class::cast)
+                        .filter(secret -> secret.getBoolean(CredentialsConstants.FIELD_ENABLED, true))
+                        .collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
+                credentialCopy.put(CredentialsConstants.FIELD_SECRETS, secrets);
+                credentialsPerType
+                    .computeIfAbsent(credential.getString(CredentialsConstants.FIELD_TYPE), type -> new ArrayList<>())
+                    .add(credentialCopy);
+            });
+        final Map<String, List<JsonObject>> index = new HashMap<>();
+        credentialsPerType.forEach((type, list) -> index.put(type, List.copyOf(list)));
+        indexForTenant.put(authId, Map.copyOf(index));
+    }
+
     private boolean checkResourceVersion(final String currentVersion, final Optional<String> requestedVersion) {
 
         if (requestedVersion.isEmpty()) {
@@ -792,7 +936,12 @@ public final class FileBasedCredentialsService extends AbstractCredentialsManage
      */
     public void clear() {
         credentials.clear();
-        dirty.set(true);
+        lookupIndex.clear();
+        if (journal == null) {
+            dirty.set(true);
+        } else {
+            journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
     }
 
     @Override
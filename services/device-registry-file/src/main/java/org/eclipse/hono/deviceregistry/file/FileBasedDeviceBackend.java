@@ -15,7 +15,9 @@ package org.eclipse.hono.deviceregistry.file;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -200,6 +202,28 @@ public class FileBasedDeviceBackend implements DeviceBackend, RegistrationServic
                 });
     }
 
+    @Override
+    public Future<Map<String, Throwable>> createDevices(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        return registrationService.createDevices(tenantId, devices, span)
+                .compose(failures -> {
+                    // now create the empty credentials sets of the created devices
+                    final Map<String, List<CommonCredential>> credentials = new LinkedHashMap<>();
+                    devices.keySet().stream()
+                        .filter(deviceId -> !failures.containsKey(deviceId))
+                        .forEach(deviceId -> credentials.put(deviceId, Collections.emptyList()));
+                    return credentialsService.updateCredentials(tenantId, credentials, span)
+                            .map(credentialsFailures -> {
+                                final Map<String, Throwable> result = new LinkedHashMap<>(failures);
+                                result.putAll(credentialsFailures);
+                                return result;
+                            });
+                });
+    }
+
     @Override
     public Future<OperationResult<Id>> updateDevice(final String tenantId, final String deviceId, final Device device,
             final Optional<String> resourceVersion, final Span span) {
@@ -277,6 +301,14 @@ public class FileBasedDeviceBackend implements DeviceBackend, RegistrationServic
         return credentialsService.updateCredentials(tenantId, deviceId, credentials, resourceVersion, span);
     }
 
+    @Override
+    public Future<Map<String, Throwable>> updateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+        return credentialsService.updateCredentials(tenantId, credentials, span);
+    }
+
     @Override
     public Future<OperationResult<List<CommonCredential>>> readCredentials(
             final String tenantId,
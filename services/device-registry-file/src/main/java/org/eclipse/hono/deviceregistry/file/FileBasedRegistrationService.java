@@ -14,6 +14,8 @@ package org.eclipse.hono.deviceregistry.file;
 
 import java.net.HttpURLConnection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -59,7 +61,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -80,6 +81,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
     private AtomicBoolean running = new AtomicBoolean(false);
     private AtomicBoolean dirty = new AtomicBoolean(false);
     private FileBasedRegistrationConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     /**
      * Creates a new service instance.
@@ -118,6 +120,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
             } else {
                 checkFileExists(getConfig().isSaveToFile())
                     .compose(ok -> loadRegistrationData())
+                    .compose(ok -> openJournal())
                     .onSuccess(ok -> {
                         if (getConfig().isSaveToFile()) {
                             LOG.info("saving device identities to file every 3 seconds");
@@ -145,16 +148,58 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
             return Future.succeededFuture();
         }
 
-        final Promise<Buffer> readResult = Promise.promise();
-        vertx.fileSystem().readFile(getConfig().getFilename(), readResult);
-        return readResult.future()
-                .compose(this::addAll)
+        return new FileBasedRegistryLoader(vertx, getConfig().getFilename(), getConfig().isLoadInParallel())
+                .loadPerTenant("device identities", RegistryManagementConstants.FIELD_DEVICES, this::addDevice)
+                .<Void>mapEmpty()
                 .recover(t -> {
                     LOG.debug("cannot load device identities from file [{}]", getConfig().getFilename(), t);
                     return Future.succeededFuture();
                 });
     }
 
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
+        }
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(),
+                getConfig().getJournalCompactionThreshold());
+        final Future<Integer> replayed = getConfig().isStartEmpty()
+                ? Future.succeededFuture(0)
+                : journal.replay(this::applyJournalRecord);
+        return replayed
+                .compose(count -> journal.open().map(count))
+                .compose(count -> {
+                    if (count > 0 || getConfig().isStartEmpty()) {
+                        // make sure that the journal only contains changes made from now on
+                        return journal.compact(identitiesSnapshot());
+                    } else {
+                        return Future.succeededFuture();
+                    }
+                })
+                .onSuccess(ok -> LOG.info("appending changes to device identities to journal file [{}{}]",
+                        getConfig().getFilename(), FileBasedRegistryJournal.FILE_SUFFIX));
+    }
+
+    private void applyJournalRecord(final JsonObject record) {
+        final String tenantId = record.getString(RegistryManagementConstants.FIELD_TENANT);
+        switch (record.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            final JsonObject entry = record.getJsonObject(FileBasedRegistryJournal.FIELD_ENTRY);
+            final String deviceId = entry.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+            getDevicesForTenant(tenantId).put(deviceId, FileBasedDeviceDto.forRead(tenantId, deviceId, entry));
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            getDevicesForTenant(tenantId).remove(record.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID));
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            identities.clear();
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported journal operation");
+        }
+    }
+
     private Future<Void> checkFileExists(final boolean createIfMissing) {
 
         final Promise<Void> result = Promise.promise();
@@ -172,53 +217,13 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
 
     }
 
-    private Future<Void> addAll(final Buffer deviceIdentities) {
+    private void addDevice(final String tenantId, final JsonObject entry) {
 
-        final Promise<Void> result = Promise.promise();
-        try {
-            int deviceCount = 0;
-            final JsonArray allObjects = deviceIdentities.toJsonArray();
-            for (final Object obj : allObjects) {
-                if (obj instanceof JsonObject) {
-                    deviceCount += addDevicesForTenant((JsonObject) obj);
-                }
-            }
-            LOG.info("successfully loaded {} device identities from file [{}]", deviceCount, getConfig().getFilename());
-            result.complete();
-        } catch (final DecodeException e) {
-            LOG.warn("cannot read malformed JSON from device identity file [{}]", getConfig().getFilename());
-            result.fail(e);
+        final String deviceId = entry.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+        if (deviceId != null) {
+            LOG.trace("loading device [tenant: {}, device-id: {}]", tenantId, deviceId);
+            getDevicesForTenant(tenantId).put(deviceId, FileBasedDeviceDto.forRead(tenantId, deviceId, entry));
         }
-        return result.future();
-    }
-
-    private int addDevicesForTenant(final JsonObject tenant) {
-
-        final String tenantId = tenant.getString(RegistryManagementConstants.FIELD_TENANT);
-        if (tenantId == null) {
-            LOG.debug("Tenant field missing, skipping!");
-            return 0;
-        }
-
-        int count = 0;
-        LOG.debug("loading devices for tenant [{}]", tenantId);
-        final ConcurrentMap<String, FileBasedDeviceDto> deviceMap = new ConcurrentHashMap<>();
-        for (final Object deviceObj : tenant.getJsonArray(RegistryManagementConstants.FIELD_DEVICES)) {
-            if (deviceObj instanceof JsonObject) {
-                final JsonObject entry = (JsonObject) deviceObj;
-                final String deviceId = entry.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
-                if (deviceId != null) {
-                    LOG.trace("loading device [{}]", deviceId);
-                    final FileBasedDeviceDto deviceDto = FileBasedDeviceDto.forRead(tenantId, deviceId, entry);
-                    deviceMap.put(deviceId, deviceDto);
-                    count++;
-                }
-            }
-        }
-        identities.put(tenantId, deviceMap);
-
-        LOG.debug("Loaded {} devices for tenant {}", count, tenantId);
-        return count;
     }
 
     private static Device mapFromStoredJson(final JsonObject json) {
@@ -241,7 +246,11 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
         final Promise<Void> result = Promise.promise();
 
         if (running.compareAndSet(true, false)) {
-            saveToFile().onComplete(result);
+            saveToFile()
+                .compose(ok -> Optional.ofNullable(journal)
+                        .map(FileBasedRegistryJournal::close)
+                        .orElseGet(Future::succeededFuture))
+                .onComplete(result);
         } else {
             result.complete();
         }
@@ -254,6 +263,10 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
             return Future.succeededFuture();
         }
 
+        if (journal != null) {
+            return journal.flush(this::identitiesSnapshot);
+        }
+
         if (!dirty.get()) {
             LOG.trace("registry does not need to be persisted");
             return Future.succeededFuture();
@@ -261,28 +274,9 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
 
         return checkFileExists(true).compose(s -> {
             final AtomicInteger idCount = new AtomicInteger();
-            final JsonArray tenants = new JsonArray();
-            for (final Entry<String, ConcurrentMap<String, FileBasedDeviceDto>> entry : identities.entrySet()) {
-                final JsonArray devices = new JsonArray();
-                for (final Entry<String, FileBasedDeviceDto> deviceEntry : entry.getValue().entrySet()) {
-                    devices.add(
-                        new JsonObject()
-                            .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceEntry.getKey())
-                            .put(RegistryManagementConstants.FIELD_STATUS_CREATION_DATE, deviceEntry.getValue().getCreationTime())
-                            .put(RegistryManagementConstants.FIELD_STATUS_LAST_UPDATE, deviceEntry.getValue().getUpdatedOn())
-                            .put(RegistryManagementConstants.FIELD_STATUS_LAST_USER, deviceEntry.getValue().getLastUser())
-                            .put(RegistryManagementConstants.FIELD_AUTO_PROVISIONED,
-                                    deviceEntry.getValue().isAutoProvisioned())
-                            .put(RegistryManagementConstants.FIELD_AUTO_PROVISIONING_NOTIFICATION_SENT,
-                                    deviceEntry.getValue().isAutoProvisioningNotificationSent())
-                            .put(RegistrationConstants.FIELD_DATA, mapToStoredJson(deviceEntry.getValue().getData())));
-                    idCount.incrementAndGet();
-                }
-                tenants.add(
-                        new JsonObject()
-                                .put(RegistryManagementConstants.FIELD_TENANT, entry.getKey())
-                                .put(RegistryManagementConstants.FIELD_DEVICES, devices));
-            }
+            final JsonArray tenants = identitiesAsJson(identities);
+            tenants.forEach(tenant -> idCount.addAndGet(
+                    ((JsonObject) tenant).getJsonArray(RegistryManagementConstants.FIELD_DEVICES).size()));
 
             final Promise<Void> writeHandler = Promise.promise();
             vertx.fileSystem().writeFile(getConfig().getFilename(), Buffer.buffer(tenants.encodePrettily()),
@@ -300,6 +294,67 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
 
     }
 
+    /**
+     * Creates a snapshot of the device identities for compacting the journal.
+     * <p>
+     * Only the maps are copied because the device objects are replaced instead of being changed.
+     *
+     * @return The snapshot.
+     */
+    private FileBasedRegistryJournal.Snapshot identitiesSnapshot() {
+        final Map<String, Map<String, FileBasedDeviceDto>> view = new HashMap<>(identities.size());
+        identities.forEach((tenantId, devices) -> view.put(tenantId, Map.copyOf(devices)));
+        return () -> Buffer.buffer(identitiesAsJson(view).encode());
+    }
+
+    private static JsonArray identitiesAsJson(final Map<String, ? extends Map<String, FileBasedDeviceDto>> identities) {
+        final JsonArray tenants = new JsonArray();
+        for (final Entry<String, ? extends Map<String, FileBasedDeviceDto>> entry : identities.entrySet()) {
+            final JsonArray devices = new JsonArray();
+            for (final Entry<String, FileBasedDeviceDto> deviceEntry : entry.getValue().entrySet()) {
+                devices.add(toJson(deviceEntry.getKey(), deviceEntry.getValue()));
+            }
+            tenants.add(
+                    new JsonObject()
+                            .put(RegistryManagementConstants.FIELD_TENANT, entry.getKey())
+                            .put(RegistryManagementConstants.FIELD_DEVICES, devices));
+        }
+        return tenants;
+    }
+
+    private static JsonObject toJson(final String deviceId, final FileBasedDeviceDto device) {
+        return new JsonObject()
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(RegistryManagementConstants.FIELD_STATUS_CREATION_DATE, device.getCreationTime())
+                .put(RegistryManagementConstants.FIELD_STATUS_LAST_UPDATE, device.getUpdatedOn())
+                .put(RegistryManagementConstants.FIELD_STATUS_LAST_USER, device.getLastUser())
+                .put(RegistryManagementConstants.FIELD_AUTO_PROVISIONED, device.isAutoProvisioned())
+                .put(RegistryManagementConstants.FIELD_AUTO_PROVISIONING_NOTIFICATION_SENT,
+                        device.isAutoProvisioningNotificationSent())
+                .put(RegistrationConstants.FIELD_DATA, mapToStoredJson(device.getData()));
+    }
+
+    /**
+     * Records a change of a device so that it gets persisted.
+     *
+     * @param tenantId The tenant that the changed device belongs to.
+     * @param deviceId The identifier of the changed device.
+     * @param device The new state of the device or {@code null} if the device has been removed.
+     */
+    private void deviceChanged(final String tenantId, final String deviceId, final FileBasedDeviceDto device) {
+        if (journal == null) {
+            dirty.set(true);
+        } else if (device == null) {
+            journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_REMOVE)
+                    .put(RegistryManagementConstants.FIELD_TENANT, tenantId)
+                    .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId));
+        } else {
+            journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                    .put(RegistryManagementConstants.FIELD_TENANT, tenantId)
+                    .put(FileBasedRegistryJournal.FIELD_ENTRY, toJson(deviceId, device)));
+        }
+    }
+
     ///// DEVICES
 
     @Override
@@ -431,7 +486,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
         }
 
         devices.remove(deviceId);
-        dirty.set(true);
+        deviceChanged(tenantId, deviceId, null);
         return Future.succeededFuture(Result.from(HttpURLConnection.HTTP_NO_CONTENT));
 
     }
@@ -454,41 +509,84 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
         Objects.requireNonNull(deviceId);
         Objects.requireNonNull(device);
 
-        // If enabled is not set (null) .isEnabled() method defaults to true.
-        // But that does not when filtering using json pointer.
-        // To workaround it we actually sets the property.
-        device.setEnabled(device.isEnabled());
         final String deviceIdValue = deviceId.orElseGet(() -> generateDeviceId(tenantId));
 
-        final ConcurrentMap<String, FileBasedDeviceDto> devices = getDevicesForTenant(tenantId);
+        try {
+            final FileBasedDeviceDto deviceDto = addDevice(getDevicesForTenant(tenantId), tenantId, deviceIdValue, device);
+            return Future.succeededFuture(OperationResult.ok(
+                    HttpURLConnection.HTTP_CREATED,
+                    Id.of(deviceIdValue),
+                    Optional.empty(),
+                    Optional.of(deviceDto.getVersion())));
+        } catch (final ClientErrorException e) {
+            TracingHelper.logError(span, e.getMessage());
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation adds all devices to the tenant's devices in a single pass.
+     */
+    @Override
+    public Future<Map<String, Throwable>> createDevices(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(span);
+
+        final ConcurrentMap<String, FileBasedDeviceDto> devicesOfTenant = getDevicesForTenant(tenantId);
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        devices.forEach((deviceId, device) -> {
+            try {
+                addDevice(devicesOfTenant, tenantId, deviceId, device);
+            } catch (final ClientErrorException e) {
+                failures.put(deviceId, e);
+            }
+        });
+        if (!failures.isEmpty()) {
+            TracingHelper.logError(span, String.format("failed to create %d of %d devices", failures.size(), devices.size()));
+        }
+        return Future.succeededFuture(failures);
+    }
+
+    private FileBasedDeviceDto addDevice(
+            final ConcurrentMap<String, FileBasedDeviceDto> devices,
+            final String tenantId,
+            final String deviceId,
+            final Device device) throws ClientErrorException {
+
         if (devices.size() >= getConfig().getMaxDevicesPerTenant()) {
-            TracingHelper.logError(span, "Maximum devices number limit reached for tenant");
-            return Future.failedFuture(new ClientErrorException(
+            throw new ClientErrorException(
                     tenantId,
                     HttpURLConnection.HTTP_FORBIDDEN,
-                    "maximum devices number limit reached for tenant"));
+                    "maximum devices number limit reached for tenant");
         }
 
+        // If enabled is not set (null) .isEnabled() method defaults to true.
+        // But that does not when filtering using json pointer.
+        // To workaround it we actually sets the property.
+        device.setEnabled(device.isEnabled());
+
         final FileBasedDeviceDto deviceDto = FileBasedDeviceDto.forCreation(
                 FileBasedDeviceDto::new,
                 tenantId,
-                deviceIdValue,
+                deviceId,
                 device,
                 new Versioned<>(device).getVersion());
 
-        if (devices.putIfAbsent(deviceIdValue, deviceDto) == null) {
-            dirty.set(true);
-            return Future.succeededFuture(OperationResult.ok(
-                    HttpURLConnection.HTTP_CREATED,
-                    Id.of(deviceIdValue),
-                    Optional.empty(),
-                    Optional.of(deviceDto.getVersion())));
+        if (devices.putIfAbsent(deviceId, deviceDto) == null) {
+            deviceChanged(tenantId, deviceId, deviceDto);
+            return deviceDto;
         } else {
-            TracingHelper.logError(span, "Device already exists for tenant");
-            return Future.failedFuture(new ClientErrorException(
+            throw new ClientErrorException(
                     tenantId,
                     HttpURLConnection.HTTP_CONFLICT,
-                    "device already exists for tenant"));
+                    "device already exists for tenant");
         }
     }
 
@@ -546,7 +644,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
                 newDevice.getValue())
             .merge(currentDevice);
         devices.put(deviceId, deviceDto);
-        dirty.set(true);
+        deviceChanged(tenantId, deviceId, deviceDto);
 
         return Future.succeededFuture(OperationResult.ok(
                 HttpURLConnection.HTTP_NO_CONTENT,
@@ -581,7 +679,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
         // the values of the fields that are used for selection and sorting.
 
         // 1. filter all the tenants devices
-        final Predicate<JsonObject> filterPredicate = buildJsonBasedPredicate(filters);
+        final Predicate<JsonObject> filterPredicate = DeviceRegistryUtils.getJsonBasedSearchPredicate(filters);
         final List<JsonObject> matchingDevices = getDevicesForTenant(tenantId).entrySet()
                 .stream()
                 .map(entry -> {
@@ -592,7 +690,7 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
                 .collect(Collectors.toList());
 
         // 2. sort the selected elements
-        final Comparator<JsonObject> comparator = buildJsonBasedComparator(sortOptions);
+        final Comparator<JsonObject> comparator = DeviceRegistryUtils.getJsonBasedSearchComparator(sortOptions);
         matchingDevices.sort(comparator);
 
         // 3. limit the results according to the page settings.
@@ -622,95 +720,16 @@ public class FileBasedRegistrationService extends AbstractRegistrationService
         }
     }
 
-    private static Predicate<JsonObject> buildJsonBasedPredicate(final List<Filter> filters) {
-        final Predicate<JsonObject> result = filters.stream()
-                .map(filter -> {
-                    final Predicate<JsonObject> predicate = deviceWithId -> {
-                        final Object value = filter.getField().queryJson(JsonObject.mapFrom(deviceWithId));
-
-                        if (value != null) {
-                            switch (filter.getOperator()) {
-                            case eq:
-                                if (filter.getValue() instanceof String && value instanceof String) {
-                                    return ((String) value).matches(
-                                            DeviceRegistryUtils
-                                                    .getRegexExpressionForSearchOperation((String) filter.getValue()));
-                                }
-                                return value.equals(filter.getValue());
-                            default:
-                                return true;
-                            }
-                        } else {
-                            return false;
-                        }
-                    };
-                    return predicate;
-                })
-                .reduce(x -> true, Predicate::and);
-        return result;
-    }
-
-    private static Comparator<JsonObject> buildJsonBasedComparator(final List<Sort> sortOptions) {
-
-        return new Comparator<>() {
-            @Override
-            public int compare(final JsonObject d1, final JsonObject d2) {
-
-                int result = 0;
-                for (final Sort sortOption : sortOptions) {
-                    result = compare(d1, d2, sortOption);
-                    if (result != 0) {
-                        return result;
-                    }
-                }
-                return result;
-            }
-
-            private int compare(final JsonObject a, final JsonObject b, final Sort sortOption) {
-
-                final Object objA = sortOption.getField().queryJson(a);
-                final Object objB = sortOption.getField().queryJson(b);
-
-                if (objA == null && objB != null) {
-                    return -1;
-                } else if (objA == null && objB == null) {
-                    return 0;
-                } else if (objA != null && objB == null) {
-                    return 1;
-                } else {
-                    if (objA.getClass().equals(objB.getClass())) {
-                        if (objA instanceof String) {
-                            return compareValues((String) objA, (String) objB, sortOption);
-                        } else if (objA instanceof Integer) {
-                            return compareValues((Integer) objA, (Integer) objB, sortOption);
-                        } else if (objA instanceof Double) {
-                            return compareValues((Double) objA, (Double) objB, sortOption);
-                        } else if (objA instanceof Float) {
-                            return compareValues((Float) objA, (Float) objB, sortOption);
-                        } else if (objA instanceof Boolean) {
-                            return compareValues((Boolean) objA, (Boolean) objB, sortOption);
-                        }
-                    }
-                    return 0;
-                }
-            }
-
-            private <T extends Comparable<? super T>> int compareValues(final T a, final T b, final Sort sortOption) {
-                if (sortOption.isAscending()) {
-                    return a.compareTo(b);
-                } else {
-                    return b.compareTo(a);
-                }
-            }
-        };
-    }
-
     /**
      * Removes all devices from the registry.
      */
     public void clear() {
         identities.clear();
-        dirty.set(true);
+        if (journal == null) {
+            dirty.set(true);
+        } else {
+            journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
     }
 
     @Override
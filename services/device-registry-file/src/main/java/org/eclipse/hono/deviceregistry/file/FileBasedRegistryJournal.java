@@ -0,0 +1,362 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceregistry.file;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A journal of the changes made to the data of a file based registry service.
+ * <p>
+ * Each change is appended to the journal file as a single line containing a compact JSON object.
+ * The cost of persisting a change therefore depends on the size of the change only, not on the size
+ * of the registry. Once the journal contains a configurable number of records, the journal is
+ * compacted by means of writing a snapshot of the registry's data to the registry's (regular) file and
+ * truncating the journal afterwards.
+ * <p>
+ * The records are expected to contain the complete state of the changed entity so that replaying
+ * a record that is already reflected in the snapshot does not change the outcome. This allows a
+ * service to recover its data from the snapshot and the journal even if it has been stopped between
+ * writing the snapshot and truncating the journal.
+ * <p>
+ * All file operations, including the encoding of snapshots, are executed sequentially on worker threads.
+ */
+final class FileBasedRegistryJournal {
+
+    /**
+     * The suffix appended to the name of the registry's file to get the name of the journal file.
+     */
+    static final String FILE_SUFFIX = ".journal";
+    /**
+     * The name of the field that contains the type of operation that a record represents.
+     */
+    static final String FIELD_OPERATION = "op";
+    /**
+     * The name of the field that contains the new state of an entity.
+     */
+    static final String FIELD_ENTRY = "entry";
+    /**
+     * The operation type for records that contain the new state of an entity.
+     */
+    static final String OPERATION_PUT = "put";
+    /**
+     * The operation type for records that indicate the removal of an entity.
+     */
+    static final String OPERATION_REMOVE = "remove";
+    /**
+     * The operation type for records that indicate the removal of all entities.
+     */
+    static final String OPERATION_CLEAR = "clear";
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBasedRegistryJournal.class);
+
+    private final Context context;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final int compactionThreshold;
+
+    private int recordsSinceCompaction = 0;
+    // the following fields are only accessed by the (ordered) blocking tasks
+    private FileChannel channel;
+    private boolean unsyncedWrites = false;
+
+    /**
+     * Creates a new journal.
+     *
+     * @param vertx The vert.x instance to use for executing file operations.
+     * @param snapshotFilename The name of the file that the registry's data is persisted to.
+     * @param compactionThreshold The number of records after which the journal is compacted.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if compaction threshold is &lt; 1.
+     */
+    FileBasedRegistryJournal(final Vertx vertx, final String snapshotFilename, final int compactionThreshold) {
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(snapshotFilename);
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("compaction threshold must be > 0");
+        }
+        this.context = vertx.getOrCreateContext();
+        this.snapshotFile = Paths.get(snapshotFilename);
+        this.journalFile = Paths.get(snapshotFilename + FILE_SUFFIX);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Creates a new record.
+     *
+     * @param operation The type of operation that the record represents.
+     * @return The record.
+     */
+    static JsonObject newRecord(final String operation) {
+        return new JsonObject().put(FIELD_OPERATION, operation);
+    }
+
+    /**
+     * Applies all records contained in the journal file.
+     * <p>
+     * Records that cannot be parsed, e.g. because the last write operation before the
+     * service has stopped has been incomplete, are skipped.
+     *
+     * @param recordHandler The handler to invoke for each record.
+     * @return A future indicating the outcome of the operation. The future will be
+     *         succeeded with the number of records that have been applied.
+     * @throws NullPointerException if handler is {@code null}.
+     */
+    Future<Integer> replay(final Consumer<JsonObject> recordHandler) {
+
+        Objects.requireNonNull(recordHandler);
+
+        final Promise<List<JsonObject>> records = Promise.promise();
+        context.executeBlocking(promise -> {
+            final List<JsonObject> result = new ArrayList<>();
+            if (Files.exists(journalFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            try {
+                                result.add(new JsonObject(line));
+                            } catch (final DecodeException e) {
+                                LOG.warn("skipping malformed record in journal file [{}]", journalFile);
+                            }
+                        }
+                    }
+                } catch (final IOException e) {
+                    promise.fail(e);
+                    return;
+                }
+            }
+            promise.complete(result);
+        }, true, records);
+
+        return records.future().map(list -> {
+            list.forEach(record -> {
+                try {
+                    recordHandler.accept(record);
+                } catch (final IllegalArgumentException | ClassCastException e) {
+                    LOG.warn("cannot apply record from journal file [{}]", journalFile, e);
+                }
+            });
+            synchronized (this) {
+                recordsSinceCompaction += list.size();
+            }
+            LOG.info("successfully applied {} records from journal file [{}]", list.size(), journalFile);
+            return list.size();
+        });
+    }
+
+    /**
+     * Opens the journal file for appending records.
+     * <p>
+     * The file is created if it does not exist yet.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    Future<Void> open() {
+        return execute(() -> {
+            channel = FileChannel.open(
+                    journalFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        });
+    }
+
+    /**
+     * Appends a record to the journal.
+     * <p>
+     * The record is written to the journal file asynchronously. It is flushed to the storage
+     * device by the next invocation of {@link #flush(Supplier)} at the latest.
+     *
+     * @param record The record to append.
+     * @throws NullPointerException if record is {@code null}.
+     */
+    void append(final JsonObject record) {
+
+        Objects.requireNonNull(record);
+
+        final byte[] line = (record.encode() + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            recordsSinceCompaction++;
+            execute(() -> {
+                if (channel == null) {
+                    throw new IOException("journal file is not open");
+                }
+                write(channel, line);
+                unsyncedWrites = true;
+            }).onFailure(t -> LOG.warn("could not append record to journal file [{}]", journalFile, t));
+        }
+    }
+
+    /**
+     * Makes sure that all records appended to the journal so far have been written to the storage device.
+     * <p>
+     * The journal is compacted instead if it contains at least as many records as the compaction threshold.
+     * In this case, the supplier is invoked on the calling thread in order to capture a snapshot of the
+     * registry's current data.
+     *
+     * @param snapshotSupplier The supplier of the registry's current data to use for compacting the journal.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if supplier is {@code null}.
+     */
+    Future<Void> flush(final Supplier<Snapshot> snapshotSupplier) {
+
+        Objects.requireNonNull(snapshotSupplier);
+
+        synchronized (this) {
+            if (recordsSinceCompaction >= compactionThreshold) {
+                return compact(snapshotSupplier.get());
+            }
+        }
+        return execute(() -> {
+            if (channel != null && unsyncedWrites) {
+                channel.force(false);
+                unsyncedWrites = false;
+            }
+        });
+    }
+
+    /**
+     * Compacts the journal.
+     * <p>
+     * The given snapshot is encoded and written to a temporary file on a worker thread. The temporary file
+     * then replaces the registry's file and the journal file is truncated afterwards.
+     * <p>
+     * The snapshot is expected to reflect all records that have been appended to the journal before this
+     * method is invoked.
+     *
+     * @param snapshot The registry's current data.
+     * @return A future indicating the outcome of the operation.
+     * @throws NullPointerException if snapshot is {@code null}.
+     */
+    synchronized Future<Void> compact(final Snapshot snapshot) {
+
+        Objects.requireNonNull(snapshot);
+
+        final int compactedRecords = recordsSinceCompaction;
+        recordsSinceCompaction = 0;
+        return execute(() -> {
+            final Path tmpFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(
+                    tmpFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(out, snapshot.encode().getBytes());
+                out.force(true);
+            }
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (channel != null) {
+                channel.truncate(0);
+                channel.force(true);
+                unsyncedWrites = false;
+            }
+        })
+        .onSuccess(ok -> LOG.debug("compacted {} records of journal file [{}]", compactedRecords, journalFile))
+        .onFailure(t -> {
+            LOG.warn("could not compact journal file [{}]", journalFile, t);
+            synchronized (this) {
+                recordsSinceCompaction += compactedRecords;
+            }
+        });
+    }
+
+    /**
+     * Flushes and closes the journal file.
+     *
+     * @return A future indicating the outcome of the operation.
+     */
+    Future<Void> close() {
+        return execute(() -> {
+            if (channel != null) {
+                try {
+                    channel.force(false);
+                } finally {
+                    channel.close();
+                    channel = null;
+                }
+            }
+        });
+    }
+
+    private static void write(final FileChannel target, final byte[] bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private Future<Void> execute(final FileOperation operation) {
+        final Promise<Void> result = Promise.promise();
+        context.executeBlocking(promise -> {
+            try {
+                operation.run();
+                promise.complete();
+            } catch (final IOException e) {
+                promise.fail(e);
+            }
+        }, true, result);
+        return result.future();
+    }
+
+    /**
+     * A view on a registry's data at a particular point in time.
+     * <p>
+     * The view must not be affected by changes made to the registry's data after it has been
+     * created, because it is encoded on a worker thread.
+     */
+    @FunctionalInterface
+    interface Snapshot {
+
+        /**
+         * Encodes the data to the content of the registry's file.
+         *
+         * @return The encoded data.
+         */
+        Buffer encode();
+    }
+
+    /**
+     * An operation on the journal or snapshot file.
+     */
+    @FunctionalInterface
+    private interface FileOperation {
+
+        void run() throws IOException;
+    }
+}
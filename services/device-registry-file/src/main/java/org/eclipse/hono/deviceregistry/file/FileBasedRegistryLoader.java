@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceregistry.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.eclipse.hono.util.RegistryManagementConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A loader for the files that file based registry services persist their data to.
+ * <p>
+ * The loader reads the file by means of a streaming parser and passes each record to a handler as soon as it
+ * has been parsed. The parse tree of the whole file is therefore never kept in memory. Loading is done on a
+ * worker thread.
+ */
+final class FileBasedRegistryLoader {
+
+    /**
+     * The number of records after which the progress of loading a file is logged.
+     */
+    static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBasedRegistryLoader.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Vertx vertx;
+    private final String filename;
+    private final boolean parallel;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param vertx The vert.x instance to use for running the (blocking) file operations.
+     * @param filename The name of the file to load.
+     * @param parallel {@code true} if the file may be loaded in parallel to other files that are
+     *                 loaded from the same vert.x context.
+     * @throws NullPointerException if vert.x or filename are {@code null}.
+     */
+    FileBasedRegistryLoader(final Vertx vertx, final String filename, final boolean parallel) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.filename = Objects.requireNonNull(filename);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Loads a file that contains a JSON array of records.
+     * <p>
+     * This format is used for persisting tenants.
+     *
+     * @param recordType The type of records contained in the file (used for logging).
+     * @param recordHandler The handler to invoke for each record.
+     * @return A future indicating the outcome of the operation. The future will be succeeded with
+     *         the number of records that have been loaded or failed with a {@link DecodeException}
+     *         if the file does not contain a JSON array of records or with an {@link IOException}
+     *         if the file cannot be read.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    Future<Integer> load(final String recordType, final Consumer<JsonObject> recordHandler) {
+
+        Objects.requireNonNull(recordType);
+        Objects.requireNonNull(recordHandler);
+
+        return load(recordType, parser -> {
+            final ProgressTracker tracker = new ProgressTracker(recordType);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                recordHandler.accept(readObject(parser));
+                tracker.increment();
+            }
+            return tracker.count;
+        });
+    }
+
+    /**
+     * Loads a file that contains a JSON array of objects, each of which contains the identifier of a tenant
+     * and a JSON array of records belonging to the tenant.
+     * <p>
+     * This format is used for persisting devices and credentials. The records of a tenant are also
+     * read one by one so that even a tenant with many records can be loaded without reading the whole
+     * array of records into memory.
+     *
+     * @param recordType The type of records contained in the file (used for logging).
+     * @param recordsField The name of the field that contains a tenant's array of records.
+     * @param recordHandler The handler to invoke with the tenant identifier and each record.
+     * @return A future indicating the outcome of the operation. The future will be succeeded with
+     *         the number of records that have been loaded or failed with a {@link DecodeException}
+     *         if the file does not have the expected structure or with an {@link IOException}
+     *         if the file cannot be read.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    Future<Integer> loadPerTenant(
+            final String recordType,
+            final String recordsField,
+            final BiConsumer<String, JsonObject> recordHandler) {
+
+        Objects.requireNonNull(recordType);
+        Objects.requireNonNull(recordsField);
+        Objects.requireNonNull(recordHandler);
+
+        return load(recordType, parser -> {
+            final ProgressTracker tracker = new ProgressTracker(recordType);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String tenantId = null;
+                // records that precede the tenant identifier
+                final List<JsonObject> pendingRecords = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.getCurrentName();
+                    final JsonToken valueToken = parser.nextToken();
+                    if (RegistryManagementConstants.FIELD_TENANT.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+                        tenantId = parser.getText();
+                        for (final JsonObject pendingRecord : pendingRecords) {
+                            recordHandler.accept(tenantId, pendingRecord);
+                            tracker.increment();
+                        }
+                        pendingRecords.clear();
+                    } else if (recordsField.equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            final JsonObject record = readObject(parser);
+                            if (tenantId == null) {
+                                pendingRecords.add(record);
+                            } else {
+                                recordHandler.accept(tenantId, record);
+                                tracker.increment();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (tenantId == null) {
+                    LOG.debug("tenant field missing, skipping {} {}", pendingRecords.size(), recordType);
+                }
+            }
+            return tracker.count;
+        });
+    }
+
+    private Future<Integer> load(final String recordType, final RecordsReader reader) {
+
+        final Promise<Integer> result = Promise.promise();
+        vertx.executeBlocking(promise -> {
+            LOG.debug("loading {} from file [{}]", recordType, filename);
+            try (InputStream in = Files.newInputStream(Paths.get(filename));
+                    JsonParser parser = JSON_FACTORY.createParser(in)) {
+                final JsonToken firstToken = parser.nextToken();
+                if (firstToken == null) {
+                    // empty file
+                    promise.complete(0);
+                } else if (firstToken != JsonToken.START_ARRAY) {
+                    promise.fail(new DecodeException("file does not contain a JSON array"));
+                } else {
+                    final int count = reader.read(parser);
+                    LOG.info("successfully loaded {} {} from file [{}]", count, recordType, filename);
+                    promise.complete(count);
+                }
+            } catch (final JsonParseException e) {
+                LOG.warn("cannot read malformed JSON from {} file [{}]", recordType, filename);
+                promise.fail(new DecodeException(e.getMessage(), e));
+            } catch (final IOException e) {
+                promise.fail(e);
+            }
+        }, !parallel, result);
+        return result.future();
+    }
+
+    private static JsonObject readObject(final JsonParser parser) throws IOException {
+        final JsonObject result = new JsonObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            result.put(fieldName, readValue(parser));
+        }
+        return result;
+    }
+
+    private static JsonArray readArray(final JsonParser parser) throws IOException {
+        final JsonArray result = new JsonArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            result.add(readValue(parser));
+        }
+        return result;
+    }
+
+    private static Object readValue(final JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+        case START_OBJECT:
+            return readObject(parser);
+        case START_ARRAY:
+            return readArray(parser);
+        case VALUE_STRING:
+            return parser.getText();
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+            return parser.getNumberValue();
+        case VALUE_TRUE:
+            return Boolean.TRUE;
+        case VALUE_FALSE:
+            return Boolean.FALSE;
+        case VALUE_NULL:
+            return null;
+        default:
+            throw new JsonParseException(parser, "unexpected token " + parser.currentToken());
+        }
+    }
+
+    /**
+     * Reads the records following the start of the top level JSON array.
+     */
+    @FunctionalInterface
+    private interface RecordsReader {
+
+        int read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Counts the loaded records and periodically logs the progress.
+     */
+    private final class ProgressTracker {
+
+        private final String recordType;
+        private int count = 0;
+
+        ProgressTracker(final String recordType) {
+            this.recordType = recordType;
+        }
+
+        void increment() {
+            count++;
+            if (count % PROGRESS_LOG_INTERVAL == 0) {
+                LOG.info("loaded {} {} from file [{}] so far", count, recordType, filename);
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.eclipse.hono.client.util.MessagingClientProvider;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryHttpServer;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashingConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.AutoProvisionerConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.EdgeDeviceAutoProvisioner;
 import org.eclipse.hono.deviceregistry.service.deviceconnection.MapBasedDeviceConnectionsConfigProperties;
@@ -36,6 +37,7 @@ import org.eclipse.hono.deviceregistry.service.tenant.DefaultTenantInformationSe
 import org.eclipse.hono.deviceregistry.service.tenant.TenantInformationService;
 import org.eclipse.hono.deviceregistry.util.ServiceClientAdapter;
 import org.eclipse.hono.service.HealthCheckServer;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.http.HttpEndpoint;
 import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
 import org.eclipse.hono.service.management.credentials.DelegatingCredentialsManagementHttpEndpoint;
@@ -59,6 +61,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentracing.Tracer;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -81,6 +84,9 @@ public class FileBasedServiceConfig {
     @Autowired
     private HealthCheckServer healthCheckServer;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     //
     //
     // Service implementations
@@ -167,6 +173,30 @@ public class FileBasedServiceConfig {
         return new SpringBasedHonoPasswordEncoder(credentialsProperties().getMaxBcryptCostFactor());
     }
 
+    /**
+     * Gets properties for configuring the thread pool used for encoding passwords.
+     *
+     * @return The properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "hono.registry.password-hashing")
+    public PasswordHashingConfigProperties passwordHashingConfigProperties() {
+        return new PasswordHashingConfigProperties();
+    }
+
+    /**
+     * Exposes the executor to use for encoding clear text passwords.
+     * <p>
+     * The executor runs on a dedicated, bounded thread pool so that encoding
+     * a large number of passwords does not starve vert.x's worker pool.
+     *
+     * @return The executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor() {
+        return passwordHashingConfigProperties().newExecutor(meterRegistry);
+    }
+
     /**
      * Creates a client for publishing events via the configured messaging systems.
      *
@@ -271,6 +301,7 @@ public class FileBasedServiceConfig {
                 vertx,
                 credentialsProperties(),
                 passwordEncoder());
+        credentialsService.setPasswordHashingExecutor(passwordHashingExecutor());
 
         final FileBasedDeviceBackend fileBasedDeviceBackend = new FileBasedDeviceBackend(registrationService,
                 credentialsService, tenantInformationService);
@@ -366,11 +397,14 @@ public class FileBasedServiceConfig {
      * of Hono's Device Registry Management API's.
      *
      * @param service The service instance to delegate to.
+     * @param credentialsService The service instance to delegate to for importing credentials.
      * @return The handler.
      */
     @Bean
-    public HttpEndpoint deviceHttpEndpoint(final DeviceManagementService service) {
-        return new DelegatingDeviceManagementHttpEndpoint<DeviceManagementService>(vertx, service);
+    public HttpEndpoint deviceHttpEndpoint(
+            final DeviceManagementService service,
+            final CredentialsManagementService credentialsService) {
+        return new DelegatingDeviceManagementHttpEndpoint<DeviceManagementService>(vertx, service, credentialsService);
     }
 
     /**
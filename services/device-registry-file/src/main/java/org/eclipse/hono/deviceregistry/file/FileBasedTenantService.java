@@ -21,7 +21,6 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -48,7 +47,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -69,6 +67,7 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
     private AtomicBoolean running = new AtomicBoolean(false);
     private AtomicBoolean dirty = new AtomicBoolean(false);
     private FileBasedTenantsConfigProperties config;
+    private FileBasedRegistryJournal journal;
 
     /**
      * Creates a new service instance.
@@ -117,6 +116,7 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
             } else {
                 checkFileExists(getConfig().isSaveToFile())
                     .compose(ok -> loadTenantData())
+                    .compose(ok -> openJournal())
                     .onSuccess(ok -> {
                         if (getConfig().isSaveToFile()) {
                             LOG.info("saving tenants to file every 3 seconds");
@@ -143,14 +143,59 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
             LOG.info("Either filename is null or empty start is set, won't load any tenants");
             return Future.succeededFuture();
         } else {
-            final Promise<Buffer> readResult = Promise.promise();
-            vertx.fileSystem().readFile(getConfig().getFilename(), readResult);
-            return readResult.future().compose(buffer -> {
-                return addAll(buffer);
-            }).recover(t -> {
-                LOG.debug("cannot load tenants from file [{}]: {}", getConfig().getFilename(), t.getMessage());
-                return Future.succeededFuture();
-            });
+            return new FileBasedRegistryLoader(vertx, getConfig().getFilename(), getConfig().isLoadInParallel())
+                .load("tenants", tenantJson -> {
+                    try {
+                        addTenant(tenantJson);
+                    } catch (final IllegalArgumentException | ClassCastException e) {
+                        LOG.warn("cannot deserialize tenant", e);
+                    }
+                })
+                .<Void>mapEmpty()
+                .recover(t -> {
+                    LOG.debug("cannot load tenants from file [{}]: {}", getConfig().getFilename(), t.getMessage());
+                    return Future.succeededFuture();
+                });
+        }
+    }
+
+    private Future<Void> openJournal() {
+
+        if (!getConfig().isSaveToFile() || !getConfig().isJournalEnabled()) {
+            return Future.succeededFuture();
+        }
+        journal = new FileBasedRegistryJournal(vertx, getConfig().getFilename(),
+                getConfig().getJournalCompactionThreshold());
+        final Future<Integer> replayed = getConfig().isStartEmpty()
+                ? Future.succeededFuture(0)
+                : journal.replay(this::applyJournalRecord);
+        return replayed
+                .compose(count -> journal.open().map(count))
+                .compose(count -> {
+                    if (count > 0 || getConfig().isStartEmpty()) {
+                        // make sure that the journal only contains changes made from now on
+                        return journal.compact(tenantsSnapshot());
+                    } else {
+                        return Future.succeededFuture();
+                    }
+                })
+                .onSuccess(ok -> LOG.info("appending changes to tenants to journal file [{}{}]",
+                        getConfig().getFilename(), FileBasedRegistryJournal.FILE_SUFFIX));
+    }
+
+    private void applyJournalRecord(final JsonObject record) {
+        switch (record.getString(FileBasedRegistryJournal.FIELD_OPERATION, "")) {
+        case FileBasedRegistryJournal.OPERATION_PUT:
+            addTenant(record.getJsonObject(FileBasedRegistryJournal.FIELD_ENTRY).copy());
+            break;
+        case FileBasedRegistryJournal.OPERATION_REMOVE:
+            tenants.remove(record.getString(TenantConstants.FIELD_PAYLOAD_TENANT_ID));
+            break;
+        case FileBasedRegistryJournal.OPERATION_CLEAR:
+            tenants.clear();
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported journal operation");
         }
     }
 
@@ -170,33 +215,6 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
         return result.future();
     }
 
-    private Future<Void> addAll(final Buffer tenantsBuffer) {
-
-        final Promise<Void> result = Promise.promise();
-        try {
-            if (tenantsBuffer.length() > 0) {
-                final AtomicInteger tenantCount = new AtomicInteger();
-                tenantsBuffer.toJsonArray().stream()
-                    .filter(JsonObject.class::isInstance)
-                    .map(JsonObject.class::cast)
-                    .forEach(tenantJson -> {
-                        try {
-                            addTenant(tenantJson);
-                            tenantCount.incrementAndGet();
-                        } catch (final IllegalArgumentException | ClassCastException e) {
-                            LOG.warn("cannot deserialize tenant", e);
-                        }
-                    });
-                LOG.info("successfully loaded {} tenants from file [{}]", tenantCount.get(), getConfig().getFilename());
-            }
-            result.complete();
-        } catch (final DecodeException e) {
-            LOG.warn("cannot read malformed JSON from tenants file [{}]", getConfig().getFilename());
-            result.fail(e);
-        }
-        return result.future();
-    }
-
     private void addTenant(final JsonObject tenantToAdd) {
 
         Optional.ofNullable(tenantToAdd.getValue(TenantConstants.FIELD_PAYLOAD_TRUSTED_CA))
@@ -218,7 +236,11 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
 
         final Promise<Void> stopPromise = Promise.promise();
         if (running.compareAndSet(true, false)) {
-            saveToFile().onComplete(stopPromise);
+            saveToFile()
+                .compose(ok -> Optional.ofNullable(journal)
+                        .map(FileBasedRegistryJournal::close)
+                        .orElseGet(Future::succeededFuture))
+                .onComplete(stopPromise);
         } else {
             stopPromise.complete();
         }
@@ -231,16 +253,13 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
 
         if (!getConfig().isSaveToFile()) {
             result.complete();
+        } else if (journal != null) {
+            journal.flush(this::tenantsSnapshot).onComplete(result);
         } else if (dirty.get()) {
             checkFileExists(true)
                 .compose(s -> {
 
-                    final JsonArray tenantsJson = new JsonArray();
-                    tenants.forEach((tenantId, versionedTenant) -> {
-                        final JsonObject json = JsonObject.mapFrom(versionedTenant.getValue());
-                        json.put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
-                        tenantsJson.add(json);
-                    });
+                    final JsonArray tenantsJson = tenantsAsJson(tenants);
 
                     final Promise<Void> writeHandler = Promise.promise();
                     vertx.fileSystem().writeFile(getConfig().getFilename(),
@@ -265,6 +284,50 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
         return result.future();
     }
 
+    /**
+     * Creates a snapshot of the tenants for compacting the journal.
+     * <p>
+     * Only the map is copied because the tenant objects are replaced instead of being changed.
+     *
+     * @return The snapshot.
+     */
+    private FileBasedRegistryJournal.Snapshot tenantsSnapshot() {
+        final Map<String, Versioned<Tenant>> view = Map.copyOf(tenants);
+        return () -> Buffer.buffer(tenantsAsJson(view).encode());
+    }
+
+    private static JsonArray tenantsAsJson(final Map<String, Versioned<Tenant>> tenants) {
+        final JsonArray tenantsJson = new JsonArray();
+        tenants.forEach((tenantId, versionedTenant) -> tenantsJson.add(toJson(tenantId, versionedTenant)));
+        return tenantsJson;
+    }
+
+    private static JsonObject toJson(final String tenantId, final Versioned<Tenant> tenant) {
+        final JsonObject json = JsonObject.mapFrom(tenant.getValue());
+        json.put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId);
+        return json;
+    }
+
+    /**
+     * Records a change of a tenant so that it gets persisted.
+     *
+     * @param tenantId The identifier of the changed tenant.
+     */
+    private void tenantChanged(final String tenantId) {
+        if (journal == null) {
+            dirty.set(true);
+        } else {
+            final Versioned<Tenant> tenant = tenants.get(tenantId);
+            if (tenant == null) {
+                journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_REMOVE)
+                        .put(TenantConstants.FIELD_PAYLOAD_TENANT_ID, tenantId));
+            } else {
+                journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                        .put(FileBasedRegistryJournal.FIELD_ENTRY, toJson(tenantId, tenant)));
+            }
+        }
+    }
+
     @Override
     public Future<TenantResult<JsonObject>> get(final String tenantId) {
         return get(tenantId, null);
@@ -363,7 +426,7 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
                 final String actualVersion = tenants.get(tenantId).getVersion();
                 if (checkResourceVersion(resourceVersion, actualVersion)) {
                     tenants.remove(tenantId);
-                    dirty.set(true);
+                    tenantChanged(tenantId);
                     return Future.succeededFuture(Result.from(HttpURLConnection.HTTP_NO_CONTENT));
                 } else {
                     TracingHelper.logError(span, "Resource Version mismatch.");
@@ -426,7 +489,7 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
             } else {
                 final Versioned<Tenant> tenant = new Versioned<>(tenantSpec);
                 tenants.put(tenantId, tenant);
-                dirty.set(true);
+                tenantChanged(tenantId);
                 return Future.succeededFuture(OperationResult.ok(HttpURLConnection.HTTP_CREATED,
                         Id.of(tenantId), Optional.empty(), Optional.of(tenant.getVersion())));
             }
@@ -478,7 +541,7 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
                         if ( updatedTenant != null ) {
 
                             tenants.put(tenantId, updatedTenant);
-                            dirty.set(true);
+                            tenantChanged(tenantId);
                             return Future.succeededFuture(OperationResult.ok(
                                     HttpURLConnection.HTTP_NO_CONTENT,
                                     null,
@@ -531,7 +594,11 @@ public final class FileBasedTenantService extends AbstractTenantManagementServic
      */
     public void clear() {
         tenants.clear();
-        dirty.set(true);
+        if (journal == null) {
+            dirty.set(true);
+        } else {
+            journal.append(FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_CLEAR));
+        }
     }
 
     @Override
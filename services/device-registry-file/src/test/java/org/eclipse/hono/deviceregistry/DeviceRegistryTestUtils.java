@@ -14,6 +14,8 @@
 package org.eclipse.hono.deviceregistry;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
 
 import com.google.common.io.Resources;
 
@@ -42,4 +44,16 @@ public final class DeviceRegistryTestUtils {
         return Buffer.buffer(buffer);
 
     }
+
+    /**
+     * Gets the path to a file using this class' class loader.
+     *
+     * @param resourceName The name of the resource to get the path for.
+     * @return The absolute path of the file.
+     * @throws URISyntaxException if the resource's URL cannot be converted to a path.
+     */
+    public static String getResourcePath(final String resourceName) throws URISyntaxException {
+
+        return Paths.get(Resources.getResource(DeviceRegistryTestUtils.class, resourceName).toURI()).toString();
+    }
 }
@@ -24,7 +24,11 @@ import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,13 +49,16 @@ import org.eclipse.hono.service.management.credentials.CredentialsManagementServ
 import org.eclipse.hono.service.management.credentials.PasswordCredential;
 import org.eclipse.hono.service.management.credentials.PskCredential;
 import org.eclipse.hono.service.management.device.DeviceManagementService;
+import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsResult;
 import org.eclipse.hono.util.RegistryManagementConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +73,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
@@ -100,7 +108,6 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
     /**
      * Creates a new service instance.
      */
-    @SuppressWarnings("unchecked")
     @BeforeEach
     public void setUp() {
         fileSystem = mock(FileSystem.class);
@@ -108,15 +115,9 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
         vertx = mock(Vertx.class);
         when(vertx.eventBus()).thenReturn(eventBus);
         when(vertx.fileSystem()).thenReturn(fileSystem);
-        // make sure that plain text passwords can be encoded on vert.x using a blocking thread
-        doAnswer(invocation -> {
-            final Promise<?> promise = Promise.promise();
-            final Handler<Promise<?>> blockingCode = invocation.getArgument(0);
-            blockingCode.handle(promise);
-            final Handler<AsyncResult<?>> resultHandler = invocation.getArgument(1);
-            resultHandler.handle(promise.future());
-            return null;
-        }).when(vertx).executeBlocking(any(Handler.class), any(Handler.class));
+        // make sure that plain text passwords can be encoded and files can be loaded
+        // on vert.x using a blocking thread
+        VertxMockSupport.executeBlockingCodeImmediately(vertx);
 
         this.registrationConfig = new FileBasedRegistrationConfigProperties();
         this.registrationConfig.setCacheMaxAge(30);
@@ -196,21 +197,11 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
             handler.handle(Future.succeededFuture());
             return null;
         }).when(fileSystem).createFile(eq(credentialsConfig.getFilename()), any(Handler.class));
-        doAnswer(invocation -> {
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed file"));
-            return null;
-        }).when(fileSystem).readFile(eq(credentialsConfig.getFilename()), any(Handler.class));
         doAnswer(invocation -> {
             final Handler handler = invocation.getArgument(1);
             handler.handle(Future.succeededFuture());
             return null;
         }).when(fileSystem).createFile(eq(registrationConfig.getFilename()), any(Handler.class));
-        doAnswer(invocation -> {
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed file"));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN starting the service
         final Promise<?> startupTracker = Promise.promise();
@@ -256,29 +247,24 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
      * Verifies that the credentials service successfully starts up even if
      * the file to read credentials from contains malformed JSON.
      *
+     * @param tempDir The directory to create the files in.
      * @param ctx The vert.x context.
+     * @throws Exception if the files cannot be created.
      */
-    @SuppressWarnings({ "unchecked" })
     @Test
-    public void testDoStartIgnoresMalformedJson(final VertxTestContext ctx) {
+    public void testDoStartIgnoresMalformedJson(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) throws Exception {
 
         // GIVEN a registration service configured to read data from a file
         // that contains malformed JSON
-        credentialsConfig.setFilename(CREDENTIALS_FILE_NAME);
+        final Path credentialsFile = Files.writeString(tempDir.resolve("credentials.json"), "NO JSON", StandardCharsets.UTF_8);
+        credentialsConfig.setFilename(credentialsFile.toString());
         when(fileSystem.existsBlocking(credentialsConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(Buffer.buffer("NO JSON")));
-            return null;
-        }).when(fileSystem).readFile(eq(credentialsConfig.getFilename()), any(Handler.class));
 
-        registrationConfig.setFilename(REGISTRATION_FILE_NAME);
+        final Path registrationFile = Files.writeString(tempDir.resolve("device-identities.json"), "NO JSON", StandardCharsets.UTF_8);
+        registrationConfig.setFilename(registrationFile.toString());
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(Buffer.buffer("NO JSON")));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN starting the service
         final Promise<Void> startupTracker = Promise.promise();
@@ -293,28 +279,16 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
      * Verifies that credentials are successfully loaded from file during startup.
      *
      * @param ctx The test context.
+     * @throws Exception if the files cannot be found.
      */
-    @SuppressWarnings({ "unchecked" })
     @Test
-    public void testDoStartLoadsCredentials(final VertxTestContext ctx) {
+    public void testDoStartLoadsCredentials(final VertxTestContext ctx) throws Exception {
         // GIVEN a service configured with a file name
-        credentialsConfig.setFilename(CREDENTIALS_FILE_NAME);
+        credentialsConfig.setFilename(DeviceRegistryTestUtils.getResourcePath(CREDENTIALS_FILE_NAME));
         when(fileSystem.existsBlocking(credentialsConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Buffer data = DeviceRegistryTestUtils.readFile(credentialsConfig.getFilename());
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(data));
-            return null;
-        }).when(fileSystem).readFile(eq(credentialsConfig.getFilename()), any(Handler.class));
 
-        registrationConfig.setFilename(REGISTRATION_FILE_NAME);
+        registrationConfig.setFilename(DeviceRegistryTestUtils.getResourcePath(REGISTRATION_FILE_NAME));
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Buffer data = DeviceRegistryTestUtils.readFile(registrationConfig.getFilename());
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(data));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN the service is started
         final Promise<Void> startTracker = Promise.promise();
@@ -363,15 +337,19 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
     /**
      * Verifies that the file written by the registry when persisting the registry's contents can be loaded in again.
      *
+     * @param tempDir The directory to persist the credentials to.
      * @param ctx The vert.x test context.
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Test
-    public void testLoadCredentialsCanReadOutputOfSaveToFile(final VertxTestContext ctx) {
+    public void testLoadCredentialsCanReadOutputOfSaveToFile(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) {
 
         // GIVEN a service configured to persist credentials to file
         // that contains some credentials
-        credentialsConfig.setFilename(CREDENTIALS_FILE_NAME);
+        final Path file = tempDir.resolve("credentials.json");
+        credentialsConfig.setFilename(file.toString());
         credentialsConfig.setSaveToFile(true);
         when(fileSystem.existsBlocking(credentialsConfig.getFilename())).thenReturn(Boolean.TRUE);
 
@@ -435,17 +413,8 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
                 }
 
                 // THEN the credentials can be loaded back in from the file
-                final Promise<Void> read = Promise.promise();
-                doAnswer(invocation -> {
-                    final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-                    handler.handle(Future.succeededFuture(buffer.getValue()));
-                    read.complete();
-                    return null;
-                }).when(fileSystem).readFile(eq(credentialsConfig.getFilename()), any(Handler.class));
-
-                credentialsService.loadCredentials();
-
-                return read.future();
+                ctx.verify(() -> Files.write(file, buffer.getValue().getBytes()));
+                return credentialsService.loadCredentials();
             })
 
             // and the credentials can be looked up again
@@ -462,6 +431,94 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
             .onComplete(ctx.succeedingThenComplete());
     }
 
+    /**
+     * Verifies that the credentials contained in a journal record replace all credentials of the
+     * device loaded from file during startup.
+     *
+     * @param tempDir The directory to persist the credentials to.
+     * @param vertxInstance The vert.x instance to run the service on.
+     * @param ctx The vert.x test context.
+     * @throws IOException if the files cannot be written.
+     */
+    @Test
+    public void testDoStartAppliesJournalRecords(
+            @TempDir final Path tempDir,
+            final Vertx vertxInstance,
+            final VertxTestContext ctx) throws IOException {
+
+        // GIVEN a file containing two sets of credentials of one device and one of another device
+        final Path file = tempDir.resolve("credentials.json");
+        Files.writeString(file, new JsonArray().add(new JsonObject()
+                .put(FileBasedCredentialsService.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                .put(FileBasedCredentialsService.ARRAY_CREDENTIALS, new JsonArray()
+                        .add(storedPskCredentials("device-1", "auth-1"))
+                        .add(storedPskCredentials("device-1", "auth-2"))
+                        .add(storedPskCredentials("device-2", "auth-4"))))
+                .encode());
+        // and a journal that sets new credentials for the first device and removes the other device's credentials
+        Files.write(tempDir.resolve("credentials.json" + FileBasedRegistryJournal.FILE_SUFFIX), List.of(
+                FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                        .put(FileBasedCredentialsService.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                        .put(Constants.JSON_FIELD_DEVICE_ID, "device-1")
+                        .put(FileBasedCredentialsService.ARRAY_CREDENTIALS, new JsonArray()
+                                .add(storedPskCredentials("device-1", "auth-3")))
+                        .encode(),
+                FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_REMOVE)
+                        .put(FileBasedCredentialsService.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                        .put(Constants.JSON_FIELD_DEVICE_ID, "device-2")
+                        .encode()));
+
+        final FileBasedCredentialsConfigProperties config = new FileBasedCredentialsConfigProperties();
+        config.setFilename(file.toString());
+        config.setSaveToFile(true);
+        config.setJournalEnabled(true);
+        final FileBasedCredentialsService service = new FileBasedCredentialsService(vertxInstance, config, PASSWORD_ENCODER);
+
+        // WHEN the service is started
+        service.start()
+            // THEN only the credentials set by the journal record are registered for the first device
+            .compose(ok -> CompositeFuture.all(
+                    service.get(Constants.DEFAULT_TENANT, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth-1"),
+                    service.get(Constants.DEFAULT_TENANT, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth-2"),
+                    service.get(Constants.DEFAULT_TENANT, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth-3"),
+                    service.get(Constants.DEFAULT_TENANT, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth-4")))
+            .compose(results -> {
+                ctx.verify(() -> {
+                    assertThat(results.<CredentialsResult<JsonObject>>resultAt(0).getStatus())
+                        .isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                    assertThat(results.<CredentialsResult<JsonObject>>resultAt(1).getStatus())
+                        .isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                    assertThat(results.<CredentialsResult<JsonObject>>resultAt(2).getStatus())
+                        .isEqualTo(HttpURLConnection.HTTP_OK);
+                    // AND the other device's credentials have been removed
+                    assertThat(results.<CredentialsResult<JsonObject>>resultAt(3).getStatus())
+                        .isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                });
+                return service.stop();
+            })
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    // AND the journal has been compacted into the file
+                    final String content = Files.readString(file);
+                    assertThat(content).doesNotContain("auth-1");
+                    assertThat(content).contains("auth-3");
+                    assertThat(Files.size(tempDir.resolve("credentials.json" + FileBasedRegistryJournal.FILE_SUFFIX)))
+                        .isEqualTo(0);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private static JsonObject storedPskCredentials(final String deviceId, final String authId) {
+        return new JsonObject()
+                .put(Constants.JSON_FIELD_DEVICE_ID, deviceId)
+                .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY)
+                .put(CredentialsConstants.FIELD_AUTH_ID, authId)
+                .put(CredentialsConstants.FIELD_ENABLED, true)
+                .put(CredentialsConstants.FIELD_SECRETS, new JsonArray()
+                        .add(new JsonObject().put(CredentialsConstants.FIELD_SECRETS_KEY, "c2VjcmV0")));
+    }
+
     /**
      * Verifies that the <em>modificationEnabled</em> property prevents updating an existing entry.
      *
@@ -552,6 +609,55 @@ public class FileBasedCredentialsServiceTest implements CredentialsServiceTestBa
             }));
     }
 
+    /**
+     * Verifies that looking up credentials loaded from file only returns enabled
+     * credentials containing enabled secrets.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetCredentialsOmitsDisabledCredentialsAndSecrets(final VertxTestContext ctx) {
+
+        // GIVEN a set of credentials containing disabled credentials and secrets
+        final JsonArray secrets = new JsonArray()
+                .add(new JsonObject().put(RegistryManagementConstants.FIELD_ID, "enabled-secret").put(CredentialsConstants.FIELD_SECRETS_KEY, "a2V5"))
+                .add(new JsonObject().put(RegistryManagementConstants.FIELD_ID, "disabled-secret").put(CredentialsConstants.FIELD_SECRETS_KEY, "a2V5")
+                        .put(CredentialsConstants.FIELD_ENABLED, false));
+        credentialsService.addCredentials("tenant", new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, "device")
+                .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY)
+                .put(CredentialsConstants.FIELD_AUTH_ID, "device")
+                .put(CredentialsConstants.FIELD_SECRETS, secrets));
+        credentialsService.addCredentials("tenant", new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, "device")
+                .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD)
+                .put(CredentialsConstants.FIELD_AUTH_ID, "device")
+                .put(CredentialsConstants.FIELD_ENABLED, false)
+                .put(CredentialsConstants.FIELD_SECRETS, new JsonArray()));
+
+        // WHEN looking up the credentials
+        credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "device", NoopSpan.INSTANCE)
+            .compose(result -> {
+                // THEN only the enabled secret is returned
+                ctx.verify(() -> {
+                    assertThat(result.getStatus()).isEqualTo(HttpURLConnection.HTTP_OK);
+                    final JsonArray returnedSecrets = result.getPayload().getJsonArray(CredentialsConstants.FIELD_SECRETS);
+                    assertThat(returnedSecrets.size()).isEqualTo(1);
+                    assertThat(returnedSecrets.getJsonObject(0).getString(RegistryManagementConstants.FIELD_ID))
+                        .isEqualTo("enabled-secret");
+                    // and the credentials on record still contain both secrets
+                    assertThat(secrets.size()).isEqualTo(2);
+                });
+                return credentialsService.get("tenant", CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, "device",
+                        NoopSpan.INSTANCE);
+            })
+            .onComplete(ctx.succeeding(result -> {
+                // AND the disabled credentials are not found
+                ctx.verify(() -> assertThat(result.getStatus()).isEqualTo(HttpURLConnection.HTTP_NOT_FOUND));
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that the properties provided in a client context are matched against
      * the properties of the credentials on record for the device.
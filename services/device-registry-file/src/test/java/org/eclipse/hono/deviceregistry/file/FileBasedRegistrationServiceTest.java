@@ -13,8 +13,10 @@
 package org.eclipse.hono.deviceregistry.file;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,31 +27,44 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.telemetry.EventSender;
 import org.eclipse.hono.client.util.MessagingClientProvider;
 import org.eclipse.hono.deviceregistry.DeviceRegistryTestUtils;
 import org.eclipse.hono.deviceregistry.service.device.AutoProvisionerConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.EdgeDeviceAutoProvisioner;
 import org.eclipse.hono.deviceregistry.util.Assertions;
+import org.eclipse.hono.service.management.OperationResult;
 import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.device.DeviceManagementService;
 import org.eclipse.hono.service.management.device.DeviceStatus;
 import org.eclipse.hono.service.registration.AbstractRegistrationServiceTest;
 import org.eclipse.hono.service.registration.RegistrationService;
+import org.eclipse.hono.test.VertxMockSupport;
+import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessagingType;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RegistryManagementConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 
 import io.opentracing.noop.NoopSpan;
@@ -61,6 +76,8 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -87,6 +104,7 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
         fileSystem = mock(FileSystem.class);
         vertx = mock(Vertx.class);
         when(vertx.fileSystem()).thenReturn(fileSystem);
+        VertxMockSupport.executeBlockingCodeImmediately(vertx);
 
         registrationConfig = new FileBasedRegistrationConfigProperties();
         registrationConfig.setFilename(FILE_NAME);
@@ -176,11 +194,6 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
             handler.handle(Future.succeededFuture());
             return null;
         }).when(fileSystem).createFile(eq(registrationConfig.getFilename()), any(Handler.class));
-        doAnswer(invocation -> {
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed file"));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN starting the service
         final Promise<Void> startupTracker = Promise.promise();
@@ -226,20 +239,20 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
      * Verifies that the registration service successfully starts up even if
      * the file to read device information from contains malformed JSON.
      *
+     * @param tempDir The directory to create the file in.
      * @param ctx The vert.x context.
+     * @throws Exception if the file cannot be created.
      */
-    @SuppressWarnings({ "unchecked" })
     @Test
-    public void testDoStartIgnoresMalformedJson(final VertxTestContext ctx) {
+    public void testDoStartIgnoresMalformedJson(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) throws Exception {
 
         // GIVEN a registration service configured to read data from a file
         // that contains malformed JSON
+        final Path file = Files.writeString(tempDir.resolve("device-identities.json"), "NO JSON", StandardCharsets.UTF_8);
+        registrationConfig.setFilename(file.toString());
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(Buffer.buffer("NO JSON")));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN starting the service
         final Promise<Void> startupTracker = Promise.promise();
@@ -255,19 +268,14 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
      * Verifies that device identities are successfully loaded from file during startup.
      *
      * @param ctx The test context.
+     * @throws Exception if the file cannot be found.
      */
-    @SuppressWarnings("unchecked")
     @Test
-    public void testDoStartLoadsDeviceIdentities(final VertxTestContext ctx) {
+    public void testDoStartLoadsDeviceIdentities(final VertxTestContext ctx) throws Exception {
 
         // GIVEN a service configured with a file name
+        registrationConfig.setFilename(DeviceRegistryTestUtils.getResourcePath(FILE_NAME));
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Buffer data = DeviceRegistryTestUtils.readFile(FILE_NAME);
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(data));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         // WHEN the service is started
         final Promise<Void> startupTracker = Promise.promise();
@@ -307,15 +315,19 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
     /**
      * Verifies that the file written by the registry when persisting the registry's contents can be loaded in again.
      *
+     * @param tempDir The directory to persist the devices to.
      * @param ctx The vert.x test context.
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Test
-    public void testLoadDevicesCanReadOutputOfSaveToFile(final VertxTestContext ctx) {
+    public void testLoadDevicesCanReadOutputOfSaveToFile(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) {
 
         // GIVEN a service configured to persist credentials to file
         // that contains some credentials
-        registrationConfig.setFilename(FILE_NAME);
+        final Path file = tempDir.resolve("device-identities.json");
+        registrationConfig.setFilename(file.toString());
         registrationConfig.setSaveToFile(true);
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
 
@@ -374,12 +386,7 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
                 .compose(b -> {
 
                     // THEN the devices can be loaded back in from the file
-                    doAnswer(invocation -> {
-                        final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-                        handler.handle(Future.succeededFuture(b));
-                        return null;
-                    }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
-
+                    ctx.verify(() -> Files.write(file, b.getBytes()));
                     return registrationService.loadRegistrationData();
 
                 })
@@ -419,6 +426,91 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
 
     }
 
+    /**
+     * Verifies that the changes recorded in the journal are applied to the device identities
+     * loaded from file during startup and that the journal is compacted afterwards.
+     *
+     * @param tempDir The directory to persist the devices to.
+     * @param vertxInstance The vert.x instance to run the service on.
+     * @param ctx The test context.
+     * @throws IOException if the files cannot be written.
+     */
+    @Test
+    public void testDoStartAppliesJournalRecords(
+            @TempDir final Path tempDir,
+            final Vertx vertxInstance,
+            final VertxTestContext ctx) throws IOException {
+
+        // GIVEN a file containing two devices
+        final Path file = tempDir.resolve("device-identities.json");
+        Files.writeString(file, new JsonArray().add(new JsonObject()
+                .put(RegistryManagementConstants.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                .put(RegistryManagementConstants.FIELD_DEVICES, new JsonArray()
+                        .add(storedDevice("device-1", true))
+                        .add(storedDevice("device-2", true))))
+                .encode());
+        // and a journal that updates one of them, adds another one and removes the first one
+        Files.write(tempDir.resolve("device-identities.json" + FileBasedRegistryJournal.FILE_SUFFIX), List.of(
+                FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                        .put(RegistryManagementConstants.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                        .put(FileBasedRegistryJournal.FIELD_ENTRY, storedDevice("device-2", false))
+                        .encode(),
+                FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                        .put(RegistryManagementConstants.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                        .put(FileBasedRegistryJournal.FIELD_ENTRY, storedDevice("device-3", true))
+                        .encode(),
+                FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_REMOVE)
+                        .put(RegistryManagementConstants.FIELD_TENANT, Constants.DEFAULT_TENANT)
+                        .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "device-1")
+                        .encode()));
+
+        final FileBasedRegistrationConfigProperties config = new FileBasedRegistrationConfigProperties();
+        config.setFilename(file.toString());
+        config.setSaveToFile(true);
+        config.setJournalEnabled(true);
+        final FileBasedRegistrationService service = new FileBasedRegistrationService(vertxInstance);
+        service.setConfig(config);
+
+        // WHEN the service is started
+        service.start()
+            // THEN the changes from the journal have been applied
+            .compose(ok -> service.readDevice(Constants.DEFAULT_TENANT, "device-2", NoopSpan.INSTANCE))
+            .compose(result -> {
+                ctx.verify(() -> {
+                    assertEquals(HttpURLConnection.HTTP_OK, result.getStatus());
+                    assertFalse(result.getPayload().isEnabled());
+                });
+                return service.readDevice(Constants.DEFAULT_TENANT, "device-3", NoopSpan.INSTANCE);
+            })
+            .compose(result -> {
+                ctx.verify(() -> assertEquals(HttpURLConnection.HTTP_OK, result.getStatus()));
+                return service.readDevice(Constants.DEFAULT_TENANT, "device-1", NoopSpan.INSTANCE)
+                        .map(OperationResult::getStatus)
+                        .otherwise(ServiceInvocationException::extractStatusCode);
+            })
+            .compose(status -> {
+                ctx.verify(() -> assertEquals(HttpURLConnection.HTTP_NOT_FOUND, status));
+                return service.stop();
+            })
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    // AND the journal has been compacted into the file
+                    final String content = Files.readString(file);
+                    assertFalse(content.contains("device-1"));
+                    assertTrue(content.contains("device-2"));
+                    assertTrue(content.contains("device-3"));
+                    assertEquals(0, Files.size(tempDir.resolve("device-identities.json" + FileBasedRegistryJournal.FILE_SUFFIX)));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private static JsonObject storedDevice(final String deviceId, final boolean enabled) {
+        return new JsonObject()
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(RegistrationConstants.FIELD_DATA, new JsonObject().put(RegistryManagementConstants.FIELD_ENABLED, enabled));
+    }
+
     /**
      * Verifies that the registry enforces the maximum devices per tenant limit.
      *
@@ -450,6 +542,42 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
             }));
     }
 
+    /**
+     * Verifies that the registry creates multiple devices at once and reports the devices
+     * that could not be created.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testCreateDevicesReportsDevicesThatCannotBeCreated(final VertxTestContext ctx) {
+
+        // GIVEN a registry that contains a device and whose devices-per-tenant limit is 3
+        registrationConfig.setMaxDevicesPerTenant(3);
+        final Map<String, Device> devices = new LinkedHashMap<>();
+        devices.put("device-1", new Device());
+        devices.put(DEVICE, new Device());
+        devices.put("device-2", new Device().setEnabled(false));
+        devices.put("device-3", new Device());
+
+        registrationService.createDevice(TENANT, Optional.of(DEVICE), new Device(), NoopSpan.INSTANCE)
+            // WHEN creating multiple devices including an existing one
+            .compose(ok -> registrationService.createDevices(TENANT, devices, NoopSpan.INSTANCE))
+            .onComplete(ctx.succeeding(failures -> {
+                ctx.verify(() -> {
+                    // THEN the existing device and the device exceeding the limit are reported as failed
+                    assertEquals(2, failures.size());
+                    Assertions.assertServiceInvocationException(failures.get(DEVICE), HttpURLConnection.HTTP_CONFLICT);
+                    Assertions.assertServiceInvocationException(failures.get("device-3"), HttpURLConnection.HTTP_FORBIDDEN);
+                });
+                // and the other devices have been added to the registry
+                registrationService.readDevice(TENANT, "device-2", NoopSpan.INSTANCE)
+                    .onComplete(ctx.succeeding(result -> {
+                        ctx.verify(() -> assertEquals(false, result.getPayload().isEnabled()));
+                        ctx.completeNow();
+                    }));
+            }));
+    }
+
     /**
      * Verifies that the <em>modificationEnabled</em> property prevents updating an existing entry.
      *
@@ -527,11 +655,6 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
 
         registrationConfig.setSaveToFile(false);
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed file"));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         final Promise<Void> startupTracker = Promise.promise();
         startupTracker.future().onComplete(ctx.succeeding(done -> ctx.verify(() -> {
@@ -554,11 +677,6 @@ public class FileBasedRegistrationServiceTest implements AbstractRegistrationSer
         // GIVEN a registration service configured to not persist data
         registrationConfig.setSaveToFile(false);
         when(fileSystem.existsBlocking(registrationConfig.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed data"));
-            return null;
-        }).when(fileSystem).readFile(eq(registrationConfig.getFilename()), any(Handler.class));
 
         final Promise<Void> startupTracker = Promise.promise();
         startupTracker.future()
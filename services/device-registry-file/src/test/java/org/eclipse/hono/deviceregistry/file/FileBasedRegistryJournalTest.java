@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry.file;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link FileBasedRegistryJournal}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class FileBasedRegistryJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotFile;
+    private Path journalFile;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        snapshotFile = tempDir.resolve("registry.json");
+        journalFile = tempDir.resolve("registry.json" + FileBasedRegistryJournal.FILE_SUFFIX);
+    }
+
+    private static JsonObject record(final int index) {
+        return FileBasedRegistryJournal.newRecord(FileBasedRegistryJournal.OPERATION_PUT)
+                .put(FileBasedRegistryJournal.FIELD_ENTRY, new JsonObject().put("index", index));
+    }
+
+    /**
+     * Verifies that the records appended to a journal can be replayed in order
+     * and that a malformed trailing record is skipped.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplayReturnsAppendedRecords(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryJournal journal = new FileBasedRegistryJournal(vertx, snapshotFile.toString(), 100);
+        final List<JsonObject> replayedRecords = new ArrayList<>();
+
+        journal.open()
+            .compose(ok -> {
+                journal.append(record(1));
+                journal.append(record(2));
+                return journal.close();
+            })
+            .compose(ok -> vertx.executeBlocking(promise -> {
+                try {
+                    // simulate a torn write
+                    Files.writeString(journalFile, "{\"op\":\"pu", StandardOpenOption.APPEND);
+                    promise.complete();
+                } catch (final Exception e) {
+                    promise.fail(e);
+                }
+            }))
+            .compose(ok -> new FileBasedRegistryJournal(vertx, snapshotFile.toString(), 100)
+                    .replay(replayedRecords::add))
+            .onComplete(ctx.succeeding(count -> {
+                ctx.verify(() -> {
+                    assertThat(count).isEqualTo(2);
+                    assertThat(replayedRecords).containsExactly(record(1), record(2)).inOrder();
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the journal gets compacted into the snapshot file once the
+     * number of records has reached the compaction threshold and that the snapshot
+     * is encoded on a worker thread.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testFlushCompactsJournalWhenThresholdIsReached(final Vertx vertx, final VertxTestContext ctx) {
+
+        final FileBasedRegistryJournal journal = new FileBasedRegistryJournal(vertx, snapshotFile.toString(), 2);
+        final Buffer snapshot = Buffer.buffer("[{\"index\":1},{\"index\":2}]");
+
+        journal.open()
+            .compose(ok -> {
+                journal.append(record(1));
+                return journal.flush(() -> {
+                    ctx.failNow(new IllegalStateException("journal should not have been compacted"));
+                    return () -> snapshot;
+                });
+            })
+            .compose(ok -> vertx.fileSystem().readFile(journalFile.toString()))
+            .compose(content -> {
+                ctx.verify(() -> assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo(record(1).encode() + "\n"));
+                journal.append(record(2));
+                return journal.flush(() -> () -> {
+                    ctx.verify(() -> assertThat(Context.isOnWorkerThread()).isTrue());
+                    return snapshot;
+                });
+            })
+            .compose(ok -> {
+                journal.append(record(3));
+                return journal.close();
+            })
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    assertThat(Files.readString(snapshotFile)).isEqualTo(snapshot.toString());
+                    assertThat(Files.readAllLines(journalFile)).containsExactly(record(3).encode());
+                });
+                ctx.completeNow();
+            }));
+    }
+}
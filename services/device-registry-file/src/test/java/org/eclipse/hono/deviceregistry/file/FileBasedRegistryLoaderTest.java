@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry.file;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link FileBasedRegistryLoader}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+public class FileBasedRegistryLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeFile(final String content) throws Exception {
+        return Files.writeString(tempDir.resolve("registry.json"), content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies that the records of all tenants are passed to the handler, including
+     * records that precede the tenant identifier in the file.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the file cannot be created.
+     */
+    @Test
+    public void testLoadPerTenantPassesRecordsOfAllTenants(
+            final Vertx vertx,
+            final VertxTestContext ctx) throws Exception {
+
+        final JsonObject record1 = new JsonObject()
+                .put("device-id", "4711")
+                .put("data", new JsonObject().put("enabled", true).put("via", new JsonArray().add("gw")));
+        final JsonObject record2 = new JsonObject().put("device-id", "4712").put("version", 2);
+        final JsonObject record3 = new JsonObject().put("device-id", "4713").putNull("ext");
+        final String content = new JsonArray()
+                .add(new JsonObject()
+                        .put("tenant", "tenant1")
+                        .put("unknown", new JsonObject().put("nested", new JsonArray().add(1)))
+                        .put("records", new JsonArray().add(record1).add(record2)))
+                .add(new JsonObject()
+                        .put("records", new JsonArray().add(record3))
+                        .put("tenant", "tenant2"))
+                .encode();
+        final Path file = writeFile(content);
+        final List<String> tenants = new ArrayList<>();
+        final List<JsonObject> records = new ArrayList<>();
+
+        new FileBasedRegistryLoader(vertx, file.toString(), false)
+            .loadPerTenant("records", "records", (tenantId, record) -> {
+                tenants.add(tenantId);
+                records.add(record);
+            })
+            .onComplete(ctx.succeeding(count -> {
+                ctx.verify(() -> {
+                    assertThat(count).isEqualTo(3);
+                    assertThat(tenants).containsExactly("tenant1", "tenant1", "tenant2").inOrder();
+                    assertThat(records).containsExactly(record1, record2, record3).inOrder();
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that loading an empty file succeeds without any records.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the file cannot be created.
+     */
+    @Test
+    public void testLoadSucceedsForEmptyFile(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+
+        final Path file = writeFile("");
+
+        new FileBasedRegistryLoader(vertx, file.toString(), true)
+            .load("tenants", record -> ctx.failNow(new IllegalStateException("unexpected record")))
+            .onComplete(ctx.succeeding(count -> {
+                ctx.verify(() -> assertThat(count).isEqualTo(0));
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that loading fails if the file does not contain a JSON array.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the file cannot be created.
+     */
+    @Test
+    public void testLoadFailsForMalformedJson(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+
+        final Path file = writeFile("[{\"tenant-id\": \"tenant1\"}, {\"tenant-id\": ");
+
+        new FileBasedRegistryLoader(vertx, file.toString(), false)
+            .load("tenants", record -> {})
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> assertThat(t).isInstanceOf(DecodeException.class));
+                ctx.completeNow();
+            }));
+    }
+}
@@ -26,6 +26,8 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -36,10 +38,12 @@ import org.eclipse.hono.service.management.tenant.TenantManagementService;
 import org.eclipse.hono.service.management.tenant.TrustedCertificateAuthority;
 import org.eclipse.hono.service.tenant.AbstractTenantServiceTest;
 import org.eclipse.hono.service.tenant.TenantService;
+import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 
 import io.opentracing.noop.NoopSpan;
@@ -82,6 +86,7 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
         vertx = mock(Vertx.class);
         when(vertx.eventBus()).thenReturn(eventBus);
         when(vertx.fileSystem()).thenReturn(fileSystem);
+        VertxMockSupport.executeBlockingCodeImmediately(vertx);
 
         props = new FileBasedTenantsConfigProperties();
         svc = new FileBasedTenantService(vertx);
@@ -117,11 +122,6 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
             handler.handle(Future.succeededFuture());
             return null;
         }).when(fileSystem).createFile(eq(props.getFilename()), any(Handler.class));
-        doAnswer(invocation -> {
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.failedFuture("malformed file"));
-            return null;
-        }).when(fileSystem).readFile(eq(props.getFilename()), any(Handler.class));
 
         // WHEN starting the service
         final Promise<Void> startupTracker = Promise.promise();
@@ -165,23 +165,20 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
      * Verifies that the tenant service successfully starts up even if
      * the file to read tenants from contains malformed JSON.
      *
+     * @param tempDir The directory to create the file in.
      * @param ctx The vert.x context.
+     * @throws Exception if the file cannot be created.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Test
-    public void testDoStartIgnoresMalformedJson(final VertxTestContext ctx) {
+    public void testDoStartIgnoresMalformedJson(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) throws Exception {
 
         // GIVEN a tenant service configured to read data from a file
         // that contains malformed JSON
-        props.setFilename(FILE_NAME);
-        when(fileSystem.existsBlocking(FILE_NAME)).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Buffer data = mock(Buffer.class);
-            when(data.getBytes()).thenReturn("NO JSON".getBytes(StandardCharsets.UTF_8));
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(data));
-            return null;
-        }).when(fileSystem).readFile(eq(props.getFilename()), any(Handler.class));
+        final Path file = Files.writeString(tempDir.resolve("tenants.json"), "NO JSON", StandardCharsets.UTF_8);
+        props.setFilename(file.toString());
+        when(fileSystem.existsBlocking(props.getFilename())).thenReturn(Boolean.TRUE);
 
         // WHEN starting the service
         final Promise<Void> startupTracker = Promise.promise();
@@ -194,20 +191,14 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
      * Verifies that tenants are successfully loaded from file during startup.
      *
      * @param ctx The test context.
+     * @throws Exception if the file cannot be found.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     @Test
-    public void testDoStartLoadsTenants(final VertxTestContext ctx) {
+    public void testDoStartLoadsTenants(final VertxTestContext ctx) throws Exception {
 
         // GIVEN a service configured with a file name
-        props.setFilename(FILE_NAME);
+        props.setFilename(DeviceRegistryTestUtils.getResourcePath(FILE_NAME));
         when(fileSystem.existsBlocking(props.getFilename())).thenReturn(Boolean.TRUE);
-        doAnswer(invocation -> {
-            final Buffer data = DeviceRegistryTestUtils.readFile(FILE_NAME);
-            final Handler handler = invocation.getArgument(1);
-            handler.handle(Future.succeededFuture(data));
-            return null;
-        }).when(fileSystem).readFile(eq(props.getFilename()), any(Handler.class));
 
         // WHEN the service is started
         svc.start().compose(ok -> {
@@ -255,17 +246,21 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
      * Verifies that the tenants file written by the registry when persisting the contents can
      * be loaded in again.
      *
+     * @param tempDir The directory to persist the tenants to.
      * @param ctx The vert.x test context.
      */
     @SuppressWarnings({ "unchecked" })
     @Test
-    public void testLoadTenantsCanReadOutputOfSaveToFile(final VertxTestContext ctx) {
+    public void testLoadTenantsCanReadOutputOfSaveToFile(
+            @TempDir final Path tempDir,
+            final VertxTestContext ctx) {
 
         // GIVEN a service configured to persist tenants to file
         // that contains some tenants
-        props.setFilename(FILE_NAME);
+        final Path file = tempDir.resolve("tenants.json");
+        props.setFilename(file.toString());
         props.setSaveToFile(true);
-        when(fileSystem.existsBlocking(FILE_NAME)).thenReturn(Boolean.TRUE);
+        when(fileSystem.existsBlocking(props.getFilename())).thenReturn(Boolean.TRUE);
 
         final ArgumentCaptor<Buffer> buffer = ArgumentCaptor.forClass(Buffer.class);
 
@@ -277,23 +272,19 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
                     final Handler<AsyncResult<Void>> handler = invocation.getArgument(2);
                     handler.handle(Future.succeededFuture());
                     return null;
-                }).when(fileSystem).writeFile(eq(FILE_NAME), any(Buffer.class), any(Handler.class));
+                }).when(fileSystem).writeFile(eq(props.getFilename()), any(Buffer.class), any(Handler.class));
 
                 return svc.saveToFile();
             })
             .compose(ok -> {
-                ctx.verify(() -> verify(fileSystem).writeFile(eq(FILE_NAME), buffer.capture(), any(Handler.class)));
+                ctx.verify(() -> verify(fileSystem).writeFile(eq(props.getFilename()), buffer.capture(), any(Handler.class)));
                 // and clearing the tenant registry
                 svc.clear();
                 return assertTenantDoesNotExist(svc, Constants.DEFAULT_TENANT);
             })
             .compose(ok -> {
                 // THEN the tenants can be loaded back in from the file
-                doAnswer(invocation -> {
-                    final Handler<AsyncResult<Buffer>> handler = invocation.getArgument(1);
-                    handler.handle(Future.succeededFuture(buffer.getValue()));
-                    return null;
-                }).when(fileSystem).readFile(eq(FILE_NAME), any(Handler.class));
+                ctx.verify(() -> Files.write(file, buffer.getValue().getBytes()));
                 return svc.loadTenantData();
             })
             // and the loaded tenants can be retrieved from the service 
@@ -302,6 +293,45 @@ public class FileBasedTenantServiceTest implements AbstractTenantServiceTest {
             .onComplete(ctx.succeedingThenComplete());
     }
 
+    /**
+     * Verifies that changes appended to the journal are applied to the tenants
+     * loaded from file when the service is restarted.
+     *
+     * @param tempDir The directory to persist the tenants to.
+     * @param realVertx The vert.x instance to run the service on.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testStartReplaysJournal(
+            @TempDir final Path tempDir,
+            final Vertx realVertx,
+            final VertxTestContext ctx) {
+
+        // GIVEN a service configured to append changes to a journal
+        props.setFilename(tempDir.resolve("tenants.json").toString());
+        props.setSaveToFile(true);
+        props.setJournalEnabled(true);
+        final FileBasedTenantService firstService = new FileBasedTenantService(realVertx);
+        firstService.setConfig(props);
+
+        firstService.start()
+            .compose(ok -> firstService.createTenant(Optional.of("tenant1"), new Tenant(), NoopSpan.INSTANCE))
+            .compose(ok -> firstService.createTenant(Optional.of("tenant2"), new Tenant(), NoopSpan.INSTANCE))
+            .compose(ok -> firstService.deleteTenant("tenant2", Optional.empty(), NoopSpan.INSTANCE))
+            // WHEN the service is restarted
+            .compose(ok -> firstService.stop())
+            .compose(ok -> {
+                svc = new FileBasedTenantService(realVertx);
+                svc.setConfig(props);
+                return svc.start();
+            })
+            // THEN the changes have been restored from the journal
+            .compose(ok -> assertTenantExists(svc, "tenant1"))
+            .compose(ok -> assertTenantDoesNotExist(svc, "tenant2"))
+            .compose(ok -> svc.stop())
+            .onComplete(ctx.succeedingThenComplete());
+    }
+
     /**
      * Verifies that a tenant can be added with <em>modificationEnabled</em>
      * set to {@code false}.
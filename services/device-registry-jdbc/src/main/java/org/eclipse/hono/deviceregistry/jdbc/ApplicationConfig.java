@@ -52,6 +52,7 @@ import org.eclipse.hono.deviceregistry.jdbc.impl.TenantServiceImpl;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryAmqpServer;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryHttpServer;
 import org.eclipse.hono.deviceregistry.service.credentials.AbstractCredentialsManagementService;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashingConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.AbstractDeviceManagementService;
 import org.eclipse.hono.deviceregistry.service.device.AutoProvisionerConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.EdgeDeviceAutoProvisioner;
@@ -64,6 +65,7 @@ import org.eclipse.hono.notification.NotificationSender;
 import org.eclipse.hono.service.HealthCheckServer;
 import org.eclipse.hono.service.VertxBasedHealthCheckServer;
 import org.eclipse.hono.service.amqp.AbstractAmqpEndpoint;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.base.jdbc.config.JdbcDeviceStoreProperties;
 import org.eclipse.hono.service.base.jdbc.config.JdbcProperties;
 import org.eclipse.hono.service.base.jdbc.config.JdbcTenantStoreProperties;
@@ -217,6 +219,31 @@ public class ApplicationConfig {
         return new SpringBasedHonoPasswordEncoder(deviceRegistryServiceProperties().getMaxBcryptCostfactor());
     }
 
+    /**
+     * Gets properties for configuring the thread pool used for encoding passwords.
+     *
+     * @return The properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "hono.registry.password-hashing")
+    public PasswordHashingConfigProperties passwordHashingConfigProperties() {
+        return new PasswordHashingConfigProperties();
+    }
+
+    /**
+     * Exposes the executor to use for encoding clear text passwords.
+     * <p>
+     * The executor runs on a dedicated, bounded thread pool so that encoding
+     * a large number of passwords does not starve vert.x's worker pool.
+     *
+     * @param meterRegistry The registry to report the executor's metrics to.
+     * @return The executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(final MeterRegistry meterRegistry) {
+        return passwordHashingConfigProperties().newExecutor(meterRegistry);
+    }
+
     //
     //
     // JDBC store properties
@@ -254,7 +281,7 @@ public class ApplicationConfig {
     @Bean
     @Profile(Profiles.PROFILE_REGISTRY_ADAPTER)
     public TableAdapterStore devicesAdapterStore() throws IOException {
-        return DeviceStores.store(vertx(), tracer(), devicesProperties(), JdbcDeviceStoreProperties::getAdapter, DeviceStores.adapterStoreFactory());
+        return DeviceStores.adapterStore(vertx(), tracer(), devicesProperties());
     }
 
     /**
@@ -665,7 +692,8 @@ public class ApplicationConfig {
         final List<AbstractHttpEndpoint<ServiceConfigProperties>> endpoints = new ArrayList<>();
         Optional.ofNullable(tenantManagementService)
                 .ifPresent(svc -> endpoints.add(new DelegatingTenantManagementHttpEndpoint<>(vertx(), svc)));
-        endpoints.add(new DelegatingDeviceManagementHttpEndpoint<>(vertx(), deviceManagementService));
+        endpoints.add(new DelegatingDeviceManagementHttpEndpoint<>(vertx(), deviceManagementService,
+                credentialsManagementService));
         endpoints.add(new DelegatingCredentialsManagementHttpEndpoint<>(vertx(), credentialsManagementService));
         endpoints.forEach(ep -> {
             ep.setTracer(tracer());
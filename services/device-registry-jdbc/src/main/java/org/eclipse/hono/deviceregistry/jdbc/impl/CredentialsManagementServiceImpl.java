@@ -14,7 +14,9 @@
 package org.eclipse.hono.deviceregistry.jdbc.impl;
 
 import java.net.HttpURLConnection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.hono.auth.HonoPasswordEncoder;
@@ -90,6 +92,33 @@ public class CredentialsManagementServiceImpl extends AbstractCredentialsManagem
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation tries to set the credentials of all devices in a single transaction. If that fails,
+     * e.g. because credentials need to be merged with the credentials on record, the credentials are set
+     * one device after the other so that the outcome is reported for each device.
+     */
+    @Override
+    protected Future<Map<String, Throwable>> processUpdateCredentials(
+            final String tenantId,
+            final Map<String, List<CommonCredential>> credentials,
+            final Span span) {
+
+        return this.store.setCredentials(tenantId, credentials, span.context())
+                .map(missingDevices -> {
+                    final Map<String, Throwable> failures = new LinkedHashMap<>();
+                    missingDevices.forEach(deviceId -> failures.put(
+                            deviceId,
+                            new ClientErrorException(tenantId, HttpURLConnection.HTTP_NOT_FOUND)));
+                    return failures;
+                })
+                .recover(t -> {
+                    span.log("failed to set credentials in batch, setting credentials one by one");
+                    return super.processUpdateCredentials(tenantId, credentials, span);
+                });
+    }
+
     @Override
     protected Future<OperationResult<List<CommonCredential>>> processReadCredentials(final DeviceKey key, final Span span) {
 
@@ -14,6 +14,8 @@
 package org.eclipse.hono.deviceregistry.jdbc.impl;
 
 import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,11 +23,16 @@ import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.deviceregistry.jdbc.config.DeviceServiceProperties;
 import org.eclipse.hono.deviceregistry.service.device.AbstractDeviceManagementService;
 import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
+import org.eclipse.hono.deviceregistry.service.tenant.TenantKey;
 import org.eclipse.hono.service.base.jdbc.store.device.TableManagementStore;
+import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Id;
 import org.eclipse.hono.service.management.OperationResult;
 import org.eclipse.hono.service.management.Result;
+import org.eclipse.hono.service.management.SearchResult;
+import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.device.Device;
+import org.eclipse.hono.service.management.device.DeviceWithId;
 import org.eclipse.hono.util.CacheDirective;
 
 import io.opentracing.Span;
@@ -74,6 +81,33 @@ public class DeviceManagementServiceImpl extends AbstractDeviceManagementService
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation tries to create all devices in a single transaction. If that fails, e.g. because
+     * one of the devices already exists, the devices are created one after the other so that the outcome
+     * is reported for each device.
+     */
+    @Override
+    protected Future<Map<String, Throwable>> processCreateDevices(
+            final TenantKey tenantKey,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        return this.tenantInformationService.getTenant(tenantKey.getTenantId(), span)
+                .compose(tenant -> this.store.createDevices(
+                        tenantKey.getTenantId(),
+                        devices,
+                        tenant,
+                        config.getMaxDevicesPerTenant(),
+                        span.context()))
+                .<Map<String, Throwable>>map(ok -> Map.of())
+                .recover(t -> {
+                    span.log("failed to create devices in batch, creating devices one by one");
+                    return super.processCreateDevices(tenantKey, devices, span);
+                });
+    }
+
     @Override
     protected Future<OperationResult<Device>> processReadDevice(final DeviceKey key, final Span span) {
 
@@ -126,6 +160,32 @@ public class DeviceManagementServiceImpl extends AbstractDeviceManagementService
 
     }
 
+    @Override
+    protected Future<OperationResult<SearchResult<DeviceWithId>>> processSearchDevices(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final Span span) {
+
+        return this.tenantInformationService.getTenant(tenantId, span)
+                .compose(tenant -> this.store.findDevices(
+                        tenantId,
+                        pageSize,
+                        pageOffset,
+                        filters,
+                        sortOptions,
+                        span.context()))
+                .map(result -> OperationResult.ok(
+                        HttpURLConnection.HTTP_OK,
+                        result,
+                        Optional.empty(),
+                        Optional.empty()))
+                .recover(e -> Services.recover(e));
+
+    }
+
     @Override
     protected Future<Result<Void>> processDeleteDevicesOfTenant(final String tenantId, final Span span) {
 
@@ -96,18 +96,12 @@ abstract class AbstractJdbcRegistryTest {
     protected TenantManagementService tenantManagement;
     protected DeviceServiceProperties properties;
     protected TenantInformationService tenantInformationService;
+    protected JdbcProperties devicesJdbcProperties;
 
     @BeforeEach
     void startDevices(final Vertx vertx) throws IOException, SQLException {
-        final var jdbc = resolveJdbcProperties();
-
-        try (
-                var connection = DriverManager.getConnection(jdbc.getUrl(), jdbc.getUsername(), jdbc.getPassword());
-                var script = Files.newBufferedReader(EXAMPLE_SQL_BASE.resolve("02-create.devices.sql"))
-        ) {
-            // pre-create database
-            RunScript.execute(connection, script);
-        }
+        final var jdbc = createDevicesDatabase();
+        this.devicesJdbcProperties = jdbc;
 
         properties = new DeviceServiceProperties();
 
@@ -145,6 +139,26 @@ abstract class AbstractJdbcRegistryTest {
         credentialsManagement.setTenantInformationService(tenantInformationService);
     }
 
+    /**
+     * Creates a new (empty) database containing the device tables.
+     *
+     * @return The properties for connecting to the database.
+     * @throws IOException if the SQL script cannot be read.
+     * @throws SQLException if the tables cannot be created.
+     */
+    protected JdbcProperties createDevicesDatabase() throws IOException, SQLException {
+        final var jdbc = resolveJdbcProperties();
+
+        try (
+                var connection = DriverManager.getConnection(jdbc.getUrl(), jdbc.getUsername(), jdbc.getPassword());
+                var script = Files.newBufferedReader(EXAMPLE_SQL_BASE.resolve("02-create.devices.sql"))
+        ) {
+            // pre-create database
+            RunScript.execute(connection, script);
+        }
+        return jdbc;
+    }
+
     private JdbcProperties resolveJdbcProperties() {
         final var jdbc = new JdbcProperties();
         if (DATABASE_TYPE != DatabaseType.H2) {
@@ -14,8 +14,6 @@
 package org.eclipse.hono.deviceregistry.jdbc.impl;
 
 import org.eclipse.hono.service.management.device.AbstractDeviceManagementSearchDevicesTest;
-import org.junit.jupiter.api.Disabled;
 
-@Disabled("search is currently not supported")
 class JdbcBasedDeviceManagementSearchDevicesTest extends AbstractJdbcRegistryTest implements AbstractDeviceManagementSearchDevicesTest  {
 }
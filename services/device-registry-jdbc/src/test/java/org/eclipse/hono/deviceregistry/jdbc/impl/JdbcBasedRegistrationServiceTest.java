@@ -17,7 +17,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import java.net.HttpURLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.hono.deviceregistry.util.Assertions;
@@ -73,4 +77,41 @@ class JdbcBasedRegistrationServiceTest extends AbstractJdbcRegistryTest implemen
                 ctx.completeNow();
             }));
     }
+
+    /**
+     * Verifies that a request to create multiple devices creates all devices except for
+     * the ones that already exist.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCreateDevicesReportsExistingDevices(final VertxTestContext ctx) {
+
+        final Map<String, Device> devices = new LinkedHashMap<>();
+        devices.put("device-1", new Device());
+        devices.put("existing-device", new Device());
+        devices.put("device-2", new Device().setEnabled(false));
+
+        getDeviceManagementService().createDevices(TENANT, Map.of("existing-device", new Device()), NoopSpan.INSTANCE)
+            .onFailure(ctx::failNow)
+            .compose(failures -> {
+                ctx.verify(() -> assertThat(failures).isEmpty());
+                return getDeviceManagementService().createDevices(TENANT, devices, NoopSpan.INSTANCE);
+            })
+            .compose(failures -> {
+                ctx.verify(() -> {
+                    assertThat(failures).containsKey("existing-device");
+                    assertThat(failures).hasSize(1);
+                    Assertions.assertServiceInvocationException(failures.get("existing-device"), HttpURLConnection.HTTP_CONFLICT);
+                });
+                return getDeviceManagementService().readDevice(TENANT, "device-2", NoopSpan.INSTANCE);
+            })
+            .onComplete(ctx.succeeding(result -> {
+                ctx.verify(() -> {
+                    assertThat(result.getStatus()).isEqualTo(HttpURLConnection.HTTP_OK);
+                    assertThat(result.getPayload().isEnabled()).isFalse();
+                });
+                ctx.completeNow();
+            }));
+    }
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry.jdbc.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
+import org.eclipse.hono.service.base.jdbc.config.JdbcDeviceStoreProperties;
+import org.eclipse.hono.service.base.jdbc.config.JdbcProperties;
+import org.eclipse.hono.service.base.jdbc.store.device.DeviceStores;
+import org.eclipse.hono.service.base.jdbc.store.device.TableAdapterStore;
+import org.eclipse.hono.service.management.device.Device;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying that the adapter store reads from a read replica.
+ */
+@ExtendWith(VertxExtension.class)
+@Timeout(value = 10, timeUnit = TimeUnit.SECONDS)
+class ReadReplicaTest extends AbstractJdbcRegistryTest {
+
+    private static final String TENANT_ID = "tenant";
+    private static final DeviceKey DEVICE_KEY = DeviceKey.from(TENANT_ID, "device-1");
+
+    private TableAdapterStore store;
+
+    @AfterEach
+    void closeStore() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private TableAdapterStore newStore(final Vertx vertx, final JdbcProperties readReplica, final boolean fallback) throws IOException {
+        final var deviceProperties = new JdbcDeviceStoreProperties();
+        deviceProperties.setAdapter(devicesJdbcProperties);
+        deviceProperties.setReadReplica(readReplica);
+        deviceProperties.setReadReplicaFallback(fallback);
+        store = DeviceStores.adapterStore(vertx, NoopTracerFactory.create(), deviceProperties);
+        return store;
+    }
+
+    private JdbcProperties unavailableReadReplica() {
+        final var readReplica = new JdbcProperties();
+        readReplica.setDriverClass(devicesJdbcProperties.getDriverClass());
+        if (devicesJdbcProperties.getUrl().startsWith("jdbc:h2:")) {
+            // H2 delays failed logins, so use a database that does not exist instead
+            readReplica.setUrl(devicesJdbcProperties.getUrl() + "-unavailable;IFEXISTS=TRUE");
+        } else {
+            readReplica.setUrl(devicesJdbcProperties.getUrl());
+            readReplica.setUsername("invalid");
+            readReplica.setPassword("invalid");
+        }
+        return readReplica;
+    }
+
+    /**
+     * Verifies that devices are read from the read replica instead of the primary database.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the read replica cannot be created.
+     */
+    @Test
+    void testReadDeviceUsesReadReplica(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+
+        // the device is created in the primary database only
+        final var store = newStore(vertx, createDevicesDatabase(), true);
+
+        registrationManagement.createDevice(TENANT_ID, Optional.of(DEVICE_KEY.getDeviceId()), new Device(), SPAN)
+            .compose(ok -> store.readDevice(DEVICE_KEY, SPAN.context()))
+            .onComplete(ctx.succeeding(result -> {
+                ctx.verify(() -> assertThat(result.isEmpty()).isTrue());
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that devices are read from the primary database if the read replica is unavailable.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the store cannot be created.
+     */
+    @Test
+    void testReadDeviceFallsBackToPrimary(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+
+        final var store = newStore(vertx, unavailableReadReplica(), true);
+
+        registrationManagement.createDevice(TENANT_ID, Optional.of(DEVICE_KEY.getDeviceId()), new Device().setEnabled(false), SPAN)
+            .compose(ok -> store.readDevice(DEVICE_KEY, SPAN.context()))
+            .onComplete(ctx.succeeding(result -> {
+                ctx.verify(() -> {
+                    assertThat(result.isPresent()).isTrue();
+                    assertThat(result.get().getDevice().isEnabled()).isFalse();
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that reading a device fails if the read replica is unavailable and
+     * falling back to the primary database is disabled.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     * @throws Exception if the store cannot be created.
+     */
+    @Test
+    void testReadDeviceFailsWithoutFallback(final Vertx vertx, final VertxTestContext ctx) throws Exception {
+
+        final var readReplica = unavailableReadReplica();
+        readReplica.setAcquireRetryAttempts(1);
+        final var store = newStore(vertx, readReplica, false);
+
+        registrationManagement.createDevice(TENANT_ID, Optional.of(DEVICE_KEY.getDeviceId()), new Device(), SPAN)
+            .compose(ok -> store.readDevice(DEVICE_KEY, SPAN.context()))
+            .onComplete(ctx.failing(t -> ctx.completeNow()));
+    }
+}
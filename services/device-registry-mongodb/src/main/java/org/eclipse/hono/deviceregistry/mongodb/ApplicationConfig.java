@@ -60,6 +60,7 @@ import org.eclipse.hono.deviceregistry.mongodb.service.MongoDbBasedTenantService
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryAmqpServer;
 import org.eclipse.hono.deviceregistry.server.DeviceRegistryHttpServer;
 import org.eclipse.hono.deviceregistry.service.credentials.AbstractCredentialsManagementService;
+import org.eclipse.hono.deviceregistry.service.credentials.PasswordHashingConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.AbstractDeviceManagementService;
 import org.eclipse.hono.deviceregistry.service.device.AutoProvisionerConfigProperties;
 import org.eclipse.hono.deviceregistry.service.device.EdgeDeviceAutoProvisioner;
@@ -74,6 +75,7 @@ import org.eclipse.hono.notification.NotificationSender;
 import org.eclipse.hono.service.HealthCheckServer;
 import org.eclipse.hono.service.VertxBasedHealthCheckServer;
 import org.eclipse.hono.service.amqp.AbstractAmqpEndpoint;
+import org.eclipse.hono.service.auth.PasswordHashingExecutor;
 import org.eclipse.hono.service.credentials.DelegatingCredentialsAmqpEndpoint;
 import org.eclipse.hono.service.http.AbstractHttpEndpoint;
 import org.eclipse.hono.service.management.credentials.CredentialsManagementService;
@@ -250,6 +252,31 @@ public class ApplicationConfig {
         return new SpringBasedHonoPasswordEncoder(credentialsServiceProperties().getMaxBcryptCostFactor());
     }
 
+    /**
+     * Gets properties for configuring the thread pool used for encoding passwords.
+     *
+     * @return The properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "hono.registry.password-hashing")
+    public PasswordHashingConfigProperties passwordHashingConfigProperties() {
+        return new PasswordHashingConfigProperties();
+    }
+
+    /**
+     * Exposes the executor to use for encoding clear text passwords.
+     * <p>
+     * The executor runs on a dedicated, bounded thread pool so that encoding
+     * a large number of passwords does not starve vert.x's worker pool.
+     *
+     * @param meterRegistry The registry to report the executor's metrics to.
+     * @return The executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(final MeterRegistry meterRegistry) {
+        return passwordHashingConfigProperties().newExecutor(meterRegistry);
+    }
+
     //
     //
     // Service properties
@@ -698,7 +725,8 @@ public class ApplicationConfig {
         final List<AbstractHttpEndpoint<ServiceConfigProperties>> endpoints = new ArrayList<>();
         Optional.ofNullable(tenantManagementService)
                 .ifPresent(svc -> endpoints.add(new DelegatingTenantManagementHttpEndpoint<>(vertx(), svc)));
-        endpoints.add(new DelegatingDeviceManagementHttpEndpoint<>(vertx(), deviceManagementService));
+        endpoints.add(new DelegatingDeviceManagementHttpEndpoint<>(vertx(), deviceManagementService,
+                credentialsManagementService));
         endpoints.add(new DelegatingCredentialsManagementHttpEndpoint<>(vertx(), credentialsManagementService));
         endpoints.forEach(ep -> {
             ep.setTracer(tracer());
@@ -14,7 +14,9 @@
 
 package org.eclipse.hono.deviceregistry.mongodb.model;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.eclipse.hono.service.management.credentials.CredentialsDto;
 
@@ -42,6 +44,24 @@ public interface CredentialsDao {
      */
     Future<String> create(CredentialsDto credentials, SpanContext tracingContext);
 
+    /**
+     * Initially persists the sets of credentials of multiple devices.
+     * <p>
+     * Each set of credentials is persisted independently of the others, i.e. a device for which
+     * credentials already exist does not prevent the other devices' credentials from being persisted.
+     *
+     * @param credentials The credentials to persist.
+     * @param tracingContext The context to track the processing of the request in
+     *                       or {@code null} if no such context exists.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the identifiers of the devices whose credentials have not been
+     *         persisted because credentials already exist for them.
+     *         Otherwise the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if credentials are {@code null}.
+     */
+    Future<Set<String>> create(List<CredentialsDto> credentials, SpanContext tracingContext);
+
     /**
      * Gets device credentials by the device's identifier.
      *
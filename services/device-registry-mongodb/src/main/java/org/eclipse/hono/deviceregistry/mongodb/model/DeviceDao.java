@@ -49,6 +49,24 @@ public interface DeviceDao {
      */
     Future<String> create(DeviceDto deviceConfig, SpanContext tracingContext);
 
+    /**
+     * Initially persists multiple device instances.
+     * <p>
+     * Each device is persisted independently of the others, i.e. a device that already exists
+     * does not prevent the other devices from being persisted.
+     *
+     * @param deviceConfigs The devices' configurations.
+     * @param tracingContext The context to track the processing of the request in
+     *                       or {@code null} if no such context exists.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the identifiers of the devices that have not been
+     *         persisted because they already exist.
+     *         Otherwise, it will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if device configurations are {@code null}.
+     */
+    Future<Set<String>> create(List<DeviceDto> deviceConfigs, SpanContext tracingContext);
+
     /**
      * Gets a device by its identifier.
      *
@@ -82,6 +100,9 @@ public interface DeviceDao {
 
     /**
      * Finds devices by search criteria.
+     * <p>
+     * This default implementation invokes {@link #find(String, int, int, List, List, Optional, boolean, SpanContext)}
+     * without a continuation token and with the exact total number of matching devices being determined.
      *
      * @param tenantId The tenant that the devices belong to.
      * @param pageSize The maximum number of results to include in a response.
@@ -99,12 +120,47 @@ public interface DeviceDao {
      * @throws NullPointerException if any of the parameters other than tracing context are {@code null}.
      * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is negative.
      */
+    default Future<SearchResult<DeviceWithId>> find(
+            final String tenantId,
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final SpanContext tracingContext) {
+        return find(tenantId, pageSize, pageOffset, filters, sortOptions, Optional.empty(), false, tracingContext);
+    }
+
+    /**
+     * Finds devices by search criteria.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. This allows to
+     *                   retrieve the whole result set page by page. If a continuation token is given, the offset is
+     *                   relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token contained in the result of a preceding search for continuing that search
+     *                          with the devices following the last device of the preceding result.
+     * @param estimateTotal {@code true} if the total number of matching devices may be estimated.
+     * @param tracingContext The context to track the processing of the request in
+     *                       or {@code null} if no such context exists.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a set of matching devices or failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException}, if the query could not be
+     *         executed.
+     * @throws NullPointerException if any of the parameters other than tracing context are {@code null}.
+     * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is negative.
+     */
     Future<SearchResult<DeviceWithId>> find(
             String tenantId,
             int pageSize,
             int pageOffset,
             List<Filter> filters,
             List<Sort> sortOptions,
+            Optional<String> continuationToken,
+            boolean estimateTotal,
             SpanContext tracingContext);
 
     /**
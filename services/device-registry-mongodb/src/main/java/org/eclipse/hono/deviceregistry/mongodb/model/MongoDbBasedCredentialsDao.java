@@ -15,10 +15,13 @@
 package org.eclipse.hono.deviceregistry.mongodb.model;
 
 import java.net.HttpURLConnection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.deviceregistry.mongodb.utils.MongoDbDocumentBuilder;
@@ -204,6 +207,45 @@ public final class MongoDbBasedCredentialsDao extends MongoDbBasedDao implements
                 .onComplete(r -> span.finish());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Set<String>> create(final List<CredentialsDto> credentials, final SpanContext tracingContext) {
+
+        Objects.requireNonNull(credentials);
+
+        final Span span = tracer.buildSpan("add Credentials of Devices")
+                .addReference(References.CHILD_OF, tracingContext)
+                .withTag("batch_size", credentials.size())
+                .start();
+
+        final List<JsonObject> documents = credentials.stream()
+                .map(dto -> {
+                    dto.getCredentials().forEach(cred -> cred.encryptFields(fieldLevelEncryption));
+                    return JsonObject.mapFrom(dto);
+                })
+                .collect(Collectors.toList());
+
+        return insertAll(documents)
+                .map(duplicates -> {
+                    final Set<String> devicesWithCredentials = duplicates.stream()
+                            .map(index -> credentials.get(index).getDeviceId())
+                            .collect(Collectors.toSet());
+                    span.log(String.format("successfully added credentials of %d devices",
+                            credentials.size() - devicesWithCredentials.size()));
+                    LOG.debug("successfully added credentials of {} devices, credentials of {} devices already exist",
+                            credentials.size() - devicesWithCredentials.size(), devicesWithCredentials.size());
+                    return devicesWithCredentials;
+                })
+                .onFailure(t -> {
+                    LOG.debug("error adding credentials of devices", t);
+                    TracingHelper.logError(span, "error adding credentials", t);
+                })
+                .recover(this::mapError)
+                .onComplete(r -> span.finish());
+    }
+
     /**
      * {@inheritDoc}
      */
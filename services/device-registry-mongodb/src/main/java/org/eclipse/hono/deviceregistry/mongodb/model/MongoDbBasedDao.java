@@ -14,10 +14,13 @@
 package org.eclipse.hono.deviceregistry.mongodb.model;
 
 import java.net.HttpURLConnection;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.PreDestroy;
 
@@ -27,21 +30,28 @@ import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.deviceregistry.util.FieldLevelEncryption;
 import org.eclipse.hono.service.management.BaseDto;
 import org.eclipse.hono.service.management.SearchResult;
-import org.eclipse.hono.util.RegistryManagementConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
 
 import io.opentracing.Tracer;
 import io.opentracing.noop.NoopTracerFactory;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.IndexOptions;
 import io.vertx.ext.mongo.MongoClient;
 
@@ -51,11 +61,17 @@ import io.vertx.ext.mongo.MongoClient;
  */
 public abstract class MongoDbBasedDao {
 
+    /**
+     * The number of matching resources at which counting stops if the total number of
+     * resources matching a search may be estimated.
+     */
+    protected static final int MAX_ESTIMATED_TOTAL = 10_000;
+
     private static final Logger LOG = LoggerFactory.getLogger(MongoDbBasedDao.class);
 
     private static final String FIELD_SEARCH_RESOURCES_COUNT = "count";
-    private static final String FIELD_SEARCH_RESOURCES_TOTAL_COUNT = String.format("$%s.%s",
-            RegistryManagementConstants.FIELD_RESULT_SET_SIZE, FIELD_SEARCH_RESOURCES_COUNT);
+    private static final String FIELD_CONTINUATION_TOKEN_SORT = "s";
+    private static final String FIELD_CONTINUATION_TOKEN_POSITION = "p";
 
     /**
      * A tracer to use for creating spans.
@@ -145,6 +161,46 @@ public abstract class MongoDbBasedDao {
         return false;
     }
 
+    /**
+     * Inserts documents into the collection by means of a single unordered bulk write.
+     * <p>
+     * The documents are inserted independently of each other, i.e. a document that cannot be
+     * inserted because of a duplicate key does not prevent the other documents from being inserted.
+     *
+     * @param documents The documents to insert.
+     * @return A future indicating the outcome of the operation. The future will be succeeded with the
+     *         (zero based) indices of the documents that have not been inserted because of duplicate keys.
+     *         Otherwise the future will be failed with the error that occurred.
+     * @throws NullPointerException if documents are {@code null}.
+     */
+    protected final Future<Set<Integer>> insertAll(final List<JsonObject> documents) {
+
+        Objects.requireNonNull(documents);
+
+        if (documents.isEmpty()) {
+            return Future.succeededFuture(Set.of());
+        }
+
+        final List<BulkOperation> operations = documents.stream()
+                .map(BulkOperation::createInsert)
+                .collect(Collectors.toList());
+
+        return mongoClient.bulkWriteWithOptions(collectionName, operations, new BulkWriteOptions().setOrdered(false))
+                .map(result -> Set.<Integer>of())
+                .recover(error -> {
+                    if (error instanceof MongoBulkWriteException) {
+                        final MongoBulkWriteException bulkWriteException = (MongoBulkWriteException) error;
+                        final List<BulkWriteError> writeErrors = bulkWriteException.getWriteErrors();
+                        if (bulkWriteException.getWriteConcernError() == null && writeErrors.stream()
+                                .allMatch(writeError -> writeError.getCategory() == ErrorCategory.DUPLICATE_KEY)) {
+                            return Future.succeededFuture(writeErrors.stream()
+                                    .map(BulkWriteError::getIndex)
+                                    .collect(Collectors.toSet()));
+                        }
+                    }
+                    return Future.failedFuture(error);
+                });
+    }
 
     /**
      * Creates an index on a collection.
@@ -171,33 +227,55 @@ public abstract class MongoDbBasedDao {
     }
 
     /**
-     * Finds resources such as tenant or device from the given MongoDB collection with the provided 
+     * Finds resources such as tenant or device from the given MongoDB collection with the provided
      * paging, filtering and sorting options.
      * <p>
-     * A MongoDB aggregation pipeline is used to find the resources from the given MongoDB collection.
+     * The matching documents are sorted by the given sort document and by the given key field last so that
+     * the order of the documents is unambiguous. If the page contains fewer documents than the result set
+     * following its position, the search result contains a continuation token that refers to the last
+     * document of the page. Using this token in a subsequent search lets MongoDB seek directly to the position
+     * following that document by means of the (index backed) sort keys instead of skipping all preceding
+     * documents, which gets increasingly expensive for large offsets.
+     * <p>
+     * The sort keys are compared using MongoDB's comparison query operators. Continuation tokens therefore
+     * only work reliably if all documents contain values of the same BSON type (or no value at all) in the
+     * fields that the documents are sorted by.
      *
      * @param pageSize The maximum number of results to include in a response.
      * @param pageOffset The offset into the result set from which to include objects in the response.
-     *                   This allows to retrieve the whole result set page by page.
-     * @param filterDocument The document used for filtering the resources in a MongoDB aggregation pipeline.
-     * @param sortDocument The document used for sorting the resources in a MongoDB aggregation pipeline.
-     * @param resultMapper The mapper used for mapping the result for the search operation.
-     * @param <T> The type of the result namely {@link org.eclipse.hono.service.management.device.DeviceWithId} or 
+     *                   This allows to retrieve the whole result set page by page. If a continuation
+     *                   token is given, the offset is relative to the position that the token refers to.
+     * @param filterDocument The document used for filtering the resources.
+     * @param sortDocument The document used for sorting the resources.
+     * @param keyField The name of the field that uniquely identifies a resource among the filtered ones.
+     * @param continuationToken The token returned by a preceding search for continuing that search.
+     * @param estimateTotal {@code true} if counting the matching resources may stop after
+     *                      {@value #MAX_ESTIMATED_TOTAL} matches. The total contained in the search result
+     *                      is then a lower bound only if it is equal to that value.
+     * @param documentMapper The mapper used for mapping a matching document to the type of result.
+     * @param <T> The type of the result namely {@link org.eclipse.hono.service.management.device.DeviceWithId} or
      *           {@link org.eclipse.hono.service.management.tenant.TenantWithId}
-     * @return A future indicating the outcome of the operation. The future will succeed if the search operation 
+     * @return A future indicating the outcome of the operation. The future will succeed if the search operation
      *         is successful and some resources are found. If no resources are found then the future will fail
      *         with a {@link ClientErrorException} with status {@link HttpURLConnection#HTTP_NOT_FOUND}.
+     *         The future will be failed with a {@link ClientErrorException} with status
+     *         {@link HttpURLConnection#HTTP_BAD_REQUEST} if the continuation token is invalid or has been
+     *         created for other sort options.
      *         The future will be failed with a {@link ServiceInvocationException} if the query could not be executed.
      * @throws NullPointerException if any of the parameters is {@code null}.
      * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is &lt; 0.
-     * @see <a href="https://docs.mongodb.com/manual/core/aggregation-pipeline">MongoDB Aggregation Pipeline</a>
+     * @see <a href="https://docs.mongodb.com/manual/reference/bson-type-comparison-order">
+     *      MongoDB Comparison/Sort Order</a>
      */
     protected <T> Future<SearchResult<T>> processSearchResource(
             final int pageSize,
             final int pageOffset,
             final JsonObject filterDocument,
             final JsonObject sortDocument,
-            final Function<JsonObject, List<T>> resultMapper) {
+            final String keyField,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
+            final Function<JsonObject, T> documentMapper) {
 
         if (pageSize <= 0) {
             throw new IllegalArgumentException("page size must be a positive integer");
@@ -208,80 +286,166 @@ public abstract class MongoDbBasedDao {
 
         Objects.requireNonNull(filterDocument);
         Objects.requireNonNull(sortDocument);
-        Objects.requireNonNull(resultMapper);
-
-        final JsonArray aggregationPipelineQuery = getSearchResourceQuery(pageSize, pageOffset, filterDocument, sortDocument);
-        final Promise<JsonObject> searchPromise = Promise.promise();
+        Objects.requireNonNull(keyField);
+        Objects.requireNonNull(continuationToken);
+        Objects.requireNonNull(documentMapper);
+
+        final JsonObject effectiveSortDocument = getEffectiveSortDocument(sortDocument, keyField);
+        final JsonObject pageQuery;
+        try {
+            pageQuery = continuationToken
+                    .map(token -> getPositionQuery(filterDocument, effectiveSortDocument, decodeContinuationToken(
+                            token, effectiveSortDocument)))
+                    .orElse(filterDocument);
+        } catch (final IllegalArgumentException e) {
+            return Future.failedFuture(new ClientErrorException(
+                    HttpURLConnection.HTTP_BAD_REQUEST,
+                    "invalid continuation token",
+                    e));
+        }
+        // get one more document than requested in order to find out if there are more results
+        final FindOptions findOptions = new FindOptions()
+                .setSort(effectiveSortDocument)
+                .setSkip(pageOffset * pageSize)
+                .setLimit(pageSize + 1);
 
         if (LOG.isTraceEnabled()) {
-            LOG.trace("searching resources using aggregation pipeline:{}{}",
-                    System.lineSeparator(), aggregationPipelineQuery.encodePrettily());
+            LOG.trace("searching resources [query: {}, sort: {}, skip: {}, limit: {}]",
+                    pageQuery.encode(), effectiveSortDocument.encode(), findOptions.getSkip(), findOptions.getLimit());
         }
 
-        mongoClient.aggregate(collectionName, aggregationPipelineQuery)
-            .exceptionHandler(searchPromise::fail)
-            .handler(searchPromise::complete);
-
-        return searchPromise.future()
-                .map(result -> Optional.ofNullable(result.getInteger(RegistryManagementConstants.FIELD_RESULT_SET_SIZE))
-                        .filter(total -> total > 0)
-                        // if no resources are found then return 404, else the result
-                        .map(total -> new SearchResult<>(total, resultMapper.apply(result)))
-                        .orElseThrow(() -> new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND)))
+        final Future<Long> total = estimateTotal ? countResources(filterDocument, MAX_ESTIMATED_TOTAL)
+                : mongoClient.count(collectionName, filterDocument);
+        final Future<List<JsonObject>> page = mongoClient.findWithOptions(collectionName, pageQuery, findOptions);
+
+        return CompositeFuture.all(total, page)
+                .map(ok -> {
+                    if (total.result() == 0) {
+                        // if no resources are found then return 404
+                        throw new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND);
+                    }
+                    final List<JsonObject> documents = page.result();
+                    final List<T> result = documents.stream()
+                            .limit(pageSize)
+                            .map(documentMapper)
+                            .collect(Collectors.toList());
+                    final String nextToken = documents.size() > pageSize
+                            ? encodeContinuationToken(effectiveSortDocument, documents.get(pageSize - 1))
+                            : null;
+                    return new SearchResult<>(total.result().intValue(), result, nextToken);
+                })
                 .recover(this::mapError);
     }
 
+    private Future<Long> countResources(final JsonObject filterDocument, final int maxCount) {
+
+        final JsonArray pipeline = new JsonArray()
+                .add(new JsonObject().put("$match", filterDocument))
+                .add(new JsonObject().put("$limit", maxCount))
+                .add(new JsonObject().put("$count", FIELD_SEARCH_RESOURCES_COUNT));
+        final Promise<Long> result = Promise.promise();
+
+        mongoClient.aggregate(collectionName, pipeline)
+            .exceptionHandler(result::tryFail)
+            // no document is emitted if there are no matching resources
+            .endHandler(v -> result.tryComplete(0L))
+            .handler(document -> result.tryComplete(document.getLong(FIELD_SEARCH_RESOURCES_COUNT, 0L)));
+        return result.future();
+    }
+
+    private static JsonObject getEffectiveSortDocument(final JsonObject sortDocument, final String keyField) {
+
+        final JsonObject result = new JsonObject();
+        for (final String field : sortDocument.fieldNames()) {
+            result.put(field, sortDocument.getValue(field));
+            if (keyField.equals(field)) {
+                // the key field is unique so there is no point in sorting by any other fields
+                return result;
+            }
+        }
+        return result.put(keyField, 1);
+    }
+
     /**
-     * Gets the MongoDB aggregation pipeline query consisting of various stages for finding resources from 
-     * a MongoDB collection based on the provided paging, filtering and sorting options.
-     *
-     * @param pageSize The maximum number of results to include in a response.
-     * @param pageOffset The offset into the result set from which to include objects in the response.
-     *                   This allows to retrieve the whole result set page by page.
-     * @param filterDocument The document used for filtering the resources in a MongoDB aggregation pipeline.
-     * @param sortDocument The document used for sorting the resources in a MongoDB aggregation pipeline.
-     * @return A MongoDB aggregation pipeline consisting of various stages used for the search resource operation.
-     * @throws NullPointerException if any of the parameters is {@code null}.
-     * @see <a href="https://docs.mongodb.com/manual/core/aggregation-pipeline">MongoDB Aggregation Pipeline</a>
+     * Gets a query for the documents that follow a given position in a sorted result set.
+     * <p>
+     * For sort fields <em>k1, k2, ..., kn</em> and position values <em>v1, v2, ..., vn</em>
+     * the query matches documents for which one of <em>k1 &gt; v1</em>, <em>k1 = v1 and k2 &gt; v2</em>, ...
+     * or <em>k1 = v1 and ... and kn &gt; vn</em> holds, with &gt; meaning <em>after</em> in the sort direction
+     * of the field. MongoDB sorts {@code null} and missing values before all other values.
      */
-    private JsonArray getSearchResourceQuery(
-            final int pageSize,
-            final int pageOffset,
+    private static JsonObject getPositionQuery(
             final JsonObject filterDocument,
-            final JsonObject sortDocument) {
+            final JsonObject sortDocument,
+            final JsonArray position) {
+
+        final JsonArray alternatives = new JsonArray();
+        final JsonArray equalPrefix = new JsonArray();
+        int index = 0;
+        for (final String field : sortDocument.fieldNames()) {
+            final Object value = position.getValue(index++);
+            final boolean ascending = ((Number) sortDocument.getValue(field)).intValue() >= 0;
+            final JsonObject after;
+            if (ascending) {
+                after = new JsonObject().put(field, new JsonObject().put(value == null ? "$ne" : "$gt", value));
+            } else if (value == null) {
+                // there are no values after null in descending order
+                after = null;
+            } else {
+                after = new JsonObject().put("$or", new JsonArray()
+                        .add(new JsonObject().put(field, new JsonObject().put("$lt", value)))
+                        .add(new JsonObject().putNull(field)));
+            }
+            if (after != null) {
+                alternatives.add(new JsonObject().put("$and", equalPrefix.copy().add(after)));
+            }
+            equalPrefix.add(new JsonObject().put(field, value));
+        }
+        return new JsonObject().put("$and", new JsonArray()
+                .add(filterDocument)
+                .add(new JsonObject().put("$or", alternatives)));
+    }
 
-        Objects.requireNonNull(filterDocument);
-        Objects.requireNonNull(sortDocument);
+    private static String encodeContinuationToken(final JsonObject sortDocument, final JsonObject document) {
 
-        final JsonArray aggregationQuery = new JsonArray();
-        // match resources based on the provided filter document
-        if (!filterDocument.isEmpty()) {
-            aggregationQuery.add(new JsonObject().put("$match", filterDocument));
-        }
+        final JsonArray position = new JsonArray();
+        sortDocument.fieldNames().forEach(field -> position.add(getFieldValue(document, field)));
+        final JsonObject token = new JsonObject()
+                .put(FIELD_CONTINUATION_TOKEN_SORT, sortDocument)
+                .put(FIELD_CONTINUATION_TOKEN_POSITION, position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toBuffer().getBytes());
+    }
+
+    private static JsonArray decodeContinuationToken(final String token, final JsonObject sortDocument) {
 
-        // sort resources based on the provided sort document
-        if (!sortDocument.isEmpty()) {
-            aggregationQuery.add(new JsonObject().put("$sort", sortDocument));
+        final JsonObject decodedToken;
+        try {
+            decodedToken = new JsonObject(Buffer.buffer(Base64.getUrlDecoder().decode(token)));
+        } catch (final DecodeException e) {
+            throw new IllegalArgumentException("token is malformed", e);
         }
+        final Object sort = decodedToken.getValue(FIELD_CONTINUATION_TOKEN_SORT);
+        final Object position = decodedToken.getValue(FIELD_CONTINUATION_TOKEN_POSITION);
+        if (!sortDocument.equals(sort)) {
+            throw new IllegalArgumentException("token has been created for other sort options");
+        }
+        if (!(position instanceof JsonArray) || ((JsonArray) position).size() != sortDocument.size()) {
+            throw new IllegalArgumentException("token is malformed");
+        }
+        return (JsonArray) position;
+    }
 
-        // count all matched resources, skip and limit results using facet
-        final JsonObject facetDocument = new JsonObject()
-                .put(RegistryManagementConstants.FIELD_RESULT_SET_SIZE,
-                        new JsonArray().add(new JsonObject().put("$count", FIELD_SEARCH_RESOURCES_COUNT)))
-                .put(RegistryManagementConstants.FIELD_RESULT_SET_PAGE,
-                        new JsonArray().add(new JsonObject().put("$skip", pageOffset * pageSize))
-                                .add(new JsonObject().put("$limit", pageSize)));
-        aggregationQuery.add(new JsonObject().put("$facet", facetDocument));
-
-        // project the required fields for the search operation result
-        final JsonObject projectDocument = new JsonObject()
-                .put(RegistryManagementConstants.FIELD_RESULT_SET_SIZE,
-                        new JsonObject().put("$arrayElemAt",
-                                new JsonArray().add(FIELD_SEARCH_RESOURCES_TOTAL_COUNT).add(0)))
-                .put(RegistryManagementConstants.FIELD_RESULT_SET_PAGE, 1);
-        aggregationQuery.add(new JsonObject().put("$project", projectDocument));
-
-        return aggregationQuery;
+    private static Object getFieldValue(final JsonObject document, final String field) {
+
+        Object value = document;
+        for (final String name : field.split("\\.")) {
+            if (value instanceof JsonObject) {
+                value = ((JsonObject) value).getValue(name);
+            } else {
+                return null;
+            }
+        }
+        return value;
     }
 
     /**
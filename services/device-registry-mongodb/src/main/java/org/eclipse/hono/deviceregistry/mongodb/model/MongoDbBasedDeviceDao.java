@@ -179,6 +179,42 @@ public final class MongoDbBasedDeviceDao extends MongoDbBasedDao implements Devi
                 .onComplete(r -> span.finish());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Set<String>> create(
+            final List<DeviceDto> deviceConfigs,
+            final SpanContext tracingContext) {
+
+        Objects.requireNonNull(deviceConfigs);
+
+        final Span span = tracer.buildSpan("create Devices")
+                .addReference(References.CHILD_OF, tracingContext)
+                .withTag("batch_size", deviceConfigs.size())
+                .start();
+
+        final List<JsonObject> documents = deviceConfigs.stream()
+                .map(JsonObject::mapFrom)
+                .collect(Collectors.toList());
+
+        return insertAll(documents)
+                .map(duplicates -> {
+                    final Set<String> existingDevices = duplicates.stream()
+                            .map(index -> deviceConfigs.get(index).getDeviceId())
+                            .collect(Collectors.toSet());
+                    span.log(String.format("successfully created %d devices", deviceConfigs.size() - existingDevices.size()));
+                    LOG.debug("successfully created {} devices, {} devices already exist",
+                            deviceConfigs.size() - existingDevices.size(), existingDevices.size());
+                    return existingDevices;
+                })
+                .recover(error -> {
+                    TracingHelper.logError(span, "error creating devices", error);
+                    return mapError(error);
+                })
+                .onComplete(r -> span.finish());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -278,11 +314,14 @@ public final class MongoDbBasedDeviceDao extends MongoDbBasedDao implements Devi
             final int pageOffset,
             final List<Filter> filters,
             final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
             final SpanContext tracingContext) {
 
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
 
         if (pageSize <= 0) {
             throw new IllegalArgumentException("page size must be a positive integer");
@@ -308,25 +347,20 @@ public final class MongoDbBasedDeviceDao extends MongoDbBasedDao implements Devi
                 pageOffset,
                 filterDocument,
                 sortDocument,
-                MongoDbBasedDeviceDao::getDevicesWithId)
+                DeviceDto.FIELD_DEVICE_ID,
+                continuationToken,
+                estimateTotal,
+                MongoDbBasedDeviceDao::getDeviceWithId)
             .onFailure(t -> TracingHelper.logError(span, "error finding devices", t))
             .onComplete(r -> span.finish());
     }
 
-    private static List<DeviceWithId> getDevicesWithId(final JsonObject searchResult) {
-        return Optional.ofNullable(searchResult.getJsonArray(RegistryManagementConstants.FIELD_RESULT_SET_PAGE))
-                .map(devices -> devices.stream()
-                        .filter(JsonObject.class::isInstance)
-                        .map(JsonObject.class::cast)
-                        .peek(json -> {
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("document from collection:{}{}", System.lineSeparator(), json.encodePrettily());
-                            }
-                        })
-                        .map(json -> json.mapTo(DeviceDto.class))
-                        .map(deviceDto -> DeviceWithId.from(deviceDto.getDeviceId(), deviceDto.getData()))
-                        .collect(Collectors.toList()))
-                .orElseGet(List::of);
+    private static DeviceWithId getDeviceWithId(final JsonObject document) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("document from collection:{}{}", System.lineSeparator(), document.encodePrettily());
+        }
+        final DeviceDto deviceDto = document.mapTo(DeviceDto.class);
+        return DeviceWithId.from(deviceDto.getDeviceId(), deviceDto.getData());
     }
 
     /**
@@ -14,13 +14,11 @@
 package org.eclipse.hono.deviceregistry.mongodb.model;
 
 import java.net.HttpURLConnection;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -368,10 +366,13 @@ public final class MongoDbBasedTenantDao extends MongoDbBasedDao implements Tena
             final int pageOffset,
             final List<Filter> filters,
             final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
             final SpanContext tracingContext) {
 
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
 
         if (pageSize <= 0) {
             throw new IllegalArgumentException("page size must be a positive integer");
@@ -396,19 +397,16 @@ public final class MongoDbBasedTenantDao extends MongoDbBasedDao implements Tena
                 pageOffset,
                 filterDocument,
                 sortDocument,
-                MongoDbBasedTenantDao::getTenantsWithId)
+                RegistryManagementConstants.FIELD_PAYLOAD_TENANT_ID,
+                continuationToken,
+                estimateTotal,
+                MongoDbBasedTenantDao::getTenantWithId)
             .onFailure(t -> TracingHelper.logError(span, "error finding tenants", t))
             .onComplete(r -> span.finish());
     }
 
-    private static List<TenantWithId> getTenantsWithId(final JsonObject searchResult) {
-        return Optional.ofNullable(searchResult.getJsonArray(RegistryManagementConstants.FIELD_RESULT_SET_PAGE))
-                .map(tenants -> tenants.stream()
-                        .filter(JsonObject.class::isInstance)
-                        .map(JsonObject.class::cast)
-                        .map(json -> json.mapTo(TenantDto.class))
-                        .map(tenantDto -> TenantWithId.from(tenantDto.getTenantId(), tenantDto.getData()))
-                        .collect(Collectors.toList()))
-                .orElseGet(ArrayList::new);
+    private static TenantWithId getTenantWithId(final JsonObject document) {
+        final TenantDto tenantDto = document.mapTo(TenantDto.class);
+        return TenantWithId.from(tenantDto.getTenantId(), tenantDto.getData());
     }
 }
@@ -80,6 +80,9 @@ public interface TenantDao {
 
     /**
      * Finds tenants by search criteria.
+     * <p>
+     * This default implementation invokes {@link #find(int, int, List, List, Optional, boolean, SpanContext)}
+     * without a continuation token and with the exact total number of matching tenants being determined.
      *
      * @param pageSize The maximum number of results to include in a response.
      * @param pageOffset The offset into the result set from which to include objects in the response. This allows to
@@ -96,11 +99,44 @@ public interface TenantDao {
      * @throws NullPointerException if any of the parameters other than tracing context are {@code null}.
      * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is negative.
      */
+    default Future<SearchResult<TenantWithId>> find(
+            final int pageSize,
+            final int pageOffset,
+            final List<Filter> filters,
+            final List<Sort> sortOptions,
+            final SpanContext tracingContext) {
+        return find(pageSize, pageOffset, filters, sortOptions, Optional.empty(), false, tracingContext);
+    }
+
+    /**
+     * Finds tenants by search criteria.
+     *
+     * @param pageSize The maximum number of results to include in a response.
+     * @param pageOffset The offset into the result set from which to include objects in the response. This allows to
+     *                   retrieve the whole result set page by page. If a continuation token is given, the offset is
+     *                   relative to the position that the token refers to.
+     * @param filters A list of filters. The filters are predicates that objects in the result set must match.
+     * @param sortOptions A list of sort options. The sortOptions specify properties to sort the result set by.
+     * @param continuationToken The token contained in the result of a preceding search for continuing that search
+     *                          with the tenants following the last tenant of the preceding result.
+     * @param estimateTotal {@code true} if the total number of matching tenants may be estimated.
+     * @param tracingContext The context to track the processing of the request in
+     *                       or {@code null} if no such context exists.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with a set of matching tenants or failed with a
+     *         {@link org.eclipse.hono.client.ServiceInvocationException}, if the query could not be
+     *         executed.
+     * @throws NullPointerException if any of the parameters other than tracing context are {@code null}.
+     * @throws IllegalArgumentException if page size is &lt;= 0 or page offset is negative.
+     */
     Future<SearchResult<TenantWithId>> find(
             int pageSize,
             int pageOffset,
             List<Filter> filters,
             List<Sort> sortOptions,
+            Optional<String> continuationToken,
+            boolean estimateTotal,
             SpanContext tracingContext);
 
     /**
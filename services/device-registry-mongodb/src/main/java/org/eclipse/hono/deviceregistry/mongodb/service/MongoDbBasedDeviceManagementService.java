@@ -13,15 +13,23 @@
 package org.eclipse.hono.deviceregistry.mongodb.service;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.deviceregistry.mongodb.config.MongoDbBasedRegistrationConfigProperties;
 import org.eclipse.hono.deviceregistry.mongodb.model.CredentialsDao;
 import org.eclipse.hono.deviceregistry.mongodb.model.DeviceDao;
 import org.eclipse.hono.deviceregistry.service.device.AbstractDeviceManagementService;
 import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
+import org.eclipse.hono.deviceregistry.service.tenant.TenantKey;
 import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
 import org.eclipse.hono.service.management.Filter;
 import org.eclipse.hono.service.management.Id;
@@ -37,6 +45,7 @@ import org.eclipse.hono.service.management.tenant.Tenant;
 import org.eclipse.hono.tracing.TracingHelper;
 
 import io.opentracing.Span;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 
 /**
@@ -45,6 +54,9 @@ import io.vertx.core.Future;
  * This implementation also creates an empty set of credentials for a device created by
  * {@link #createDevice(String, Optional, Device, Span)} and deletes all credentials on record
  * for a device deleted by {@link MongoDbBasedDeviceManagementService#deleteDevice(String, String, Optional, Span)}.
+ * <p>
+ * Devices created by {@link #createDevices(String, Map, Span)} and their empty sets of credentials
+ * are inserted by means of unordered bulk writes.
  *
  * @see <a href="https://www.eclipse.org/hono/docs/api/management/">Device Registry Management API</a>
  */
@@ -121,6 +133,119 @@ public final class MongoDbBasedDeviceManagementService extends AbstractDeviceMan
                             Optional.of(deviceResourceVersion)));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation inserts the devices and their empty sets of credentials by means of
+     * one bulk write each. The devices are created one by one if creating all of them would exceed
+     * the maximum number of devices of the tenant.
+     */
+    @Override
+    protected Future<Map<String, Throwable>> processCreateDevices(
+            final TenantKey tenantKey,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        final String tenantId = tenantKey.getTenantId();
+
+        return tenantInformationService.getTenant(tenantId, span)
+                .compose(tenant -> deviceDao.count(tenantId, span.context())
+                        .compose(currentDeviceCount -> tenant.checkDeviceLimitReached(
+                                tenantId,
+                                // the limit must not be reached before the last device is created
+                                currentDeviceCount + devices.size() - 1,
+                                config.getMaxDevicesPerTenant())))
+                .map(true)
+                .otherwise(false)
+                .compose(limitNotReached -> {
+                    if (limitNotReached) {
+                        return createDevicesInBulk(tenantId, devices, span);
+                    }
+                    span.log("cannot create all devices without exceeding device limit, creating devices one by one");
+                    return super.processCreateDevices(tenantKey, devices, span);
+                });
+    }
+
+    private Future<Map<String, Throwable>> createDevicesInBulk(
+            final String tenantId,
+            final Map<String, Device> devices,
+            final Span span) {
+
+        final List<DeviceDto> deviceDtos = devices.entrySet().stream()
+                .map(entry -> DeviceDto.forCreation(
+                        DeviceDto::new,
+                        tenantId,
+                        entry.getKey(),
+                        entry.getValue(),
+                        DeviceRegistryUtils.getUniqueIdentifier()))
+                .collect(Collectors.toList());
+
+        return deviceDao.create(deviceDtos, span.context())
+                .compose(existingDevices -> {
+                    final Map<String, Throwable> failures = new LinkedHashMap<>();
+                    final List<String> createdDevices = new ArrayList<>();
+                    devices.keySet().forEach(deviceId -> {
+                        if (existingDevices.contains(deviceId)) {
+                            failures.put(deviceId, new ClientErrorException(
+                                    tenantId,
+                                    HttpURLConnection.HTTP_CONFLICT,
+                                    "device already exists"));
+                        } else {
+                            createdDevices.add(deviceId);
+                        }
+                    });
+                    final List<CredentialsDto> emptySetsOfCredentials = createdDevices.stream()
+                            .map(deviceId -> CredentialsDto.forCreation(
+                                    tenantId,
+                                    deviceId,
+                                    List.of(),
+                                    DeviceRegistryUtils.getUniqueIdentifier()))
+                            .collect(Collectors.toList());
+                    return credentialsDao.create(emptySetsOfCredentials, span.context())
+                            .recover(t -> {
+                                TracingHelper.logError(
+                                        span,
+                                        "failed to create devices with empty set of credentials, rolling back ...",
+                                        t);
+                                return removeDevices(tenantId, createdDevices, true, span)
+                                        .compose(done -> Future.<Set<String>>failedFuture(t));
+                            })
+                            .compose(devicesWithCredentials -> {
+                                devicesWithCredentials.forEach(deviceId -> failures.put(deviceId, new ClientErrorException(
+                                        tenantId,
+                                        HttpURLConnection.HTTP_CONFLICT,
+                                        "credentials of device already exist")));
+                                return removeDevices(tenantId, devicesWithCredentials, false, span);
+                            })
+                            .map(failures);
+                });
+    }
+
+    /**
+     * Removes devices that have been created as part of a bulk operation which has not
+     * succeeded for these devices.
+     * <p>
+     * Errors are ignored because the devices are removed on a best effort basis.
+     */
+    private Future<Void> removeDevices(
+            final String tenantId,
+            final Collection<String> deviceIds,
+            final boolean removeCredentials,
+            final Span span) {
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> deletions = new ArrayList<>();
+        deviceIds.forEach(deviceId -> {
+            deletions.add(deviceDao.delete(tenantId, deviceId, Optional.empty(), span.context()));
+            if (removeCredentials) {
+                deletions.add(credentialsDao.delete(tenantId, deviceId, Optional.empty(), span.context()));
+            }
+        });
+        return CompositeFuture.join(deletions)
+                .otherwiseEmpty()
+                .mapEmpty();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -142,15 +267,26 @@ public final class MongoDbBasedDeviceManagementService extends AbstractDeviceMan
             final int pageOffset,
             final List<Filter> filters,
             final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
             final Span span) {
 
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
         Objects.requireNonNull(span);
 
         return tenantInformationService.getTenant(tenantId, span)
-                .compose(ok -> deviceDao.find(tenantId, pageSize, pageOffset, filters, sortOptions, span.context()))
+                .compose(ok -> deviceDao.find(
+                        tenantId,
+                        pageSize,
+                        pageOffset,
+                        filters,
+                        sortOptions,
+                        continuationToken,
+                        estimateTotal,
+                        span.context()))
                 .map(result -> OperationResult.ok(
                         HttpURLConnection.HTTP_OK,
                         result,
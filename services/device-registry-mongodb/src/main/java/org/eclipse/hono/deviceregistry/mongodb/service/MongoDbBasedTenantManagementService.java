@@ -151,13 +151,16 @@ public final class MongoDbBasedTenantManagementService extends AbstractTenantMan
             final int pageOffset,
             final List<Filter> filters,
             final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final boolean estimateTotal,
             final Span span) {
 
         Objects.requireNonNull(filters);
         Objects.requireNonNull(sortOptions);
+        Objects.requireNonNull(continuationToken);
         Objects.requireNonNull(span);
 
-        return dao.find(pageSize, pageOffset, filters, sortOptions, span.context())
+        return dao.find(pageSize, pageOffset, filters, sortOptions, continuationToken, estimateTotal, span.context())
                 .map(result -> OperationResult.ok(
                                 HttpURLConnection.HTTP_OK,
                                 result,
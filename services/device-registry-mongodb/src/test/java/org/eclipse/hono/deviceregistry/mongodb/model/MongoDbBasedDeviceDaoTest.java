@@ -15,19 +15,27 @@
 package org.eclipse.hono.deviceregistry.mongodb.model;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.net.HttpURLConnection;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import org.bson.BsonDocument;
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.device.DeviceDto;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,9 +43,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
 import io.opentracing.noop.NoopSpan;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
 import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.MongoClient;
 import io.vertx.ext.mongo.UpdateOptions;
@@ -93,6 +109,43 @@ public class MongoDbBasedDeviceDaoTest {
             }));
     }
 
+    /**
+     * Verifies that the DAO reports the devices that already exist when creating
+     * multiple devices in bulk.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testCreateDevicesReportsExistingDevices(final VertxTestContext ctx) {
+
+        final var duplicateKeyError = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(mongoClient.bulkWriteWithOptions(anyString(), anyList(), any(BulkWriteOptions.class)))
+            .thenReturn(Future.failedFuture(new MongoBulkWriteException(
+                    BulkWriteResult.unacknowledged(),
+                    List.of(duplicateKeyError),
+                    null,
+                    new ServerAddress())));
+
+        final List<DeviceDto> devices = List.of(
+                DeviceDto.forCreation(DeviceDto::new, "tenantId", "device-1", new Device(), "version-1"),
+                DeviceDto.forCreation(DeviceDto::new, "tenantId", "device-2", new Device(), "version-2"),
+                DeviceDto.forCreation(DeviceDto::new, "tenantId", "device-3", new Device(), "version-3"));
+
+        dao.create(devices, NoopSpan.INSTANCE.context())
+            .onComplete(ctx.succeeding(existingDevices -> {
+                ctx.verify(() -> {
+                    assertThat(existingDevices).containsExactly("device-2");
+                    @SuppressWarnings("unchecked")
+                    final ArgumentCaptor<List<BulkOperation>> operations = ArgumentCaptor.forClass(List.class);
+                    final var options = ArgumentCaptor.forClass(BulkWriteOptions.class);
+                    verify(mongoClient).bulkWriteWithOptions(eq("devices"), operations.capture(), options.capture());
+                    assertThat(operations.getValue()).hasSize(3);
+                    assertThat(options.getValue().isOrdered()).isFalse();
+                });
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that the DAO sets the new version and last update time but also keeps the original
      * creation date when updating a device.
@@ -142,4 +195,119 @@ public class MongoDbBasedDeviceDaoTest {
             }));
     }
 
+    /**
+     * Verifies that the DAO includes a continuation token in a search result if more devices
+     * match the search criteria and that it uses the token for seeking to the position following
+     * the last device of the preceding result.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testFindSupportsContinuationToken(final VertxTestContext ctx) {
+
+        when(mongoClient.count(anyString(), any(JsonObject.class))).thenReturn(Future.succeededFuture(3L));
+        when(mongoClient.findWithOptions(anyString(), any(JsonObject.class), any(FindOptions.class)))
+            .thenReturn(Future.succeededFuture(List.of(
+                    newDeviceDocument("device-1", "a"),
+                    newDeviceDocument("device-2", "b"),
+                    newDeviceDocument("device-3", "c"))));
+        final Sort sortByName = new Sort("/ext/name");
+        sortByName.setDirection(Sort.Direction.DESC);
+
+        dao.find("tenant", 2, 0, List.of(), List.of(sortByName), Optional.empty(), false, NoopSpan.INSTANCE.context())
+            .compose(firstPage -> {
+                ctx.verify(() -> {
+                    assertThat(firstPage.getTotal()).isEqualTo(3);
+                    assertThat(firstPage.getResult()).hasSize(2);
+                    assertThat(firstPage.getResult().get(1).getId()).isEqualTo("device-2");
+                    assertThat(firstPage.getContinuationToken()).isNotNull();
+                });
+                return dao.find(
+                        "tenant",
+                        2,
+                        0,
+                        List.of(),
+                        List.of(sortByName),
+                        Optional.of(firstPage.getContinuationToken()),
+                        false,
+                        NoopSpan.INSTANCE.context());
+            })
+            .onComplete(ctx.succeeding(secondPage -> {
+                ctx.verify(() -> {
+                    final var query = ArgumentCaptor.forClass(JsonObject.class);
+                    final var findOptions = ArgumentCaptor.forClass(FindOptions.class);
+                    verify(mongoClient, times(2)).findWithOptions(eq("devices"), query.capture(), findOptions.capture());
+                    assertThat(findOptions.getValue().getSort()).isEqualTo(new JsonObject()
+                            .put("device.ext.name", -1)
+                            .put(DeviceDto.FIELD_DEVICE_ID, 1));
+                    assertThat(findOptions.getValue().getSkip()).isEqualTo(0);
+                    assertThat(findOptions.getValue().getLimit()).isEqualTo(3);
+
+                    final JsonObject filter = new JsonObject().put(DeviceDto.FIELD_TENANT_ID, "tenant");
+                    assertThat(query.getAllValues().get(0)).isEqualTo(filter);
+                    assertThat(query.getAllValues().get(1)).isEqualTo(new JsonObject().put("$and", new JsonArray()
+                            .add(filter)
+                            .add(new JsonObject().put("$or", new JsonArray()
+                                    .add(new JsonObject().put("$and", new JsonArray()
+                                            .add(new JsonObject().put("$or", new JsonArray()
+                                                    .add(new JsonObject().put("device.ext.name", new JsonObject().put("$lt", "b")))
+                                                    .add(new JsonObject().putNull("device.ext.name"))))))
+                                    .add(new JsonObject().put("$and", new JsonArray()
+                                            .add(new JsonObject().put("device.ext.name", "b"))
+                                            .add(new JsonObject().put(DeviceDto.FIELD_DEVICE_ID,
+                                                    new JsonObject().put("$gt", "device-2")))))))));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the DAO rejects a continuation token that has been created for other
+     * sort options.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testFindFailsForContinuationTokenOfOtherSearch(final VertxTestContext ctx) {
+
+        when(mongoClient.count(anyString(), any(JsonObject.class))).thenReturn(Future.succeededFuture(3L));
+        when(mongoClient.findWithOptions(anyString(), any(JsonObject.class), any(FindOptions.class)))
+            .thenReturn(Future.succeededFuture(List.of(
+                    newDeviceDocument("device-1", "a"),
+                    newDeviceDocument("device-2", "b"))));
+
+        dao.find("tenant", 1, 0, List.of(), List.of(), Optional.empty(), false, NoopSpan.INSTANCE.context())
+            .compose(firstPage -> dao.find(
+                    "tenant",
+                    1,
+                    0,
+                    List.of(),
+                    List.of(new Sort("/ext/name")),
+                    Optional.of(firstPage.getContinuationToken()),
+                    false,
+                    NoopSpan.INSTANCE.context()))
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> {
+                    assertThat(t).isInstanceOf(ClientErrorException.class);
+                    assertThat(((ClientErrorException) t).getErrorCode()).isEqualTo(HttpURLConnection.HTTP_BAD_REQUEST);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private static JsonObject newDeviceDocument(final String deviceId, final String name) {
+        final Device device = new Device();
+        device.setExtensions(Map.of("name", name));
+        return JsonObject.mapFrom(DeviceDto.forRead(
+                DeviceDto::new,
+                "tenant",
+                deviceId,
+                device,
+                false,
+                false,
+                Instant.now(),
+                null,
+                "version"));
+    }
+
 }
@@ -18,17 +18,21 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
+import java.net.HttpURLConnection;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.service.management.BaseDto;
 import org.eclipse.hono.service.management.tenant.Tenant;
 import org.eclipse.hono.service.management.tenant.TenantDto;
@@ -39,7 +43,10 @@ import org.mockito.ArgumentCaptor;
 
 import io.opentracing.noop.NoopSpan;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.MongoClient;
 import io.vertx.ext.mongo.UpdateOptions;
@@ -187,4 +194,64 @@ public class MongoDbBasedTenantDaoTest {
             }));
     }
 
+    /**
+     * Verifies that the DAO stops counting the matching tenants at the maximum estimated total
+     * if the total may be estimated.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindCountsMatchesUpToMaxEstimatedTotal(final VertxTestContext ctx) {
+
+        final ReadStream<JsonObject> countResult = mock(ReadStream.class);
+        when(countResult.exceptionHandler(any(Handler.class))).thenReturn(countResult);
+        when(countResult.endHandler(any(Handler.class))).thenReturn(countResult);
+        when(countResult.handler(any(Handler.class))).thenAnswer(invocation -> {
+            final Handler<JsonObject> handler = invocation.getArgument(0);
+            handler.handle(new JsonObject().put("count", MongoDbBasedDao.MAX_ESTIMATED_TOTAL));
+            return countResult;
+        });
+        when(mongoClient.aggregate(anyString(), any(JsonArray.class))).thenReturn(countResult);
+        when(mongoClient.findWithOptions(anyString(), any(JsonObject.class), any(FindOptions.class)))
+            .thenReturn(Future.succeededFuture(List.of(
+                    JsonObject.mapFrom(TenantDto.forRead("tenant-1", new Tenant(), Instant.now(), null, "version")),
+                    JsonObject.mapFrom(TenantDto.forRead("tenant-2", new Tenant(), Instant.now(), null, "version")))));
+
+        dao.find(1, 0, List.of(), List.of(), Optional.empty(), true, NoopSpan.INSTANCE.context())
+            .onComplete(ctx.succeeding(result -> {
+                ctx.verify(() -> {
+                    assertThat(result.getTotal()).isEqualTo(MongoDbBasedDao.MAX_ESTIMATED_TOTAL);
+                    assertThat(result.getResult()).hasSize(1);
+                    assertThat(result.getContinuationToken()).isNotNull();
+                    final var pipeline = ArgumentCaptor.forClass(JsonArray.class);
+                    verify(mongoClient).aggregate(eq("tenants"), pipeline.capture());
+                    assertThat(pipeline.getValue().getJsonObject(1))
+                        .isEqualTo(new JsonObject().put("$limit", MongoDbBasedDao.MAX_ESTIMATED_TOTAL));
+                    verify(mongoClient, never()).count(anyString(), any(JsonObject.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the DAO fails a search with a 404 if no tenants match the search criteria.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testFindFailsIfNoTenantsMatch(final VertxTestContext ctx) {
+
+        when(mongoClient.count(anyString(), any(JsonObject.class))).thenReturn(Future.succeededFuture(0L));
+        when(mongoClient.findWithOptions(anyString(), any(JsonObject.class), any(FindOptions.class)))
+            .thenReturn(Future.succeededFuture(List.of()));
+
+        dao.find(10, 0, List.of(), List.of(), NoopSpan.INSTANCE.context())
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> assertThat(ServiceInvocationException.extractStatusCode(t))
+                        .isEqualTo(HttpURLConnection.HTTP_NOT_FOUND));
+                ctx.completeNow();
+            }));
+    }
+
 }
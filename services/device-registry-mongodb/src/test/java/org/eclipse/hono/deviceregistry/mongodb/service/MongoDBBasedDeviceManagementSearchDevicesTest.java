@@ -12,24 +12,36 @@
  *******************************************************************************/
 package org.eclipse.hono.deviceregistry.mongodb.service;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hono.deviceregistry.mongodb.config.MongoDbBasedRegistrationConfigProperties;
 import org.eclipse.hono.deviceregistry.mongodb.model.MongoDbBasedCredentialsDao;
 import org.eclipse.hono.deviceregistry.mongodb.model.MongoDbBasedDeviceDao;
+import org.eclipse.hono.deviceregistry.util.DeviceRegistryUtils;
+import org.eclipse.hono.service.management.Sort;
 import org.eclipse.hono.service.management.device.AbstractDeviceManagementSearchDevicesTest;
+import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.device.DeviceManagementService;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.opentracing.noop.NoopSpan;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Timeout;
@@ -113,6 +125,53 @@ public final class MongoDBBasedDeviceManagementSearchDevicesTest implements Abst
             .onComplete(testContext.succeedingThenComplete());
     }
 
+    /**
+     * Verifies that all matching devices are found in sort order when following the continuation
+     * tokens contained in the search results, including devices having no value for the sort field.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSearchDevicesWithContinuationToken(final VertxTestContext ctx) {
+        final String tenantId = DeviceRegistryUtils.getUniqueIdentifier();
+        final Sort sortOption = new Sort("/ext/name");
+        sortOption.setDirection(Sort.Direction.DESC);
+        final List<String> deviceIds = new ArrayList<>();
+
+        createDevices(tenantId, Map.of(
+                "testDevice1", new Device().setExtensions(Map.of("name", "b")),
+                "testDevice2", new Device().setExtensions(Map.of("name", "a")),
+                "testDevice3", new Device(),
+                "testDevice4", new Device().setExtensions(Map.of("name", "b"))))
+            .compose(ok -> searchAllDevices(tenantId, List.of(sortOption), Optional.empty(), deviceIds))
+            .onComplete(ctx.succeeding(pages -> {
+                ctx.verify(() -> {
+                    assertThat(pages).isEqualTo(4);
+                    assertThat(deviceIds).containsExactly("testDevice1", "testDevice4", "testDevice2", "testDevice3")
+                        .inOrder();
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private Future<Integer> searchAllDevices(
+            final String tenantId,
+            final List<Sort> sortOptions,
+            final Optional<String> continuationToken,
+            final List<String> deviceIds) {
+
+        return service.searchDevices(tenantId, 1, 0, List.of(), sortOptions, continuationToken, false,
+                NoopSpan.INSTANCE)
+            .compose(result -> {
+                assertThat(result.getPayload().getTotal()).isEqualTo(4);
+                result.getPayload().getResult().forEach(device -> deviceIds.add(device.getId()));
+                return Optional.ofNullable(result.getPayload().getContinuationToken())
+                        .map(token -> searchAllDevices(tenantId, sortOptions, Optional.of(token), deviceIds)
+                                .map(pages -> pages + 1))
+                        .orElseGet(() -> Future.succeededFuture(1));
+            });
+    }
+
     @Override
     public DeviceManagementService getDeviceManagementService() {
         return this.service;
@@ -14,6 +14,7 @@
 package org.eclipse.hono.test;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -128,6 +129,9 @@ public final class VertxMockSupport {
         doAnswer(VertxMockSupport::handleExecuteBlockingInvocation)
                 .when(vertx).executeBlocking(anyHandler(), anyHandler());
 
+        doAnswer(VertxMockSupport::handleOrderedExecuteBlockingInvocation)
+                .when(vertx).executeBlocking(anyHandler(), anyBoolean(), anyHandler());
+
         when(vertx.getOrCreateContext()).thenReturn(context);
 
         doAnswer(VertxMockSupport::handleExecuteBlockingInvocation)
@@ -151,6 +155,17 @@ public final class VertxMockSupport {
         return null;
     }
 
+    private static Void handleOrderedExecuteBlockingInvocation(final InvocationOnMock invocation) {
+        final Promise<Void> result = Promise.promise();
+        final Handler<Promise<?>> blockingCodeHandler = invocation.getArgument(0);
+        final Handler<AsyncResult<?>> resultHandler = invocation.getArgument(2);
+        blockingCodeHandler.handle(result);
+        if (resultHandler != null) {
+            resultHandler.handle(result.future());
+        }
+        return null;
+    }
+
     private static <T> Future<T> handleExecuteBlockingInvocationReturningFuture(final InvocationOnMock invocation) {
         final Promise<T> result = Promise.promise();
         final Handler<Promise<?>> blockingCodeHandler = invocation.getArgument(0);